@@ -0,0 +1,115 @@
+package com.weathersensor.api.benchmark;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.ingestion.MetricFrameReader;
+import com.weathersensor.api.application.ingestion.MetricFrameWriter;
+import com.weathersensor.api.application.validation.MetricDataRequestValidator;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of one ingestion request: NDJSON vs the compact binary format.
+ *
+ * Both paths end with the same {@link MetricReading}s handed to the write pipeline;
+ * persistence is excluded. Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestionDecodeBenchmark {
+
+    @Param({"1000"})
+    private int records;
+
+    private ObjectReader requestReader;
+    private byte[] ndjson;
+    private byte[] frame;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        requestReader = objectMapper.readerFor(MetricDataRequest.class);
+
+        Random random = new Random(42);
+        MetricType[] types = MetricType.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        List<MetricReading> readings = new ArrayList<>(records);
+        StringBuilder json = new StringBuilder(records * 100);
+        for (int i = 0; i < records; i++) {
+            MetricReading reading = new MetricReading(
+                    1 + random.nextInt(500),
+                    types[random.nextInt(types.length)],
+                    random.nextInt(10_000),
+                    start.plusSeconds(i));
+            readings.add(reading);
+            json.append(objectMapper.writeValueAsString(new MetricDataRequest(
+                    reading.getSensorId(), reading.getMetricType(), reading.getDecimalValue(), reading.getTimestamp())))
+                    .append('\n');
+        }
+
+        ndjson = json.toString().getBytes(StandardCharsets.UTF_8);
+        frame = MetricFrameWriter.encode(readings);
+    }
+
+    /**
+     * JSON parsing and DTO binding only.
+     */
+    @Benchmark
+    public void ndjsonParse(Blackhole blackhole) throws IOException {
+        try (MappingIterator<MetricDataRequest> iterator = requestReader.readValues(ndjson)) {
+            while (iterator.hasNextValue()) {
+                MetricDataRequest request = iterator.nextValue();
+                blackhole.consume(new MetricReading(request.getSensorId(), request.getMetricType(),
+                        MetricValues.toScaled(request.getValue()), request.getTimestamp()));
+            }
+        }
+    }
+
+    /**
+     * What the NDJSON endpoint does per record: parse, bind, validate, map.
+     */
+    @Benchmark
+    public void ndjsonParseAndValidate(Blackhole blackhole) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        try (MappingIterator<MetricDataRequest> iterator = requestReader.readValues(ndjson)) {
+            while (iterator.hasNextValue()) {
+                MetricDataRequest request = iterator.nextValue();
+                blackhole.consume(MetricDataRequestValidator.validate(request, now));
+                blackhole.consume(new MetricReading(request.getSensorId(), request.getMetricType(),
+                        MetricValues.toScaled(request.getValue()), request.getTimestamp()));
+            }
+        }
+    }
+
+    /**
+     * Binary frame decoding straight into readings.
+     */
+    @Benchmark
+    public void binaryDecode(Blackhole blackhole) throws IOException {
+        MetricFrameReader reader = new MetricFrameReader(new ByteArrayInputStream(frame));
+        MetricReading reading;
+        while ((reading = reader.next()) != null) {
+            blackhole.consume(reading);
+        }
+    }
+}
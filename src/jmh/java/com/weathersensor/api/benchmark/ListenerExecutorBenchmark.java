@@ -0,0 +1,99 @@
+package com.weathersensor.api.benchmark;
+
+import com.weathersensor.api.infrastructure.config.BoundedVirtualThreadExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Blocking tasks through the platform-thread listener pool (as configured by AsyncConfig)
+ * vs {@link BoundedVirtualThreadExecutor} with the same concurrency limit.
+ *
+ * Each task takes one of {@code connections} simulated JDBC connections and blocks for
+ * {@code blockMicros}, so throughput is bounded by min(concurrency, connections): the
+ * comparison shows the cost of one virtual thread per task, and what raising the limit to
+ * the pool size buys. Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@State(Scope.Benchmark)
+public class ListenerExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"4", "10"})
+    private int concurrency;
+
+    @Param({"10"})
+    private int connections;
+
+    @Param({"500"})
+    private int blockMicros;
+
+    @Param({"1000"})
+    private int tasks;
+
+    private Executor executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() {
+        connectionPool = new Semaphore(connections);
+
+        if (mode.equals("virtual")) {
+            executor = new BoundedVirtualThreadExecutor("bench-vt-", concurrency, tasks,
+                    task -> { throw new IllegalStateException("rejected"); }, 30_000);
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(concurrency);
+            pool.setMaxPoolSize(concurrency);
+            pool.setQueueCapacity(tasks);
+            pool.setThreadNamePrefix("bench-");
+            pool.initialize();
+            executor = pool;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else {
+            ((BoundedVirtualThreadExecutor) executor).close();
+        }
+    }
+
+    /**
+     * One operation = {@code tasks} blocking tasks submitted and completed.
+     */
+    @Benchmark
+    public void blockingTasks() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    connectionPool.acquire();
+                    try {
+                        LockSupport.parkNanos(blockMicros * 1000L);
+                    } finally {
+                        connectionPool.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
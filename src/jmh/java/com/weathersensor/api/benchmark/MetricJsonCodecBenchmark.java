@@ -0,0 +1,95 @@
+package com.weathersensor.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.infrastructure.json.MetricJsonModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-reading JSON cost of the batch endpoint: binding the request array and writing the
+ * response array, default databind vs {@link MetricJsonModule}.
+ *
+ * Both mappers are configured like Spring Boot's (ISO date strings, unknown properties
+ * ignored). Results are per reading ({@code @OperationsPerInvocation}); run with
+ * {@code ./gradlew jmh}, the gc profiler reports bytes allocated per reading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(MetricJsonCodecBenchmark.RECORDS)
+public class MetricJsonCodecBenchmark {
+
+    static final int RECORDS = 1000;
+
+    private static final TypeReference<List<MetricDataRequest>> REQUESTS = new TypeReference<>() {
+    };
+
+    @Param({"databind", "codec"})
+    private String codec;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] batch;
+    private List<MetricDataResponse> responses;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (codec.equals("codec")) {
+            objectMapper.registerModule(new MetricJsonModule());
+        }
+        requestReader = objectMapper.readerFor(REQUESTS);
+        responseWriter = objectMapper.writerFor(new TypeReference<List<MetricDataResponse>>() {
+        });
+
+        Random random = new Random(42);
+        MetricType[] types = MetricType.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        List<MetricDataRequest> requests = new ArrayList<>(RECORDS);
+        responses = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            MetricType type = types[random.nextInt(types.length)];
+            BigDecimal value = BigDecimal.valueOf(random.nextInt(10_000), 2);
+            LocalDateTime timestamp = start.plusSeconds(i);
+            requests.add(new MetricDataRequest(1L + random.nextInt(500), type, value, timestamp));
+            responses.add(new MetricDataResponse((long) i, 1L, "SENSOR-001", type, value, type.getUnit(),
+                    timestamp, timestamp.plusNanos(123_456_000)));
+        }
+        batch = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public List<MetricDataRequest> parseBatch() throws IOException {
+        return requestReader.readValue(batch);
+    }
+
+    @Benchmark
+    public byte[] writeResponses() throws IOException {
+        return responseWriter.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,77 @@
+package com.weathersensor.api.benchmark;
+
+import com.weathersensor.api.domain.model.MetricValues;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value handling per reading on the write path, BigDecimal vs fixed-point hundredths
+ * ({@link MetricValues}): decode from text, range check, COPY encoding, and a sum/average
+ * over the batch.
+ *
+ * Run with {@code ./gradlew jmh}; the gc profiler reports the allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per batch).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricValueBenchmark {
+
+    private static final BigDecimal MIN_VALUE = new BigDecimal("-100.0");
+    private static final BigDecimal MAX_VALUE = new BigDecimal("1000.0");
+
+    @Param({"1000"})
+    private int records;
+
+    private String[] texts;
+    private final StringBuilder copyBuffer = new StringBuilder(64 * 1024);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        texts = new String[records];
+        for (int i = 0; i < records; i++) {
+            texts[i] = BigDecimal.valueOf(random.nextInt(110_000) - 10_000, 2).toPlainString();
+        }
+    }
+
+    @Benchmark
+    public void decimal(Blackhole blackhole) {
+        copyBuffer.setLength(0);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (String text : texts) {
+            BigDecimal value = new BigDecimal(text);
+            if (value.compareTo(MIN_VALUE) < 0 || value.compareTo(MAX_VALUE) > 0) {
+                continue;
+            }
+            copyBuffer.append(value.setScale(2, RoundingMode.HALF_UP).toPlainString()).append(',');
+            sum = sum.add(value);
+        }
+        blackhole.consume(copyBuffer.length());
+        blackhole.consume(sum.divide(BigDecimal.valueOf(records), 2, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    public void scaled(Blackhole blackhole) {
+        copyBuffer.setLength(0);
+        long sum = 0;
+        for (String text : texts) {
+            long value = MetricValues.parse(text, 0, text.length());
+            if (value < -100_00 || value > 1000_00) {
+                continue;
+            }
+            MetricValues.append(copyBuffer, value).append(',');
+            sum += value;
+        }
+        blackhole.consume(copyBuffer.length());
+        blackhole.consume(MetricValues.toDecimal(Math.round((double) sum / records)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.weathersensor.api.application.dto.request;
 
+import com.weathersensor.api.application.validation.ValidSensorReference;
 import com.weathersensor.api.domain.model.MetricType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
@@ -13,21 +14,28 @@ import java.time.LocalDateTime;
 
 /**
  * Request DTO for ingesting a new metric data point.
+ *
+ * The sensor is named either by {@code sensorId} or by {@code sensorCode}; codes are
+ * resolved through the sensor registry.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@ValidSensorReference
 @Schema(description = "Request to store a new metric data point from a sensor")
 public class MetricDataRequest {
 
-    @NotNull(message = "Sensor ID is required")
     @Positive(message = "Sensor ID must be positive")
-    @Schema(description = "ID of the sensor that collected this metric",
-            example = "1",
-            required = true)
+    @Schema(description = "ID of the sensor that collected this metric (or give sensorCode)",
+            example = "1")
     private Long sensorId;
 
+    @Size(min = 1, max = 50, message = "Sensor code must be 1 to 50 characters")
+    @Schema(description = "Code of the sensor that collected this metric (or give sensorId)",
+            example = "SENSOR-001")
+    private String sensorCode;
+
     @NotNull(message = "Metric type is required")
     @Schema(description = "Type of metric being measured",
             required = true,
@@ -48,4 +56,11 @@ public class MetricDataRequest {
             example = "2024-01-15T10:30:00",
             required = true)
     private LocalDateTime timestamp;
+
+    /**
+     * Request naming the sensor by ID.
+     */
+    public MetricDataRequest(Long sensorId, MetricType metricType, BigDecimal value, LocalDateTime timestamp) {
+        this(sensorId, null, metricType, value, timestamp);
+    }
 }
\ No newline at end of file
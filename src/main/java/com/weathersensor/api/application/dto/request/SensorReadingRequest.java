@@ -0,0 +1,63 @@
+package com.weathersensor.api.application.dto.request;
+
+import com.weathersensor.api.application.validation.ValidSensorReference;
+import com.weathersensor.api.domain.model.MetricType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Request DTO for ingesting every metric a sensor sampled at the same instant.
+ *
+ * Equivalent to one {@link MetricDataRequest} per entry of {@code values}, without
+ * repeating the sensor reference and timestamp.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ValidSensorReference
+@Schema(description = "Request to store all metrics sampled by a sensor at the same instant")
+public class SensorReadingRequest {
+
+    @Positive(message = "Sensor ID must be positive")
+    @Schema(description = "ID of the sensor that collected these metrics (or give sensorCode)",
+            example = "1")
+    private Long sensorId;
+
+    @Size(min = 1, max = 50, message = "Sensor code must be 1 to 50 characters")
+    @Schema(description = "Code of the sensor that collected these metrics (or give sensorId)",
+            example = "SENSOR-001")
+    private String sensorCode;
+
+    @NotNull(message = "Timestamp is required")
+    @PastOrPresent(message = "Timestamp cannot be in the future")
+    @Schema(description = "Timestamp when the measurements were taken",
+            example = "2024-01-15T10:30:00",
+            required = true)
+    private LocalDateTime timestamp;
+
+    @NotEmpty(message = "At least one metric value is required")
+    @Schema(description = "Measured value per metric type",
+            example = "{\"TEMPERATURE\": 23.5, \"HUMIDITY\": 65.0, \"WIND_SPEED\": 12.3, \"PRESSURE\": 998.2}",
+            required = true)
+    private Map<MetricType,
+            @NotNull(message = "Value is required")
+            @DecimalMin(value = "-100.0", message = "Value must be >= -100")
+            @DecimalMax(value = "1000.0", message = "Value must be <= 1000")
+            BigDecimal> values;
+
+    /**
+     * Request naming the sensor by ID.
+     */
+    public SensorReadingRequest(Long sensorId, LocalDateTime timestamp, Map<MetricType, BigDecimal> values) {
+        this(sensorId, null, timestamp, values);
+    }
+}
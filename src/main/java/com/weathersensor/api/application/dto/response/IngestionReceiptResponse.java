@@ -0,0 +1,53 @@
+package com.weathersensor.api.application.dto.response;
+
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO describing the delivery status of an async or stream submission.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Delivery status of an async or stream ingestion")
+public class IngestionReceiptResponse {
+
+    @Schema(description = "Receipt identifier", example = "3f6c1a2e-9b0d-4c57-8e21-6a4f0d9b7c11")
+    private String id;
+
+    @Schema(description = "Ingestion mode", example = "async")
+    private String mode;
+
+    @Schema(description = "PENDING until every reading is written, then COMMITTED, PARTIAL or FAILED",
+            example = "COMMITTED")
+    private IngestionReceipt.Status status;
+
+    @Schema(description = "Readings accepted for persistence", example = "1")
+    private long submitted;
+
+    @Schema(description = "Readings not written yet", example = "0")
+    private long pending;
+
+    @Schema(description = "Readings in the database (including ones already stored by a retry)", example = "1")
+    private long committed;
+
+    @Schema(description = "Readings rejected or dropped", example = "0")
+    private long failed;
+
+    @Schema(description = "Newest reading timestamp committed so far")
+    private LocalDateTime committedWatermark;
+
+    @Schema(description = "When the submission was received")
+    private Instant createdAt;
+
+    @Schema(description = "When the status last changed")
+    private Instant updatedAt;
+}
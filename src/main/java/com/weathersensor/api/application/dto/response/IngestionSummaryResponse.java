@@ -0,0 +1,57 @@
+package com.weathersensor.api.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact response DTO summarizing a streamed or partial-mode batch ingestion.
+ * Only counts and errors are returned, never the ingested records.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Summary of a streamed or partial batch metric ingestion")
+public class IngestionSummaryResponse {
+
+    @Schema(description = "Receipt ID, see GET /api/v1/metrics/ingestions/{id} (streams only)",
+            example = "3f6c1a2e-9b0d-4c57-8e21-6a4f0d9b7c11")
+    private String receiptId;
+
+    @Schema(description = "Number of records persisted", example = "9998")
+    private long accepted;
+
+    @Schema(description = "Number of records rejected", example = "2")
+    private long rejected;
+
+    @Schema(description = "Number of valid records already stored (retries); not persisted again", example = "0")
+    private long duplicates;
+
+    @Schema(description = "Whether the stream was cut short by unparseable input; records before that point are persisted",
+            example = "false")
+    private boolean truncated;
+
+    @Schema(description = "Rejected records (streams report the first ingestion.stream.max-reported-errors only)")
+    private List<RecordError> errors;
+
+    /**
+     * A single rejected record.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A rejected record within a stream or batch")
+    public static class RecordError {
+
+        @Schema(description = "1-based position of the record in the stream or batch", example = "42")
+        private long record;
+
+        @Schema(description = "Why the record was rejected", example = "value: Value must be <= 1000")
+        private String message;
+    }
+}
@@ -0,0 +1,508 @@
+package com.weathersensor.api.application.ingestion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on concurrent database writes of the ingestion path, and on the batch
+ * size of the write-behind buffer.
+ *
+ * Every write (a sync request's transaction, a partial batch, a stream chunk, a buffer
+ * flush) holds a permit until it has committed. Once per {@code ingestion.limiter.window-ms}
+ * the limit is adjusted from what was observed in the window, AIMD with a latency gradient:
+ * - gradient = tolerance * long-term commit latency / window commit latency, within [0.5, 1].
+ *   Below 1 means writes got slower than usual by more than the tolerance
+ * - Decrease: when the gradient is below 1, a write failed on the database side, or the
+ *   mean Hikari connection wait exceeded {@code max-pool-wait-ms}, the limit is multiplied
+ *   by the gradient (at most 0.9)
+ * - Increase: otherwise, if the limit was reached during the window, it grows by 1
+ * - Bounds: 1 to {@code max-limit} (default: the Hikari maximum-pool-size); starts at half
+ *
+ * Batch size (buffer lanes only), AIMD on flush latency: flushes slower on average than
+ * {@code target-flush-ms} shrink it by a quarter; full-size flushes faster than half the
+ * target grow it by 5% of the maximum. Bounds: {@code min-batch-size} to
+ * {@code ingestion.buffer.max-batch-size}.
+ *
+ * Only failures that indicate congestion count as failed writes: timeouts, connection and
+ * pool errors, lock and serialization failures ({@link #isCongestion}). Writes rejected
+ * because of the request itself (duplicate readings, unknown sensors) release their permit
+ * without a sample, so clients retrying a bad payload do not shrink the limit.
+ *
+ * Requests wait up to {@code acquire-timeout-ms} for a permit, then get 503 with
+ * Retry-After ({@link IngestionBufferFullException}); buffer lanes wait as long as needed,
+ * which pushes back on the buffer instead.
+ *
+ * Metrics:
+ * - metric.ingestion.limiter.limit: current concurrency limit
+ * - metric.ingestion.limiter.in.flight: writes holding a permit
+ * - metric.ingestion.limiter.gradient: latency gradient of the last window
+ * - metric.ingestion.limiter.latency{window=short|long}: window and long-term commit latency
+ * - metric.ingestion.limiter.batch.size: current buffer batch size
+ * - metric.ingestion.limiter.rejected: requests rejected after waiting for a permit
+ */
+@Component
+@Slf4j
+public class AdaptiveWriteLimiter {
+
+    static final String POOL_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_LATENCY_WEIGHT = 0.05;
+    private static final Permit NO_PERMIT = new Permit(null, false);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxLimit;
+    private final long acquireTimeoutNanos;
+    private final double tolerance;
+    private final long maxPoolWaitNanos;
+    private final long targetFlushNanos;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final Counter rejectedCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private boolean saturated;
+    private boolean failed;
+    private long latencySum;
+    private int latencyCount;
+    private long flushLatencySum;
+    private int flushCount;
+    private boolean fullFlush;
+
+    // Written by adjust() only
+    private volatile int batchSize;
+    private volatile double gradient = 1.0;
+    private volatile double shortLatencyNanos;
+    private volatile double longLatencyNanos;
+    private double poolWaitTotalNanos;
+    private long poolWaitCount;
+
+    public AdaptiveWriteLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.limiter.enabled:true}") boolean enabled,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${ingestion.limiter.max-limit:0}") int maxLimit,
+            @Value("${ingestion.limiter.acquire-timeout-ms:1000}") long acquireTimeoutMillis,
+            @Value("${ingestion.limiter.tolerance:2.0}") double tolerance,
+            @Value("${ingestion.limiter.max-pool-wait-ms:5}") long maxPoolWaitMillis,
+            @Value("${ingestion.limiter.target-flush-ms:250}") long targetFlushMillis,
+            @Value("${ingestion.limiter.min-batch-size:100}") int minBatchSize,
+            @Value("${ingestion.buffer.max-batch-size:5000}") int maxBatchSize) {
+
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("ingestion.limiter.tolerance must be at least 1");
+        }
+
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit > 0 ? maxLimit : connectionPoolSize);
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.tolerance = tolerance;
+        this.maxPoolWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxPoolWaitMillis);
+        this.targetFlushNanos = TimeUnit.MILLISECONDS.toNanos(targetFlushMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.minBatchSize = Math.max(1, Math.min(minBatchSize, maxBatchSize));
+        this.limit = Math.max(MIN_LIMIT, this.maxLimit / 2);
+        this.batchSize = maxBatchSize;
+
+        this.rejectedCounter = Counter.builder("metric.ingestion.limiter.rejected")
+                .description("Ingestion writes rejected because no write permit was free in time")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+
+        Gauge.builder("metric.ingestion.limiter.limit", this, AdaptiveWriteLimiter::getLimit)
+                .description("Current limit on concurrent ingestion writes")
+                .register(meterRegistry);
+        Gauge.builder("metric.ingestion.limiter.in.flight", this, AdaptiveWriteLimiter::getInFlight)
+                .description("Ingestion writes holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("metric.ingestion.limiter.gradient", this, limiter -> limiter.gradient)
+                .description("Latency gradient of the last adjustment window (1 = no congestion)")
+                .register(meterRegistry);
+        TimeGauge.builder("metric.ingestion.limiter.latency", this, TimeUnit.NANOSECONDS,
+                        limiter -> limiter.shortLatencyNanos)
+                .tag("window", "short")
+                .description("Mean commit latency of ingestion writes")
+                .register(meterRegistry);
+        TimeGauge.builder("metric.ingestion.limiter.latency", this, TimeUnit.NANOSECONDS,
+                        limiter -> limiter.longLatencyNanos)
+                .tag("window", "long")
+                .description("Mean commit latency of ingestion writes")
+                .register(meterRegistry);
+        Gauge.builder("metric.ingestion.limiter.batch.size", this, AdaptiveWriteLimiter::getBatchSize)
+                .description("Current batch size of the write-behind buffer")
+                .register(meterRegistry);
+
+        log.info("Adaptive write limiter: limit={} (max {}), batchSize={} ({}..{})",
+                (int) limit, this.maxLimit, batchSize, this.minBatchSize, maxBatchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Readings a buffer lane should write per flush.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Take a write permit for a request, waiting up to {@code acquire-timeout-ms}.
+     * Release it once the write has committed or failed.
+     *
+     * @throws IngestionBufferFullException if no permit was free in time
+     */
+    public Permit acquire() {
+        if (!enabled) {
+            return NO_PERMIT;
+        }
+        try {
+            if (tryAcquire(acquireTimeoutNanos)) {
+                return new Permit(this, false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        rejectedCounter.increment();
+        throw new IngestionBufferFullException("Too many concurrent ingestion writes, retry later", 1);
+    }
+
+    /**
+     * Take a write permit for the current transaction and release it when the transaction
+     * completes, so the measured latency includes the commit. Without an active
+     * transaction the permit is released right away.
+     *
+     * A rollback is classified by the failure recorded with {@link Permit#failed}; a
+     * rollback without one (e.g. the commit itself failed) counts as congestion.
+     *
+     * @return the permit, to record why the write failed
+     * @throws IngestionBufferFullException if no permit was free in time
+     */
+    public Permit acquireForTransaction() {
+        Permit permit = acquire();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            permit.release(true);
+            return permit;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                permit.complete(status == STATUS_COMMITTED);
+            }
+        });
+        return permit;
+    }
+
+    /**
+     * Take a write permit for a buffer flush, waiting as long as needed.
+     * Release it with the number of flushed readings.
+     */
+    public Permit acquireForFlush() throws InterruptedException {
+        if (!enabled) {
+            return NO_PERMIT;
+        }
+        tryAcquire(Long.MAX_VALUE);
+        return new Permit(this, true);
+    }
+
+    private boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (inFlight >= (int) limit) {
+                saturated = true;
+                if (timeoutNanos == Long.MAX_VALUE) {
+                    released.await();
+                    continue;
+                }
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            if (inFlight >= (int) limit) {
+                saturated = true;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a failed write indicates database congestion: a timeout, a connection or pool
+     * error, or a lock or serialization failure, anywhere in the cause chain. Other
+     * failures (constraint violations, rejected input) are caused by the request.
+     */
+    public static boolean isCongestion(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param sampled false to release without recording the write (client-caused failure)
+     */
+    private void release(long latencyNanos, boolean committed, boolean sampled, boolean flush, int readings) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (sampled) {
+                sample(latencyNanos, committed, flush ? readings : -1);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record one completed write in the current window.
+     *
+     * @param flushedReadings readings of a buffer flush, or -1 for other writes
+     */
+    void sample(long latencyNanos, boolean committed, int flushedReadings) {
+        lock.lock();
+        try {
+            if (!committed) {
+                failed = true;
+                return;
+            }
+            latencySum += latencyNanos;
+            latencyCount++;
+            if (flushedReadings >= 0) {
+                flushLatencySum += latencyNanos;
+                flushCount++;
+                fullFlush |= flushedReadings >= batchSize;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adjust the limit and batch size from the window that just ended, and start a new one.
+     */
+    @Scheduled(fixedDelayString = "${ingestion.limiter.window-ms:1000}",
+            initialDelayString = "${ingestion.limiter.window-ms:1000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        double poolWait = poolWaitNanos();
+
+        lock.lock();
+        try {
+            if (latencyCount > 0) {
+                double windowLatency = (double) latencySum / latencyCount;
+                double longLatency = longLatencyNanos;
+                if (longLatency == 0) {
+                    longLatency = windowLatency;
+                } else if (windowLatency < longLatency) {
+                    // Recover quickly when the database gets faster again
+                    longLatency = (longLatency + windowLatency) / 2;
+                } else {
+                    longLatency += LONG_LATENCY_WEIGHT * (windowLatency - longLatency);
+                }
+                shortLatencyNanos = windowLatency;
+                longLatencyNanos = longLatency;
+                gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / windowLatency));
+            } else {
+                gradient = 1.0;
+            }
+
+            double previous = limit;
+            boolean congested = gradient < 1.0 || failed || poolWait > maxPoolWaitNanos;
+            if (congested) {
+                limit = Math.max(MIN_LIMIT, limit * Math.min(gradient, BACKOFF_RATIO));
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1);
+                released.signalAll();
+            }
+
+            if (flushCount > 0) {
+                double flushLatency = (double) flushLatencySum / flushCount;
+                if (flushLatency > targetFlushNanos) {
+                    batchSize = Math.max(minBatchSize, batchSize * 3 / 4);
+                } else if (fullFlush && flushLatency < targetFlushNanos / 2.0) {
+                    batchSize = Math.min(maxBatchSize, batchSize + Math.max(1, maxBatchSize / 20));
+                }
+            }
+
+            if ((int) previous != (int) limit) {
+                log.debug("Write limit {} -> {} (gradient {}, pool wait {} ms, failed {})",
+                        (int) previous, (int) limit, gradient, poolWait / 1e6, failed);
+            }
+
+            saturated = inFlight >= (int) limit;
+            failed = false;
+            latencySum = 0;
+            latencyCount = 0;
+            flushLatencySum = 0;
+            flushCount = 0;
+            fullFlush = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mean Hikari connection acquire time since the previous window, 0 without
+     * acquisitions or without Hikari metrics.
+     */
+    private double poolWaitNanos() {
+        double total = 0;
+        long count = 0;
+        for (Timer timer : meterRegistry.find(POOL_ACQUIRE_TIMER).timers()) {
+            total += timer.totalTime(TimeUnit.NANOSECONDS);
+            count += timer.count();
+        }
+
+        double waited = total - poolWaitTotalNanos;
+        long acquired = count - poolWaitCount;
+        poolWaitTotalNanos = total;
+        poolWaitCount = count;
+        return acquired > 0 ? waited / acquired : 0;
+    }
+
+    /**
+     * A write permit. Release it exactly once; further releases are ignored.
+     */
+    public static final class Permit {
+
+        private final AdaptiveWriteLimiter limiter;
+        private final boolean flush;
+        private final long start = System.nanoTime();
+        private boolean released;
+        private Throwable failure;
+
+        private Permit(AdaptiveWriteLimiter limiter, boolean flush) {
+            this.limiter = limiter;
+            this.flush = flush;
+        }
+
+        /**
+         * @param committed whether the write committed; failures count as congestion
+         */
+        public void release(boolean committed) {
+            release(committed, -1);
+        }
+
+        /**
+         * @param committed whether the flush committed; failures count as congestion
+         * @param readings readings written by the flush
+         */
+        public void release(boolean committed, int readings) {
+            release(committed, true, readings);
+        }
+
+        /**
+         * @param failure why the write failed, or null if it committed; only congestion
+         *        ({@link #isCongestion}) counts as a failed write
+         */
+        public void release(Throwable failure) {
+            release(failure, -1);
+        }
+
+        /**
+         * @param failure why the flush failed, or null if it committed
+         * @param readings readings written by the flush
+         */
+        public void release(Throwable failure, int readings) {
+            release(failure == null, failure == null || isCongestion(failure), readings);
+        }
+
+        /**
+         * Record why the write of a transaction-bound permit failed, before the
+         * transaction rolls back.
+         */
+        public synchronized void failed(Throwable failure) {
+            if (this.failure == null) {
+                this.failure = failure;
+            }
+        }
+
+        private synchronized void complete(boolean committed) {
+            if (committed) {
+                release(true);
+            } else if (failure != null) {
+                release(failure);
+            } else {
+                release(false);
+            }
+        }
+
+        private synchronized void release(boolean committed, boolean sampled, int readings) {
+            if (released || limiter == null) {
+                return;
+            }
+            released = true;
+            limiter.release(System.nanoTime() - start, committed, sampled, flush, readings);
+        }
+    }
+}
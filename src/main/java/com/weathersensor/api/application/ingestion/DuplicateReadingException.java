@@ -0,0 +1,17 @@
+package com.weathersensor.api.application.ingestion;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Thrown when an all-or-nothing batch written through the {@link MetricBatchWriter}
+ * contains a reading that is already stored or repeated within the batch, so it fails
+ * like the same batch written as JPA entities would on the unique index.
+ *
+ * Mapped to 409 Conflict by the global exception handler.
+ */
+public class DuplicateReadingException extends DataIntegrityViolationException {
+
+    public DuplicateReadingException(int duplicates) {
+        super(duplicates + " reading(s) for the same sensor, metric type and timestamp already exist");
+    }
+}
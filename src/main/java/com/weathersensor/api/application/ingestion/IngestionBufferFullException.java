@@ -0,0 +1,30 @@
+package com.weathersensor.api.application.ingestion;
+
+/**
+ * Thrown when ingestion cannot accept more readings right now: the write-behind buffer
+ * is full, the application is shutting down, or no {@link AdaptiveWriteLimiter} write
+ * permit became free in time.
+ *
+ * Mapped to 503 Service Unavailable by the global exception handler, with a
+ * Retry-After header when a delay could be estimated.
+ */
+public class IngestionBufferFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestionBufferFullException(String message) {
+        this(message, 0);
+    }
+
+    public IngestionBufferFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Suggested delay before retrying, in seconds; 0 if unknown.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,124 @@
+package com.weathersensor.api.application.ingestion;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Delivery status of one async or stream submission, updated as its readings are
+ * written. Held by the {@link IngestionReceiptStore}.
+ *
+ * Counts:
+ * - submitted: readings accepted for persistence under this receipt
+ * - committed: readings in the database (written now, or already stored by a retry)
+ * - failed: readings rejected or dropped
+ * - pending: submitted readings neither committed nor failed yet
+ *
+ * The committed watermark is the newest reading timestamp committed so far.
+ *
+ * Thread-safe: readings of one receipt may be written by several buffer lanes.
+ */
+public class IngestionReceipt {
+
+    /**
+     * Overall state derived from the counts.
+     */
+    public enum Status {
+        /** Some readings are not written yet */
+        PENDING,
+        /** Every reading is committed */
+        COMMITTED,
+        /** Some readings are committed, the others failed */
+        PARTIAL,
+        /** No reading was committed */
+        FAILED
+    }
+
+    private final String id;
+    private final String mode;
+    private final Instant createdAt;
+    private long submitted;
+    private long committed;
+    private long failed;
+    private LocalDateTime committedWatermark;
+    private Instant updatedAt;
+
+    IngestionReceipt(String id, String mode, Instant createdAt) {
+        this.id = id;
+        this.mode = mode;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized long getSubmitted() {
+        return submitted;
+    }
+
+    public synchronized long getCommitted() {
+        return committed;
+    }
+
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    public synchronized long getPending() {
+        return submitted - committed - failed;
+    }
+
+    public synchronized LocalDateTime getCommittedWatermark() {
+        return committedWatermark;
+    }
+
+    public synchronized Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public synchronized Status getStatus() {
+        if (getPending() > 0) {
+            return Status.PENDING;
+        }
+        if (failed == 0) {
+            return Status.COMMITTED;
+        }
+        return committed > 0 ? Status.PARTIAL : Status.FAILED;
+    }
+
+    /**
+     * Record readings accepted for persistence.
+     */
+    public synchronized void submitted(long count) {
+        submitted += count;
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Record readings written, {@code newest} being the latest timestamp among them.
+     */
+    public synchronized void committed(long count, LocalDateTime newest) {
+        committed += count;
+        if (newest != null && (committedWatermark == null || newest.isAfter(committedWatermark))) {
+            committedWatermark = newest;
+        }
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Record readings rejected or dropped.
+     */
+    public synchronized void failed(long count) {
+        failed += count;
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.weathersensor.api.application.ingestion;
+
+/**
+ * Thrown when an ingestion receipt is unknown, expired or evicted.
+ *
+ * Mapped to 404 Not Found by the global exception handler.
+ */
+public class IngestionReceiptNotFoundException extends RuntimeException {
+
+    public IngestionReceiptNotFoundException(String id) {
+        super("Ingestion receipt not found (unknown or expired): " + id);
+    }
+}
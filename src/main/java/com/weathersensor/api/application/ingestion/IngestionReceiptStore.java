@@ -0,0 +1,123 @@
+package com.weathersensor.api.application.ingestion;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded in-memory store of {@link IngestionReceipt}s, so clients of the async and
+ * stream endpoints can confirm delivery without falling back to synchronous ingestion.
+ *
+ * Receipts are kept for {@code ingestion.receipts.ttl-ms} after creation (default
+ * 10 minutes), and at most {@code ingestion.receipts.max-entries} of them (default
+ * 100000); the oldest are evicted first. Receipts are local to this instance and lost
+ * on restart (readings replayed from the journal are not tracked).
+ *
+ * Metrics:
+ * - metric.ingestion.receipts: receipts currently held
+ */
+@Component
+public class IngestionReceiptStore {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Insertion order is creation order, so the eldest entry is the first to expire
+    private final LinkedHashMap<String, IngestionReceipt> receipts = new LinkedHashMap<>();
+
+    public IngestionReceiptStore(
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.receipts.max-entries:100000}") int maxEntries,
+            @Value("${ingestion.receipts.ttl-ms:600000}") long ttlMillis) {
+        this(meterRegistry, maxEntries, Duration.ofMillis(ttlMillis), Clock.systemUTC());
+    }
+
+    IngestionReceiptStore(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("ingestion.receipts.max-entries must be positive");
+        }
+
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+
+        Gauge.builder("metric.ingestion.receipts", this, IngestionReceiptStore::size)
+                .description("Ingestion receipts held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create and register a receipt.
+     *
+     * @param mode ingestion mode (e.g. "async", "stream")
+     */
+    public IngestionReceipt create(String mode) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = new UUID(random.nextLong(), random.nextLong()).toString();
+        Instant now = clock.instant();
+        IngestionReceipt receipt = new IngestionReceipt(id, mode, now);
+
+        synchronized (receipts) {
+            expire(now);
+            receipts.put(id, receipt);
+            if (receipts.size() > maxEntries) {
+                Iterator<IngestionReceipt> eldest = receipts.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return receipt;
+    }
+
+    /**
+     * @return the receipt, or null if unknown, expired or evicted
+     */
+    public IngestionReceipt find(String id) {
+        Instant now = clock.instant();
+        synchronized (receipts) {
+            IngestionReceipt receipt = receipts.get(id);
+            if (receipt != null && isExpired(receipt, now)) {
+                receipts.remove(id);
+                return null;
+            }
+            return receipt;
+        }
+    }
+
+    /**
+     * Forget a receipt whose submission was rejected before the client saw its ID.
+     */
+    public void discard(IngestionReceipt receipt) {
+        synchronized (receipts) {
+            receipts.remove(receipt.getId());
+        }
+    }
+
+    public int size() {
+        synchronized (receipts) {
+            return receipts.size();
+        }
+    }
+
+    private void expire(Instant now) {
+        Iterator<Map.Entry<String, IngestionReceipt>> entries = receipts.entrySet().iterator();
+        while (entries.hasNext() && isExpired(entries.next().getValue(), now)) {
+            entries.remove();
+        }
+    }
+
+    private boolean isExpired(IngestionReceipt receipt, Instant now) {
+        return !receipt.getCreatedAt().plus(ttl).isAfter(now);
+    }
+}
@@ -0,0 +1,359 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.domain.event.MetricsBatchIngestedEvent;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.infrastructure.persistence.ConflictPolicy;
+import com.weathersensor.api.infrastructure.persistence.MetricDataCopyWriter;
+import com.weathersensor.api.infrastructure.persistence.MetricDataJdbcWriter;
+import com.weathersensor.api.infrastructure.persistence.SensorReadingWriter;
+import com.weathersensor.api.infrastructure.persistence.StorageLayout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry point for writing batches of readings without the JPA persistence context.
+ *
+ * Responsibilities:
+ * - Validate sensor existence and status for the whole batch against the {@link SensorRegistry}
+ *   (cache misses are loaded with one IN query)
+ * - Drop duplicates: repeated keys within the batch, and (with the default IGNORE policy)
+ *   keys recently written according to the {@link RecentReadingFilter}
+ * - Persist readings with the cheapest strategy for the batch size:
+ *   multi-row INSERTs below {@code ingestion.copy.threshold}, PostgreSQL COPY at or above it.
+ *   Both use ON CONFLICT on (sensor, metric type, timestamp), so retries are idempotent.
+ *   With {@code storage.layout=WIDE}, every batch is upserted into {@code sensor_readings}
+ * - Or, for all-or-nothing batches ({@link #writeAll}), fail on any duplicate with 409,
+ *   like the JPA insert path used for smaller batches
+ * - Route late readings ({@link SensorWatermarkTracker}) through a side path: they are
+ *   written separately from the live ones, and their time buckets are invalidated after commit
+ * - Publish one {@link MetricsBatchIngestedEvent} per batch
+ * - Record bulk ingestion metrics
+ *
+ * Dedup metrics (hit rate = (filtered + conflict) / all):
+ * - metric.ingestion.dedup{result=unique}: readings written
+ * - metric.ingestion.dedup{result=filtered}: duplicates dropped in memory
+ * - metric.ingestion.dedup{result=conflict}: duplicates caught by the unique index
+ */
+@Component
+@Slf4j
+public class MetricBatchWriter {
+
+    private final MetricDataJdbcWriter jdbcWriter;
+    private final MetricDataCopyWriter copyWriter;
+    private final SensorReadingWriter sensorReadingWriter;
+    private final SensorRegistry sensorRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final RecentReadingFilter recentReadingFilter;
+    private final SensorWatermarkTracker watermarkTracker;
+    private final ConflictPolicy conflictPolicy;
+    private final StorageLayout storageLayout;
+    private final int copyThreshold;
+    private final Counter uniqueCounter;
+    private final Counter filteredCounter;
+    private final Counter conflictCounter;
+
+    public MetricBatchWriter(
+            MetricDataJdbcWriter jdbcWriter,
+            MetricDataCopyWriter copyWriter,
+            SensorReadingWriter sensorReadingWriter,
+            SensorRegistry sensorRegistry,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            RecentReadingFilter recentReadingFilter,
+            SensorWatermarkTracker watermarkTracker,
+            @Value("${ingestion.dedup.on-conflict:IGNORE}") ConflictPolicy conflictPolicy,
+            @Value("${storage.layout:NARROW}") StorageLayout storageLayout,
+            @Value("${ingestion.copy.threshold:1000}") int copyThreshold) {
+
+        this.jdbcWriter = jdbcWriter;
+        this.copyWriter = copyWriter;
+        this.sensorReadingWriter = sensorReadingWriter;
+        this.sensorRegistry = sensorRegistry;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.recentReadingFilter = recentReadingFilter;
+        this.watermarkTracker = watermarkTracker;
+        this.conflictPolicy = conflictPolicy;
+        this.storageLayout = storageLayout;
+        this.copyThreshold = copyThreshold;
+
+        this.uniqueCounter = dedupCounter(meterRegistry, "unique");
+        this.filteredCounter = dedupCounter(meterRegistry, "filtered");
+        this.conflictCounter = dedupCounter(meterRegistry, "conflict");
+    }
+
+    private static Counter dedupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("metric.ingestion.dedup")
+                .tag("result", result)
+                .description("Readings by deduplication outcome")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a batch of this size must be written here rather than as JPA entities:
+     * always with the wide layout, otherwise when it is large enough for COPY.
+     */
+    public boolean usesBulkPath(int batchSize) {
+        return storageLayout == StorageLayout.WIDE || usesCopy(batchSize);
+    }
+
+    private boolean usesCopy(int batchSize) {
+        return batchSize >= copyThreshold;
+    }
+
+    /**
+     * Write a batch of readings in a single transaction.
+     *
+     * Readings for unknown or inactive sensors are dropped and counted as errors instead
+     * of failing the whole batch (the FK constraint would otherwise abort the statement).
+     *
+     * @param readings readings to persist
+     * @param mode ingestion mode used for metric tags (e.g. "async")
+     * @return number of persisted readings (duplicates of stored readings are not counted)
+     */
+    @Transactional
+    public int write(List<MetricReading> readings, String mode) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> sensorIds = new ArrayList<>(readings.size());
+        for (MetricReading reading : readings) {
+            sensorIds.add(reading.getSensorId());
+        }
+        sensorRegistry.preload(sensorIds);
+
+        List<MetricReading> accepted = new ArrayList<>(readings.size());
+        int unknown = 0;
+        int inactive = 0;
+        for (MetricReading reading : readings) {
+            Sensor sensor = sensorRegistry.get(reading.getSensorId());
+            if (sensor == null) {
+                unknown++;
+            } else if (!sensor.acceptsReadings()) {
+                inactive++;
+            } else {
+                accepted.add(reading);
+            }
+        }
+
+        if (unknown > 0) {
+            log.warn("Dropping {} readings for unknown sensors ({} mode)", unknown, mode);
+            countErrors(mode, "SensorNotFound", unknown);
+        }
+        if (inactive > 0) {
+            log.warn("Dropping {} readings for inactive sensors ({} mode)", inactive, mode);
+            countErrors(mode, "SensorInactive", inactive);
+        }
+
+        return writeValidated(accepted, mode);
+    }
+
+    /**
+     * Write a batch whose sensors have already been validated by the caller.
+     *
+     * Duplicates are skipped (IGNORE) or overwrite the stored value (UPDATE), according
+     * to {@code ingestion.dedup.on-conflict}. Late readings are written with their own
+     * statements, each part with the strategy for its own size, in the same transaction.
+     *
+     * @param readings readings to persist
+     * @param mode ingestion mode used for metric tags (e.g. "batch")
+     * @return number of persisted readings (duplicates of stored readings are not counted)
+     */
+    @Transactional
+    public int writeValidated(List<MetricReading> readings, String mode) {
+        return write(readings, mode, false);
+    }
+
+    /**
+     * Write an all-or-nothing batch whose sensors have already been validated by the caller.
+     *
+     * A reading that is already stored or repeated within the batch fails the whole batch
+     * with a {@link DuplicateReadingException} (409), whatever the batch size, as on the
+     * JPA insert path of the synchronous endpoints. Stored duplicates are detected with
+     * {@code ON CONFLICT DO NOTHING} regardless of {@code ingestion.dedup.on-conflict}.
+     * With the wide layout stored metrics cannot be told apart from merged ones, so
+     * batches are written like {@link #writeValidated} at every size.
+     *
+     * @param readings readings to persist
+     * @param mode ingestion mode used for metric tags (e.g. "batch")
+     * @return number of persisted readings (all of them)
+     * @throws DuplicateReadingException if any reading is a duplicate (nothing is persisted)
+     */
+    @Transactional
+    public int writeAll(List<MetricReading> readings, String mode) {
+        return write(readings, mode, storageLayout == StorageLayout.NARROW);
+    }
+
+    /**
+     * @param strict whether duplicates fail the batch instead of being skipped
+     */
+    private int write(List<MetricReading> readings, String mode, boolean strict) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+        ConflictPolicy policy = strict ? ConflictPolicy.IGNORE : conflictPolicy;
+
+        List<MetricReading> candidates = deduplicate(readings, policy);
+        if (strict && candidates.size() < readings.size()) {
+            throw new DuplicateReadingException(readings.size() - candidates.size());
+        }
+        filteredCounter.increment(readings.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            log.debug("Dropped all {} readings as duplicates ({} mode)", readings.size(), mode);
+            return 0;
+        }
+        readings = candidates;
+
+        SensorWatermarkTracker.Arrivals arrivals = watermarkTracker.classify(readings);
+        int written = persist(arrivals.getOnTime(), mode, "on_time", policy)
+                + persist(arrivals.getLate(), mode, "late", policy);
+        if (strict && written < readings.size()) {
+            // Rolls back the rows written so far
+            throw new DuplicateReadingException(readings.size() - written);
+        }
+
+        uniqueCounter.increment(written);
+        conflictCounter.increment(readings.size() - written);
+        rememberAfterCommit(readings);
+        watermarkTracker.written(arrivals, mode);
+
+        eventPublisher.publishEvent(new MetricsBatchIngestedEvent(this, readings, mode));
+
+        Counter.builder("metric.ingestion.bulk")
+                .tag("mode", mode)
+                .description("Metric readings written through the bulk write path")
+                .register(meterRegistry)
+                .increment(written);
+
+        log.debug("Bulk wrote {} readings ({} mode, {} late)", written, mode, arrivals.getLate().size());
+        return written;
+    }
+
+    /**
+     * Write readings of one arrival class with the cheapest strategy for their count.
+     *
+     * @return number of persisted readings
+     */
+    private int persist(List<MetricReading> readings, String mode, String arrival, ConflictPolicy policy) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+
+        boolean wide = storageLayout == StorageLayout.WIDE;
+        boolean copy = !wide && usesCopy(readings.size());
+        String strategy = wide ? "wide" : copy ? "copy" : "insert";
+        long start = System.nanoTime();
+
+        int written = wide ? sensorReadingWriter.upsert(readings)
+                : copy ? (int) copyWriter.copy(readings, policy)
+                : jdbcWriter.insert(readings, policy);
+
+        Timer.builder("metric.ingestion.bulk.write")
+                .tag("mode", mode)
+                .tag("strategy", strategy)
+                .tag("arrival", arrival)
+                .description("Time taken to write a batch through the bulk write path")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return written;
+    }
+
+    /**
+     * Remove repeated keys within the batch (first wins with IGNORE, last with UPDATE,
+     * matching what the database would keep) and, with IGNORE, keys recently written.
+     */
+    private List<MetricReading> deduplicate(List<MetricReading> readings, ConflictPolicy policy) {
+        boolean ignore = policy == ConflictPolicy.IGNORE;
+        Set<ReadingKey> seen = new HashSet<>(readings.size() * 2);
+        List<MetricReading> unique = new ArrayList<>(readings.size());
+
+        for (int i = 0; i < readings.size(); i++) {
+            MetricReading reading = readings.get(ignore ? i : readings.size() - 1 - i);
+            if (!seen.add(new ReadingKey(reading))) {
+                continue;
+            }
+            if (ignore && recentReadingFilter.contains(reading)) {
+                continue;
+            }
+            unique.add(reading);
+        }
+
+        if (!ignore) {
+            Collections.reverse(unique);
+        }
+        return unique.size() == readings.size() ? readings : unique;
+    }
+
+    /**
+     * Add the written keys to the recent-reading filter once they are committed: a key
+     * remembered from a rolled-back batch would make the filter drop the client's retry.
+     */
+    private void rememberAfterCommit(List<MetricReading> readings) {
+        if (!recentReadingFilter.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentReadingFilter.addAll(readings);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentReadingFilter.addAll(readings);
+            }
+        });
+    }
+
+    private void countErrors(String mode, String error, int count) {
+        Counter.builder("metric.ingestion.errors")
+                .tag("mode", mode)
+                .tag("error", error)
+                .description("Failed metric ingestions")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Unique key of a reading within a batch (same precision as the recent-reading filter).
+     */
+    private static final class ReadingKey {
+
+        private final long sensorId;
+        private final long stamp;
+
+        private ReadingKey(MetricReading reading) {
+            this.sensorId = reading.getSensorId();
+            this.stamp = RecentReadingFilter.stamp(reading);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ReadingKey key && key.sensorId == sensorId && key.stamp == stamp;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sensorId * 31 + stamp);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.weathersensor.api.application.ingestion;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a binary metric frame cannot be decoded.
+ *
+ * A recoverable error concerns a single, fully consumed record (e.g. unknown metric
+ * type code); decoding can continue with the next record. Anything else (bad header,
+ * truncated record, overlong varint) leaves the stream out of sync.
+ */
+public class MetricFrameException extends IOException {
+
+    private final boolean recoverable;
+
+    public MetricFrameException(String message, boolean recoverable) {
+        super(message);
+        this.recoverable = recoverable;
+    }
+
+    public boolean isRecoverable() {
+        return recoverable;
+    }
+}
@@ -0,0 +1,148 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Incremental decoder for the binary metric format described in {@link MetricFrameFormat}.
+ *
+ * Decodes straight into {@link MetricReading}s (no DTOs, no text parsing) through a
+ * private unsynchronized buffer, so memory use is constant regardless of stream length.
+ * Timestamps are converted to local time in the system zone, like JSON timestamps.
+ * Not thread-safe.
+ */
+public final class MetricFrameReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private int position;
+    private int limit;
+    private boolean headerRead;
+
+    public MetricFrameReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public MetricFrameReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Decode the next record.
+     *
+     * @return the next reading, or null at end of stream (an empty body has no records)
+     * @throws MetricFrameException if the frame is malformed; see {@link MetricFrameException#isRecoverable()}
+     * @throws IOException if the underlying stream fails
+     */
+    public MetricReading next() throws IOException {
+        if (!headerRead) {
+            if (!readHeader()) {
+                return null;
+            }
+            headerRead = true;
+        }
+
+        int first = read();
+        if (first < 0) {
+            return null;
+        }
+
+        long sensorId = readVarint(first);
+        int typeCode = readRequired();
+        long epochMillis = readLong();
+        long scaledValue = zigzagDecode(readVarint(readRequired()));
+
+        // The record is fully consumed at this point, so an unknown type is recoverable
+        MetricType metricType = MetricFrameFormat.typeOf(typeCode);
+        if (metricType == null) {
+            throw new MetricFrameException("Unknown metric type code: " + typeCode, true);
+        }
+
+        return new MetricReading(
+                sensorId,
+                metricType,
+                scaledValue,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone));
+    }
+
+    /**
+     * @return false if the stream is empty
+     */
+    private boolean readHeader() throws IOException {
+        int first = read();
+        if (first < 0) {
+            return false;
+        }
+
+        byte[] magic = MetricFrameFormat.MAGIC;
+        if ((byte) first != magic[0] || (byte) readRequired() != magic[1] || (byte) readRequired() != magic[2]) {
+            throw new MetricFrameException("Not a metric frame (bad magic)", false);
+        }
+
+        int version = readRequired();
+        if (version != MetricFrameFormat.VERSION) {
+            throw new MetricFrameException("Unsupported metric frame version: " + version, false);
+        }
+        return true;
+    }
+
+    private long readVarint(int first) throws IOException {
+        long result = first & 0x7F;
+        int b = first;
+        int shift = 7;
+        while ((b & 0x80) != 0) {
+            if (shift >= 64) {
+                throw new MetricFrameException("Varint too long", false);
+            }
+            b = readRequired();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return result;
+    }
+
+    private long readLong() throws IOException {
+        long result = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = (result << 8) | readRequired();
+        }
+        return result;
+    }
+
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readRequired() throws IOException {
+        int b = read();
+        if (b < 0) {
+            throw new MetricFrameException("Truncated record at end of stream", false);
+        }
+        return b;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            int n = in.read(buffer, 0, buffer.length);
+            while (n == 0) {
+                n = in.read(buffer, 0, buffer.length);
+            }
+            if (n < 0) {
+                return -1;
+            }
+            position = 0;
+            limit = n;
+        }
+        return buffer[position++] & 0xFF;
+    }
+}
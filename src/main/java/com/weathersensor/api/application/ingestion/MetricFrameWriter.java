@@ -0,0 +1,79 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Encoder for the binary metric format described in {@link MetricFrameFormat}.
+ * Reference implementation for gateways, tests and benchmarks. Not thread-safe.
+ * Timestamps are read as local times in the system zone, like JSON timestamps.
+ */
+public final class MetricFrameWriter {
+
+    private final OutputStream out;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private boolean headerWritten;
+
+    public MetricFrameWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Encode a complete frame (header and records) into a byte array.
+     */
+    public static byte[] encode(List<MetricReading> readings) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + readings.size() * 14);
+        MetricFrameWriter writer = new MetricFrameWriter(bytes);
+        try {
+            writer.writeHeader();
+            for (MetricReading reading : readings) {
+                writer.write(reading);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Append one record (the header is written before the first record).
+     */
+    public void write(MetricReading reading) throws IOException {
+        writeHeader();
+
+        writeVarint(reading.getSensorId());
+        out.write(MetricFrameFormat.typeCode(reading.getMetricType()));
+        writeLong(reading.getTimestamp().atZone(zone).toInstant().toEpochMilli());
+
+        long scaled = reading.getScaledValue();
+        writeVarint((scaled << 1) ^ (scaled >> 63));
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            out.write(MetricFrameFormat.MAGIC);
+            out.write(MetricFrameFormat.VERSION);
+            headerWritten = true;
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+
+import java.time.LocalDateTime;
+
+/**
+ * Field validation for readings that bypass {@code MetricDataRequest} and Bean Validation
+ * (binary frames, line protocol). Applies the same rules and messages as the constraints
+ * on the request DTO. Timestamps are local times in the system zone, like JSON timestamps.
+ */
+public final class MetricReadingValidator {
+
+    // Hundredths, see MetricValues
+    private static final long MIN_VALUE = -100_00;
+    private static final long MAX_VALUE = 1000_00;
+
+    private MetricReadingValidator() {
+    }
+
+    /**
+     * @return a "field: message" description of the first violation, or null if valid
+     */
+    public static String validate(MetricReading reading) {
+        return validate(reading, LocalDateTime.now());
+    }
+
+    /**
+     * Validate against a clock read shared by a whole batch or stream chunk.
+     *
+     * @param now current time in the system zone
+     * @return a "field: message" description of the first violation, or null if valid
+     */
+    public static String validate(MetricReading reading, LocalDateTime now) {
+        if (reading.getSensorId() <= 0) {
+            return "sensorId: Sensor ID must be positive";
+        }
+        if (reading.getScaledValue() < MIN_VALUE) {
+            return "value: Value must be >= -100";
+        }
+        if (reading.getScaledValue() > MAX_VALUE) {
+            return "value: Value must be <= 1000";
+        }
+        if (reading.getTimestamp().isAfter(now)) {
+            return "timestamp: Timestamp cannot be in the future";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,737 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.infrastructure.journal.MetricJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind (group commit) buffer for asynchronous metric ingestion.
+ *
+ * Accepted readings are partitioned into {@code ingestion.buffer.lanes} lanes by sensor ID.
+ * Each lane has its own bounded queue and a single writer thread that writes it to the
+ * database in batches through {@link MetricBatchWriter}, so:
+ * - Readings of one sensor are committed in the order they were accepted
+ * - A burst from one sensor fills and blocks only its own lane
+ * - Per-sensor in-memory state can be kept by the lane that owns the sensor without locks
+ *
+ * A lane flushes a batch when either trigger fires:
+ * - Size: the {@link AdaptiveWriteLimiter}'s current batch size collected, at most
+ *   {@code ingestion.buffer.max-batch-size} (default 5000)
+ * - Time: {@code ingestion.buffer.flush-interval-ms} elapsed since the first reading (default 50 ms)
+ *
+ * Backpressure: when a lane is full, {@link #submit} waits up to
+ * {@code ingestion.buffer.offer-timeout-ms} and then rejects the reading with
+ * {@link IngestionBufferFullException} instead of blocking the request thread.
+ * {@code ingestion.buffer.capacity} is shared evenly between the lanes. The rejection
+ * carries a retry delay: the lane's backlog divided by its drain rate (an exponentially
+ * weighted average of readings written per second of flushing, retries included),
+ * capped at {@code ingestion.buffer.max-retry-after-seconds}.
+ *
+ * Each flush holds a write permit of the {@link AdaptiveWriteLimiter}; a lane waits for
+ * one, so a slow database makes the lanes fall behind and the buffer reject instead of
+ * piling up connections.
+ *
+ * On shutdown the buffer stops accepting readings and drains everything already queued.
+ *
+ * Readings submitted with an {@link IngestionReceipt} are recorded on it as committed
+ * (or failed, when a batch is dropped) once their batch has been written.
+ *
+ * Durability: when the {@link MetricJournal} is enabled, every accepted reading is
+ * appended to it and {@link #submit} returns only after the group fsync, so an
+ * acknowledged reading survives a crash. Lanes start flushing once the journal has been
+ * replayed, retry a failed batch with backoff instead of dropping it, and advance the
+ * journal checkpoint to just below the oldest reading still queued in any lane.
+ * Without the journal, queued readings are lost if the process dies.
+ *
+ * Metrics:
+ * - metric.ingestion.buffer.depth: current queue size, per lane
+ * - metric.ingestion.buffer.drain.rate: estimated readings written per second, per lane
+ * - metric.ingestion.buffer.flush: flush latency
+ * - metric.ingestion.buffer.batch.size: readings per flush
+ * - metric.ingestion.buffer.rejected: readings rejected because a lane was full
+ */
+@Component
+@Slf4j
+public class MetricWriteBuffer {
+
+    static final String MODE = "async";
+    static final String REPLAY_MODE = "replay";
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+    private static final double DRAIN_RATE_WEIGHT = 0.2;
+
+    private final MetricBatchWriter batchWriter;
+    private final AdaptiveWriteLimiter writeLimiter;
+    private final MeterRegistry meterRegistry;
+    private final MetricJournal journal;
+    private final Object journalLock = new Object();
+    private final Lane[] lanes;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long maxRetryAfterSeconds;
+    private final long shutdownTimeoutMillis;
+    private final CountDownLatch replayed = new CountDownLatch(1);
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+
+    private volatile boolean running;
+    private volatile boolean replayAbandoned;
+
+    public MetricWriteBuffer(
+            MetricBatchWriter batchWriter,
+            AdaptiveWriteLimiter writeLimiter,
+            MeterRegistry meterRegistry,
+            @Nullable MetricJournal journal,
+            @Value("${ingestion.buffer.lanes:4}") int laneCount,
+            @Value("${ingestion.buffer.capacity:50000}") int capacity,
+            @Value("${ingestion.buffer.max-batch-size:5000}") int maxBatchSize,
+            @Value("${ingestion.buffer.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${ingestion.buffer.offer-timeout-ms:10}") long offerTimeoutMillis,
+            @Value("${ingestion.buffer.max-retry-after-seconds:30}") long maxRetryAfterSeconds,
+            @Value("${ingestion.buffer.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("ingestion.buffer.lanes must be positive");
+        }
+
+        this.batchWriter = batchWriter;
+        this.writeLimiter = writeLimiter;
+        this.meterRegistry = meterRegistry;
+        this.journal = journal;
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetryAfterSeconds = Math.max(1, maxRetryAfterSeconds);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        int laneCapacity = Math.max(1, (capacity + laneCount - 1) / laneCount);
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, laneCapacity);
+            Gauge.builder("metric.ingestion.buffer.depth", lanes[i], Lane::depth)
+                    .tag("lane", String.valueOf(i))
+                    .description("Readings waiting in a write-behind buffer lane")
+                    .register(meterRegistry);
+            Gauge.builder("metric.ingestion.buffer.drain.rate", lanes[i], lane -> lane.drainRate)
+                    .tag("lane", String.valueOf(i))
+                    .description("Estimated readings written per second by a write-behind buffer lane")
+                    .register(meterRegistry);
+        }
+
+        this.flushTimer = Timer.builder("metric.ingestion.buffer.flush")
+                .description("Time taken to flush a batch from the write-behind buffer")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.batchSizeSummary = DistributionSummary.builder("metric.ingestion.buffer.batch.size")
+                .description("Readings written per buffer flush")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("metric.ingestion.buffer.rejected")
+                .description("Readings rejected because the write-behind buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+
+        if (journal != null) {
+            new Thread(this::replayJournal, "metric-journal-replay").start();
+        } else {
+            replayed.countDown();
+        }
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+
+        log.info("Metric write buffer started: lanes={}, capacity={}, maxBatchSize={}, flushIntervalMs={}, journal={}",
+                lanes.length, capacity, maxBatchSize, flushIntervalMillis, journal != null);
+    }
+
+    /**
+     * Stop accepting readings and flush everything already queued.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        log.info("Stopping metric write buffer, draining {} queued readings", getDepth());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        for (Lane lane : lanes) {
+            lane.wakeUp();
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        boolean drained = true;
+        for (Lane lane : lanes) {
+            drained &= !lane.thread.isAlive();
+        }
+
+        if (!drained && journal != null) {
+            log.warn("Metric write buffer did not drain within {} ms, {} readings left in the journal for replay",
+                    shutdownTimeoutMillis, getDepth());
+        } else if (!drained) {
+            log.error("Metric write buffer did not drain within {} ms, {} readings lost",
+                    shutdownTimeoutMillis, getDepth());
+        } else {
+            log.info("Metric write buffer stopped");
+        }
+    }
+
+    /**
+     * Accept a reading for asynchronous persistence. With the journal enabled, returns
+     * once the reading is durable on local disk.
+     *
+     * @param reading the reading to buffer
+     * @throws IngestionBufferFullException if the buffer is full or shutting down
+     * @throws com.weathersensor.api.infrastructure.journal.JournalException if the reading
+     *         could not be made durable
+     */
+    public void submit(MetricReading reading) {
+        submit(reading, true, null);
+    }
+
+    /**
+     * Accept a reading for asynchronous persistence and report its outcome to a receipt.
+     * The caller records the reading as submitted on the receipt; the lane records it as
+     * committed or failed once its batch is written.
+     *
+     * @param reading the reading to buffer
+     * @param receipt receipt to update
+     * @throws IngestionBufferFullException if the buffer is full or shutting down
+     * @throws com.weathersensor.api.infrastructure.journal.JournalException if the reading
+     *         could not be made durable
+     */
+    public void submit(MetricReading reading, IngestionReceipt receipt) {
+        submit(reading, true, receipt);
+    }
+
+    /**
+     * Accept a reading for asynchronous persistence without waiting: neither for space in
+     * its lane nor, with the journal enabled, for the group fsync (the reading is still
+     * journaled). For callers that must not block and cannot acknowledge anything to the
+     * client (the line protocol listener).
+     *
+     * @param reading the reading to buffer
+     * @return false if its lane is full; the reading is counted as rejected
+     * @throws IngestionBufferFullException if the buffer is shutting down
+     * @throws com.weathersensor.api.infrastructure.journal.JournalException if the reading
+     *         could not be journaled
+     */
+    public boolean offer(MetricReading reading) {
+        checkRunning();
+        if (enqueue(lanes[laneOf(reading.getSensorId())], reading, null, System.nanoTime()) < 0) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void submit(MetricReading reading, boolean awaitDurable, @Nullable IngestionReceipt receipt) {
+        checkRunning();
+
+        Lane lane = lanes[laneOf(reading.getSensorId())];
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        long sequence = enqueue(lane, reading, receipt, deadline);
+        if (sequence < 0) {
+            reject(lane);
+        }
+
+        if (awaitDurable && journal != null) {
+            journal.awaitDurable(sequence);
+        }
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new IngestionBufferFullException(
+                    "Ingestion buffer is not accepting readings (shutting down)", maxRetryAfterSeconds);
+        }
+    }
+
+    /**
+     * Queue (and journal) a reading, waiting for space in its lane until the deadline.
+     *
+     * @return the journal sequence (0 without the journal), or -1 if the lane stayed full
+     */
+    private long enqueue(Lane lane, MetricReading reading, @Nullable IngestionReceipt receipt, long deadline) {
+        if (journal == null) {
+            return lane.offer(new Pending(reading, 0, receipt), deadline) ? 0 : -1;
+        }
+
+        while (true) {
+            synchronized (journalLock) {
+                // Assigning the sequence and queueing happen atomically, so the oldest queued
+                // sequence of all lanes bounds what has been written (see advanceCheckpoint).
+                // Waiting for space happens outside the lock, so a full lane never delays others.
+                if (lane.tryOffer(new Pending(reading, journal.nextSequence(), receipt))) {
+                    // A failed append still consumes the sequence; the queued reading is then
+                    // written anyway (at-least-once, duplicates are ignored by the database)
+                    return journal.append(reading);
+                }
+            }
+            if (!lane.awaitSpace(deadline)) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Current number of readings waiting to be flushed, over all lanes.
+     */
+    public int getDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.depth();
+        }
+        return depth;
+    }
+
+    /**
+     * Lane owning a sensor's readings.
+     */
+    int laneOf(long sensorId) {
+        long hash = sensorId * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(hash ^ (hash >>> 32), lanes.length);
+    }
+
+    private void reject(Lane lane) {
+        rejectedCounter.increment();
+        throw new IngestionBufferFullException(
+                "Ingestion buffer is full (capacity " + capacity + "), retry later", retryAfterSeconds(lane));
+    }
+
+    /**
+     * Seconds until a full lane has drained its backlog at its current rate, at least 1;
+     * the maximum while no rate is known yet.
+     */
+    long retryAfterSeconds(int laneIndex) {
+        return retryAfterSeconds(lanes[laneIndex]);
+    }
+
+    private long retryAfterSeconds(Lane lane) {
+        double rate = lane.drainRate;
+        if (rate <= 0) {
+            return maxRetryAfterSeconds;
+        }
+        long seconds = (long) Math.ceil(lane.depth() / rate);
+        return Math.min(Math.max(seconds, 1), maxRetryAfterSeconds);
+    }
+
+    /**
+     * Write readings journaled before this start, retrying until it succeeds, then let
+     * the lanes flush.
+     */
+    private void replayJournal() {
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    long count = journal.replay(maxBatchSize, readings -> batchWriter.write(readings, REPLAY_MODE));
+                    if (count > 0) {
+                        log.info("Replayed {} readings from the ingestion journal", count);
+                    }
+                    return;
+                } catch (Exception e) {
+                    log.error("Failed to replay the ingestion journal (attempt {})", attempt + 1, e);
+                    if (!running || !backoff(attempt)) {
+                        log.warn("Ingestion journal replay abandoned, it resumes on the next start");
+                        replayAbandoned = true;
+                        return;
+                    }
+                }
+            }
+        } finally {
+            replayed.countDown();
+        }
+    }
+
+    /**
+     * Checkpoint the journal just below the oldest reading still queued (or being
+     * flushed) in any lane.
+     */
+    private void advanceCheckpoint() {
+        long oldest;
+        synchronized (journalLock) {
+            oldest = journal.nextSequence();
+            for (Lane lane : lanes) {
+                oldest = Math.min(oldest, lane.oldestSequence());
+            }
+        }
+        journal.checkpoint(oldest - 1);
+    }
+
+    /**
+     * Write a batch. Without the journal a failed batch is dropped; with it the batch is
+     * retried with backoff while the buffer is running.
+     */
+    private FlushResult flush(List<MetricReading> readings) {
+        for (int attempt = 0; ; attempt++) {
+            if (write(readings)) {
+                return FlushResult.WRITTEN;
+            }
+            if (journal == null) {
+                return FlushResult.DROPPED;
+            }
+            if (!running || !backoff(attempt)) {
+                return FlushResult.ABANDONED;
+            }
+        }
+    }
+
+    private boolean write(List<MetricReading> readings) {
+        AdaptiveWriteLimiter.Permit permit;
+        try {
+            permit = writeLimiter.acquireForFlush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        long start = System.nanoTime();
+        Exception failure = null;
+        try {
+            batchWriter.write(readings, MODE);
+            batchSizeSummary.record(readings.size());
+            return true;
+        } catch (Exception e) {
+            failure = e;
+            log.error("Failed to flush {} buffered readings", readings.size(), e);
+
+            Counter.builder("metric.ingestion.errors")
+                    .tag("mode", MODE)
+                    .tag("error", e.getClass().getSimpleName())
+                    .description("Failed metric ingestions")
+                    .register(meterRegistry)
+                    .increment(readings.size());
+            return false;
+        } finally {
+            permit.release(failure, readings.size());
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Sleep before retry {@code attempt} (exponential, capped).
+     *
+     * @return false if interrupted
+     */
+    private static boolean backoff(int attempt) {
+        long delay = Math.min(100L << Math.min(attempt, 6), MAX_RETRY_BACKOFF_MILLIS);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private enum FlushResult {
+        WRITTEN,
+        /** Failed without the journal: the batch is lost */
+        DROPPED,
+        /** Failed while stopping: the batch stays queued (and journaled) */
+        ABANDONED
+    }
+
+    /**
+     * A queued reading, its journal sequence (0 without the journal) and the receipt to
+     * update, if any.
+     */
+    private static final class Pending {
+
+        private final MetricReading reading;
+        private final long sequence;
+        private final IngestionReceipt receipt;
+
+        /** When the reading entered its lane's queue, written under the lane lock */
+        private long queuedNanos;
+
+        private Pending(MetricReading reading, long sequence, @Nullable IngestionReceipt receipt) {
+            this.reading = reading;
+            this.sequence = sequence;
+            this.receipt = receipt;
+        }
+
+        private void complete(boolean written) {
+            if (receipt == null) {
+                return;
+            }
+            if (written) {
+                receipt.committed(1, reading.getTimestamp());
+            } else {
+                receipt.failed(1);
+            }
+        }
+    }
+
+    /**
+     * One partition of the buffer: a bounded FIFO queue and its single writer thread.
+     *
+     * Readings stay in the queue until their batch is written, so the queue head is the
+     * oldest reading of the lane that is not yet in the database.
+     */
+    private final class Lane {
+
+        private final int index;
+        private final int capacity;
+        private final ArrayDeque<Pending> queue;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private Thread thread;
+
+        /**
+         * Readings per second of flushing (0 until the first flush), written by the lane
+         * thread only.
+         */
+        private volatile double drainRate;
+
+        private Lane(int index, int capacity) {
+            this.index = index;
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(Math.min(capacity, 1024));
+        }
+
+        private void start() {
+            thread = new Thread(this::run, "metric-buffer-lane-" + index);
+            thread.start();
+        }
+
+        private int depth() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long oldestSequence() {
+            lock.lock();
+            try {
+                Pending head = queue.peekFirst();
+                return head != null ? head.sequence : Long.MAX_VALUE;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean tryOffer(Pending pending) {
+            lock.lock();
+            try {
+                if (queue.size() >= capacity) {
+                    return false;
+                }
+                pending.queuedNanos = System.nanoTime();
+                queue.addLast(pending);
+                // Wake the writer for the first reading and when a full batch is ready
+                if (queue.size() == 1 || queue.size() == batchSize()) {
+                    notEmpty.signal();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return false if the deadline passed without the reading being queued
+         */
+        private boolean offer(Pending pending, long deadlineNanos) {
+            while (!tryOffer(pending)) {
+                if (!awaitSpace(deadlineNanos)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Wait until the lane has room or the deadline passes.
+         *
+         * @return false if the deadline passed (or the thread was interrupted) while full
+         */
+        private boolean awaitSpace(long deadlineNanos) {
+            lock.lock();
+            try {
+                while (queue.size() >= capacity) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    notFull.awaitNanos(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void wakeUp() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void run() {
+            try {
+                replayed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (replayAbandoned) {
+                // Everything queued is journaled and replayed on the next start
+                return;
+            }
+
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            List<MetricReading> readings = new ArrayList<>(maxBatchSize);
+
+            while (true) {
+                try {
+                    if (!collectBatch(batch)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    // Only stop() ends the lane: it drains every lane, while stopping here
+                    // would leave this lane's sensors queued with nobody writing them
+                    log.warn("Metric buffer lane {} interrupted, continuing", index);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                for (Pending pending : batch) {
+                    readings.add(pending.reading);
+                }
+                long start = System.nanoTime();
+                FlushResult result = flush(readings);
+                readings.clear();
+                recordDrain(result != FlushResult.ABANDONED ? batch.size() : 0, System.nanoTime() - start);
+
+                if (result == FlushResult.ABANDONED) {
+                    // Shutting down with the database unavailable: everything still queued
+                    // is in the journal and replayed on the next start
+                    log.warn("Leaving {} readings of lane {} in the ingestion journal for replay", depth(), index);
+                    return;
+                }
+
+                for (Pending pending : batch) {
+                    pending.complete(result == FlushResult.WRITTEN);
+                }
+                remove(batch.size());
+                batch.clear();
+                if (journal != null) {
+                    advanceCheckpoint();
+                }
+            }
+        }
+
+        /**
+         * Copy the next batch into {@code batch} without removing it from the queue.
+         * Blocks until at least one reading is available (or the flush interval elapses),
+         * then keeps waiting until the batch is full or the interval since the oldest
+         * queued reading was accepted has passed. Once stopped, returns whatever is queued
+         * without waiting.
+         *
+         * @return false when stopped and the queue is empty
+         */
+        private boolean collectBatch(List<Pending> batch) throws InterruptedException {
+            int batchSize = batchSize();
+            lock.lock();
+            try {
+                if (queue.isEmpty()) {
+                    if (!running) {
+                        return false;
+                    }
+                    notEmpty.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (queue.isEmpty()) {
+                        return true;
+                    }
+                }
+
+                long deadline = queue.peekFirst().queuedNanos + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                long remaining = deadline - System.nanoTime();
+                while (queue.size() < batchSize && running && remaining > 0) {
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+
+                Iterator<Pending> iterator = queue.iterator();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Readings the writer collects per flush: the limiter's current batch size, capped
+         * at {@code ingestion.buffer.max-batch-size}.
+         */
+        private int batchSize() {
+            return Math.min(writeLimiter.getBatchSize(), maxBatchSize);
+        }
+
+        private void recordDrain(int count, long nanos) {
+            double rate = count * 1e9 / Math.max(nanos, 1);
+            drainRate = drainRate == 0 ? rate : drainRate + DRAIN_RATE_WEIGHT * (rate - drainRate);
+        }
+
+        private void remove(int count) {
+            lock.lock();
+            try {
+                for (int i = 0; i < count; i++) {
+                    queue.pollFirst();
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * Lossy but exact cache of recently written reading keys (sensor, metric type, timestamp),
+ * used to drop obvious gateway retries before they reach the database.
+ *
+ * A direct-mapped table of {@code ingestion.dedup.filter-size} slots (16 bytes each):
+ * every key hashes to one slot and a newer key overwrites whatever was there. Lookups
+ * compare the full key, so there are no false positives (a bloom filter would silently
+ * drop distinct readings); an evicted key only means the retry goes on to the database,
+ * where the unique index catches it.
+ *
+ * Timestamps are compared at microsecond precision, like PostgreSQL TIMESTAMP columns.
+ * Thread-safe; a size of 0 disables the filter.
+ */
+@Component
+public class RecentReadingFilter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final long[] sensorIds;
+    private final long[] stamps;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final int mask;
+
+    public RecentReadingFilter(@Value("${ingestion.dedup.filter-size:262144}") int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("ingestion.dedup.filter-size must not be negative");
+        }
+
+        int slots = size == 0 ? 0 : Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.sensorIds = new long[slots];
+        this.stamps = new long[slots];
+        this.mask = slots - 1;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public boolean isEnabled() {
+        return stamps.length > 0;
+    }
+
+    /**
+     * Whether a reading with the same key was recently added.
+     */
+    public boolean contains(MetricReading reading) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        long sensorId = reading.getSensorId();
+        long stamp = stamp(reading);
+        int slot = slot(sensorId, stamp);
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            return stamps[slot] == stamp && sensorIds[slot] == sensorId;
+        }
+    }
+
+    /**
+     * Remember the keys of readings that are now stored.
+     */
+    public void addAll(Collection<MetricReading> readings) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        for (MetricReading reading : readings) {
+            long sensorId = reading.getSensorId();
+            long stamp = stamp(reading);
+            int slot = slot(sensorId, stamp);
+            synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+                sensorIds[slot] = sensorId;
+                stamps[slot] = stamp;
+            }
+        }
+    }
+
+    /**
+     * Timestamp (epoch microseconds, rounded like PostgreSQL) and metric type packed into
+     * one long. Never 0, which marks an empty slot: the type code is at least 1.
+     */
+    static long stamp(MetricReading reading) {
+        LocalDateTime timestamp = reading.getTimestamp();
+        long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + (timestamp.getNano() + 500) / 1_000;
+        return (micros << 3) | MetricFrameFormat.typeCode(reading.getMetricType());
+    }
+
+    private int slot(long sensorId, long stamp) {
+        long hash = sensorId * 0x9E3779B97F4A7C15L ^ stamp;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
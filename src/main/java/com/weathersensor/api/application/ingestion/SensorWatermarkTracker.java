@@ -0,0 +1,222 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.event.MetricBucketsInvalidatedEvent;
+import com.weathersensor.api.domain.model.MetricBucket;
+import com.weathersensor.api.domain.model.MetricReading;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-sensor event-time watermarks, used to tell live readings from late ones.
+ *
+ * The watermark of a sensor is the newest reading timestamp committed for it. A reading
+ * older than the watermark minus {@code ingestion.watermark.allowed-lateness-ms} is late,
+ * typically replayed by a gateway that buffered while offline. Late readings are stored
+ * like any other, but once they are committed a {@link MetricBucketsInvalidatedEvent}
+ * names each (sensor, metric type, time bucket) they landed in, so caches and
+ * pre-aggregations only recompute those buckets.
+ *
+ * Watermarks are kept in memory, per instance: after a restart, or on an instance that
+ * has not seen the sensor yet, the first readings of a sensor are never late.
+ * A negative allowed lateness disables the classification.
+ *
+ * Metrics:
+ * - metric.ingestion.arrival{arrival=on_time|late}: written readings by classification
+ * - metric.ingestion.lateness: how far late readings were behind their sensor's watermark
+ * - metric.ingestion.invalidated.buckets: buckets named in invalidation events
+ */
+@Component
+@Slf4j
+public class SensorWatermarkTracker {
+
+    private final Map<Long, LocalDateTime> watermarks = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration allowedLateness;
+    private final long bucketSeconds;
+    private final Counter onTimeCounter;
+    private final Counter lateCounter;
+    private final Counter invalidatedCounter;
+    private final Timer latenessTimer;
+
+    public SensorWatermarkTracker(
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.watermark.allowed-lateness-ms:300000}") long allowedLatenessMs,
+            @Value("${ingestion.watermark.bucket-minutes:60}") long bucketMinutes) {
+
+        if (bucketMinutes <= 0) {
+            throw new IllegalArgumentException("ingestion.watermark.bucket-minutes must be positive");
+        }
+
+        this.eventPublisher = eventPublisher;
+        this.allowedLateness = allowedLatenessMs >= 0 ? Duration.ofMillis(allowedLatenessMs) : null;
+        this.bucketSeconds = Duration.ofMinutes(bucketMinutes).toSeconds();
+
+        this.onTimeCounter = arrivalCounter(meterRegistry, "on_time");
+        this.lateCounter = arrivalCounter(meterRegistry, "late");
+        this.invalidatedCounter = Counter.builder("metric.ingestion.invalidated.buckets")
+                .description("Time buckets invalidated by late readings")
+                .register(meterRegistry);
+        this.latenessTimer = Timer.builder("metric.ingestion.lateness")
+                .description("How far late readings were behind their sensor's watermark")
+                .register(meterRegistry);
+    }
+
+    private static Counter arrivalCounter(MeterRegistry meterRegistry, String arrival) {
+        return Counter.builder("metric.ingestion.arrival")
+                .tag("arrival", arrival)
+                .description("Written readings by arrival classification")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return allowedLateness != null;
+    }
+
+    /**
+     * @return newest committed reading timestamp of the sensor, or null if none was seen
+     */
+    public LocalDateTime watermark(long sensorId) {
+        return watermarks.get(sensorId);
+    }
+
+    /**
+     * Split readings into on-time and late ones against the current watermarks.
+     * Does not change the watermarks; see {@link #written}.
+     */
+    public Arrivals classify(List<MetricReading> readings) {
+        if (!isEnabled() || watermarks.isEmpty()) {
+            return new Arrivals(readings, List.of());
+        }
+
+        List<MetricReading> onTime = new ArrayList<>(readings.size());
+        List<MetricReading> late = new ArrayList<>();
+        for (MetricReading reading : readings) {
+            LocalDateTime watermark = watermarks.get(reading.getSensorId());
+            if (watermark != null && reading.getTimestamp().isBefore(watermark.minus(allowedLateness))) {
+                late.add(reading);
+                latenessTimer.record(Duration.between(reading.getTimestamp(), watermark));
+            } else {
+                onTime.add(reading);
+            }
+        }
+        return late.isEmpty() ? new Arrivals(readings, List.of()) : new Arrivals(onTime, late);
+    }
+
+    /**
+     * Account for classified readings that were written in the current transaction.
+     *
+     * Once it commits (immediately without a transaction), the watermarks advance and,
+     * if any reading was late, a {@link MetricBucketsInvalidatedEvent} is published.
+     * A rolled-back batch changes nothing.
+     *
+     * @param arrivals result of {@link #classify} for the written readings
+     * @param mode ingestion mode used for logging and the event (e.g. "batch")
+     */
+    public void written(Arrivals arrivals, String mode) {
+        if (!isEnabled()) {
+            return;
+        }
+        onTimeCounter.increment(arrivals.getOnTime().size());
+        lateCounter.increment(arrivals.getLate().size());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(arrivals, mode);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(arrivals, mode);
+            }
+        });
+    }
+
+    /**
+     * Classify and account for readings written in the current transaction in one step,
+     * for write paths that do not route late readings separately.
+     */
+    public void track(List<MetricReading> readings, String mode) {
+        written(classify(readings), mode);
+    }
+
+    private void committed(Arrivals arrivals, String mode) {
+        advance(arrivals.getOnTime());
+
+        List<MetricReading> late = arrivals.getLate();
+        if (late.isEmpty()) {
+            return;
+        }
+
+        List<MetricBucket> buckets = buckets(late);
+        invalidatedCounter.increment(buckets.size());
+        log.info("Committed {} late readings ({} mode), invalidating {} buckets", late.size(), mode, buckets.size());
+        eventPublisher.publishEvent(new MetricBucketsInvalidatedEvent(this, buckets, late.size(), mode));
+    }
+
+    /**
+     * Raise each sensor's watermark to its newest reading (one map update per sensor).
+     * Late readings are older than the watermark by definition, so only on-time ones matter.
+     */
+    private void advance(List<MetricReading> readings) {
+        Map<Long, LocalDateTime> newest = new HashMap<>();
+        for (MetricReading reading : readings) {
+            newest.merge(reading.getSensorId(), reading.getTimestamp(), SensorWatermarkTracker::later);
+        }
+        newest.forEach((sensorId, timestamp) -> watermarks.merge(sensorId, timestamp, SensorWatermarkTracker::later));
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Distinct buckets of the readings, in order of first appearance.
+     */
+    List<MetricBucket> buckets(List<MetricReading> readings) {
+        Set<MetricBucket> buckets = new LinkedHashSet<>();
+        for (MetricReading reading : readings) {
+            long epochSecond = reading.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            long startSecond = Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds;
+            LocalDateTime start = LocalDateTime.ofEpochSecond(startSecond, 0, ZoneOffset.UTC);
+            buckets.add(new MetricBucket(reading.getSensorId(), reading.getMetricType(),
+                    start, start.plusSeconds(bucketSeconds)));
+        }
+        return new ArrayList<>(buckets);
+    }
+
+    /**
+     * Readings of one batch split by arrival; both lists keep the batch order.
+     */
+    @Getter
+    public static final class Arrivals {
+
+        private final List<MetricReading> onTime;
+        private final List<MetricReading> late;
+
+        private Arrivals(List<MetricReading> onTime, List<MetricReading> late) {
+            this.onTime = onTime;
+            this.late = late;
+        }
+    }
+}
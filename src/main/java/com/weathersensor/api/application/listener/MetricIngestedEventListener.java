@@ -1,6 +1,8 @@
 package com.weathersensor.api.application.listener;
 
+import com.weathersensor.api.domain.event.MetricBucketsInvalidatedEvent;
 import com.weathersensor.api.domain.event.MetricIngestedEvent;
+import com.weathersensor.api.domain.event.MetricsBatchIngestedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
@@ -27,9 +29,9 @@ public class MetricIngestedEventListener {
     /**
      * Handle metric ingestion event asynchronously.
      *
-     * @Async ensures this runs in a separate thread, not blocking the ingestion
+     * @Async ensures this runs on the bounded listener executor, not blocking the ingestion
      */
-    @Async
+    @Async("eventListenerExecutor")
     @EventListener
     public void handleMetricIngested(MetricIngestedEvent event) {
         log.info("Metric ingested event received: sensor={}, type={}, value={}, timestamp={}",
@@ -55,4 +57,29 @@ public class MetricIngestedEventListener {
         }
         */
     }
-}
\ No newline at end of file
+
+    /**
+     * Handle a batch written through the bulk write path asynchronously.
+     */
+    @Async("eventListenerExecutor")
+    @EventListener
+    public void handleMetricsBatchIngested(MetricsBatchIngestedEvent event) {
+        log.info("Metric batch ingested event received: mode={}, readings={}",
+                event.getMode(), event.getReadings().size());
+    }
+
+    /**
+     * Handle buckets invalidated by late readings asynchronously.
+     *
+     * The hook for caches and pre-aggregations: recompute exactly these buckets.
+     */
+    @Async("eventListenerExecutor")
+    @EventListener
+    public void handleMetricBucketsInvalidated(MetricBucketsInvalidatedEvent event) {
+        log.info("Metric buckets invalidated event received: mode={}, lateReadings={}, buckets={}",
+                event.getMode(), event.getLateReadings(), event.getBuckets().size());
+        event.getBuckets().forEach(bucket ->
+                log.debug("Invalidated bucket: sensor={}, type={}, start={}, end={}",
+                        bucket.getSensorId(), bucket.getMetricType(), bucket.getStart(), bucket.getEnd()));
+    }
+}
@@ -1,13 +1,21 @@
 package com.weathersensor.api.application.mapper;
 
 import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
 import com.weathersensor.api.application.dto.response.AggregatedMetricResponse;
+import com.weathersensor.api.application.dto.response.IngestionReceiptResponse;
 import com.weathersensor.api.application.dto.response.MetricDataResponse;
 import com.weathersensor.api.application.dto.response.SensorResponse;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
 import com.weathersensor.api.domain.model.MetricData;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
 import com.weathersensor.api.domain.model.Sensor;
 import org.mapstruct.*;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +40,24 @@ public interface MetricMapper {
     @Mapping(source = "metricType.unit", target = "unit")
     MetricDataResponse toResponse(MetricData metricData);
 
+    /**
+     * Maps MetricData entity to MetricDataResponse DTO, taking sensor details from the
+     * given (cached) sensor instead of the entity's association, so a lazy
+     * {@code getReferenceById} proxy is never initialized.
+     */
+    default MetricDataResponse toResponse(MetricData metricData, Sensor sensor) {
+        return MetricDataResponse.builder()
+                .id(metricData.getId())
+                .sensorId(sensor.getId())
+                .sensorCode(sensor.getSensorCode())
+                .metricType(metricData.getMetricType())
+                .value(metricData.getValue())
+                .unit(metricData.getMetricType() != null ? metricData.getMetricType().getUnit() : null)
+                .timestamp(metricData.getTimestamp())
+                .createdAt(metricData.getCreatedAt())
+                .build();
+    }
+
     /**
      * Maps a list of MetricData entities to a list of DTOs.
      */
@@ -51,6 +77,97 @@ public interface MetricMapper {
      */
     List<MetricData> toEntityList(List<MetricDataRequest> requests);
 
+    /**
+     * Maps MetricDataRequest DTO to a lightweight MetricReading (bulk write path).
+     * The value is scaled to hundredths, rounding half-up.
+     */
+    default MetricReading toReading(MetricDataRequest request) {
+        return toReading(request, request.getSensorId());
+    }
+
+    /**
+     * Maps MetricDataRequest DTO to a MetricReading for the given (resolved) sensor,
+     * for requests that name their sensor by code.
+     */
+    default MetricReading toReading(MetricDataRequest request, long sensorId) {
+        return new MetricReading(
+                sensorId,
+                request.getMetricType(),
+                MetricValues.toScaled(request.getValue()),
+                request.getTimestamp());
+    }
+
+    /**
+     * Expands a multi-metric SensorReadingRequest into one MetricReading per value,
+     * in {@link MetricType} declaration order.
+     */
+    default List<MetricReading> toReadings(SensorReadingRequest request) {
+        return toReadings(request, request.getSensorId());
+    }
+
+    /**
+     * Expands a multi-metric SensorReadingRequest for the given (resolved) sensor.
+     */
+    default List<MetricReading> toReadings(SensorReadingRequest request, long sensorId) {
+        List<MetricReading> readings = new ArrayList<>(request.getValues().size());
+        for (MetricType metricType : MetricType.values()) {
+            BigDecimal value = request.getValues().get(metricType);
+            if (value != null) {
+                readings.add(new MetricReading(sensorId, metricType,
+                        MetricValues.toScaled(value), request.getTimestamp()));
+            }
+        }
+        return readings;
+    }
+
+    /**
+     * Maps a MetricReading to a MetricData entity (sensor set by the service).
+     */
+    default MetricData toEntity(MetricReading reading) {
+        return MetricData.builder()
+                .metricType(reading.getMetricType())
+                .value(reading.getDecimalValue())
+                .timestamp(reading.getTimestamp())
+                .build();
+    }
+
+    /**
+     * Maps a bulk-loaded MetricReading to a response DTO.
+     * Bulk loads do not return generated IDs, so id and createdAt stay null.
+     */
+    default MetricDataResponse toResponse(MetricReading reading, Sensor sensor) {
+        return MetricDataResponse.builder()
+                .sensorId(reading.getSensorId())
+                .sensorCode(sensor != null ? sensor.getSensorCode() : null)
+                .metricType(reading.getMetricType())
+                .value(reading.getDecimalValue())
+                .unit(reading.getMetricType().getUnit())
+                .timestamp(reading.getTimestamp())
+                .build();
+    }
+
+    // ===== INGESTION RECEIPT MAPPINGS =====
+
+    /**
+     * Maps an IngestionReceipt to a response DTO, as a consistent snapshot of its counts.
+     */
+    default IngestionReceiptResponse toReceiptResponse(IngestionReceipt receipt) {
+        synchronized (receipt) {
+            return IngestionReceiptResponse.builder()
+                    .id(receipt.getId())
+                    .mode(receipt.getMode())
+                    .status(receipt.getStatus())
+                    .submitted(receipt.getSubmitted())
+                    .pending(receipt.getPending())
+                    .committed(receipt.getCommitted())
+                    .failed(receipt.getFailed())
+                    .committedWatermark(receipt.getCommittedWatermark())
+                    .createdAt(receipt.getCreatedAt())
+                    .updatedAt(receipt.getUpdatedAt())
+                    .build();
+        }
+    }
+
     // ===== SENSOR MAPPINGS =====
 
     /**
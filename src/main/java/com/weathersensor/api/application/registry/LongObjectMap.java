@@ -0,0 +1,213 @@
+package com.weathersensor.api.application.registry;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Minimal open-addressing hash map with primitive {@code long} keys.
+ *
+ * Avoids boxing every lookup key into a {@link Long} and chasing {@code HashMap}
+ * node pointers on the ingestion hot path. Uses linear probing with backward-shift
+ * deletion; the key {@code 0} is reserved as the empty-slot marker, which is safe for
+ * database IDs generated by sequences (always positive).
+ *
+ * Not thread-safe: {@link SensorRegistry} publishes instances copy-on-write.
+ *
+ * @param <V> value type
+ */
+public final class LongObjectMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the value for the key, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return (V) values[index];
+            }
+            if (current == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate a non-null value with a positive key.
+     *
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == EMPTY) {
+                keys[index] = key;
+                values[index] = value;
+                size++;
+                return null;
+            }
+            if (current == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove the mapping for a key.
+     *
+     * @return the removed value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == EMPTY) {
+            return null;
+        }
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == EMPTY) {
+                return null;
+            }
+            if (current == key) {
+                V removed = (V) values[index];
+                shiftBack(index);
+                size--;
+                return removed;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Apply the action to every value.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept((V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return an independent copy of this map
+     */
+    public LongObjectMap<V> copy() {
+        LongObjectMap<V> copy = new LongObjectMap<>(0);
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.mask = mask;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Backward-shift deletion: move following entries of the probe chain into the gap
+     * so lookups never stop early at a hole.
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long current = keys[index];
+            if (current == EMPTY) {
+                break;
+            }
+            int home = indexOf(current);
+            // Move the entry if its home slot is not cyclically within (gap, index]
+            boolean movable = gap <= index
+                    ? (home <= gap || home > index)
+                    : (home <= gap && home > index);
+            if (movable) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
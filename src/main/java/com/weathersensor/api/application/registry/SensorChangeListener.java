@@ -0,0 +1,56 @@
+package com.weathersensor.api.application.registry;
+
+import com.weathersensor.api.domain.model.Sensor;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps the {@link SensorRegistry} in sync with sensor writes.
+ *
+ * Registered on {@link Sensor} via {@code @EntityListeners}; Hibernate obtains the
+ * instance from the Spring context (SpringBeanContainer). The registry is resolved
+ * lazily to avoid a cycle between the EntityManagerFactory and the repositories.
+ *
+ * Invalidation is deferred until after commit so a concurrent lookup cannot re-cache
+ * the old row between flush and commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class SensorChangeListener {
+
+    private final ObjectProvider<SensorRegistry> sensorRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onSensorChanged(Sensor sensor) {
+        if (sensor.getId() == null) {
+            return;
+        }
+
+        long sensorId = sensor.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(sensorId);
+                }
+            });
+        } else {
+            invalidate(sensorId);
+        }
+    }
+
+    private void invalidate(long sensorId) {
+        SensorRegistry registry = sensorRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.invalidate(sensorId);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.weathersensor.api.application.registry;
+
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.repository.SensorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory registry of all sensors for the ingestion hot path.
+ *
+ * Every ingestion path needs to know whether a sensor exists and whether it accepts
+ * readings. Instead of a {@code findById} per reading (N+1 for batches), sensors are
+ * kept in a primitive-keyed {@link LongObjectMap}, plus a sensor code to ID dictionary
+ * for clients that name sensors by code. Both are:
+ * - Warmed with all sensors at startup
+ * - Filled for a whole batch with a single IN query on misses ({@link #preload},
+ *   {@link #preloadCodes})
+ * - Invalidated per sensor when a Sensor entity is inserted, updated or deleted
+ *   ({@link SensorChangeListener})
+ * - Refreshed every {@code sensor-registry.incremental-refresh-interval-ms} with the
+ *   sensors updated since the last load, to pick up changes made by other instances
+ * - Fully reloaded every {@code sensor-registry.refresh-interval-ms}, which also drops
+ *   deleted sensors
+ *
+ * Reads are lock-free: the maps are replaced copy-on-write on every change, which is
+ * cheap because sensors change rarely compared to readings.
+ *
+ * Cached instances are detached entities; use them for reads only and attach
+ * {@code getReferenceById} proxies when persisting associations.
+ */
+@Component
+@Slf4j
+public class SensorRegistry {
+
+    /**
+     * Update timestamps are set by the writing instance's clock before commit, so a change
+     * can become visible after a load that started later than its timestamp; incremental
+     * refreshes re-read this window before the previous load.
+     */
+    private static final Duration CHANGE_LOOKBACK = Duration.ofMinutes(1);
+
+    private final SensorRepository sensorRepository;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private volatile LongObjectMap<Sensor> sensors = new LongObjectMap<>(0);
+    private volatile Map<String, Long> sensorIdsByCode = Map.of();
+    // Start of the last full or incremental load; null until the first full load
+    private volatile LocalDateTime lastLoadStartedAt;
+
+    public SensorRegistry(SensorRepository sensorRepository, MeterRegistry meterRegistry) {
+        this.sensorRepository = sensorRepository;
+
+        Gauge.builder("sensor.registry.size", this, registry -> registry.sensors.size())
+                .description("Sensors cached in the in-memory registry")
+                .register(meterRegistry);
+
+        this.hitCounter = Counter.builder("sensor.registry.lookups")
+                .tag("result", "hit")
+                .description("Sensor registry lookups")
+                .register(meterRegistry);
+
+        this.missCounter = Counter.builder("sensor.registry.lookups")
+                .tag("result", "miss")
+                .description("Sensor registry lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Warm the registry once the application is ready. A failure here is not fatal:
+     * sensors are then loaded on demand.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            log.warn("Sensor registry warm-up failed, sensors will be loaded on demand: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload all sensors from the database.
+     */
+    @Scheduled(fixedDelayString = "${sensor-registry.refresh-interval-ms:300000}",
+            initialDelayString = "${sensor-registry.refresh-interval-ms:300000}")
+    public void refresh() {
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        List<Sensor> all = sensorRepository.findAll();
+
+        LongObjectMap<Sensor> reloaded = new LongObjectMap<>(all.size());
+        Map<String, Long> reloadedIdsByCode = new HashMap<>(all.size() * 2);
+        for (Sensor sensor : all) {
+            reloaded.put(sensor.getId(), sensor);
+            reloadedIdsByCode.put(sensor.getSensorCode(), sensor.getId());
+        }
+
+        synchronized (this) {
+            sensors = reloaded;
+            sensorIdsByCode = reloadedIdsByCode;
+            lastLoadStartedAt = loadStartedAt;
+        }
+
+        log.info("Sensor registry loaded {} sensors", reloaded.size());
+    }
+
+    /**
+     * Reload only the sensors updated since the last load (one query), so
+     * changes made by other instances show up well before the next full reload.
+     * Falls back to a full reload while the registry has never been loaded.
+     */
+    @Scheduled(fixedDelayString = "${sensor-registry.incremental-refresh-interval-ms:15000}",
+            initialDelayString = "${sensor-registry.incremental-refresh-interval-ms:15000}")
+    public void refreshChanged() {
+        LocalDateTime since = lastLoadStartedAt;
+        if (since == null) {
+            refresh();
+            return;
+        }
+
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        List<Sensor> changed = sensorRepository.findByUpdatedAtGreaterThanEqual(since.minus(CHANGE_LOOKBACK));
+        lastLoadStartedAt = loadStartedAt;
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        putAll(changed);
+        log.debug("Sensor registry refreshed {} changed sensors", changed.size());
+    }
+
+    /**
+     * Cache-only lookup; never touches the database.
+     * Call {@link #preload} first when resolving a batch.
+     *
+     * @return the sensor, or null if it is not cached
+     */
+    public Sensor get(long sensorId) {
+        return sensors.get(sensorId);
+    }
+
+    /**
+     * Cache-only lookup of a sensor referenced by ID or, when the ID is null, by code;
+     * never touches the database. Call {@link #preload} and {@link #preloadCodes} first
+     * when resolving a batch.
+     *
+     * @return the sensor, or null if it is not cached (or neither reference is given)
+     */
+    public Sensor get(Long sensorId, String sensorCode) {
+        if (sensorId != null) {
+            return sensors.get(sensorId);
+        }
+        return sensorCode != null ? getByCode(sensorCode) : null;
+    }
+
+    /**
+     * Look up a single sensor, loading it on a cache miss.
+     *
+     * @return the sensor, or null if it does not exist
+     */
+    public Sensor find(long sensorId) {
+        Sensor sensor = sensors.get(sensorId);
+        if (sensor != null) {
+            hitCounter.increment();
+            return sensor;
+        }
+
+        missCounter.increment();
+        sensor = sensorRepository.findById(sensorId).orElse(null);
+        if (sensor != null) {
+            putAll(List.of(sensor));
+        }
+        return sensor;
+    }
+
+    /**
+     * Look up a sensor by its unique code, loading it on a cache miss.
+     * Used by clients that identify sensors by code (line protocol, gateways).
+     *
+     * @return the sensor, or null if it does not exist
+     */
+    public Sensor findByCode(String sensorCode) {
+        Sensor sensor = getByCode(sensorCode);
+        if (sensor != null) {
+            hitCounter.increment();
+            return sensor;
+        }
+
+        missCounter.increment();
+        sensor = sensorRepository.findBySensorCode(sensorCode).orElse(null);
+        if (sensor != null) {
+            putAll(List.of(sensor));
+        }
+        return sensor;
+    }
+
+    /**
+     * Make sure every given sensor ID that exists is cached, loading all misses with a
+     * single IN query. Afterwards {@link #get} answers for the whole batch.
+     *
+     * @param sensorIds sensor IDs referenced by a batch (duplicates and nulls allowed)
+     */
+    public void preload(Collection<Long> sensorIds) {
+        LongObjectMap<Sensor> current = sensors;
+        Set<Long> missing = new LinkedHashSet<>();
+        int lookups = 0;
+        int misses = 0;
+        for (Long sensorId : sensorIds) {
+            if (sensorId == null) {
+                continue;
+            }
+            lookups++;
+            if (sensorId > 0 && !current.containsKey(sensorId)) {
+                missing.add(sensorId);
+                misses++;
+            }
+        }
+
+        hitCounter.increment(lookups - misses);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        missCounter.increment(misses);
+        List<Sensor> loaded = sensorRepository.findAllById(missing);
+        if (!loaded.isEmpty()) {
+            putAll(loaded);
+        }
+    }
+
+    /**
+     * Make sure every given sensor code that exists is cached, loading all misses with a
+     * single IN query. Afterwards {@link #get(Long, String)} answers for the whole batch.
+     * Unknown codes are not remembered: a batch naming one costs that one query again.
+     *
+     * @param sensorCodes sensor codes referenced by a batch (duplicates and nulls allowed)
+     */
+    public void preloadCodes(Collection<String> sensorCodes) {
+        Map<String, Long> current = sensorIdsByCode;
+        Set<String> missing = new LinkedHashSet<>();
+        int lookups = 0;
+        int misses = 0;
+        for (String sensorCode : sensorCodes) {
+            if (sensorCode == null) {
+                continue;
+            }
+            lookups++;
+            if (!current.containsKey(sensorCode)) {
+                missing.add(sensorCode);
+                misses++;
+            }
+        }
+
+        hitCounter.increment(lookups - misses);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        missCounter.increment(misses);
+        List<Sensor> loaded = sensorRepository.findBySensorCodeIn(missing);
+        if (!loaded.isEmpty()) {
+            putAll(loaded);
+        }
+    }
+
+    /**
+     * Drop a sensor from the cache; it is reloaded on the next lookup.
+     */
+    public synchronized void invalidate(long sensorId) {
+        Sensor cached = sensors.get(sensorId);
+        if (cached != null) {
+            LongObjectMap<Sensor> copy = sensors.copy();
+            copy.remove(sensorId);
+            Map<String, Long> copyIdsByCode = new HashMap<>(sensorIdsByCode);
+            copyIdsByCode.remove(cached.getSensorCode(), sensorId);
+            sensors = copy;
+            sensorIdsByCode = copyIdsByCode;
+            log.debug("Sensor {} invalidated in registry", sensorId);
+        }
+    }
+
+    /**
+     * @return number of cached sensors
+     */
+    public int size() {
+        return sensors.size();
+    }
+
+    private Sensor getByCode(String sensorCode) {
+        Long sensorId = sensorIdsByCode.get(sensorCode);
+        return sensorId != null ? sensors.get(sensorId) : null;
+    }
+
+    private synchronized void putAll(Collection<Sensor> loaded) {
+        LongObjectMap<Sensor> copy = sensors.copy();
+        Map<String, Long> copyIdsByCode = new HashMap<>(sensorIdsByCode);
+        for (Sensor sensor : loaded) {
+            Sensor previous = copy.put(sensor.getId(), sensor);
+            if (previous != null && !previous.getSensorCode().equals(sensor.getSensorCode())) {
+                // Code changed: the old code must no longer resolve to this sensor
+                copyIdsByCode.remove(previous.getSensorCode(), sensor.getId());
+            }
+            copyIdsByCode.put(sensor.getSensorCode(), sensor.getId());
+        }
+        sensors = copy;
+        sensorIdsByCode = copyIdsByCode;
+    }
+}
@@ -1,32 +1,64 @@
 package com.weathersensor.api.application.service;
 
 import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.IngestionReceiptResponse;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
 import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.application.ingestion.AdaptiveWriteLimiter;
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import com.weathersensor.api.application.ingestion.IngestionReceiptNotFoundException;
+import com.weathersensor.api.application.ingestion.IngestionReceiptStore;
+import com.weathersensor.api.application.ingestion.MetricBatchWriter;
+import com.weathersensor.api.application.ingestion.MetricWriteBuffer;
+import com.weathersensor.api.application.ingestion.SensorWatermarkTracker;
 import com.weathersensor.api.application.mapper.MetricMapper;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.application.validation.MetricDataRequestValidator;
 import com.weathersensor.api.domain.event.MetricIngestedEvent;
+import com.weathersensor.api.domain.event.MetricsBatchIngestedEvent;
 import com.weathersensor.api.domain.model.MetricData;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
 import com.weathersensor.api.domain.model.Sensor;
 import com.weathersensor.api.domain.repository.MetricDataRepository;
 import com.weathersensor.api.domain.repository.SensorRepository;
+import com.weathersensor.api.infrastructure.persistence.MetricDataStatelessWriter;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Service for ingesting metric data from sensors.
  *
  * Supports both synchronous and asynchronous ingestion:
  * - Sync: Traditional blocking approach (~500 req/s)
- * - Async: Non-blocking with CompletableFuture (~2000 req/s)
+ * - Async: Write-behind buffer with group commit (multi-row INSERTs)
+ *
+ * Multi-metric sensor readings ({@link SensorReadingRequest}) are expanded into one row
+ * per metric type after a single sensor lookup per reading.
+ *
+ * Sensor existence and status are validated against the in-memory {@link SensorRegistry};
+ * persisted rows reference sensors through {@code getReferenceById} proxies, so no
+ * sensor row is loaded per reading.
+ *
+ * Every write path reports its readings to the {@link SensorWatermarkTracker}, so late
+ * readings invalidate their time buckets whichever endpoint they arrive through.
+ *
+ * Synchronous writes hold an {@link AdaptiveWriteLimiter} permit until their transaction
+ * completes: when the database slows down, requests wait briefly and are then rejected
+ * with 503 instead of queueing for connections.
  *
  * Publishes domain events for cross-cutting concerns (audit, alerts, caching).
  */
@@ -40,6 +72,13 @@ public class MetricIngestionService {
     private final MetricMapper metricMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final MetricWriteBuffer metricWriteBuffer;
+    private final MetricBatchWriter metricBatchWriter;
+    private final MetricDataStatelessWriter statelessWriter;
+    private final SensorRegistry sensorRegistry;
+    private final IngestionReceiptStore receiptStore;
+    private final SensorWatermarkTracker watermarkTracker;
+    private final AdaptiveWriteLimiter writeLimiter;
 
     /**
      * Ingest a new metric data point from a sensor (synchronous).
@@ -49,30 +88,45 @@ public class MetricIngestionService {
      * - Low throughput scenarios
      * - Client needs to wait for confirmation
      *
+     * With the wide storage layout the reading is upserted through the bulk write path:
+     * the response has no generated ID, and a stored duplicate is not reported.
+     *
      * @param request the metric data to ingest
      * @return the persisted metric data
-     * @throws IllegalArgumentException if sensor does not exist
+     * @throws IllegalArgumentException if sensor does not exist or does not accept readings
+     * @throws IngestionBufferFullException if no write permit became free in time
      */
     @Transactional
     public MetricDataResponse ingestMetricData(MetricDataRequest request) {
-        log.debug("Ingesting metric data (sync): sensorId={}, type={}, value={}, timestamp={}",
-                request.getSensorId(), request.getMetricType(),
+        log.debug("Ingesting metric data (sync): sensorId={}, sensorCode={}, type={}, value={}, timestamp={}",
+                request.getSensorId(), request.getSensorCode(), request.getMetricType(),
                 request.getValue(), request.getTimestamp());
 
-        // Validate sensor exists
-        Sensor sensor = sensorRepository.findById(request.getSensorId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Sensor not found with ID: " + request.getSensorId()));
+        // Validate sensor exists and accepts readings (registry, no query on a hit)
+        Sensor sensor = requireAcceptingSensor(findSensor(request.getSensorId(), request.getSensorCode()),
+                request.getSensorId(), request.getSensorCode());
+        AdaptiveWriteLimiter.Permit permit = writeLimiter.acquireForTransaction();
+
+        if (metricBatchWriter.usesBulkPath(1)) {
+            MetricReading reading = metricMapper.toReading(request, sensor.getId());
+            write(permit, () -> metricBatchWriter.writeAll(List.of(reading), "sync"));
+            return metricMapper.toResponse(reading, sensor);
+        }
 
         // Map request to entity using MapStruct
         MetricData metricData = metricMapper.toEntity(request);
-        metricData.setSensor(sensor);  // Set the sensor relationship
+        metricData.setSensor(sensorRepository.getReferenceById(sensor.getId()));
 
-        // Save
-        MetricData savedMetric = metricDataRepository.save(metricData);
+        // Save, flushing so that a duplicate reading fails here rather than at commit
+        MetricData savedMetric = write(permit, () -> {
+            MetricData saved = metricDataRepository.save(metricData);
+            metricDataRepository.flush();
+            return saved;
+        });
 
         // Publish domain event
         eventPublisher.publishEvent(new MetricIngestedEvent(this, savedMetric));
+        watermarkTracker.track(List.of(toReading(savedMetric, sensor)), "sync");
 
         // Record metrics
         incrementIngestionCounter(savedMetric, "sync");
@@ -80,8 +134,8 @@ public class MetricIngestionService {
         log.info("Successfully ingested metric data (sync): id={}, sensorCode={}, type={}",
                 savedMetric.getId(), sensor.getSensorCode(), savedMetric.getMetricType());
 
-        // Map entity to response using MapStruct
-        return metricMapper.toResponse(savedMetric);
+        // Map entity to response (sensor details from the registry, proxy stays uninitialized)
+        return metricMapper.toResponse(savedMetric, sensor);
     }
 
     /**
@@ -92,96 +146,125 @@ public class MetricIngestionService {
      * - Client doesn't need immediate response
      * - Fire-and-forget scenarios
      *
-     * Benefits:
-     * - 4x better throughput (~2000 req/s vs ~500 req/s)
-     * - Non-blocking for the caller
-     * - Better resource utilization under load
+     * The reading is handed to the {@link MetricWriteBuffer}, which group-commits
+     * buffered readings as multi-row INSERTs on a size/time trigger. Sensor existence
+     * and status are validated up front against the sensor registry (no query on a hit),
+     * and again per flushed batch. With the ingestion journal enabled, the reading is
+     * durable on local disk when this returns.
      *
      * Trade-off:
-     * - Response doesn't include generated ID
-     * - Eventual consistency
+     * - Response doesn't include generated ID, only a receipt to poll
+     *   ({@link #getIngestionReceipt})
+     * - Eventual consistency (persisted within the buffer flush interval)
      *
      * @param request the metric data to ingest
-     * @return CompletableFuture with the persisted metric data
+     * @return the receipt of the submission (pending)
+     * @throws IllegalArgumentException if sensor does not exist or does not accept readings
+     * @throws IngestionBufferFullException if the buffer cannot accept more readings
      */
-    @Async("metricIngestionExecutor")
-    @Transactional
-    public CompletableFuture<MetricData> ingestMetricAsync(MetricDataRequest request) {
-        log.debug("Ingesting metric data (async): sensorId={}, type={}, value={}, timestamp={}",
-                request.getSensorId(), request.getMetricType(),
+    public IngestionReceiptResponse ingestMetricAsync(MetricDataRequest request) {
+        log.debug("Ingesting metric data (async): sensorId={}, sensorCode={}, type={}, value={}, timestamp={}",
+                request.getSensorId(), request.getSensorCode(), request.getMetricType(),
                 request.getValue(), request.getTimestamp());
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Validate sensor exists
-                Sensor sensor = sensorRepository.findById(request.getSensorId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "Sensor not found with ID: " + request.getSensorId()));
-
-                // Map request to entity
-                MetricData metricData = metricMapper.toEntity(request);
-                metricData.setSensor(sensor);
-
-                // Save
-                MetricData savedMetric = metricDataRepository.save(metricData);
-
-                // Publish domain event (processed asynchronously by listeners)
-                eventPublisher.publishEvent(new MetricIngestedEvent(this, savedMetric));
-
-                // Record metrics
-                incrementIngestionCounter(savedMetric, "async");
-
-                log.debug("Successfully ingested metric data (async): id={}, sensorCode={}, type={}",
-                        savedMetric.getId(), sensor.getSensorCode(), savedMetric.getMetricType());
-
-                return savedMetric;
-
-            } catch (Exception e) {
-                log.error("Error during async metric ingestion", e);
-
-                // Record error metric
-                Counter.builder("metric.ingestion.errors")
-                        .tag("mode", "async")
-                        .tag("error", e.getClass().getSimpleName())
-                        .description("Failed metric ingestions")
-                        .register(meterRegistry)
-                        .increment();
+        Sensor sensor = requireAcceptingSensor(findSensor(request.getSensorId(), request.getSensorCode()),
+                request.getSensorId(), request.getSensorCode());
+
+        IngestionReceipt receipt = receiptStore.create("async");
+        receipt.submitted(1);
+        try {
+            metricWriteBuffer.submit(metricMapper.toReading(request, sensor.getId()), receipt);
+        } catch (RuntimeException e) {
+            // The client never sees this receipt
+            receiptStore.discard(receipt);
+            throw e;
+        }
+        return metricMapper.toReceiptResponse(receipt);
+    }
 
-                throw e;
-            }
-        });
+    /**
+     * Delivery status of an async or stream submission.
+     *
+     * @param receiptId ID returned by the async or stream endpoint
+     * @return current counts and committed watermark
+     * @throws IngestionReceiptNotFoundException if the receipt is unknown, expired or evicted
+     */
+    public IngestionReceiptResponse getIngestionReceipt(String receiptId) {
+        IngestionReceipt receipt = receiptStore.find(receiptId);
+        if (receipt == null) {
+            throw new IngestionReceiptNotFoundException(receiptId);
+        }
+        return metricMapper.toReceiptResponse(receipt);
     }
 
     /**
      * Batch ingest multiple metric data points (synchronous).
-     * Optimized for bulk ingestion using saveAll().
      *
-     * @param requests list of metric data to ingest
+     * Small batches are inserted through a Hibernate StatelessSession in JDBC batches
+     * (IDs come from the pooled sequence, so no per-row round trip). Batches at or above
+     * {@code ingestion.copy.threshold}, and all batches with the wide storage layout, go
+     * through the {@link MetricBatchWriter} and never build JPA entities; their responses
+     * carry no generated ID or creation timestamp.
+     *
+     * A reading whose sensor, metric type and timestamp are already stored, or repeated
+     * within the batch, fails the batch with a conflict (409) at every batch size (use
+     * partial mode to skip duplicates). With the wide layout stored duplicates are not
+     * detected and are merged.
+     *
+     * Items are validated here rather than with Bean Validation on the request body
+     * ({@link MetricDataRequestValidator}, one clock read for the whole batch).
+     *
+     * @param requests list of metric data to ingest (unvalidated)
      * @return list of persisted metrics
+     * @throws IllegalArgumentException if any item is invalid, or any sensor does not exist
+     *         or does not accept readings (nothing is persisted)
+     * @throws IngestionBufferFullException if no write permit became free in time
      */
     @Transactional
     public List<MetricDataResponse> ingestMetricDataBatch(List<MetricDataRequest> requests) {
         log.info("Batch ingesting {} metric data points", requests.size());
 
-        List<MetricData> metricDataList = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = MetricDataRequestValidator.validate(requests.get(i), now);
+            if (violation != null) {
+                throw new IllegalArgumentException("Item " + (i + 1) + ": " + violation);
+            }
+        }
 
-        // Map and validate all requests
+        // Resolve all sensors of the batch at once (single IN query for misses, by ID and by code)
+        List<Long> sensorIds = new ArrayList<>(requests.size());
+        List<String> sensorCodes = new ArrayList<>(requests.size());
         for (MetricDataRequest request : requests) {
-            Sensor sensor = sensorRepository.findById(request.getSensorId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Sensor not found with ID: " + request.getSensorId()));
+            sensorIds.add(request.getSensorId());
+            sensorCodes.add(request.getSensorCode());
+        }
+        List<Sensor> sensors = resolveSensors(sensorIds, sensorCodes);
+        AdaptiveWriteLimiter.Permit permit = writeLimiter.acquireForTransaction();
+
+        if (metricBatchWriter.usesBulkPath(requests.size())) {
+            return ingestMetricDataBulk(requests, sensors, permit);
+        }
+
+        List<MetricData> metricDataList = new ArrayList<>(requests.size());
 
-            MetricData metricData = metricMapper.toEntity(request);
-            metricData.setSensor(sensor);
+        // Map all requests, attaching sensor proxies instead of loaded entities
+        for (int i = 0; i < requests.size(); i++) {
+            MetricData metricData = metricMapper.toEntity(requests.get(i));
+            metricData.setSensor(sensorRepository.getReferenceById(sensors.get(i).getId()));
             metricDataList.add(metricData);
         }
 
-        // Batch save (single transaction, more efficient)
-        List<MetricData> savedMetrics = metricDataRepository.saveAll(metricDataList);
+        // Batched insert without the persistence context (single transaction)
+        List<MetricData> savedMetrics = write(permit, () -> statelessWriter.insert(metricDataList));
 
         // Publish events for each metric
-        savedMetrics.forEach(metric ->
-                eventPublisher.publishEvent(new MetricIngestedEvent(this, metric)));
+        List<MetricReading> readings = new ArrayList<>(savedMetrics.size());
+        for (int i = 0; i < savedMetrics.size(); i++) {
+            eventPublisher.publishEvent(new MetricIngestedEvent(this, savedMetrics.get(i)));
+            readings.add(toReading(savedMetrics.get(i), sensors.get(i)));
+        }
+        watermarkTracker.track(readings, "batch");
 
         // Record batch ingestion metric
         Counter.builder("metric.ingestion.batch")
@@ -192,8 +275,279 @@ public class MetricIngestionService {
 
         log.info("Successfully batch ingested {} metric data points", savedMetrics.size());
 
-        // Map all to responses using MapStruct
-        return metricMapper.toResponseList(savedMetrics);
+        // Map all to responses (sensor details from the registry)
+        List<MetricDataResponse> responses = new ArrayList<>(savedMetrics.size());
+        for (int i = 0; i < savedMetrics.size(); i++) {
+            responses.add(metricMapper.toResponse(savedMetrics.get(i), sensors.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Batch ingest in partial mode: invalid items are rejected individually instead of
+     * failing the whole batch.
+     *
+     * Every item is validated up front (field rules, then its sensor against the registry,
+     * with one preload for all cache misses). The valid subset is written in a single
+     * transaction through the {@link MetricBatchWriter} (INSERT or COPY depending on size),
+     * without building JPA entities. Only rejected items are reported, by 1-based position;
+     * items already stored are counted as duplicates, so resending a batch is safe.
+     *
+     * @param requests list of metric data to ingest (unvalidated)
+     * @return accepted/rejected/duplicate counts and every rejected item
+     * @throws IngestionBufferFullException if no write permit became free in time
+     */
+    public IngestionSummaryResponse ingestMetricDataBatchPartial(List<MetricDataRequest> requests) {
+        log.info("Batch ingesting {} metric data points (partial mode)", requests.size());
+
+        List<Long> sensorIds = new ArrayList<>(requests.size());
+        List<String> sensorCodes = new ArrayList<>();
+        for (MetricDataRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.getSensorId() != null) {
+                sensorIds.add(request.getSensorId());
+            } else if (request.getSensorCode() != null) {
+                sensorCodes.add(request.getSensorCode());
+            }
+        }
+        sensorRegistry.preload(sensorIds);
+        sensorRegistry.preloadCodes(sensorCodes);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MetricReading> readings = new ArrayList<>(requests.size());
+        List<IngestionSummaryResponse.RecordError> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            MetricDataRequest request = requests.get(i);
+            String violation = MetricDataRequestValidator.validate(request, now);
+            Sensor sensor = null;
+            if (violation == null) {
+                sensor = sensorRegistry.get(request.getSensorId(), request.getSensorCode());
+                violation = sensorViolation(sensor, request.getSensorId(), request.getSensorCode());
+            }
+
+            if (violation != null) {
+                errors.add(new IngestionSummaryResponse.RecordError(i + 1, violation));
+            } else {
+                readings.add(metricMapper.toReading(request, sensor.getId()));
+            }
+        }
+
+        AdaptiveWriteLimiter.Permit permit = writeLimiter.acquire();
+        RuntimeException failure = null;
+        int written;
+        try {
+            written = metricBatchWriter.writeValidated(readings, "batch");
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            permit.release(failure);
+        }
+
+        Counter.builder("metric.ingestion.batch")
+                .tag("batch_size", String.valueOf(written))
+                .description("Batch metric ingestions")
+                .register(meterRegistry)
+                .increment();
+
+        log.info("Partial batch ingested: {} accepted, {} rejected, {} already stored",
+                written, errors.size(), readings.size() - written);
+
+        return IngestionSummaryResponse.builder()
+                .accepted(written)
+                .rejected(errors.size())
+                .duplicates(readings.size() - written)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Ingest all metrics a sensor sampled at the same instant (synchronous).
+     *
+     * @param request sensor, timestamp and one value per metric type
+     * @return the persisted metric data, one entry per metric type
+     * @throws IllegalArgumentException if the sensor does not exist or does not accept readings
+     */
+    @Transactional
+    public List<MetricDataResponse> ingestSensorReading(SensorReadingRequest request) {
+        return ingestSensorReadings(List.of(request));
+    }
+
+    /**
+     * Batch ingest multi-metric sensor readings (synchronous).
+     *
+     * Each reading costs one sensor lookup (all resolved with one registry preload) and is
+     * expanded into one row per metric type. The rows are written like a batch of the same
+     * size: JDBC-batched INSERTs returning generated IDs, or the {@link MetricBatchWriter}
+     * (responses without {@code id} and {@code createdAt}).
+     * One {@link MetricsBatchIngestedEvent} is published for all rows.
+     *
+     * @param requests sensor readings to ingest
+     * @return the persisted metric data, in request order and metric type order within a reading
+     * @throws IllegalArgumentException if any sensor does not exist or does not accept
+     *         readings (nothing is persisted)
+     * @throws IngestionBufferFullException if no write permit became free in time
+     */
+    @Transactional
+    public List<MetricDataResponse> ingestSensorReadings(List<SensorReadingRequest> requests) {
+        List<Long> sensorIds = new ArrayList<>(requests.size());
+        List<String> sensorCodes = new ArrayList<>(requests.size());
+        for (SensorReadingRequest request : requests) {
+            sensorIds.add(request.getSensorId());
+            sensorCodes.add(request.getSensorCode());
+        }
+        List<Sensor> sensors = resolveSensors(sensorIds, sensorCodes);
+        AdaptiveWriteLimiter.Permit permit = writeLimiter.acquireForTransaction();
+
+        List<MetricReading> readings = new ArrayList<>(requests.size() * MetricType.values().length);
+        List<Sensor> readingSensors = new ArrayList<>(requests.size() * MetricType.values().length);
+        for (int i = 0; i < requests.size(); i++) {
+            for (MetricReading reading : metricMapper.toReadings(requests.get(i), sensors.get(i).getId())) {
+                readings.add(reading);
+                readingSensors.add(sensors.get(i));
+            }
+        }
+
+        log.info("Ingesting {} sensor readings as {} metric data points", requests.size(), readings.size());
+
+        Counter.builder("metric.ingestion.reading")
+                .description("Multi-metric sensor readings ingested")
+                .register(meterRegistry)
+                .increment(requests.size());
+
+        List<MetricDataResponse> responses = new ArrayList<>(readings.size());
+        if (metricBatchWriter.usesBulkPath(readings.size())) {
+            int written = write(permit, () -> metricBatchWriter.writeAll(readings, "reading"));
+            log.info("Bulk loaded {} metric data points", written);
+
+            for (int i = 0; i < readings.size(); i++) {
+                responses.add(metricMapper.toResponse(readings.get(i), readingSensors.get(i)));
+            }
+            return responses;
+        }
+
+        List<MetricData> metricDataList = new ArrayList<>(readings.size());
+        for (MetricReading reading : readings) {
+            MetricData metricData = metricMapper.toEntity(reading);
+            metricData.setSensor(sensorRepository.getReferenceById(reading.getSensorId()));
+            metricDataList.add(metricData);
+        }
+
+        List<MetricData> savedMetrics = write(permit, () -> statelessWriter.insert(metricDataList));
+
+        eventPublisher.publishEvent(new MetricsBatchIngestedEvent(this, readings, "reading"));
+        watermarkTracker.track(readings, "reading");
+
+        for (int i = 0; i < savedMetrics.size(); i++) {
+            responses.add(metricMapper.toResponse(savedMetrics.get(i), readingSensors.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Bulk path for large batches (or the wide layout): sensors are already validated.
+     */
+    private List<MetricDataResponse> ingestMetricDataBulk(List<MetricDataRequest> requests, List<Sensor> sensors,
+                                                          AdaptiveWriteLimiter.Permit permit) {
+        List<MetricReading> readings = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            readings.add(metricMapper.toReading(requests.get(i), sensors.get(i).getId()));
+        }
+
+        int written = write(permit, () -> metricBatchWriter.writeAll(readings, "batch"));
+
+        Counter.builder("metric.ingestion.batch")
+                .tag("batch_size", String.valueOf(written))
+                .description("Batch metric ingestions")
+                .register(meterRegistry)
+                .increment();
+
+        log.info("Successfully bulk loaded {} metric data points", written);
+
+        List<MetricDataResponse> responses = new ArrayList<>(readings.size());
+        for (int i = 0; i < readings.size(); i++) {
+            responses.add(metricMapper.toResponse(readings.get(i), sensors.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Run a write of the current transaction. A failure is recorded on the transaction's
+     * write permit, so the limiter can tell rejected requests (e.g. duplicate readings)
+     * from congestion when the transaction rolls back.
+     */
+    private static <T> T write(AdaptiveWriteLimiter.Permit permit, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            permit.failed(e);
+            throw e;
+        }
+    }
+
+    private static MetricReading toReading(MetricData metricData, Sensor sensor) {
+        return new MetricReading(sensor.getId(), metricData.getMetricType(),
+                MetricValues.toScaled(metricData.getValue()), metricData.getTimestamp());
+    }
+
+    /**
+     * Resolve and validate the sensor of every request, in request order; each request
+     * names its sensor by ID or, when the ID is null, by code (parallel lists).
+     * Cache misses are loaded by the registry with one IN query per kind of reference.
+     */
+    private List<Sensor> resolveSensors(List<Long> sensorIds, List<String> sensorCodes) {
+        sensorRegistry.preload(sensorIds);
+        sensorRegistry.preloadCodes(sensorCodes);
+
+        List<Sensor> sensors = new ArrayList<>(sensorIds.size());
+        for (int i = 0; i < sensorIds.size(); i++) {
+            Long sensorId = sensorIds.get(i);
+            String sensorCode = sensorCodes.get(i);
+            sensors.add(requireAcceptingSensor(sensorRegistry.get(sensorId, sensorCode), sensorId, sensorCode));
+        }
+        return sensors;
+    }
+
+    /**
+     * Look up a single sensor by ID or, when the ID is null, by code, loading it on a cache miss.
+     */
+    private Sensor findSensor(Long sensorId, String sensorCode) {
+        if (sensorId != null) {
+            return sensorRegistry.find(sensorId);
+        }
+        return sensorCode != null ? sensorRegistry.findByCode(sensorCode) : null;
+    }
+
+    /**
+     * Validate that a sensor exists and accepts readings.
+     *
+     * @throws IllegalArgumentException if the sensor is missing or INACTIVE
+     */
+    private Sensor requireAcceptingSensor(Sensor sensor, Long sensorId, String sensorCode) {
+        String violation = sensorViolation(sensor, sensorId, sensorCode);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+        return sensor;
+    }
+
+    /**
+     * @param sensorId the sensor ID of the request, or null if it names its sensor by code
+     * @return why the sensor cannot take readings, or null if it exists and accepts them
+     */
+    static String sensorViolation(Sensor sensor, Long sensorId, String sensorCode) {
+        if (sensor == null) {
+            return sensorId == null && sensorCode != null
+                    ? "Sensor not found with code: " + sensorCode
+                    : "Sensor not found with ID: " + sensorId;
+        }
+        if (!sensor.acceptsReadings()) {
+            return "Sensor " + (sensorId != null ? sensorId : sensorCode) + " is " + sensor.getStatus()
+                    + " and does not accept readings";
+        }
+        return null;
     }
 
     /**
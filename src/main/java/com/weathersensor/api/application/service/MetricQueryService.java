@@ -4,14 +4,17 @@ import com.weathersensor.api.application.dto.request.MetricQueryRequest;
 import com.weathersensor.api.application.dto.response.AggregatedMetricResponse;
 import com.weathersensor.api.domain.model.MetricData;
 import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
 import com.weathersensor.api.domain.repository.MetricDataRepository;
 import com.weathersensor.api.domain.specification.MetricDataSpecification;
+import com.weathersensor.api.infrastructure.persistence.SensorReadingJdbcRepository;
+import com.weathersensor.api.infrastructure.persistence.StorageLayout;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,15 +27,29 @@ import java.util.List;
  * Service for querying and aggregating metric data.
  *
  * Supports flexible filtering and statistical operations on time-series data.
+ * Aggregations read the table of the configured {@code storage.layout}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class MetricQueryService {
 
     private final MetricDataRepository metricDataRepository;
+    private final SensorReadingJdbcRepository sensorReadingRepository;
     private final MeterRegistry meterRegistry;
+    private final StorageLayout storageLayout;
+
+    public MetricQueryService(
+            MetricDataRepository metricDataRepository,
+            SensorReadingJdbcRepository sensorReadingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${storage.layout:NARROW}") StorageLayout storageLayout) {
+
+        this.metricDataRepository = metricDataRepository;
+        this.sensorReadingRepository = sensorReadingRepository;
+        this.meterRegistry = meterRegistry;
+        this.storageLayout = storageLayout;
+    }
 
     /**
      * Query aggregated metrics with flexible filtering.
@@ -72,21 +89,34 @@ public class MetricQueryService {
             // Validate date range (business rule: 1 day to 1 month)
             validateDateRange(startDate, endDate);
 
-            // Execute aggregation query in database
-            List<Object[]> results = metricDataRepository.calculateAggregatedStatistics(
-                    request.getSensorIds(),
-                    request.getMetricTypes(),
-                    startDate,
-                    endDate,
-                    request.getStatistic().name()
-            );
-
-            // Count data points for each metric type
-            Long totalDataPoints = countDataPoints(
-                    request.getSensorIds(),
-                    request.getMetricTypes(),
-                    startDate,
-                    endDate);
+            List<Object[]> results;
+            Long totalDataPoints;
+            if (storageLayout == StorageLayout.WIDE) {
+                // One scan aggregates every requested column and counts its values
+                results = sensorReadingRepository.calculateAggregatedStatistics(
+                        request.getSensorIds(),
+                        request.getMetricTypes(),
+                        startDate,
+                        endDate,
+                        request.getStatistic());
+                totalDataPoints = results.stream().mapToLong(result -> (Long) result[2]).sum();
+            } else {
+                // Execute aggregation query in database
+                results = metricDataRepository.calculateAggregatedStatistics(
+                        request.getSensorIds(),
+                        request.getMetricTypes(),
+                        startDate,
+                        endDate,
+                        request.getStatistic().name()
+                );
+
+                // Count data points for each metric type
+                totalDataPoints = countDataPoints(
+                        request.getSensorIds(),
+                        request.getMetricTypes(),
+                        startDate,
+                        endDate);
+            }
 
             log.info("Query returned {} aggregated results from {} data points",
                     results.size(), totalDataPoints);
@@ -126,6 +156,7 @@ public class MetricQueryService {
 
     /**
      * Query raw metric data with filtering (no aggregation).
+     * Reads {@code metric_data}, so only sees data stored in the narrow layout.
      *
      * @param sensorIds list of sensor IDs (null = all)
      * @param metricTypes list of metric types
@@ -151,7 +182,7 @@ public class MetricQueryService {
     /**
      * Validate that the date range is between 1 day and 1 month.
      */
-    private void validateDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    static void validateDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate.isAfter(endDate)) {
             throw new IllegalArgumentException(
                     "Start date must be before end date");
@@ -197,14 +228,12 @@ public class MetricQueryService {
 
         MetricType metricType = (MetricType) result[0];
 
-        // Handle both Double and BigDecimal from aggregation results
-        BigDecimal value;
-        if (result[1] instanceof BigDecimal) {
-            value = (BigDecimal) result[1];
-        } else if (result[1] instanceof Double) {
-            value = BigDecimal.valueOf((Double) result[1]);
-        } else if (result[1] instanceof Number) {
-            value = BigDecimal.valueOf(((Number) result[1]).doubleValue());
+        // Round once to hundredths: BigDecimal from SUM/MIN/MAX, Double from AVG
+        long value;
+        if (result[1] instanceof BigDecimal decimal) {
+            value = MetricValues.toScaled(decimal);
+        } else if (result[1] instanceof Number number) {
+            value = MetricValues.toScaled(number.doubleValue());
         } else {
             throw new IllegalStateException("Unexpected aggregation result type: " +
                     (result[1] != null ? result[1].getClass() : "null"));
@@ -212,7 +241,7 @@ public class MetricQueryService {
 
         return AggregatedMetricResponse.builder()
                 .metricType(metricType)
-                .value(value.setScale(2, java.math.RoundingMode.HALF_UP)) // Round to 2 decimals
+                .value(MetricValues.toDecimal(value))
                 .unit(metricType.getUnit())
                 .statistic(request.getStatistic())
                 .startDate(startDate)
@@ -225,7 +254,7 @@ public class MetricQueryService {
     /**
      * Classify sensor count for metrics tagging.
      */
-    private String getSensorCountTag(List<Long> sensorIds) {
+    static String getSensorCountTag(List<Long> sensorIds) {
         if (sensorIds == null || sensorIds.isEmpty()) {
             return "all";
         }
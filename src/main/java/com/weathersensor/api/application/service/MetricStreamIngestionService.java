@@ -0,0 +1,379 @@
+package com.weathersensor.api.application.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
+import com.weathersensor.api.application.ingestion.AdaptiveWriteLimiter;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import com.weathersensor.api.application.ingestion.IngestionReceiptStore;
+import com.weathersensor.api.application.ingestion.MetricBatchWriter;
+import com.weathersensor.api.application.ingestion.MetricFrameException;
+import com.weathersensor.api.application.ingestion.MetricFrameFormat;
+import com.weathersensor.api.application.ingestion.MetricFrameReader;
+import com.weathersensor.api.application.ingestion.MetricReadingValidator;
+import com.weathersensor.api.application.mapper.MetricMapper;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.application.validation.MetricDataRequestValidator;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.Sensor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for ingesting streams of metric data: newline-delimited JSON (NDJSON) or the
+ * compact binary format ({@link MetricFrameFormat}).
+ *
+ * Unlike the batch endpoint, the request body is never materialized:
+ * - Records are pulled one at a time from Jackson's streaming parser or the frame decoder
+ * - Each record is validated individually (field rules, sensor registry); field rules
+ *   are checked without Bean Validation, against one clock read per chunk; the clock
+ *   is read again before a record is rejected for a future timestamp
+ * - Records naming their sensor by code are resolved per chunk, with one registry
+ *   preload for all codes of the chunk
+ * - Valid records are written in chunks of {@code ingestion.stream.chunk-size}
+ *   through the {@link MetricBatchWriter} (INSERT or COPY depending on chunk size)
+ *
+ * Memory use is bounded by the chunk size regardless of stream length.
+ *
+ * Invalid records are rejected individually and reported in the summary (first
+ * {@code ingestion.stream.max-reported-errors} only). Malformed JSON syntax cannot be
+ * resynchronized (likewise a truncated binary record), so the stream is truncated at
+ * that point. Each chunk commits in its own transaction: records flushed before a
+ * failure stay persisted. Records already stored (same sensor, metric type and
+ * timestamp) are counted as duplicates, so retrying a stream is safe.
+ *
+ * Each stream gets an {@link IngestionReceipt}, updated chunk by chunk; its ID is
+ * returned in the summary.
+ *
+ * Each chunk write holds an {@link AdaptiveWriteLimiter} permit; a stream that cannot
+ * get one in time ends with 503, keeping the chunks already committed.
+ */
+@Service
+@Slf4j
+public class MetricStreamIngestionService {
+
+    private static final String MODE = "stream";
+
+    private final ObjectReader requestReader;
+    private final SensorRegistry sensorRegistry;
+    private final MetricBatchWriter metricBatchWriter;
+    private final AdaptiveWriteLimiter writeLimiter;
+    private final MetricMapper metricMapper;
+    private final IngestionReceiptStore receiptStore;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public MetricStreamIngestionService(
+            ObjectMapper objectMapper,
+            SensorRegistry sensorRegistry,
+            MetricBatchWriter metricBatchWriter,
+            AdaptiveWriteLimiter writeLimiter,
+            MetricMapper metricMapper,
+            IngestionReceiptStore receiptStore,
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.stream.chunk-size:1000}") int chunkSize,
+            @Value("${ingestion.stream.max-reported-errors:20}") int maxReportedErrors) {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("ingestion.stream.chunk-size must be positive");
+        }
+
+        this.requestReader = objectMapper.readerFor(MetricDataRequest.class);
+        this.sensorRegistry = sensorRegistry;
+        this.metricBatchWriter = metricBatchWriter;
+        this.writeLimiter = writeLimiter;
+        this.metricMapper = metricMapper;
+        this.receiptStore = receiptStore;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        this.acceptedCounter = Counter.builder("metric.ingestion.stream")
+                .tag("result", "accepted")
+                .description("Records processed by the stream ingestion endpoint")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("metric.ingestion.stream")
+                .tag("result", "rejected")
+                .description("Records processed by the stream ingestion endpoint")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ingest an NDJSON stream (one MetricDataRequest object per line).
+     *
+     * @param body the request body; read incrementally, not closed by this method
+     * @return accepted/rejected counts and the first errors
+     * @throws IOException if the body cannot be read
+     */
+    public IngestionSummaryResponse ingestStream(InputStream body) throws IOException {
+        StreamSession session = new StreamSession("ndjson");
+        long record = 0;
+
+        try (MappingIterator<MetricDataRequest> records = requestReader.readValues(body)) {
+            while (true) {
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonParseException e) {
+                    session.truncate(record + 1, "Malformed JSON, stream truncated: " + e.getOriginalMessage());
+                    break;
+                }
+
+                record++;
+                MetricDataRequest request;
+                try {
+                    request = records.nextValue();
+                } catch (JsonParseException e) {
+                    session.truncate(record, "Malformed JSON, stream truncated: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    // Binding error: the iterator skips the rest of this record
+                    session.reject(record, "Malformed record: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String violation = session.validate(request);
+                if (violation != null) {
+                    session.reject(record, violation);
+                    continue;
+                }
+
+                if (request.getSensorId() != null) {
+                    session.add(record, metricMapper.toReading(request), null);
+                } else {
+                    // Sensor ID filled in when the chunk is flushed
+                    session.add(record, metricMapper.toReading(request, 0), request.getSensorCode());
+                }
+            }
+        }
+
+        return session.finish(record);
+    }
+
+    /**
+     * Ingest a binary metric frame ({@link MetricFrameFormat}).
+     *
+     * Records are decoded straight into readings and validated with the same rules as
+     * {@link MetricDataRequest}, without building DTOs or running Bean Validation.
+     *
+     * @param body the request body; read incrementally, not closed by this method
+     * @return accepted/rejected counts and the first errors
+     * @throws IOException if the body cannot be read
+     */
+    public IngestionSummaryResponse ingestFrames(InputStream body) throws IOException {
+        StreamSession session = new StreamSession("binary");
+        MetricFrameReader frames = new MetricFrameReader(body);
+        long record = 0;
+
+        while (true) {
+            MetricReading reading;
+            try {
+                reading = frames.next();
+            } catch (MetricFrameException e) {
+                if (!e.isRecoverable()) {
+                    session.truncate(record + 1, "Malformed frame, stream truncated: " + e.getMessage());
+                    break;
+                }
+                session.reject(++record, e.getMessage());
+                continue;
+            }
+            if (reading == null) {
+                break;
+            }
+
+            record++;
+            String violation = session.validate(reading);
+            if (violation != null) {
+                session.reject(record, violation);
+                continue;
+            }
+
+            session.add(record, reading, null);
+        }
+
+        return session.finish(record);
+    }
+
+    /**
+     * State of a single stream: the pending chunk and the summary counters.
+     */
+    private final class StreamSession {
+
+        private final String format;
+        private final IngestionReceipt receipt = receiptStore.create(MODE);
+        private final List<MetricReading> chunk = new ArrayList<>(chunkSize);
+        private final long[] chunkRecords = new long[chunkSize];
+        // Sensor code of each pending record that names its sensor by code, else null
+        private final String[] chunkCodes = new String[chunkSize];
+        private final List<IngestionSummaryResponse.RecordError> errors = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+        private long duplicates;
+        private boolean truncated;
+        // Read once per chunk for the timestamp rule (system zone, JSON and frames alike)
+        private LocalDateTime now;
+
+        private StreamSession(String format) {
+            this.format = format;
+            readClock();
+        }
+
+        private void readClock() {
+            now = LocalDateTime.now();
+        }
+
+        /**
+         * Check the field rules of a JSON record. On a long-lived stream a live record may
+         * be newer than the chunk's clock read, so the clock is read again before the
+         * record is rejected for a future timestamp.
+         */
+        private String validate(MetricDataRequest request) {
+            String violation = MetricDataRequestValidator.validate(request, now);
+            if (violation != null && request.getTimestamp() != null && request.getTimestamp().isAfter(now)) {
+                readClock();
+                violation = MetricDataRequestValidator.validate(request, now);
+            }
+            return violation;
+        }
+
+        /**
+         * Check the field rules of a decoded frame record, like {@link #validate(MetricDataRequest)}.
+         */
+        private String validate(MetricReading reading) {
+            String violation = MetricReadingValidator.validate(reading, now);
+            if (violation != null && reading.getTimestamp().isAfter(now)) {
+                readClock();
+                violation = MetricReadingValidator.validate(reading, now);
+            }
+            return violation;
+        }
+
+        private void add(long record, MetricReading reading, String sensorCode) {
+            chunkRecords[chunk.size()] = record;
+            chunkCodes[chunk.size()] = sensorCode;
+            chunk.add(reading);
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        private void reject(long record, String message) {
+            rejected++;
+            rejectedCounter.increment();
+            receipt.submitted(1);
+            receipt.failed(1);
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new IngestionSummaryResponse.RecordError(record, message));
+            }
+        }
+
+        private void truncate(long record, String message) {
+            truncated = true;
+            reject(record, message);
+        }
+
+        /**
+         * Validate sensors of the pending chunk against the registry and write the valid readings.
+         */
+        private void flush() {
+            List<Long> sensorIds = new ArrayList<>(chunk.size());
+            List<String> sensorCodes = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (chunkCodes[i] != null) {
+                    sensorCodes.add(chunkCodes[i]);
+                } else {
+                    sensorIds.add(chunk.get(i).getSensorId());
+                }
+            }
+            sensorRegistry.preload(sensorIds);
+            if (!sensorCodes.isEmpty()) {
+                sensorRegistry.preloadCodes(sensorCodes);
+            }
+
+            List<MetricReading> readings = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                MetricReading reading = chunk.get(i);
+                String sensorCode = chunkCodes[i];
+                Long sensorId = sensorCode != null ? null : reading.getSensorId();
+                Sensor sensor = sensorRegistry.get(sensorId, sensorCode);
+                String violation = MetricIngestionService.sensorViolation(sensor, sensorId, sensorCode);
+                if (violation != null) {
+                    reject(chunkRecords[i], violation);
+                } else if (sensorCode != null) {
+                    readings.add(new MetricReading(sensor.getId(), reading.getMetricType(),
+                            reading.getScaledValue(), reading.getTimestamp()));
+                } else {
+                    readings.add(reading);
+                }
+            }
+            chunk.clear();
+            readClock();
+
+            receipt.submitted(readings.size());
+            int written;
+            try {
+                AdaptiveWriteLimiter.Permit permit = writeLimiter.acquire();
+                RuntimeException failure = null;
+                try {
+                    written = metricBatchWriter.writeValidated(readings, MODE);
+                } catch (RuntimeException e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    permit.release(failure);
+                }
+            } catch (RuntimeException e) {
+                receipt.failed(readings.size());
+                throw e;
+            }
+            accepted += written;
+            duplicates += readings.size() - written;
+            acceptedCounter.increment(written);
+            receipt.committed(readings.size(), newestTimestamp(readings));
+        }
+
+        private LocalDateTime newestTimestamp(List<MetricReading> readings) {
+            LocalDateTime newest = null;
+            for (MetricReading reading : readings) {
+                if (newest == null || reading.getTimestamp().isAfter(newest)) {
+                    newest = reading.getTimestamp();
+                }
+            }
+            return newest;
+        }
+
+        private IngestionSummaryResponse finish(long records) {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+
+            log.info("Stream ingestion finished ({}): {} records, {} accepted, {} rejected, {} duplicates{}",
+                    format, records, accepted, rejected, duplicates, truncated ? " (truncated)" : "");
+
+            return IngestionSummaryResponse.builder()
+                    .receiptId(receipt.getId())
+                    .accepted(accepted)
+                    .rejected(rejected)
+                    .duplicates(duplicates)
+                    .truncated(truncated)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
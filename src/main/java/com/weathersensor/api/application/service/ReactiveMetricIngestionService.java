@@ -0,0 +1,503 @@
+package com.weathersensor.api.application.service;
+
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.response.IngestionReceiptResponse;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import com.weathersensor.api.application.ingestion.IngestionReceiptNotFoundException;
+import com.weathersensor.api.application.ingestion.IngestionReceiptStore;
+import com.weathersensor.api.application.mapper.MetricMapper;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.application.validation.MetricDataRequestValidator;
+import com.weathersensor.api.domain.event.MetricIngestedEvent;
+import com.weathersensor.api.domain.event.MetricsBatchIngestedEvent;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.infrastructure.persistence.ReactiveMetricDataRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reactive counterpart of {@link MetricIngestionService} and
+ * {@link MetricStreamIngestionService} (reactive profile).
+ *
+ * Same DTOs, validation messages, sensor registry and receipts as the servlet stack;
+ * writes go through {@link ReactiveMetricDataRepository} and never block the event loop
+ * (sensor cache misses are loaded on the bounded-elastic scheduler).
+ *
+ * Async ingestion uses a non-blocking write-behind pipeline instead of the buffer lanes:
+ * - readings are queued in a bounded sink ({@code ingestion.buffer.capacity})
+ * - batched by size or time ({@code ingestion.buffer.max-batch-size},
+ *   {@code flush-interval-ms}) and written one batch at a time
+ * - a full queue fails the request with {@link IngestionBufferFullException} (503)
+ *
+ * Readings are not journaled in this mode; pending async readings are lost on a crash.
+ *
+ * Metrics:
+ * - metric.ingestion.reactive.pending: async readings waiting for a batch
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveMetricIngestionService {
+
+    private static final String ASYNC_MODE = "async";
+    private static final String STREAM_MODE = "stream";
+
+    private final ReactiveMetricDataRepository metricDataRepository;
+    private final SensorRegistry sensorRegistry;
+    private final MetricMapper metricMapper;
+    private final IngestionReceiptStore receiptStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Counter streamAcceptedCounter;
+    private final Counter streamRejectedCounter;
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final long shutdownTimeoutMillis;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    private final Queue<PendingReading> asyncQueue;
+    private final Sinks.Many<PendingReading> asyncSink;
+    private final CompletableFuture<Void> asyncDrained = new CompletableFuture<>();
+
+    public ReactiveMetricIngestionService(
+            ReactiveMetricDataRepository metricDataRepository,
+            SensorRegistry sensorRegistry,
+            MetricMapper metricMapper,
+            IngestionReceiptStore receiptStore,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.buffer.capacity:50000}") int capacity,
+            @Value("${ingestion.buffer.max-batch-size:5000}") int maxBatchSize,
+            @Value("${ingestion.buffer.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${ingestion.buffer.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis,
+            @Value("${ingestion.stream.chunk-size:1000}") int chunkSize,
+            @Value("${ingestion.stream.max-reported-errors:20}") int maxReportedErrors) {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("ingestion.stream.chunk-size must be positive");
+        }
+
+        this.metricDataRepository = metricDataRepository;
+        this.sensorRegistry = sensorRegistry;
+        this.metricMapper = metricMapper;
+        this.receiptStore = receiptStore;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = Duration.ofMillis(flushIntervalMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        this.asyncQueue = Queues.<PendingReading>get(capacity).get();
+        this.asyncSink = Sinks.many().unicast().onBackpressureBuffer(asyncQueue);
+
+        this.streamAcceptedCounter = Counter.builder("metric.ingestion.stream")
+                .tag("result", "accepted")
+                .description("Records processed by the stream ingestion endpoint")
+                .register(meterRegistry);
+        this.streamRejectedCounter = Counter.builder("metric.ingestion.stream")
+                .tag("result", "rejected")
+                .description("Records processed by the stream ingestion endpoint")
+                .register(meterRegistry);
+        Gauge.builder("metric.ingestion.reactive.pending", asyncQueue, Queue::size)
+                .description("Async readings waiting for the next reactive batch write")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        asyncSink.asFlux()
+                .bufferTimeout(maxBatchSize, flushInterval, true)
+                .concatMap(this::writeAsyncBatch)
+                .subscribe(null,
+                        e -> {
+                            log.error("Reactive async ingestion pipeline failed", e);
+                            asyncDrained.complete(null);
+                        },
+                        () -> asyncDrained.complete(null));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        synchronized (asyncSink) {
+            asyncSink.tryEmitComplete();
+        }
+        try {
+            asyncDrained.get(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Reactive async ingestion did not drain in {} ms, {} readings lost",
+                    shutdownTimeoutMillis, asyncQueue.size());
+        }
+    }
+
+    /**
+     * Ingest a single metric data point and return it with its generated ID.
+     *
+     * @return the stored metric; errors with IllegalArgumentException if the sensor does
+     *         not exist or does not accept readings, DataIntegrityViolationException if
+     *         the reading already exists
+     */
+    public Mono<MetricDataResponse> ingestMetricData(MetricDataRequest request) {
+        return requireAcceptingSensor(request.getSensorId(), request.getSensorCode())
+                .flatMap(sensor -> metricDataRepository.insertReturning(
+                                List.of(metricMapper.toReading(request, sensor.getId())))
+                        .single()
+                        .map(metricData -> {
+                            metricData.setSensor(sensor);
+                            eventPublisher.publishEvent(new MetricIngestedEvent(this, metricData));
+                            Counter.builder("metric.ingestion.success")
+                                    .tag("mode", "sync")
+                                    .tag("metric_type", metricData.getMetricType().name())
+                                    .tag("sensor", String.valueOf(sensor.getId()))
+                                    .description("Successful metric ingestions")
+                                    .register(meterRegistry)
+                                    .increment();
+                            return metricMapper.toResponse(metricData, sensor);
+                        }));
+    }
+
+    /**
+     * Queue a metric data point for the async write pipeline.
+     *
+     * @return the receipt; errors with IllegalArgumentException for an unknown or inactive
+     *         sensor, IngestionBufferFullException when the queue is full
+     */
+    public Mono<IngestionReceiptResponse> ingestMetricAsync(MetricDataRequest request) {
+        return requireAcceptingSensor(request.getSensorId(), request.getSensorCode())
+                .map(sensor -> {
+                    IngestionReceipt receipt = receiptStore.create(ASYNC_MODE);
+                    receipt.submitted(1);
+
+                    Sinks.EmitResult result;
+                    synchronized (asyncSink) {
+                        result = asyncSink.tryEmitNext(
+                                new PendingReading(metricMapper.toReading(request, sensor.getId()), receipt));
+                    }
+                    if (result.isFailure()) {
+                        receiptStore.discard(receipt);
+                        throw new IngestionBufferFullException(
+                                result == Sinks.EmitResult.FAIL_OVERFLOW
+                                        ? "Ingestion queue is full, retry later"
+                                        : "Ingestion is shutting down, retry later",
+                                1);
+                    }
+                    return metricMapper.toReceiptResponse(receipt);
+                });
+    }
+
+    /**
+     * Delivery status of an async or stream submission.
+     */
+    public Mono<IngestionReceiptResponse> getIngestionReceipt(String receiptId) {
+        return Mono.fromCallable(() -> {
+            IngestionReceipt receipt = receiptStore.find(receiptId);
+            if (receipt == null) {
+                throw new IngestionReceiptNotFoundException(receiptId);
+            }
+            return metricMapper.toReceiptResponse(receipt);
+        });
+    }
+
+    /**
+     * Batch ingest multiple metric data points in one statement (all or nothing).
+     *
+     * @return the stored metrics with their IDs; errors with IllegalArgumentException if
+     *         any item is invalid or its sensor does not accept readings (nothing stored)
+     */
+    public Mono<List<MetricDataResponse>> ingestMetricDataBatch(List<MetricDataRequest> requests) {
+        return preloadSensors(requests.stream().filter(Objects::nonNull).toList())
+                .then(Mono.fromCallable(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    List<Sensor> sensors = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        MetricDataRequest request = requests.get(i);
+                        String violation = MetricDataRequestValidator.validate(request, now);
+                        Sensor sensor = null;
+                        if (violation == null) {
+                            sensor = sensorRegistry.get(request.getSensorId(), request.getSensorCode());
+                            violation = MetricIngestionService.sensorViolation(
+                                    sensor, request.getSensorId(), request.getSensorCode());
+                        }
+                        if (violation != null) {
+                            throw new IllegalArgumentException("Item " + (i + 1) + ": " + violation);
+                        }
+                        sensors.add(sensor);
+                    }
+                    return sensors;
+                }))
+                .flatMap(sensors -> {
+                    List<MetricReading> readings = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        readings.add(metricMapper.toReading(requests.get(i), sensors.get(i).getId()));
+                    }
+                    return metricDataRepository.insertReturning(readings)
+                            .collectList()
+                            .map(stored -> {
+                                eventPublisher.publishEvent(new MetricsBatchIngestedEvent(this, readings, "batch"));
+                                List<MetricDataResponse> responses = new ArrayList<>(stored.size());
+                                for (int i = 0; i < stored.size(); i++) {
+                                    responses.add(metricMapper.toResponse(stored.get(i), sensors.get(i)));
+                                }
+                                return responses;
+                            });
+                });
+    }
+
+    /**
+     * Ingest an NDJSON stream, validating and writing it in chunks of
+     * {@code ingestion.stream.chunk-size} records as they arrive.
+     *
+     * Invalid records are rejected individually; a record that cannot be decoded
+     * truncates the stream (records before it are kept).
+     *
+     * @param records decoded request records
+     * @return accepted/rejected counts and the first errors
+     */
+    public Mono<IngestionSummaryResponse> ingestStream(Flux<MetricDataRequest> records) {
+        return Mono.defer(() -> {
+            StreamSession session = new StreamSession();
+            return records
+                    .map(session::number)
+                    .onErrorResume(DecodingException.class, e -> {
+                        session.truncate(e);
+                        return Flux.empty();
+                    })
+                    .buffer(chunkSize)
+                    .concatMap(session::flush)
+                    .then(Mono.fromSupplier(session::finish));
+        });
+    }
+
+    private Mono<Sensor> requireAcceptingSensor(Long sensorId, String sensorCode) {
+        return preloadSensors(sensorId, sensorCode)
+                .then(Mono.fromCallable(() -> {
+                    Sensor sensor = sensorRegistry.get(sensorId, sensorCode);
+                    String violation = MetricIngestionService.sensorViolation(sensor, sensorId, sensorCode);
+                    if (violation != null) {
+                        throw new IllegalArgumentException(violation);
+                    }
+                    return sensor;
+                }));
+    }
+
+    /**
+     * Load the uncached sensors the requests name by ID or by code. The registry loads
+     * through JPA, so cache misses (rare once warmed) run on the bounded-elastic
+     * scheduler instead of the event loop.
+     */
+    private Mono<Void> preloadSensors(Collection<MetricDataRequest> requests) {
+        Set<Long> missingIds = new LinkedHashSet<>();
+        Set<String> missingCodes = new LinkedHashSet<>();
+        for (MetricDataRequest request : requests) {
+            collectMissing(request.getSensorId(), request.getSensorCode(), missingIds, missingCodes);
+        }
+        return preloadMissing(missingIds, missingCodes);
+    }
+
+    private Mono<Void> preloadSensors(Long sensorId, String sensorCode) {
+        Set<Long> missingIds = new LinkedHashSet<>();
+        Set<String> missingCodes = new LinkedHashSet<>();
+        collectMissing(sensorId, sensorCode, missingIds, missingCodes);
+        return preloadMissing(missingIds, missingCodes);
+    }
+
+    private void collectMissing(Long sensorId, String sensorCode, Set<Long> missingIds, Set<String> missingCodes) {
+        if (sensorRegistry.get(sensorId, sensorCode) != null) {
+            return;
+        }
+        if (sensorId != null) {
+            missingIds.add(sensorId);
+        } else if (sensorCode != null) {
+            missingCodes.add(sensorCode);
+        }
+    }
+
+    private Mono<Void> preloadMissing(Set<Long> missingIds, Set<String> missingCodes) {
+        if (missingIds.isEmpty() && missingCodes.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+                    sensorRegistry.preload(missingIds);
+                    sensorRegistry.preloadCodes(missingCodes);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<Void> writeAsyncBatch(List<PendingReading> batch) {
+        List<MetricReading> readings = batch.stream().map(pending -> pending.reading).toList();
+        return metricDataRepository.insert(readings)
+                .doOnNext(inserted -> {
+                    for (PendingReading pending : batch) {
+                        pending.receipt.committed(1, pending.reading.getTimestamp());
+                    }
+                    eventPublisher.publishEvent(new MetricsBatchIngestedEvent(this, readings, ASYNC_MODE));
+                    log.debug("Reactive async batch written: {} readings, {} inserted", batch.size(), inserted);
+                })
+                .onErrorResume(e -> {
+                    log.error("Reactive async batch of {} readings failed, dropping it", batch.size(), e);
+                    for (PendingReading pending : batch) {
+                        pending.receipt.failed(1);
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static LocalDateTime newestTimestamp(List<MetricReading> readings) {
+        LocalDateTime newest = null;
+        for (MetricReading reading : readings) {
+            if (newest == null || reading.getTimestamp().isAfter(newest)) {
+                newest = reading.getTimestamp();
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * An async reading and the receipt to update once it is written.
+     */
+    private static final class PendingReading {
+
+        private final MetricReading reading;
+        private final IngestionReceipt receipt;
+
+        private PendingReading(MetricReading reading, IngestionReceipt receipt) {
+            this.reading = reading;
+            this.receipt = receipt;
+        }
+    }
+
+    /**
+     * A stream record with its 1-based position.
+     */
+    private static final class NumberedRecord {
+
+        private final long record;
+        private final MetricDataRequest request;
+
+        private NumberedRecord(long record, MetricDataRequest request) {
+            this.record = record;
+            this.request = request;
+        }
+    }
+
+    /**
+     * State of a single stream. Chunks are processed one at a time, so no synchronization.
+     */
+    private final class StreamSession {
+
+        private final IngestionReceipt receipt = receiptStore.create(STREAM_MODE);
+        private final List<IngestionSummaryResponse.RecordError> errors = new ArrayList<>();
+        private long records;
+        private long accepted;
+        private long rejected;
+        private long duplicates;
+        private boolean truncated;
+
+        private NumberedRecord number(MetricDataRequest request) {
+            return new NumberedRecord(++records, request);
+        }
+
+        private void truncate(DecodingException e) {
+            truncated = true;
+            reject(records + 1, "Malformed JSON, stream truncated: " + e.getMessage());
+        }
+
+        private void reject(long record, String message) {
+            rejected++;
+            streamRejectedCounter.increment();
+            receipt.submitted(1);
+            receipt.failed(1);
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new IngestionSummaryResponse.RecordError(record, message));
+            }
+        }
+
+        private Mono<Void> flush(List<NumberedRecord> chunk) {
+            return preloadSensors(chunk.stream().map(numbered -> numbered.request).toList())
+                    .then(Mono.defer(() -> {
+                        LocalDateTime now = LocalDateTime.now();
+                        List<MetricReading> readings = new ArrayList<>(chunk.size());
+                        for (NumberedRecord numbered : chunk) {
+                            MetricDataRequest request = numbered.request;
+                            String violation = MetricDataRequestValidator.validate(request, now);
+                            Sensor sensor = null;
+                            if (violation == null) {
+                                sensor = sensorRegistry.get(request.getSensorId(), request.getSensorCode());
+                                violation = MetricIngestionService.sensorViolation(
+                                        sensor, request.getSensorId(), request.getSensorCode());
+                            }
+                            if (violation != null) {
+                                reject(numbered.record, violation);
+                            } else {
+                                readings.add(metricMapper.toReading(request, sensor.getId()));
+                            }
+                        }
+
+                        receipt.submitted(readings.size());
+                        return metricDataRepository.insert(readings)
+                                .doOnNext(written -> {
+                                    accepted += written;
+                                    duplicates += readings.size() - written;
+                                    streamAcceptedCounter.increment(written);
+                                    receipt.committed(readings.size(), newestTimestamp(readings));
+                                    if (!readings.isEmpty()) {
+                                        eventPublisher.publishEvent(new MetricsBatchIngestedEvent(
+                                                ReactiveMetricIngestionService.this, readings, STREAM_MODE));
+                                    }
+                                })
+                                .doOnError(e -> receipt.failed(readings.size()))
+                                .then();
+                    }));
+        }
+
+        private IngestionSummaryResponse finish() {
+            log.info("Reactive stream ingestion finished: {} records, {} accepted, {} rejected, {} duplicates{}",
+                    records, accepted, rejected, duplicates, truncated ? " (truncated)" : "");
+
+            return IngestionSummaryResponse.builder()
+                    .receiptId(receipt.getId())
+                    .accepted(accepted)
+                    .rejected(rejected)
+                    .duplicates(duplicates)
+                    .truncated(truncated)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
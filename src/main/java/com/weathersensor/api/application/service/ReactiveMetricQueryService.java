@@ -0,0 +1,116 @@
+package com.weathersensor.api.application.service;
+
+import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.application.dto.response.AggregatedMetricResponse;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.infrastructure.persistence.ReactiveMetricDataRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link MetricQueryService} (reactive profile).
+ *
+ * Same request rules (default range of the last 7 days, 1 day to 1 month) and the same
+ * response DTOs; the queries run over R2DBC. Adds streaming of raw readings, which the
+ * servlet stack would have to load into a list first.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMetricQueryService {
+
+    private final ReactiveMetricDataRepository metricDataRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Query aggregated metrics with flexible filtering.
+     *
+     * @param request query criteria including sensors, metrics, date range, and statistic
+     * @return list of aggregated results, one per metric type; errors with
+     *         IllegalArgumentException for an invalid date range
+     */
+    public Mono<List<AggregatedMetricResponse>> queryAggregatedMetrics(MetricQueryRequest request) {
+        return Mono.defer(() -> {
+            Counter.builder("metric.query.requests")
+                    .tag("statistic", request.getStatistic().name())
+                    .tag("sensor_count", MetricQueryService.getSensorCountTag(request.getSensorIds()))
+                    .tag("metric_types", String.valueOf(request.getMetricTypes().size()))
+                    .description("Total number of metric queries executed")
+                    .register(meterRegistry)
+                    .increment();
+
+            LocalDateTime startDate = request.getStartDate() != null
+                    ? request.getStartDate()
+                    : LocalDateTime.now().minusDays(7);
+
+            LocalDateTime endDate = request.getEndDate() != null
+                    ? request.getEndDate()
+                    : LocalDateTime.now();
+
+            MetricQueryService.validateDateRange(startDate, endDate);
+
+            Mono<Long> dataPoints = metricDataRepository.count(
+                    request.getSensorIds(), request.getMetricTypes(), startDate, endDate);
+
+            return metricDataRepository.calculateAggregatedStatistics(
+                            request.getSensorIds(), request.getMetricTypes(), startDate, endDate,
+                            request.getStatistic())
+                    .collectList()
+                    .zipWith(dataPoints, (results, total) -> results.stream()
+                            .map(result -> AggregatedMetricResponse.builder()
+                                    .metricType(result.getMetricType())
+                                    .value(result.getValue().setScale(2, RoundingMode.HALF_UP))
+                                    .unit(result.getMetricType().getUnit())
+                                    .statistic(request.getStatistic())
+                                    .startDate(startDate)
+                                    .endDate(endDate)
+                                    .sensorIds(request.getSensorIds())
+                                    .dataPointsCount(total)
+                                    .build())
+                            .toList());
+        });
+    }
+
+    /**
+     * Stream raw readings ordered by timestamp, pulled from the database as the client
+     * consumes them. Unlike aggregation, the range is not capped at one month.
+     *
+     * @param sensorIds sensor IDs (null or empty means all sensors)
+     * @param metricTypes metric types (null or empty means all types)
+     * @return readings; errors with IllegalArgumentException if start is after end
+     */
+    public Flux<MetricDataResponse> streamRawMetricData(
+            List<Long> sensorIds,
+            List<MetricType> metricTypes,
+            LocalDateTime startDate,
+            LocalDateTime endDate) {
+
+        return Flux.defer(() -> {
+            if (startDate.isAfter(endDate)) {
+                return Flux.error(new IllegalArgumentException("Start date must be before end date"));
+            }
+
+            List<MetricType> types = metricTypes == null || metricTypes.isEmpty()
+                    ? Arrays.asList(MetricType.values())
+                    : metricTypes;
+
+            log.debug("Streaming raw metric data: sensors={}, metrics={}, range={} to {}",
+                    sensorIds, types, startDate, endDate);
+
+            return metricDataRepository.streamRaw(sensorIds, types, startDate, endDate);
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.weathersensor.api.application.validation;
+
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Precompiled validation of {@link MetricDataRequest} for bulk ingestion (batches, NDJSON
+ * streams). Checks the constraints declared on the DTO directly, with the same messages,
+ * instead of going through Bean Validation's metadata and reflection for every element.
+ *
+ * Callers read the clock once per batch (or stream chunk) and pass it as {@code now}.
+ * Single-reading endpoints keep {@code @Valid}; when the DTO constraints change, change
+ * them here too (MetricDataRequestValidatorTest compares both).
+ */
+public final class MetricDataRequestValidator {
+
+    private static final BigDecimal MIN_VALUE = new BigDecimal("-100.0");
+    private static final BigDecimal MAX_VALUE = new BigDecimal("1000.0");
+    private static final int MAX_SENSOR_CODE_LENGTH = 50;
+
+    private MetricDataRequestValidator() {
+    }
+
+    /**
+     * @param now current time in the system zone, as used by {@code @PastOrPresent}
+     * @return a "field: message" description of all violations (sorted, joined with "; "),
+     *         "Empty record" for null, or null if valid
+     */
+    public static String validate(MetricDataRequest request, LocalDateTime now) {
+        if (request == null) {
+            return "Empty record";
+        }
+
+        // In field name order, so the joined description is sorted like Bean Validation's
+        String metricType = request.getMetricType() == null ? "metricType: Metric type is required" : null;
+        String sensorCode = validateSensorCode(request.getSensorCode());
+        String sensorId = validateSensorId(request.getSensorId(), request.getSensorCode());
+        String timestamp = validateTimestamp(request.getTimestamp(), now);
+        String value = validateValue(request.getValue());
+        if (metricType == null && sensorCode == null && sensorId == null && timestamp == null && value == null) {
+            return null;
+        }
+
+        StringBuilder violations = new StringBuilder(64);
+        append(violations, metricType);
+        append(violations, sensorCode);
+        append(violations, sensorId);
+        append(violations, timestamp);
+        append(violations, value);
+        return violations.toString();
+    }
+
+    private static String validateSensorCode(String sensorCode) {
+        if (sensorCode == null || (!sensorCode.isEmpty() && sensorCode.length() <= MAX_SENSOR_CODE_LENGTH)) {
+            return null;
+        }
+        return "sensorCode: Sensor code must be 1 to 50 characters";
+    }
+
+    private static String validateSensorId(Long sensorId, String sensorCode) {
+        // @ValidSensorReference and @Positive, both reported on sensorId ("and" sorts before "must")
+        String reference = SensorReferenceValidator.violation(sensorId, sensorCode);
+        boolean positive = sensorId == null || sensorId > 0;
+        if (reference == null) {
+            return positive ? null : "sensorId: Sensor ID must be positive";
+        }
+        return positive
+                ? "sensorId: " + reference
+                : "sensorId: " + reference + "; sensorId: Sensor ID must be positive";
+    }
+
+    private static String validateTimestamp(LocalDateTime timestamp, LocalDateTime now) {
+        if (timestamp == null) {
+            return "timestamp: Timestamp is required";
+        }
+        return timestamp.isAfter(now) ? "timestamp: Timestamp cannot be in the future" : null;
+    }
+
+    private static String validateValue(BigDecimal value) {
+        if (value == null) {
+            return "value: Value is required";
+        }
+        if (value.compareTo(MIN_VALUE) < 0) {
+            return "value: Value must be >= -100";
+        }
+        return value.compareTo(MAX_VALUE) > 0 ? "value: Value must be <= 1000" : null;
+    }
+
+    private static void append(StringBuilder violations, String violation) {
+        if (violation == null) {
+            return;
+        }
+        if (!violations.isEmpty()) {
+            violations.append("; ");
+        }
+        violations.append(violation);
+    }
+}
@@ -0,0 +1,45 @@
+package com.weathersensor.api.application.validation;
+
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class SensorReferenceValidator implements
+        ConstraintValidator<ValidSensorReference, Object> {
+
+    static final String REQUIRED = "Sensor ID or sensor code is required";
+    static final String AMBIGUOUS = "Sensor ID and sensor code cannot both be set";
+
+    @Override
+    public boolean isValid(Object request,
+                           ConstraintValidatorContext context) {
+        // Compiled into the Java 17 client as well, so no pattern matching switch
+        String violation = null;
+        if (request instanceof MetricDataRequest metric) {
+            violation = violation(metric.getSensorId(), metric.getSensorCode());
+        } else if (request instanceof SensorReadingRequest reading) {
+            violation = violation(reading.getSensorId(), reading.getSensorCode());
+        }
+
+        if (violation == null) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(violation)
+                .addPropertyNode("sensorId")
+                .addConstraintViolation();
+        return false;
+    }
+
+    /**
+     * @return the violation message, or null if exactly one of the references is set
+     */
+    static String violation(Long sensorId, String sensorCode) {
+        if (sensorId == null) {
+            return sensorCode == null ? REQUIRED : null;
+        }
+        return sensorCode == null ? null : AMBIGUOUS;
+    }
+}
@@ -0,0 +1,19 @@
+package com.weathersensor.api.application.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+
+/**
+ * The request names its sensor either by ID or by code, not both.
+ * Violations are reported on {@code sensorId}.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = SensorReferenceValidator.class)
+@Documented
+public @interface ValidSensorReference {
+    String message() default SensorReferenceValidator.REQUIRED;
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,33 @@
+package com.weathersensor.api.domain.event;
+
+import com.weathersensor.api.domain.model.MetricBucket;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Domain event fired after late readings are committed.
+ *
+ * Names every bucket the late readings landed in, once each. Anything cached or
+ * pre-aggregated for these buckets is stale and must be recomputed; all other buckets
+ * are unaffected. Published after the transaction commits, so a consumer that reads the
+ * buckets back sees the late readings.
+ */
+@Getter
+public class MetricBucketsInvalidatedEvent extends ApplicationEvent {
+
+    private final List<MetricBucket> buckets;
+    private final int lateReadings;
+    private final String mode;
+    private final LocalDateTime occurredAt;
+
+    public MetricBucketsInvalidatedEvent(Object source, List<MetricBucket> buckets, int lateReadings, String mode) {
+        super(source);
+        this.buckets = buckets;
+        this.lateReadings = lateReadings;
+        this.mode = mode;
+        this.occurredAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,31 @@
+package com.weathersensor.api.domain.event;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Domain event fired when a batch of readings is written through the bulk write path,
+ * or when multi-metric sensor readings are ingested.
+ *
+ * Bulk writers do not build {@link com.weathersensor.api.domain.model.MetricData} entities,
+ * so a single event is published per flushed batch instead of one {@link MetricIngestedEvent}
+ * per row.
+ */
+@Getter
+public class MetricsBatchIngestedEvent extends ApplicationEvent {
+
+    private final List<MetricReading> readings;
+    private final String mode;
+    private final LocalDateTime occurredAt;
+
+    public MetricsBatchIngestedEvent(Object source, List<MetricReading> readings, String mode) {
+        super(source);
+        this.readings = readings;
+        this.mode = mode;
+        this.occurredAt = LocalDateTime.now();
+    }
+}
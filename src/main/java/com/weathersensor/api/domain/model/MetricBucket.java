@@ -0,0 +1,20 @@
+package com.weathersensor.api.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * One time bucket of one metric of one sensor: the unit in which stored readings are
+ * invalidated when late data arrives.
+ *
+ * Buckets are aligned to the epoch and cover [start, end).
+ */
+@Value
+public class MetricBucket {
+
+    long sensorId;
+    MetricType metricType;
+    LocalDateTime start;
+    LocalDateTime end;
+}
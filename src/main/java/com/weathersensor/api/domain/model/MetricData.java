@@ -2,7 +2,6 @@ package com.weathersensor.api.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,12 +10,14 @@ import java.time.LocalDateTime;
  * Entity representing a single metric data point from a sensor.
  *
  * This is a time-series entity that stores measurements with their timestamp.
- * Each record represents one measurement of one metric type at a specific point in time.
+ * Each record represents one measurement of one metric type at a specific point in time;
+ * (sensor, metric type, timestamp) is unique, so a retried reading is never stored twice.
  */
 @Entity
 @Table(name = "metric_data", indexes = {
-        @Index(name = "idx_metric_data_composite",
-                columnList = "sensor_id, metric_type, timestamp")
+        @Index(name = "uq_metric_data_reading",
+                columnList = "sensor_id, metric_type, timestamp",
+                unique = true)
 })
 @Getter
 @Setter
@@ -27,8 +28,15 @@ import java.time.LocalDateTime;
 @ToString(exclude = "sensor")
 public class MetricData {
 
+    /**
+     * Pooled sequence (allocationSize must match the sequence INCREMENT BY, see V5 migration).
+     * Unlike IDENTITY, this lets Hibernate assign IDs up front and batch the INSERTs.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "metric_data_id_generator")
+    @SequenceGenerator(name = "metric_data_id_generator",
+            sequenceName = "metric_data_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -45,10 +53,21 @@ public class MetricData {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Pre-persist callback to set the creation timestamp.
+     * Set eagerly (rather than at flush) because inserts are now deferred and batched,
+     * and responses are mapped before the transaction commits.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     /**
      * Convenience method to get the sensor ID without loading the entire sensor entity.
      */
@@ -0,0 +1,30 @@
+package com.weathersensor.api.domain.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight, immutable representation of a single sensor reading on the bulk write path.
+ *
+ * Unlike {@link MetricData}, this is not a JPA entity: it carries only the columns that
+ * are written to {@code metric_data} and is used by the buffered and bulk writers that
+ * bypass the persistence context. The value is fixed-point, in hundredths
+ * ({@link MetricValues}).
+ */
+@Value
+public class MetricReading {
+
+    long sensorId;
+    MetricType metricType;
+    long scaledValue;
+    LocalDateTime timestamp;
+
+    /**
+     * The value as a decimal, for the API edge.
+     */
+    public BigDecimal getDecimalValue() {
+        return MetricValues.toDecimal(scaledValue);
+    }
+}
@@ -0,0 +1,120 @@
+package com.weathersensor.api.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point representation of metric values: a {@code long} count of hundredths
+ * (23.45 -> 2345), the scale of the {@code value} columns (NUMERIC(10, 2)).
+ *
+ * Readings carry scaled values from decoding to the database, so the write path
+ * neither allocates nor does arbitrary-precision arithmetic per value.
+ * {@link BigDecimal} is only used at the API edge (request and response DTOs, JPA
+ * entities) and converted once with {@link #toScaled(BigDecimal)} / {@link #toDecimal(long)}.
+ *
+ * Rounding is half-up (away from zero), like PostgreSQL when storing NUMERIC(10, 2).
+ */
+public final class MetricValues {
+
+    /**
+     * Decimal places of a scaled value.
+     */
+    public static final int SCALE = 2;
+
+    private static final long UNIT = 100;
+
+    private MetricValues() {
+    }
+
+    /**
+     * @throws ArithmeticException if the value does not fit in a long once scaled
+     */
+    public static long toScaled(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Scale a floating-point result (e.g. an average), rounding half-up.
+     */
+    public static long toScaled(double value) {
+        long rounded = Math.round(Math.abs(value) * UNIT);
+        return value < 0 ? -rounded : rounded;
+    }
+
+    public static BigDecimal toDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    public static double toDouble(long scaled) {
+        return scaled / (double) UNIT;
+    }
+
+    /**
+     * Scale a plain decimal literal ({@code [+-]digits[.digits]}) without allocating,
+     * rounding half-up beyond two decimals. Other notations (exponents) go through
+     * {@link BigDecimal}.
+     *
+     * @throws NumberFormatException if the text is not a number or does not fit in a long
+     */
+    public static long parse(CharSequence text, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long scaled = 0;
+        int digits = 0;
+        int decimals = -1;
+        boolean roundUp = false;
+        try {
+            for (; i < to; i++) {
+                char c = text.charAt(i);
+                if (c == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (c >= '0' && c <= '9') {
+                    digits++;
+                    if (decimals < 0) {
+                        scaled = Math.addExact(Math.multiplyExact(scaled, 10), c - '0');
+                    } else if (decimals < SCALE) {
+                        scaled = Math.addExact(Math.multiplyExact(scaled, 10), c - '0');
+                        decimals++;
+                    } else if (decimals++ == SCALE) {
+                        roundUp = c >= '5';
+                    }
+                } else {
+                    return toScaled(new BigDecimal(text.subSequence(from, to).toString()));
+                }
+            }
+            if (digits == 0) {
+                throw new NumberFormatException("Not a number: " + text.subSequence(from, to));
+            }
+            for (int d = Math.max(decimals, 0); d < SCALE; d++) {
+                scaled = Math.multiplyExact(scaled, 10);
+            }
+            if (roundUp) {
+                scaled = Math.addExact(scaled, 1);
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Number out of range: " + text.subSequence(from, to));
+        }
+        return negative ? -scaled : scaled;
+    }
+
+    /**
+     * Append the plain decimal form (2345 -> "23.45", -5 -> "-0.05").
+     */
+    public static StringBuilder append(StringBuilder out, long scaled) {
+        long units = scaled / UNIT;
+        int hundredths = (int) Math.abs(scaled % UNIT);
+        if (scaled < 0 && units == 0) {
+            out.append('-');
+        }
+        out.append(units).append('.');
+        if (hundredths < 10) {
+            out.append('0');
+        }
+        return out.append(hundredths);
+    }
+}
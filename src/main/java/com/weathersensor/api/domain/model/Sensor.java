@@ -1,5 +1,6 @@
 package com.weathersensor.api.domain.model;
 
+import com.weathersensor.api.application.registry.SensorChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,9 +13,12 @@ import java.time.LocalDateTime;
  *
  * Each sensor has a unique code and can measure multiple types of metrics
  * (temperature, humidity, wind speed, pressure).
+ *
+ * Changes are propagated to the in-memory sensor registry by {@link SensorChangeListener}.
  */
 @Entity
 @Table(name = "sensors")
+@EntityListeners(SensorChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,4 +59,12 @@ public class Sensor {
             status = SensorStatus.ACTIVE;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether readings from this sensor are accepted for ingestion.
+     * Disabled (INACTIVE) sensors are rejected; sensors under maintenance keep reporting.
+     */
+    public boolean acceptsReadings() {
+        return status != SensorStatus.INACTIVE;
+    }
+}
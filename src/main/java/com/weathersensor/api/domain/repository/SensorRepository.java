@@ -5,6 +5,8 @@ import com.weathersensor.api.domain.model.SensorStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,23 @@ public interface SensorRepository extends JpaRepository<Sensor, Long> {
      */
     Optional<Sensor> findBySensorCode(String sensorCode);
 
+    /**
+     * Find the sensors with any of the given codes (single IN query).
+     *
+     * @param sensorCodes the sensor codes
+     * @return the sensors found, in no particular order
+     */
+    List<Sensor> findBySensorCodeIn(Collection<String> sensorCodes);
+
+    /**
+     * Find sensors updated at or after the given time (incremental registry refresh).
+     * Sensors never updated through JPA have no update timestamp and are not returned.
+     *
+     * @param since lower bound, inclusive
+     * @return the sensors updated since then
+     */
+    List<Sensor> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
     /**
      * Find all sensors with a specific status.
      *
@@ -0,0 +1,118 @@
+package com.weathersensor.api.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter limiting concurrent API requests when Tomcat runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}).
+ *
+ * Platform threads capped request concurrency at Tomcat's maxThreads; virtual threads do
+ * not, so without a limit thousands of requests would queue inside Hikari for a
+ * connection and time out there. This filter admits as many requests as there are
+ * connections left for them:
+ * - permits: {@code virtual-threads.max-concurrent-requests}, or when 0 (default)
+ *   the Hikari maximum-pool-size minus the write-behind buffer lanes (each lane holds
+ *   a connection while flushing), at least 1
+ * - a request waits up to {@code virtual-threads.permit-timeout-ms} (default 1000) for
+ *   a permit, then gets 503 with Retry-After
+ *
+ * Async ingestion ({@code POST /api/v1/metrics/async}) is not limited: it only enqueues
+ * into the buffer and never takes a connection on the request thread.
+ *
+ * Metrics:
+ * - request.concurrency.available: permits currently free
+ * - request.concurrency.rejected: requests rejected after waiting for a permit
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String PATH_PREFIX = "/api/v1/";
+    static final String UNLIMITED_PATH = "/api/v1/metrics/async";
+
+    private final Semaphore permits;
+    private final long permitTimeoutMillis;
+    private final Counter rejectedCounter;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${ingestion.buffer.lanes:4}") int bufferLanes,
+            @Value("${virtual-threads.permit-timeout-ms:1000}") long permitTimeoutMillis) {
+
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : Math.max(1, connectionPoolSize - bufferLanes);
+        this.permits = new Semaphore(limit, true);
+        this.permitTimeoutMillis = permitTimeoutMillis;
+
+        this.rejectedCounter = Counter.builder("request.concurrency.rejected")
+                .description("API requests rejected because no concurrency permit was free in time")
+                .register(meterRegistry);
+        Gauge.builder("request.concurrency.available", permits, Semaphore::availablePermits)
+                .description("Free API request concurrency permits")
+                .register(meterRegistry);
+
+        log.info("Virtual-thread request concurrency limit: {} permits (connection pool {}, buffer lanes {})",
+                limit, connectionPoolSize, bufferLanes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(PATH_PREFIX) || path.equals(UNLIMITED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(permitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            log.warn("No request concurrency permit within {} ms for {}", permitTimeoutMillis, request.getRequestURI());
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType("application/json");
+            response.addHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.getWriter().write(
+                    "{\"error\":\"Service Unavailable\",\"message\":\"Too many concurrent requests. Please retry.\",\"status\":503}");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
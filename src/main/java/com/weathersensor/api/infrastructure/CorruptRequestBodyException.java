@@ -0,0 +1,16 @@
+package com.weathersensor.api.infrastructure;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a compressed request body that is not valid for its
+ * Content-Encoding (bad header, corrupt or truncated data).
+ *
+ * Mapped to 400 Bad Request by the global exception handler.
+ */
+public class CorruptRequestBodyException extends IOException {
+
+    public CorruptRequestBodyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.weathersensor.api.infrastructure;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a compressed request body that inflates beyond the configured
+ * size or ratio limits (decompression bomb guard).
+ *
+ * An {@link IOException}, so it surfaces from the body parser like a broken connection.
+ * Mapped to 413 Content Too Large by the global exception handler.
+ */
+public class RequestBodyTooLargeException extends IOException {
+
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
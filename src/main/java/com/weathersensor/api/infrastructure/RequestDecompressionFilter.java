@@ -0,0 +1,324 @@
+package com.weathersensor.api.infrastructure;
+
+import com.github.luben.zstd.ZstdIOException;
+import com.github.luben.zstd.ZstdInputStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Filter that decompresses ingestion request bodies sent with
+ * {@code Content-Encoding: gzip} or {@code zstd}.
+ *
+ * The body is inflated while the controller reads it (Jackson parser, stream decoder),
+ * never buffered as a whole. Downstream code sees a plain body without Content-Encoding
+ * or Content-Length.
+ *
+ * Decompression bomb guards, enforced while reading ({@link RequestBodyTooLargeException}, 413):
+ * - {@code ingestion.decompression.max-inflated-bytes}: inflated body size (default 256 MiB)
+ * - {@code ingestion.decompression.max-ratio}: inflated/compressed ratio, checked once the
+ *   inflated body exceeds 1 MiB (default 100, 0 disables)
+ *
+ * Corrupt or truncated bodies fail with {@link CorruptRequestBodyException} (400).
+ * Other content codings are rejected with 415 Unsupported Media Type.
+ *
+ * Metrics:
+ * - metric.ingestion.request.bytes{encoding, stage=compressed|inflated}: body bytes read
+ */
+@Component
+@Slf4j
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    /**
+     * Ingestion endpoints: this path itself (synchronous ingestion) and everything below it.
+     */
+    static final String INGESTION_PATH = "/api/v1/metrics";
+
+    private static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final long maxInflatedBytes;
+    private final long maxRatio;
+
+    public RequestDecompressionFilter(
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.decompression.max-inflated-bytes:268435456}") long maxInflatedBytes,
+            @Value("${ingestion.decompression.max-ratio:100}") long maxRatio) {
+        this.meterRegistry = meterRegistry;
+        this.maxInflatedBytes = maxInflatedBytes;
+        this.maxRatio = maxRatio;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding == null
+                || encoding.equalsIgnoreCase("identity")
+                || !isIngestionPath(request);
+    }
+
+    private static boolean isIngestionPath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(INGESTION_PATH)
+                && (path.length() == INGESTION_PATH.length() || path.charAt(INGESTION_PATH.length()) == '/');
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase(Locale.ROOT);
+        if (!encoding.equals("gzip") && !encoding.equals("x-gzip") && !encoding.equals("zstd")) {
+            log.warn("Rejecting request body with unsupported Content-Encoding: {}", encoding);
+
+            response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+            response.setContentType("application/json");
+            response.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd");
+            response.getWriter().write(String.format(
+                    "{\"error\":\"Unsupported Media Type\",\"message\":\"Unsupported Content-Encoding: %s (supported: gzip, zstd)\",\"status\":415}",
+                    encoding.replace("\"", "")));
+            return;
+        }
+
+        String name = encoding.equals("zstd") ? "zstd" : "gzip";
+        DecompressedRequest decompressed = new DecompressedRequest(request, name);
+        try {
+            filterChain.doFilter(decompressed, response);
+        } finally {
+            decompressed.close();
+            countBytes(name, "compressed", decompressed.compressed.count);
+            countBytes(name, "inflated", decompressed.inflated);
+        }
+    }
+
+    private void countBytes(String encoding, String stage, long bytes) {
+        Counter.builder("metric.ingestion.request.bytes")
+                .tag("encoding", encoding)
+                .tag("stage", stage)
+                .description("Compressed request body bytes read, and the bytes they inflated to")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    /**
+     * Request whose body is decompressed on the fly.
+     */
+    private final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final String encoding;
+        private final CountingInputStream compressed;
+        private InputStream decoder;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+        private long inflated;
+
+        private DecompressedRequest(HttpServletRequest request, String encoding) throws IOException {
+            super(request);
+            this.encoding = encoding;
+            this.compressed = new CountingInputStream(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() has already been called for this request");
+            }
+            if (inputStream == null) {
+                inputStream = new DecompressingInputStream(openDecoder());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                if (inputStream != null) {
+                    throw new IllegalStateException("getInputStream() has already been called for this request");
+                }
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(new DecompressingInputStream(openDecoder()), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isRemovedHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isRemovedHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isRemovedHeader(name))
+                    .toList());
+        }
+
+        private boolean isRemovedHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+        private InputStream openDecoder() throws IOException {
+            try {
+                // GZIPInputStream reads the gzip header right away
+                decoder = encoding.equals("zstd") ? new ZstdInputStream(compressed) : new GZIPInputStream(compressed, 8192);
+            } catch (ZipException | EOFException e) {
+                throw corrupt(e);
+            }
+            return decoder;
+        }
+
+        private CorruptRequestBodyException corrupt(IOException cause) {
+            return new CorruptRequestBodyException(
+                    "Request body is not valid " + encoding + " data: " + cause.getMessage(), cause);
+        }
+
+        private void close() {
+            if (decoder != null) {
+                try {
+                    // Releases the native zstd context / inflater; the container closes the body
+                    decoder.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close request body decoder: {}", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Servlet view of the decoder that enforces the size limits.
+         */
+        private final class DecompressingInputStream extends ServletInputStream {
+
+            private final InputStream in;
+            private boolean finished;
+
+            private DecompressingInputStream(InputStream in) {
+                this.in = in;
+            }
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                int n = read(one, 0, 1);
+                return n < 0 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n;
+                try {
+                    n = in.read(buffer, offset, length);
+                } catch (ZipException | ZstdIOException | EOFException e) {
+                    throw corrupt(e);
+                }
+                if (n < 0) {
+                    finished = true;
+                    return n;
+                }
+                inflated += n;
+                checkLimits();
+                return n;
+            }
+
+            private void checkLimits() throws RequestBodyTooLargeException {
+                if (inflated > maxInflatedBytes) {
+                    throw new RequestBodyTooLargeException(
+                            "Decompressed request body exceeds " + maxInflatedBytes + " bytes");
+                }
+                if (maxRatio > 0 && inflated > RATIO_CHECK_THRESHOLD && inflated > maxRatio * compressed.count) {
+                    throw new RequestBodyTooLargeException(
+                            "Request body expands more than " + maxRatio + "x when decompressed");
+                }
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Non-blocking reads of compressed bodies are not supported");
+            }
+        }
+    }
+
+    /**
+     * Counts bytes read from the wire.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
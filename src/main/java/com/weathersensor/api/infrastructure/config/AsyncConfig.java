@@ -1,26 +1,36 @@
 package com.weathersensor.api.infrastructure.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * Async processing configuration for high-throughput metric ingestion.
+ * Async processing configuration for domain event listeners.
+ *
+ * Metric ingestion itself does not run on this executor: the async endpoint hands
+ * readings to the write-behind buffer, whose lanes own their writer threads and reject
+ * with 503 + Retry-After when full. This executor only runs {@code @Async} listeners
+ * (audit logging, alerts), which are best-effort.
  *
  * Thread Pool Strategy:
- * - Core Pool: 10 threads (always alive)
- * - Max Pool: 50 threads (scales up under load)
- * - Queue: 500 capacity (buffer for burst traffic)
- * - Rejection Policy: CallerRunsPolicy (graceful degradation)
+ * - Fixed pool: {@code events.executor.pool-size} threads (default 4)
+ * - Bounded queue: {@code events.executor.queue-capacity} events (default 10000)
+ * - Rejection Policy: drop and count; never run a listener on the publishing thread,
+ *   which may be a request thread or a buffer lane
+ *
+ * With {@code spring.threads.virtual.enabled=true} each listener runs on its own virtual
+ * thread instead ({@link BoundedVirtualThreadExecutor}); pool-size then caps concurrent
+ * listeners and queue-capacity the listeners waiting for a slot.
  *
- * Performance characteristics:
- * - Sync ingestion: ~500 req/s
- * - Async ingestion: ~2000 req/s (4x improvement)
+ * Metrics:
+ * - events.listener.rejected: events dropped because the queue was full
  */
 @Configuration
 @EnableAsync
@@ -28,55 +38,49 @@ import java.util.concurrent.ThreadPoolExecutor;
 public class AsyncConfig {
 
     /**
-     * Executor for metric ingestion operations.
-     *
-     * Configuration rationale:
-     * - Core pool size (10): Handles baseline load without creating/destroying threads
-     * - Max pool size (50): Handles burst traffic (e.g., multiple sensors reporting simultaneously)
-     * - Queue capacity (500): Buffer for temporary spikes
-     * - CallerRunsPolicy: If queue is full, execute in calling thread (backpressure mechanism)
-     *
-     * Production considerations:
-     * - Monitor thread pool metrics (active threads, queue size)
-     * - Adjust sizes based on actual workload patterns
-     * - Consider separate executors for different priorities
+     * Executor for {@code @Async} event listeners.
      */
-    @Bean(name = "metricIngestionExecutor")
-    public Executor metricIngestionExecutor() {
-        log.info("Initializing Async Task Executor for metric ingestion");
-
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    @Bean(name = "eventListenerExecutor")
+    public Executor eventListenerExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${events.executor.pool-size:4}") int poolSize,
+            @Value("${events.executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
 
-        // Core pool size: minimum number of threads kept alive
-        executor.setCorePoolSize(10);
+        Counter rejectedCounter = Counter.builder("events.listener.rejected")
+                .description("Domain events dropped because the listener executor queue was full")
+                .register(meterRegistry);
 
-        // Max pool size: maximum number of threads
-        executor.setMaxPoolSize(50);
+        if (virtualThreads) {
+            log.info("Event listener executor initialized on virtual threads: concurrency={}, queueCapacity={}",
+                    poolSize, queueCapacity);
 
-        // Queue capacity: buffer size before rejecting
-        executor.setQueueCapacity(500);
+            return new BoundedVirtualThreadExecutor("event-listener-vt-", poolSize, queueCapacity, task -> {
+                rejectedCounter.increment();
+                log.warn("Event listener queue full, dropping event");
+            }, 30_000);
+        }
 
-        // Thread name prefix (useful for debugging and logging)
-        executor.setThreadNamePrefix("metric-async-");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("event-listener-");
 
-        // Rejection policy: execute in caller's thread if queue is full
-        // Provides backpressure instead of dropping requests
-        executor.setRejectedExecutionHandler(
-                new ThreadPoolExecutor.CallerRunsPolicy());
+        // Listeners are best-effort: dropping is preferable to stalling the publisher
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejectedCounter.increment();
+            log.warn("Event listener queue full ({} queued), dropping event", pool.getQueue().size());
+        });
 
-        // Wait for tasks to complete on shutdown (graceful shutdown)
+        // Let queued listeners finish on shutdown (graceful shutdown)
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-
-        // Allow core threads to timeout when idle
-        executor.setAllowCoreThreadTimeOut(true);
-        executor.setKeepAliveSeconds(60);
+        executor.setAwaitTerminationSeconds(30);
 
         executor.initialize();
 
-        log.info("Async Task Executor initialized: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
-                executor.getCorePoolSize(), executor.getMaxPoolSize(), executor.getQueueCapacity());
+        log.info("Event listener executor initialized: poolSize={}, queueCapacity={}", poolSize, queueCapacity);
 
         return executor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.weathersensor.api.infrastructure.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Executor that starts one virtual thread per task, with the limits of a bounded pool.
+ *
+ * - At most {@code concurrency} tasks run at a time; the others wait on a semaphore,
+ *   which parks the virtual thread instead of holding a platform thread
+ * - At most {@code concurrency + queueCapacity} tasks are admitted; further tasks go to
+ *   the rejection handler, like a full {@code ThreadPoolTaskExecutor} queue
+ *
+ * {@link #close()} stops admitting tasks and waits for the admitted ones to finish.
+ */
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final ThreadFactory threadFactory;
+    private final int concurrency;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final int maxAdmitted;
+    private final Consumer<Runnable> rejectionHandler;
+    private final long awaitTerminationMillis;
+    private volatile boolean closed;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrency, int queueCapacity,
+                                        Consumer<Runnable> rejectionHandler, long awaitTerminationMillis) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+        this.concurrency = concurrency;
+        this.running = new Semaphore(concurrency);
+        this.maxAdmitted = concurrency + queueCapacity;
+        this.admitted = new Semaphore(maxAdmitted);
+        this.rejectionHandler = rejectionHandler;
+        this.awaitTerminationMillis = awaitTerminationMillis;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed || !admitted.tryAcquire()) {
+            rejectionHandler.accept(task);
+            return;
+        }
+
+        try {
+            threadFactory.newThread(() -> run(task)).start();
+        } catch (RuntimeException | Error e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquire();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            admitted.release();
+        }
+    }
+
+    /**
+     * @return tasks running right now
+     */
+    public int getActiveCount() {
+        return concurrency - running.availablePermits();
+    }
+
+    /**
+     * @return tasks admitted but waiting for a running slot
+     */
+    public int getQueuedCount() {
+        return running.getQueueLength();
+    }
+
+    /**
+     * Stop admitting tasks and wait up to the configured timeout for admitted ones to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        if (admitted.tryAcquire(maxAdmitted, awaitTerminationMillis, TimeUnit.MILLISECONDS)) {
+            admitted.release(maxAdmitted);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.weathersensor.api.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. periodic sensor registry refresh).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,18 @@
 package com.weathersensor.api.infrastructure.exception;
 
+import com.weathersensor.api.application.ingestion.DuplicateReadingException;
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.IngestionReceiptNotFoundException;
+import com.weathersensor.api.infrastructure.CorruptRequestBodyException;
+import com.weathersensor.api.infrastructure.RequestBodyTooLargeException;
+import com.weathersensor.api.infrastructure.journal.JournalException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +29,7 @@ import java.util.Map;
  * Provides consistent error responses across the API.
  */
 @RestControllerAdvice
+@Profile("!reactive")
 @Slf4j
 public class GlobalExceptionHandler {
 
@@ -72,6 +83,172 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Handle lookups of unknown or expired ingestion receipts.
+     */
+    @ExceptionHandler(IngestionReceiptNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionReceiptNotFoundException(
+            IngestionReceiptNotFoundException ex,
+            WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Not Found")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handle constraint violations; a duplicate reading (same sensor, metric type and
+     * timestamp) on the synchronous endpoints is the expected case, whether caught by the
+     * unique index or by the bulk write path ({@link DuplicateReadingException}).
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex,
+            WebRequest request) {
+
+        log.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        boolean duplicate = ex instanceof DuplicateReadingException
+                || String.valueOf(ex.getMostSpecificCause().getMessage()).contains("uq_metric_data_reading");
+        String message = duplicate
+                ? "A reading for this sensor, metric type and timestamp already exists"
+                : "Request conflicts with existing data";
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(message)
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handle compressed request bodies that inflate beyond the decompression limits.
+     */
+    @ExceptionHandler(RequestBodyTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleRequestBodyTooLargeException(
+            RequestBodyTooLargeException ex,
+            WebRequest request) {
+
+        log.warn("Request body rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                .error("Content Too Large")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
+    /**
+     * Handle compressed request bodies that cannot be decoded.
+     */
+    @ExceptionHandler(CorruptRequestBodyException.class)
+    public ResponseEntity<ErrorResponse> handleCorruptRequestBodyException(
+            CorruptRequestBodyException ex,
+            WebRequest request) {
+
+        log.warn("Request body rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Handle request bodies that cannot be read or parsed. Spring wraps body read
+     * failures, so decompression errors are unwrapped here.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex,
+            WebRequest request) {
+
+        if (ex.getCause() instanceof RequestBodyTooLargeException tooLarge) {
+            return handleRequestBodyTooLargeException(tooLarge, request);
+        }
+        if (ex.getCause() instanceof CorruptRequestBodyException corrupt) {
+            return handleCorruptRequestBodyException(corrupt, request);
+        }
+
+        log.warn("Unreadable request body: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message("Malformed request body")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Handle ingestion backpressure (write-behind buffer full or shutting down).
+     * Tells the client when to retry through the Retry-After header.
+     */
+    @ExceptionHandler(IngestionBufferFullException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionBufferFullException(
+            IngestionBufferFullException ex,
+            WebRequest request) {
+
+        log.warn("Ingestion rejected: {} (retry after {} s)", ex.getMessage(), ex.getRetryAfterSeconds());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(errorResponse);
+    }
+
+    /**
+     * Handle readings that could not be made durable in the ingestion journal.
+     */
+    @ExceptionHandler(JournalException.class)
+    public ResponseEntity<ErrorResponse> handleJournalException(
+            JournalException ex,
+            WebRequest request) {
+
+        log.error("Ingestion journal unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Handle all other unexpected exceptions.
      */
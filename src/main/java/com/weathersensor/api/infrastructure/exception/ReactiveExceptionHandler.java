@@ -0,0 +1,168 @@
+package com.weathersensor.api.infrastructure.exception;
+
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.IngestionReceiptNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler for the WebFlux controllers of the reactive profile.
+ *
+ * Same status codes and error body as {@link GlobalExceptionHandler}, which only
+ * serves the servlet stack.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle validation errors from @Valid annotations.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(
+            WebExchangeBindException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Validation error: {}", ex.getMessage());
+
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                validationErrors.put(error.getField(), error.getDefaultMessage()));
+
+        ErrorResponse errorResponse = errorResponse(HttpStatus.BAD_REQUEST, "Validation Failed",
+                "Invalid input parameters", exchange);
+        errorResponse.setValidationErrors(validationErrors);
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Handle unreadable request bodies and parameters.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(
+            ServerWebInputException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Unreadable request: {}", ex.getReason());
+
+        return ResponseEntity.badRequest().body(
+                errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getReason(), exchange));
+    }
+
+    /**
+     * Handle business logic exceptions (IllegalArgumentException).
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+            IllegalArgumentException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Business logic error: {}", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(
+                errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), exchange));
+    }
+
+    /**
+     * Handle lookups of unknown or expired ingestion receipts.
+     */
+    @ExceptionHandler(IngestionReceiptNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionReceiptNotFoundException(
+            IngestionReceiptNotFoundException ex,
+            ServerWebExchange exchange) {
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                errorResponse(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), exchange));
+    }
+
+    /**
+     * Handle constraint violations, typically a reading that already exists.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).contains("uq_metric_data_reading")
+                ? "A reading for this sensor, metric type and timestamp already exists"
+                : "Request conflicts with existing data";
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                errorResponse(HttpStatus.CONFLICT, "Conflict", message, exchange));
+    }
+
+    /**
+     * Handle ingestion backpressure (async queue full or shutting down).
+     */
+    @ExceptionHandler(IngestionBufferFullException.class)
+    public ResponseEntity<ErrorResponse> handleIngestionBufferFullException(
+            IngestionBufferFullException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Ingestion rejected: {} (retry after {} s)", ex.getMessage(), ex.getRetryAfterSeconds());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(
+                errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), exchange));
+    }
+
+    /**
+     * Handle all other unexpected exceptions.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+            Exception ex,
+            ServerWebExchange exchange) {
+
+        log.error("Unexpected error occurred", ex);
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                        "An unexpected error occurred. Please contact support.", exchange));
+    }
+
+    private static ErrorResponse errorResponse(HttpStatus status, String error, String message,
+                                               ServerWebExchange exchange) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(exchange.getRequest().getPath().value())
+                .build();
+    }
+
+    /**
+     * Standard error response structure (same fields as the servlet handler's).
+     */
+    @lombok.Data
+    @lombok.Builder
+    private static class ErrorResponse {
+        private LocalDateTime timestamp;
+        private int status;
+        private String error;
+        private String message;
+        private String path;
+        private Map<String, String> validationErrors;
+    }
+}
@@ -0,0 +1,19 @@
+package com.weathersensor.api.infrastructure.journal;
+
+/**
+ * Thrown when a reading cannot be made durable in the ingestion journal: the
+ * journal failed to write or fsync, or the group fsync did not complete in time.
+ *
+ * Mapped to 503 Service Unavailable by the global exception handler, so clients
+ * retry instead of assuming the reading was accepted.
+ */
+public class JournalException extends RuntimeException {
+
+    public JournalException(String message) {
+        super(message);
+    }
+
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,609 @@
+package com.weathersensor.api.infrastructure.journal;
+
+import com.weathersensor.api.application.ingestion.MetricFrameFormat;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead journal for asynchronously ingested readings.
+ *
+ * The {@code MetricWriteBuffer} appends every accepted reading here and waits for it to
+ * be on disk before the request is acknowledged, so a 202 survives a crash of the process
+ * or the pod (the directory must be on a persistent volume):
+ * - Append: records go into the current segment file, mapped into memory and
+ *   preallocated to {@code ingestion.journal.segment-size}; each record carries a
+ *   monotonically increasing sequence number
+ * - Group fsync: a single "metric-journal-sync" thread forces the segment whenever
+ *   there are unsynced appends. Requests arriving during one fsync are covered by the
+ *   next, so concurrent requests share the fsync cost instead of paying one each
+ * - Checkpoint: once a batch is committed to the database its highest sequence is
+ *   stored in the {@code checkpoint} file, and segments entirely below it are deleted
+ * - Replay: on startup, records above the checkpoint are written to the database
+ *   before any new reading is flushed
+ *
+ * Delivery is at-least-once: a crash between a database commit and the following
+ * checkpoint replays that batch.
+ *
+ * Record layout (big-endian): payload length (int), CRC32 of the payload (int), then
+ * sequence (long), sensorId (long), metric type code (byte, {@link MetricFrameFormat}),
+ * epoch second (long, UTC), nano (int), value scale (int), unscaled value length (short)
+ * and its minimal two's-complement bytes. Values are written at scale 2 from the
+ * reading's hundredths ({@link MetricValues}) without intermediate objects; records of
+ * another scale are still read. A zero length or a CRC mismatch ends the segment
+ * (the unused preallocated tail, or a record torn by a crash).
+ *
+ * Enabled with {@code ingestion.journal.enabled=true}.
+ *
+ * Metrics:
+ * - metric.ingestion.journal.fsync: group fsync latency
+ * - metric.ingestion.journal.pending: journaled readings not yet checkpointed
+ */
+@Component
+@ConditionalOnProperty(name = "ingestion.journal.enabled", havingValue = "true")
+@Slf4j
+public class MetricJournal {
+
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int FIXED_PAYLOAD_BYTES = 3 * Long.BYTES + 1 + 2 * Integer.BYTES + Short.BYTES;
+    private static final int MAX_RECORD_BYTES = HEADER_BYTES + FIXED_PAYLOAD_BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncTimeoutMillis;
+    private final Timer fsyncTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Guarded by lock
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer current;
+    private Path currentPath;
+    private int writePosition;
+    private int syncedPosition;
+    private long nextSequence;
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean running;
+
+    private volatile long checkpoint;
+    private long replayUpTo;
+    private Thread syncer;
+
+    public MetricJournal(
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.journal.directory:data/journal}") Path directory,
+            @Value("${ingestion.journal.segment-size:67108864}") int segmentSize,
+            @Value("${ingestion.journal.sync-timeout-ms:1000}") long syncTimeoutMillis) {
+
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("ingestion.journal.segment-size must be at least " + MIN_SEGMENT_SIZE);
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncTimeoutMillis = syncTimeoutMillis;
+
+        this.fsyncTimer = Timer.builder("metric.ingestion.journal.fsync")
+                .description("Time taken by one group fsync of the ingestion journal")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        Gauge.builder("metric.ingestion.journal.pending", this, MetricJournal::getPendingCount)
+                .description("Journaled readings not yet checkpointed as written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recover the journal state from disk and open a fresh segment for appends.
+     * Records left by a previous run stay in their segments until {@link #replay} has
+     * written them.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        checkpoint = readCheckpoint();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                segments.put(firstSequenceOf(file), file);
+            }
+        }
+
+        long lastSequence = checkpoint;
+        if (!segments.isEmpty()) {
+            Map.Entry<Long, Path> last = segments.lastEntry();
+            long lastInSegment = scan(last.getValue(), 0, null);
+            if (lastInSegment < 0) {
+                // Created but never written to: nothing to replay from it
+                Files.delete(last.getValue());
+                segments.remove(last.getKey());
+                lastInSegment = last.getKey() - 1;
+            }
+            lastSequence = Math.max(lastSequence, lastInSegment);
+        }
+
+        replayUpTo = lastSequence;
+        nextSequence = lastSequence + 1;
+        appendedSequence = lastSequence;
+        durableSequence = lastSequence;
+        openSegment(nextSequence);
+        deleteCheckpointedSegments();
+
+        running = true;
+        syncer = new Thread(this::runSyncLoop, "metric-journal-sync");
+        syncer.start();
+
+        log.info("Ingestion journal opened in {}: checkpoint={}, {} readings to replay",
+                directory.toAbsolutePath(), checkpoint, replayUpTo - checkpoint);
+    }
+
+    /**
+     * Stop the syncer after a final fsync. Readings not yet checkpointed are replayed
+     * on the next start.
+     */
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            syncer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.info("Ingestion journal closed: {} readings pending replay", getPendingCount());
+    }
+
+    /**
+     * Sequence number the next {@link #append} will assign.
+     */
+    public long nextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append a reading. The record is in the page cache when this returns; call
+     * {@link #awaitDurable} to wait for the group fsync.
+     *
+     * @return the sequence number of the record
+     * @throws JournalException if the journal has failed or is closed
+     * @throws IllegalArgumentException if the value has too many digits to journal
+     */
+    public long append(MetricReading reading) {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new JournalException("Ingestion journal is not writable", failure);
+            }
+            if (!running) {
+                throw new JournalException("Ingestion journal is closed");
+            }
+
+            // A failed append still consumes its sequence: the reading may already be queued
+            long sequence = nextSequence++;
+            int length = encode(sequence, reading);
+            if (writePosition + length > segmentSize) {
+                rotate(sequence);
+            }
+
+            current.put(writePosition, record.array(), 0, length);
+            writePosition += length;
+            appendedSequence = sequence;
+            appended.signal();
+            return sequence;
+        } catch (IOException | UncheckedIOException e) {
+            failure = e instanceof IOException io ? io : ((UncheckedIOException) e).getCause();
+            synced.signalAll();
+            log.error("Ingestion journal append failed, rejecting further readings", e);
+            throw new JournalException("Ingestion journal is not writable", failure);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until the record with the given sequence has been fsynced.
+     *
+     * @throws JournalException if the fsync failed or did not complete within
+     *         {@code ingestion.journal.sync-timeout-ms}
+     */
+    public void awaitDurable(long sequence) {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(syncTimeoutMillis);
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new JournalException("Ingestion journal is not writable", failure);
+                }
+                if (remainingNanos <= 0) {
+                    throw new JournalException("Timed out waiting for the ingestion journal to sync");
+                }
+                remainingNanos = synced.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JournalException("Interrupted while waiting for the ingestion journal to sync");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that every reading up to and including {@code sequence} is in the database,
+     * and delete segments that hold nothing newer. A checkpoint at or below the current
+     * one is ignored, so concurrent writers may race to advance it.
+     */
+    public synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+
+        try {
+            writeCheckpoint(sequence);
+        } catch (IOException e) {
+            // Not fatal: the readings are in the database and would only be replayed again
+            log.warn("Failed to write ingestion journal checkpoint {}: {}", sequence, e.getMessage());
+            return;
+        }
+        checkpoint = sequence;
+
+        lock.lock();
+        try {
+            deleteCheckpointedSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the readings journaled by a previous run that are above the checkpoint, in
+     * order and in batches of at most {@code batchSize}, checkpointing after each batch.
+     *
+     * If the writer throws, the exception propagates and the progress made so far is kept;
+     * calling replay again resumes after the last checkpoint. Must complete before any
+     * reading appended by this run is checkpointed.
+     *
+     * @return number of readings replayed
+     */
+    public long replay(int batchSize, Consumer<List<MetricReading>> writer) throws IOException {
+        List<Path> files;
+        lock.lock();
+        try {
+            files = new ArrayList<>(segments.headMap(replayUpTo, true).values());
+        } finally {
+            lock.unlock();
+        }
+
+        List<MetricReading> batch = new ArrayList<>(batchSize);
+        long[] progress = new long[2];  // readings replayed, sequence of the last one
+
+        for (Path file : files) {
+            try {
+                scan(file, checkpoint, (sequence, reading) -> {
+                    if (sequence > replayUpTo) {
+                        return;
+                    }
+                    batch.add(reading);
+                    progress[0]++;
+                    progress[1] = sequence;
+                    if (batch.size() == batchSize) {
+                        writer.accept(batch);
+                        checkpoint(sequence);
+                        batch.clear();
+                    }
+                });
+            } catch (NoSuchFileException e) {
+                // Deleted by a checkpoint: fully written already
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writer.accept(batch);
+            checkpoint(progress[1]);
+        }
+        checkpoint(replayUpTo);
+
+        return progress[0];
+    }
+
+    /**
+     * Readings appended but not yet checkpointed (including those awaiting replay).
+     */
+    public long getPendingCount() {
+        lock.lock();
+        try {
+            return Math.max(0, nextSequence - 1 - checkpoint);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    private void runSyncLoop() {
+        while (true) {
+            MappedByteBuffer buffer;
+            int from;
+            int to;
+            long target;
+
+            lock.lock();
+            try {
+                while (running && appendedSequence <= durableSequence && failure == null) {
+                    appended.awaitUninterruptibly();
+                }
+                if (failure != null || appendedSequence <= durableSequence) {
+                    return;
+                }
+                buffer = current;
+                from = syncedPosition;
+                to = writePosition;
+                target = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            IOException error = null;
+            try {
+                buffer.force(from, to - from);
+            } catch (UncheckedIOException e) {
+                error = e.getCause();
+            }
+            fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    log.error("Ingestion journal fsync failed, rejecting further readings", error);
+                    failure = error;
+                } else {
+                    durableSequence = Math.max(durableSequence, target);
+                    if (buffer == current) {
+                        syncedPosition = Math.max(syncedPosition, to);
+                    }
+                }
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Serialize a reading into {@link #record}.
+     *
+     * @return the record length including the header
+     */
+    private int encode(long sequence, MetricReading reading) {
+        long value = reading.getScaledValue();
+        int valueBytes = (Long.SIZE - Long.numberOfLeadingZeros(value ^ (value >> 63))) / Byte.SIZE + 1;
+
+        LocalDateTime timestamp = reading.getTimestamp();
+        record.clear().position(HEADER_BYTES);
+        record.putLong(sequence)
+                .putLong(reading.getSensorId())
+                .put((byte) MetricFrameFormat.typeCode(reading.getMetricType()))
+                .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+                .putInt(timestamp.getNano())
+                .putInt(MetricValues.SCALE)
+                .putShort((short) valueBytes);
+        for (int shift = (valueBytes - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            record.put((byte) (value >> shift));
+        }
+
+        int payloadLength = record.position() - HEADER_BYTES;
+        crc.reset();
+        crc.update(record.array(), HEADER_BYTES, payloadLength);
+        record.putInt(0, payloadLength).putInt(Integer.BYTES, (int) crc.getValue());
+        return record.position();
+    }
+
+    /**
+     * Decode the valid records of a segment.
+     *
+     * @param after only records with a greater sequence are passed to the visitor
+     * @param visitor receives each record, may be null
+     * @return the sequence of the last valid record, or -1 if the segment has none
+     */
+    private static long scan(Path file, long after, RecordVisitor visitor) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        CRC32 checksum = new CRC32();
+        long last = -1;
+        int position = 0;
+
+        while (position + HEADER_BYTES + FIXED_PAYLOAD_BYTES <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_PAYLOAD_BYTES || length > buffer.limit() - position - HEADER_BYTES) {
+                break;
+            }
+
+            ByteBuffer payload = buffer.slice(position + HEADER_BYTES, length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                log.warn("Ingestion journal segment {} ends with a torn record at offset {}", file, position);
+                break;
+            }
+
+            long sequence = payload.getLong();
+            long sensorId = payload.getLong();
+            MetricType metricType = MetricFrameFormat.typeOf(payload.get());
+            long epochSecond = payload.getLong();
+            int nano = payload.getInt();
+            int scale = payload.getInt();
+            long scaledValue = readValue(payload, scale, payload.getShort());
+
+            last = sequence;
+            position += HEADER_BYTES + length;
+
+            if (visitor != null && sequence > after) {
+                visitor.visit(sequence, new MetricReading(
+                        sensorId,
+                        metricType,
+                        scaledValue,
+                        LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC)));
+            }
+        }
+
+        return last;
+    }
+
+    /**
+     * Read a value of {@code length} two's-complement bytes as hundredths. Records written
+     * at another scale (before values were fixed-point) are rescaled, rounding half-up.
+     */
+    private static long readValue(ByteBuffer payload, int scale, int length) {
+        if (scale == MetricValues.SCALE && length > 0 && length <= Long.BYTES) {
+            long value = payload.get();  // sign-extended
+            for (int i = 1; i < length; i++) {
+                value = (value << Byte.SIZE) | (payload.get() & 0xFF);
+            }
+            return value;
+        }
+
+        byte[] unscaled = new byte[length];
+        payload.get(unscaled);
+        return MetricValues.toScaled(new BigDecimal(new BigInteger(unscaled), scale));
+    }
+
+    private void rotate(long firstSequence) throws IOException {
+        current.force();
+        durableSequence = appendedSequence;
+        synced.signalAll();
+        openSegment(firstSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end extends the (sparse, zero-filled) file
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        currentPath = file;
+        writePosition = 0;
+        syncedPosition = 0;
+        segments.put(firstSequence, file);
+    }
+
+    /**
+     * Delete every segment whose successor starts at or below checkpoint + 1.
+     * The current segment is never deleted.
+     */
+    private void deleteCheckpointedSegments() {
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            Long next = segments.higherKey(oldest.getKey());
+            if (oldest.getValue().equals(currentPath) || next > checkpoint + 1) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(oldest.getValue());
+            } catch (IOException e) {
+                log.warn("Failed to delete ingestion journal segment {}: {}", oldest.getValue(), e.getMessage());
+                return;
+            }
+            segments.remove(oldest.getKey());
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim());
+    }
+
+    /**
+     * Write the checkpoint to a temporary file, fsync it and rename it over the old one,
+     * so a crash leaves either the old or the new checkpoint.
+     */
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(false);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(long sequence, MetricReading reading);
+    }
+}
@@ -0,0 +1,129 @@
+package com.weathersensor.api.infrastructure.json;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Fast path for the ISO-8601 local date-times sent by gateways
+ * ({@code yyyy-MM-ddTHH:mm[:ss[.fraction]]}), without going through
+ * {@code DateTimeFormatter}. Anything else (offsets, other year ranges) is left to the
+ * Jackson JSR-310 (de)serializers by returning null / -1.
+ */
+final class IsoLocalDateTime {
+
+    /**
+     * Longest formatted value: {@code 9999-12-31T23:59:59.999999999}.
+     */
+    static final int MAX_LENGTH = 29;
+
+    private IsoLocalDateTime() {
+    }
+
+    /**
+     * @return the parsed value, or null if the text is not in the fast-path form or not
+     *         a valid date-time
+     */
+    static LocalDateTime parse(char[] text, int offset, int length) {
+        if (length != 16 && (length < 19 || length == 20 || length > MAX_LENGTH)) {
+            return null;
+        }
+        int end = offset + length;
+        if (text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (length >= 19) {
+            if (text[offset + 16] != ':') {
+                return null;
+            }
+            second = digits(text, offset + 17, 2);
+            if (length > 19) {
+                if (text[offset + 19] != '.') {
+                    return null;
+                }
+                int fraction = digits(text, offset + 20, end - offset - 20);
+                if (fraction < 0) {
+                    return null;
+                }
+                for (int i = end - offset - 20; i < 9; i++) {
+                    fraction *= 10;
+                }
+                nano = fraction;
+            }
+        }
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Format like {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME}: seconds always, the
+     * fraction without trailing zeros.
+     *
+     * @param out at least {@link #MAX_LENGTH} chars
+     * @return the number of chars written, or -1 if the year is outside 0000-9999
+     */
+    static int format(LocalDateTime value, char[] out) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        put(out, 0, year, 4);
+        out[4] = '-';
+        put(out, 5, value.getMonthValue(), 2);
+        out[7] = '-';
+        put(out, 8, value.getDayOfMonth(), 2);
+        out[10] = 'T';
+        put(out, 11, value.getHour(), 2);
+        out[13] = ':';
+        put(out, 14, value.getMinute(), 2);
+        out[16] = ':';
+        put(out, 17, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        out[19] = '.';
+        put(out, 20, nano, 9);
+        int length = MAX_LENGTH;
+        while (out[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * @return the value of {@code count} decimal digits, or -1 if any char is not a digit
+     */
+    private static int digits(char[] text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void put(char[] out, int from, int value, int count) {
+        for (int i = from + count - 1; i >= from; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
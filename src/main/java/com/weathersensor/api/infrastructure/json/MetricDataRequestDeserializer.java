@@ -0,0 +1,62 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+
+import java.io.IOException;
+
+/**
+ * Hand-written deserializer for {@link MetricDataRequest}, the element type of batch
+ * bodies and NDJSON streams. Reads fields directly instead of through bean properties;
+ * see {@link MetricJsonReaders} for the value fast paths.
+ */
+class MetricDataRequestDeserializer extends StdDeserializer<MetricDataRequest> {
+
+    MetricDataRequestDeserializer() {
+        super(MetricDataRequest.class);
+    }
+
+    @Override
+    public MetricDataRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else {
+            return (MetricDataRequest) ctxt.handleUnexpectedToken(MetricDataRequest.class, p);
+        }
+
+        MetricDataRequest request = new MetricDataRequest();
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            try {
+                if (readField(p, ctxt, request, name)) {
+                    continue;
+                }
+            } catch (Exception e) {
+                throw MetricJsonReaders.wrapWithPath(e, request, name, ctxt);
+            }
+            handleUnknownProperty(p, ctxt, request, name);
+        }
+        return request;
+    }
+
+    private static boolean readField(JsonParser p, DeserializationContext ctxt, MetricDataRequest request,
+                                     String name) throws IOException {
+        switch (name) {
+            case "sensorId" -> request.setSensorId(MetricJsonReaders.readLong(p, ctxt));
+            case "sensorCode" -> request.setSensorCode(MetricJsonReaders.readString(p, ctxt));
+            case "metricType" -> request.setMetricType(MetricJsonReaders.readMetricType(p, ctxt));
+            case "value" -> request.setValue(MetricJsonReaders.readDecimal(p, ctxt));
+            case "timestamp" -> request.setTimestamp(MetricJsonReaders.readTimestamp(p, ctxt));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.domain.model.MetricType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written serializer for {@link MetricDataResponse}, written straight to the
+ * generator: pre-encoded field names and metric types, timestamps formatted into a
+ * char buffer instead of through {@code DateTimeFormatter}.
+ *
+ * Produces the same document as default databind: declaration order, ISO local
+ * date-times, and null fields omitted when the default property inclusion is
+ * {@code non_null} (bulk-path responses have no {@code id} or {@code createdAt}).
+ */
+class MetricDataResponseSerializer extends StdSerializer<MetricDataResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString SENSOR_ID = new SerializedString("sensorId");
+    private static final SerializedString SENSOR_CODE = new SerializedString("sensorCode");
+    private static final SerializedString METRIC_TYPE = new SerializedString("metricType");
+    private static final SerializedString VALUE = new SerializedString("value");
+    private static final SerializedString UNIT = new SerializedString("unit");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+
+    private static final SerializedString[] METRIC_TYPE_NAMES = new SerializedString[MetricType.values().length];
+
+    static {
+        for (MetricType type : MetricType.values()) {
+            METRIC_TYPE_NAMES[type.ordinal()] = new SerializedString(type.name());
+        }
+    }
+
+    MetricDataResponseSerializer() {
+        super(MetricDataResponse.class);
+    }
+
+    @Override
+    public void serialize(MetricDataResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(MetricDataResponse.class).getValueInclusion();
+        boolean writeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+        char[] buffer = null;
+
+        gen.writeStartObject(response);
+        writeLong(gen, ID, response.getId(), writeNulls);
+        writeLong(gen, SENSOR_ID, response.getSensorId(), writeNulls);
+        writeString(gen, SENSOR_CODE, response.getSensorCode(), writeNulls);
+        if (response.getMetricType() != null) {
+            gen.writeFieldName(METRIC_TYPE);
+            gen.writeString(METRIC_TYPE_NAMES[response.getMetricType().ordinal()]);
+        } else if (writeNulls) {
+            gen.writeFieldName(METRIC_TYPE);
+            gen.writeNull();
+        }
+        writeDecimal(gen, response.getValue(), writeNulls);
+        writeString(gen, UNIT, response.getUnit(), writeNulls);
+        if (response.getTimestamp() != null || response.getCreatedAt() != null) {
+            buffer = new char[IsoLocalDateTime.MAX_LENGTH];
+        }
+        writeTimestamp(gen, provider, TIMESTAMP, response.getTimestamp(), buffer, writeNulls);
+        writeTimestamp(gen, provider, CREATED_AT, response.getCreatedAt(), buffer, writeNulls);
+        gen.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializedString name, Long value, boolean writeNulls)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeNumber(value);
+        } else if (writeNulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value, boolean writeNulls)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        } else if (writeNulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator gen, BigDecimal value, boolean writeNulls) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(VALUE);
+            gen.writeNumber(value);
+        } else if (writeNulls) {
+            gen.writeFieldName(VALUE);
+            gen.writeNull();
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator gen, SerializerProvider provider, SerializedString name,
+                                       LocalDateTime value, char[] buffer, boolean writeNulls) throws IOException {
+        if (value == null) {
+            if (writeNulls) {
+                gen.writeFieldName(name);
+                gen.writeNull();
+            }
+            return;
+        }
+
+        gen.writeFieldName(name);
+        int length = provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                ? -1
+                : IsoLocalDateTime.format(value, buffer);
+        if (length < 0) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+}
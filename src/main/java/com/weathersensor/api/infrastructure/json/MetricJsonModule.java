@@ -0,0 +1,36 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with hand-written codecs for the ingestion hot path: the request DTOs
+ * ({@link MetricDataRequest} for single, batch and stream ingestion,
+ * {@link SensorReadingRequest}) and {@link MetricDataResponse}.
+ *
+ * Default databind goes through bean property metadata, Lombok setters and
+ * {@code DateTimeFormatter} for every reading. These codecs read and write fields
+ * directly and parse/format ISO local date-times and plain decimals from the parser's
+ * character buffer; other forms fall back to the standard deserializers, so the JSON
+ * accepted and produced does not change.
+ *
+ * Spring Boot registers the module with the application ObjectMapper (MVC, WebFlux and
+ * the NDJSON stream reader). Disable with {@code ingestion.json-codec.enabled=false}.
+ * The DTOs themselves carry no Jackson annotations, so the client subproject that
+ * shares them is unaffected.
+ */
+@Component
+@ConditionalOnProperty(name = "ingestion.json-codec.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricJsonModule extends SimpleModule {
+
+    public MetricJsonModule() {
+        super("MetricJsonModule");
+        addDeserializer(MetricDataRequest.class, new MetricDataRequestDeserializer());
+        addDeserializer(SensorReadingRequest.class, new SensorReadingRequestDeserializer());
+        addSerializer(MetricDataResponse.class, new MetricDataResponseSerializer());
+    }
+}
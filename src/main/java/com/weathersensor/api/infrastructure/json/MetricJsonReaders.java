@@ -0,0 +1,165 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.weathersensor.api.domain.model.MetricType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Field readers shared by the metric request deserializers. Each takes the parser
+ * positioned on the value token and decodes the common forms straight from the parser's
+ * character buffer; any other token (strings for numbers, offsets in timestamps, ...) is
+ * delegated to the standard Jackson deserializer, so coercion rules and error messages
+ * stay those of default databind.
+ */
+final class MetricJsonReaders {
+
+    // Unscaled value of a plain decimal must fit in a long
+    private static final int MAX_PLAIN_DIGITS = 18;
+
+    private static final MetricType[] METRIC_TYPES = MetricType.values();
+    private static final char[][] METRIC_TYPE_NAMES = new char[METRIC_TYPES.length][];
+
+    static {
+        for (MetricType type : METRIC_TYPES) {
+            METRIC_TYPE_NAMES[type.ordinal()] = type.name().toCharArray();
+        }
+    }
+
+    private MetricJsonReaders() {
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT) && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return p.getLongValue();
+        }
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, Long.class);
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return p.getText();
+        }
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, String.class);
+    }
+
+    static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            BigDecimal value = plainDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            return value != null ? value : p.getDecimalValue();
+        }
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT) && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return BigDecimal.valueOf(p.getLongValue());
+        }
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, BigDecimal.class);
+    }
+
+    static LocalDateTime readTimestamp(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            LocalDateTime value = IsoLocalDateTime.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        }
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, LocalDateTime.class);
+    }
+
+    static MetricType readMetricType(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            MetricType type = metricType(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (type != null) {
+                return type;
+            }
+        }
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, MetricType.class);
+    }
+
+    /**
+     * Wrap a failure to read a property like bean deserialization does, so callers see a
+     * {@link JsonMappingException} with the property path (the NDJSON stream skips such
+     * records instead of truncating).
+     */
+    static IOException wrapWithPath(Exception e, Object bean, String name, DeserializationContext ctxt)
+            throws IOException {
+        boolean wrap = ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);
+        if (e instanceof IOException io && (!wrap || !(e instanceof JacksonException))) {
+            throw io;
+        }
+        if (e instanceof RuntimeException runtime && !wrap) {
+            throw runtime;
+        }
+        return JsonMappingException.wrapWithPath(e, bean, name);
+    }
+
+    /**
+     * @return the metric type with exactly this name, or null
+     */
+    static MetricType metricType(String name) {
+        for (MetricType type : METRIC_TYPES) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the metric type with exactly this name, or null
+     */
+    static MetricType metricType(char[] text, int offset, int length) {
+        for (int i = 0; i < METRIC_TYPE_NAMES.length; i++) {
+            char[] name = METRIC_TYPE_NAMES[i];
+            if (name.length == length && Arrays.equals(name, 0, length, text, offset, offset + length)) {
+                return METRIC_TYPES[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decode {@code [-]digits[.digits]} with the scale of the text, like
+     * {@code new BigDecimal(text)}.
+     *
+     * @return the value, or null for exponents and numbers with more than 18 digits
+     */
+    static BigDecimal plainDecimal(char[] text, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = i < end && text[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_PLAIN_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || scale == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.domain.model.MetricType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hand-written deserializer for {@link SensorReadingRequest}. The {@code values} object
+ * is read into a {@link LinkedHashMap} in document order, like default databind.
+ */
+class SensorReadingRequestDeserializer extends StdDeserializer<SensorReadingRequest> {
+
+    SensorReadingRequestDeserializer() {
+        super(SensorReadingRequest.class);
+    }
+
+    @Override
+    public SensorReadingRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else {
+            return (SensorReadingRequest) ctxt.handleUnexpectedToken(SensorReadingRequest.class, p);
+        }
+
+        SensorReadingRequest request = new SensorReadingRequest();
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            try {
+                if (readField(p, ctxt, request, name)) {
+                    continue;
+                }
+            } catch (Exception e) {
+                throw MetricJsonReaders.wrapWithPath(e, request, name, ctxt);
+            }
+            handleUnknownProperty(p, ctxt, request, name);
+        }
+        return request;
+    }
+
+    private static boolean readField(JsonParser p, DeserializationContext ctxt, SensorReadingRequest request,
+                                     String name) throws IOException {
+        switch (name) {
+            case "sensorId" -> request.setSensorId(MetricJsonReaders.readLong(p, ctxt));
+            case "sensorCode" -> request.setSensorCode(MetricJsonReaders.readString(p, ctxt));
+            case "timestamp" -> request.setTimestamp(MetricJsonReaders.readTimestamp(p, ctxt));
+            case "values" -> request.setValues(readValues(p, ctxt));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<MetricType, BigDecimal> readValues(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (!p.isExpectedStartObjectToken()) {
+            JavaType type = ctxt.getTypeFactory().constructMapType(Map.class, MetricType.class, BigDecimal.class);
+            return (Map<MetricType, BigDecimal>) ctxt.readValue(p, type);
+        }
+
+        Map<MetricType, BigDecimal> values = new LinkedHashMap<>();
+        for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+            MetricType type = MetricJsonReaders.metricType(key);
+            if (type == null) {
+                type = (MetricType) ctxt.handleWeirdKey(MetricType.class, key,
+                        "not one of the values accepted for Enum class: %s", Arrays.toString(MetricType.values()));
+            }
+            p.nextToken();
+            try {
+                values.put(type, MetricJsonReaders.readDecimal(p, ctxt));
+            } catch (Exception e) {
+                throw MetricJsonReaders.wrapWithPath(e, values, key, ctxt);
+            }
+        }
+        return values;
+    }
+}
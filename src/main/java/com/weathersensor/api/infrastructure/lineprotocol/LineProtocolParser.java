@@ -0,0 +1,210 @@
+package com.weathersensor.api.infrastructure.lineprotocol;
+
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser for the subset of the InfluxDB line protocol used by field gateways.
+ *
+ * <pre>
+ * weather,sensor=SENSOR-001 temperature=23.5,humidity=61i 1700000000000
+ * </pre>
+ *
+ * - Measurement name: any (ignored)
+ * - Tags: {@code sensor} holds the sensor code; other tags are ignored
+ * - Fields: {@code temperature}, {@code humidity}, {@code wind_speed}, {@code pressure}
+ *   (case-insensitive, numeric; integer {@code i}/{@code u} suffixes allowed); other
+ *   fields are ignored
+ * - Timestamp: optional, in the configured precision (milliseconds by default);
+ *   missing means "now"
+ *
+ * Backslash escapes in measurement, tag and field keys/values are honoured.
+ * Stateless and thread-safe.
+ */
+public class LineProtocolParser {
+
+    private static final String SENSOR_TAG = "sensor";
+
+    private final TimeUnit precision;
+
+    public LineProtocolParser(TimeUnit precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Parse one line (without the trailing newline).
+     *
+     * @return the parsed point, or null for blank lines and comments
+     * @throws IllegalArgumentException if the line is malformed or carries no known field
+     */
+    public Point parse(String line) {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            length--;
+        }
+
+        int start = 0;
+        while (start < length && line.charAt(start) == ' ') {
+            start++;
+        }
+        if (start == length || line.charAt(start) == '#') {
+            return null;
+        }
+
+        // measurement[,tag=value...] <space> field=value[,field=value...] [<space> timestamp]
+        int seriesEnd = indexOfUnescaped(line, start, length, ' ', false);
+        if (seriesEnd < 0) {
+            throw new IllegalArgumentException("Missing field set");
+        }
+        String sensorCode = parseSensorTag(line, start, seriesEnd);
+        if (sensorCode == null || sensorCode.isEmpty()) {
+            throw new IllegalArgumentException("Missing '" + SENSOR_TAG + "' tag");
+        }
+
+        int fieldsStart = seriesEnd + 1;
+        int fieldsEnd = indexOfUnescaped(line, fieldsStart, length, ' ', true);
+        if (fieldsEnd < 0) {
+            fieldsEnd = length;
+        }
+        Map<MetricType, Long> values = parseFields(line, fieldsStart, fieldsEnd);
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No known metric field");
+        }
+
+        Long timestampMillis = null;
+        if (fieldsEnd < length) {
+            String timestamp = line.substring(fieldsEnd + 1, length).trim();
+            if (!timestamp.isEmpty()) {
+                try {
+                    timestampMillis = precision.toMillis(Long.parseLong(timestamp));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid timestamp: " + timestamp);
+                }
+            }
+        }
+
+        return new Point(sensorCode, values, timestampMillis);
+    }
+
+    private static String parseSensorTag(String line, int start, int end) {
+        int tagStart = indexOfUnescaped(line, start, end, ',', false);
+        while (tagStart >= 0) {
+            int pairStart = tagStart + 1;
+            int pairEnd = indexOfUnescaped(line, pairStart, end, ',', false);
+            int limit = pairEnd < 0 ? end : pairEnd;
+
+            int equals = indexOfUnescaped(line, pairStart, limit, '=', false);
+            if (equals < 0) {
+                throw new IllegalArgumentException("Invalid tag: " + line.substring(pairStart, limit));
+            }
+            if (SENSOR_TAG.equals(unescape(line, pairStart, equals))) {
+                return unescape(line, equals + 1, limit);
+            }
+            tagStart = pairEnd;
+        }
+        return null;
+    }
+
+    private static Map<MetricType, Long> parseFields(String line, int start, int end) {
+        Map<MetricType, Long> values = new EnumMap<>(MetricType.class);
+
+        int pairStart = start;
+        while (pairStart < end) {
+            int pairEnd = indexOfUnescaped(line, pairStart, end, ',', true);
+            int limit = pairEnd < 0 ? end : pairEnd;
+
+            int equals = indexOfUnescaped(line, pairStart, limit, '=', false);
+            if (equals < 0) {
+                throw new IllegalArgumentException("Invalid field: " + line.substring(pairStart, limit));
+            }
+
+            MetricType metricType = metricTypeOf(unescape(line, pairStart, equals));
+            if (metricType != null) {
+                values.put(metricType, parseNumber(line, equals + 1, limit));
+            }
+
+            pairStart = limit + 1;
+        }
+        return values;
+    }
+
+    private static MetricType metricTypeOf(String fieldKey) {
+        return switch (fieldKey.toLowerCase(Locale.ROOT)) {
+            case "temperature" -> MetricType.TEMPERATURE;
+            case "humidity" -> MetricType.HUMIDITY;
+            case "wind_speed" -> MetricType.WIND_SPEED;
+            case "pressure" -> MetricType.PRESSURE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Parse a numeric field value in [start, end) straight into hundredths.
+     */
+    private static long parseNumber(String line, int start, int end) {
+        int numberEnd = end;
+        if (end > start && (line.charAt(end - 1) == 'i' || line.charAt(end - 1) == 'u')) {
+            numberEnd--;
+        }
+        try {
+            return MetricValues.parse(line, start, numberEnd);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid numeric field value: " + line.substring(start, end));
+        }
+    }
+
+    /**
+     * Index of the first occurrence of {@code target} in [from, to) that is not escaped
+     * with a backslash (and, if {@code quoted} is set, not inside a double-quoted string).
+     */
+    private static int indexOfUnescaped(String line, int from, int to, char target, boolean quoted) {
+        boolean inQuotes = false;
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (quoted && c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == target && !inQuotes) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unescape(String line, int from, int to) {
+        if (line.indexOf('\\', from) < 0 || line.indexOf('\\', from) >= to) {
+            return line.substring(from, to);
+        }
+        StringBuilder result = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                c = line.charAt(++i);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * One parsed line: a sensor code and one value per known metric field, in
+     * hundredths ({@link MetricValues}).
+     */
+    @Value
+    public static class Point {
+        String sensorCode;
+        Map<MetricType, Long> values;
+
+        /**
+         * Epoch milliseconds, or null if the line carried no timestamp.
+         */
+        Long timestampMillis;
+    }
+}
@@ -0,0 +1,486 @@
+package com.weathersensor.api.infrastructure.lineprotocol;
+
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.MetricReadingValidator;
+import com.weathersensor.api.application.ingestion.MetricWriteBuffer;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.infrastructure.journal.JournalException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional TCP/UDP listener for the InfluxDB line protocol ({@link LineProtocolParser}).
+ *
+ * Intended for trusted internal gateways that cannot speak HTTP efficiently: there is
+ * no HTTP framing, no Spring MVC dispatch and no rate limiting per reading. A single
+ * non-blocking selector thread serves all TCP connections and the UDP socket; parsed
+ * readings are resolved against the {@link SensorRegistry} by sensor code, validated,
+ * and handed to the {@link MetricWriteBuffer} (group-committed bulk write path).
+ *
+ * The selector thread never blocks on the database or the buffer:
+ * - It only uses the registry cache. Lines naming a sensor that is not cached are queued
+ *   for a resolver thread, which loads the sensor from the database. Up to
+ *   {@value #MAX_PENDING_LOOKUPS} lines wait for a lookup; further ones are rejected.
+ *   While a sensor has lines waiting, its new lines queue behind them, so each sensor's
+ *   readings reach the buffer in the order they arrived.
+ * - Readings are offered to the buffer without waiting for space; a full lane rejects
+ *   them instead of stalling every connection.
+ *
+ * Enabled with {@code ingestion.line-protocol.enabled=true}. Binds to loopback by
+ * default; set {@code ingestion.line-protocol.bind-address} to expose it on an internal
+ * interface. A port of -1 disables TCP or UDP.
+ *
+ * Rejected lines (malformed, unknown or inactive sensor, out-of-range value, buffer full,
+ * lookup backlog full) are dropped and counted; line protocol has no per-line
+ * acknowledgement. Unknown sensor codes are remembered for
+ * {@code ingestion.line-protocol.unknown-sensor-ttl-ms} so a misconfigured gateway cannot
+ * turn every line into a database lookup.
+ *
+ * Metrics:
+ * - lineprotocol.readings: readings accepted into the write buffer
+ * - lineprotocol.rejected: rejected lines/readings, tagged by reason
+ * - lineprotocol.connections: open TCP connections
+ */
+@Component
+@ConditionalOnProperty(name = "ingestion.line-protocol.enabled", havingValue = "true")
+@Slf4j
+public class LineProtocolServer {
+
+    private static final int MAX_UNKNOWN_SENSOR_CODES = 10_000;
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final int MAX_PENDING_LOOKUPS = 10_000;
+
+    private final MetricWriteBuffer metricWriteBuffer;
+    private final SensorRegistry sensorRegistry;
+    private final MeterRegistry meterRegistry;
+    private final LineProtocolParser parser;
+    private final String bindAddress;
+    private final int tcpPort;
+    private final int udpPort;
+    private final int maxLineLength;
+    private final long unknownSensorTtlMillis;
+    private final Counter acceptedCounter;
+
+    /**
+     * Recently seen unknown sensor codes (code -> expiry), resolver thread only.
+     */
+    private final Map<String, Long> unknownSensorCodes =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_UNKNOWN_SENSOR_CODES;
+                }
+            };
+
+    /**
+     * Lines whose sensor is not cached, waiting for the resolver thread.
+     */
+    private final BlockingQueue<PendingLookup> pendingLookups = new ArrayBlockingQueue<>(MAX_PENDING_LOOKUPS);
+
+    /**
+     * Number of lines in {@link #pendingLookups} per sensor code; a code is removed once its
+     * last queued line has been submitted.
+     */
+    private final Map<String, Integer> pendingLookupCodes = new ConcurrentHashMap<>();
+
+    private Selector selector;
+    private ServerSocketChannel tcpChannel;
+    private DatagramChannel udpChannel;
+    private ByteBuffer datagramBuffer;
+    private Thread listener;
+    private Thread resolver;
+    private volatile boolean running;
+    private volatile int openConnections;
+
+    public LineProtocolServer(
+            MetricWriteBuffer metricWriteBuffer,
+            SensorRegistry sensorRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${ingestion.line-protocol.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${ingestion.line-protocol.tcp-port:8094}") int tcpPort,
+            @Value("${ingestion.line-protocol.udp-port:8094}") int udpPort,
+            @Value("${ingestion.line-protocol.precision:MILLISECONDS}") TimeUnit precision,
+            @Value("${ingestion.line-protocol.max-line-length:65536}") int maxLineLength,
+            @Value("${ingestion.line-protocol.unknown-sensor-ttl-ms:60000}") long unknownSensorTtlMillis) {
+
+        this.metricWriteBuffer = metricWriteBuffer;
+        this.sensorRegistry = sensorRegistry;
+        this.meterRegistry = meterRegistry;
+        this.parser = new LineProtocolParser(precision);
+        this.bindAddress = bindAddress;
+        this.tcpPort = tcpPort;
+        this.udpPort = udpPort;
+        this.maxLineLength = maxLineLength;
+        this.unknownSensorTtlMillis = unknownSensorTtlMillis;
+
+        this.acceptedCounter = Counter.builder("lineprotocol.readings")
+                .description("Line protocol readings accepted into the write buffer")
+                .register(meterRegistry);
+
+        Gauge.builder("lineprotocol.connections", this, server -> server.openConnections)
+                .description("Open line protocol TCP connections")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        selector = Selector.open();
+
+        if (tcpPort >= 0) {
+            tcpChannel = ServerSocketChannel.open();
+            tcpChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            tcpChannel.bind(new InetSocketAddress(bindAddress, tcpPort));
+            tcpChannel.configureBlocking(false);
+            tcpChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }
+
+        if (udpPort >= 0) {
+            udpChannel = DatagramChannel.open();
+            udpChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            udpChannel.bind(new InetSocketAddress(bindAddress, udpPort));
+            udpChannel.configureBlocking(false);
+            udpChannel.register(selector, SelectionKey.OP_READ);
+            datagramBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+        }
+
+        running = true;
+        listener = new Thread(this::runSelectLoop, "line-protocol-listener");
+        listener.start();
+        resolver = new Thread(this::runResolveLoop, "line-protocol-resolver");
+        resolver.start();
+
+        log.info("Line protocol listener started on {} (tcp={}, udp={})", bindAddress, getTcpPort(), getUdpPort());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+
+        try {
+            listener.join(5_000);
+            // The resolver finishes the lookups already queued
+            resolver.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Error closing line protocol listener: {}", e.getMessage());
+        }
+
+        log.info("Line protocol listener stopped");
+    }
+
+    /**
+     * @return the bound TCP port, or -1 if TCP is disabled
+     */
+    public int getTcpPort() {
+        return tcpChannel != null ? tcpChannel.socket().getLocalPort() : -1;
+    }
+
+    /**
+     * @return the bound UDP port, or -1 if UDP is disabled
+     */
+    public int getUdpPort() {
+        return udpChannel != null ? udpChannel.socket().getLocalPort() : -1;
+    }
+
+    private void runSelectLoop() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (ClosedSelectorException e) {
+                return;
+            } catch (IOException e) {
+                log.error("Line protocol listener error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+            } else if (key.channel() == udpChannel) {
+                receiveDatagrams();
+            } else if (key.isReadable()) {
+                readConnection(key);
+            }
+        } catch (IOException e) {
+            if (key.channel() == udpChannel) {
+                log.warn("Line protocol UDP receive failed: {}", e.getMessage());
+            } else {
+                log.debug("Closing line protocol connection: {}", e.getMessage());
+                closeConnection(key);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel connection;
+        while ((connection = tcpChannel.accept()) != null) {
+            connection.configureBlocking(false);
+            connection.register(selector, SelectionKey.OP_READ, ByteBuffer.allocate(maxLineLength));
+            openConnections++;
+            log.debug("Line protocol connection from {}", connection.getRemoteAddress());
+        }
+    }
+
+    private void readConnection(SelectionKey key) throws IOException {
+        SocketChannel connection = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+
+        int read = connection.read(buffer);
+
+        buffer.flip();
+        processLines(buffer, read < 0);
+        buffer.compact();
+
+        if (read < 0) {
+            closeConnection(key);
+        } else if (!buffer.hasRemaining()) {
+            // A full buffer without a newline: the line exceeds the limit
+            reject("line_too_long");
+            log.warn("Closing line protocol connection {}: line exceeds {} bytes",
+                    connection.getRemoteAddress(), maxLineLength);
+            closeConnection(key);
+        }
+    }
+
+    private void receiveDatagrams() throws IOException {
+        while (udpChannel.receive(datagramBuffer) != null) {
+            datagramBuffer.flip();
+            // Each datagram holds complete lines; the last one may lack a newline
+            processLines(datagramBuffer, true);
+            datagramBuffer.clear();
+        }
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Error closing line protocol connection: {}", e.getMessage());
+        }
+        if (key.channel() instanceof SocketChannel) {
+            openConnections--;
+        }
+    }
+
+    /**
+     * Handle every complete line in the buffer (between position and limit). Leaves the
+     * position at the start of an incomplete trailing line, unless {@code endOfInput}.
+     */
+    private void processLines(ByteBuffer buffer, boolean endOfInput) {
+        int lineStart = buffer.position();
+        for (int i = lineStart; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                handleLine(decode(buffer, lineStart, i));
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < buffer.limit()) {
+            handleLine(decode(buffer, lineStart, buffer.limit()));
+            lineStart = buffer.limit();
+        }
+        buffer.position(lineStart);
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse one line and submit its readings, or queue it for the resolver thread when
+     * its sensor is not cached.
+     */
+    void handleLine(String line) {
+        LineProtocolParser.Point point;
+        try {
+            point = parser.parse(line);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected line protocol line: {} ({})", line, e.getMessage());
+            reject("malformed");
+            return;
+        }
+        if (point == null) {
+            return;
+        }
+
+        LocalDateTime timestamp = point.getTimestampMillis() != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(point.getTimestampMillis()), ZoneId.systemDefault())
+                : LocalDateTime.now();
+
+        String sensorCode = point.getSensorCode();
+        // Behind the sensor's lines still waiting for the resolver, if any
+        Sensor sensor = pendingLookupCodes.containsKey(sensorCode) ? null : sensorRegistry.get(null, sensorCode);
+        if (sensor != null) {
+            submit(point, sensor, timestamp);
+            return;
+        }
+
+        pendingLookupCodes.merge(sensorCode, 1, Integer::sum);
+        if (!pendingLookups.offer(new PendingLookup(point, timestamp))) {
+            lookupDone(sensorCode);
+            reject("lookup_backlog");
+        }
+    }
+
+    private void runResolveLoop() {
+        while (running || !pendingLookups.isEmpty()) {
+            PendingLookup lookup;
+            try {
+                lookup = pendingLookups.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lookup == null) {
+                continue;
+            }
+
+            String sensorCode = lookup.point.getSensorCode();
+            try {
+                submit(lookup.point, resolveSensor(sensorCode), lookup.timestamp);
+            } catch (RuntimeException e) {
+                log.warn("Line protocol sensor lookup failed: {}", e.getMessage());
+                reject("lookup_failed");
+            } finally {
+                lookupDone(sensorCode);
+            }
+        }
+    }
+
+    private void lookupDone(String sensorCode) {
+        pendingLookupCodes.computeIfPresent(sensorCode, (code, lines) -> lines > 1 ? lines - 1 : null);
+    }
+
+    /**
+     * Validate the readings of a resolved line and submit them.
+     */
+    private void submit(LineProtocolParser.Point point, Sensor sensor, LocalDateTime timestamp) {
+        if (sensor == null) {
+            reject("unknown_sensor");
+            return;
+        }
+        if (!sensor.acceptsReadings()) {
+            reject("inactive_sensor");
+            return;
+        }
+
+        for (Map.Entry<MetricType, Long> field : point.getValues().entrySet()) {
+            MetricReading reading = new MetricReading(sensor.getId(), field.getKey(), field.getValue(), timestamp);
+            if (MetricReadingValidator.validate(reading) != null) {
+                reject("invalid");
+                continue;
+            }
+            try {
+                // Neither waits for space nor for the journal fsync: there is no acknowledgement
+                if (metricWriteBuffer.offer(reading)) {
+                    acceptedCounter.increment();
+                } else {
+                    reject("buffer_full");
+                }
+            } catch (IngestionBufferFullException e) {
+                // Shutting down
+                reject("buffer_full");
+            } catch (JournalException e) {
+                reject("journal");
+            }
+        }
+    }
+
+    /**
+     * Look up a sensor that is not cached, loading it from the database. Resolver thread only.
+     */
+    private Sensor resolveSensor(String sensorCode) {
+        Long expiresAt = unknownSensorCodes.get(sensorCode);
+        long now = System.currentTimeMillis();
+        if (expiresAt != null && expiresAt > now) {
+            return null;
+        }
+
+        Sensor sensor = sensorRegistry.findByCode(sensorCode);
+        if (sensor == null) {
+            unknownSensorCodes.put(sensorCode, now + unknownSensorTtlMillis);
+        } else if (expiresAt != null) {
+            unknownSensorCodes.remove(sensorCode);
+        }
+        return sensor;
+    }
+
+    private void reject(String reason) {
+        Counter.builder("lineprotocol.rejected")
+                .tag("reason", reason)
+                .description("Rejected line protocol lines and readings")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * A parsed line waiting for its sensor to be loaded, with the timestamp taken on arrival.
+     */
+    private static final class PendingLookup {
+
+        private final LineProtocolParser.Point point;
+        private final LocalDateTime timestamp;
+
+        private PendingLookup(LineProtocolParser.Point point, LocalDateTime timestamp) {
+            this.point = point;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+/**
+ * What the bulk writers do with a reading whose (sensor, metric type, timestamp)
+ * is already stored. Configured with {@code ingestion.dedup.on-conflict}.
+ */
+public enum ConflictPolicy {
+
+    /**
+     * Keep the stored reading (a retry is a no-op).
+     */
+    IGNORE(" ON CONFLICT (sensor_id, metric_type, timestamp) DO NOTHING"),
+
+    /**
+     * Overwrite the stored value (corrections win).
+     */
+    UPDATE(" ON CONFLICT (sensor_id, metric_type, timestamp) DO UPDATE SET value = EXCLUDED.value");
+
+    private final String sql;
+
+    ConflictPolicy(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * The {@code ON CONFLICT} clause to append to an INSERT into {@code metric_data}.
+     */
+    public String onConflictClause() {
+        return sql;
+    }
+}
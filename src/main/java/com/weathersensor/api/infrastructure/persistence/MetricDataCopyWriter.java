@@ -0,0 +1,143 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricValues;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk loader for {@code metric_data} using PostgreSQL's {@code COPY FROM STDIN}.
+ *
+ * Readings are encoded as CSV straight into a reusable buffer and streamed to the
+ * server in 64 KB chunks through pgjdbc's {@link CopyIn}, so no JPA entities and no
+ * per-row statements are created. This is the fastest way to load large batches
+ * (roughly an order of magnitude faster than row-by-row INSERTs for 100k+ rows).
+ *
+ * COPY has no ON CONFLICT clause, so rows are copied into a per-session temporary
+ * staging table and moved into {@code metric_data} with one
+ * {@code INSERT ... SELECT ... ON CONFLICT} (the caller's {@link ConflictPolicy}).
+ * The extra server-side pass is cheap compared to the per-row cost COPY saves.
+ *
+ * Must run inside a Spring transaction (the staging table is emptied on commit), so
+ * the load commits or rolls back together with the caller.
+ */
+@Repository
+@Slf4j
+public class MetricDataCopyWriter {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS metric_data_staging (
+                sensor_id BIGINT NOT NULL,
+                metric_type VARCHAR(50) NOT NULL,
+                value NUMERIC(10, 2) NOT NULL,
+                timestamp TIMESTAMP NOT NULL
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE metric_data_staging";
+
+    private static final String COPY_SQL =
+            "COPY metric_data_staging (sensor_id, metric_type, value, timestamp) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL_PREFIX = """
+            INSERT INTO metric_data (sensor_id, metric_type, value, timestamp)
+            SELECT sensor_id, metric_type, value, timestamp FROM metric_data_staging""";
+
+    /**
+     * Characters encoded before a chunk is sent to the server.
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final Map<ConflictPolicy, String> mergeSql = new EnumMap<>(ConflictPolicy.class);
+
+    public MetricDataCopyWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+        for (ConflictPolicy conflictPolicy : ConflictPolicy.values()) {
+            mergeSql.put(conflictPolicy, MERGE_SQL_PREFIX + conflictPolicy.onConflictClause());
+        }
+    }
+
+    /**
+     * Stream all readings into {@code metric_data} with a single COPY command.
+     *
+     * @param readings readings to load (sensor existence must already be validated; with
+     *        {@link ConflictPolicy#UPDATE} the same key must not appear twice)
+     * @param conflictPolicy what to do with readings that are already stored
+     * @return number of rows inserted (or, with {@link ConflictPolicy#UPDATE}, updated)
+     */
+    public long copy(List<MetricReading> readings, ConflictPolicy conflictPolicy) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+                // A caller's transaction may load several batches before committing
+                statement.execute(TRUNCATE_STAGING_SQL);
+            }
+
+            copyToStaging(connection, readings);
+
+            try (Statement statement = connection.createStatement()) {
+                long inserted = statement.executeUpdate(mergeSql.get(conflictPolicy));
+                log.debug("Loaded {} of {} metric data rows via COPY FROM STDIN", inserted, readings.size());
+                return inserted;
+            }
+        } catch (SQLException e) {
+            throw new SQLStateSQLExceptionTranslator().translate("COPY metric_data", COPY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void copyToStaging(Connection connection, List<MetricReading> readings) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 128);
+
+            for (MetricReading reading : readings) {
+                appendCsvRow(chunk, reading);
+                if (chunk.length() >= CHUNK_SIZE) {
+                    writeChunk(copyIn, chunk);
+                }
+            }
+            if (chunk.length() > 0) {
+                writeChunk(copyIn, chunk);
+            }
+
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Encode one reading as a CSV line. No quoting is needed: all fields are numbers,
+     * enum names or ISO timestamps.
+     */
+    private static void appendCsvRow(StringBuilder chunk, MetricReading reading) {
+        chunk.append(reading.getSensorId()).append(',')
+                .append(reading.getMetricType().name()).append(',');
+        MetricValues.append(chunk, reading.getScaledValue())
+                .append(',').append(reading.getTimestamp()).append('\n');
+    }
+
+    private static void writeChunk(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.US_ASCII);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricData;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts {@link MetricData} entities through a Hibernate {@link StatelessSession}.
+ *
+ * Compared to {@code saveAll()} on the repository, a stateless session keeps no
+ * first-level cache, takes no dirty-checking snapshots and fires no lifecycle
+ * callbacks, so memory stays flat regardless of batch size. Combined with the
+ * pooled sequence on {@code MetricData.id}, inserts are grouped into JDBC batches
+ * of {@code ingestion.stateless.batch-size} statements, which pgjdbc's
+ * {@code reWriteBatchedInserts} turns into multi-row INSERTs on the wire.
+ *
+ * The session runs on the connection bound to the current Spring transaction.
+ */
+@Repository
+@Slf4j
+public class MetricDataStatelessWriter {
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public MetricDataStatelessWriter(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            @Value("${ingestion.stateless.batch-size:500}") int batchSize) {
+
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert all entities; generated IDs are assigned to the given instances.
+     *
+     * @param metrics entities to insert (sensor references must be set)
+     * @return the same entities, with IDs populated
+     */
+    public List<MetricData> insert(List<MetricData> metrics) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.withStatelessOptions()
+                .connection(connection)
+                .openStatelessSession()) {
+
+            session.setJdbcBatchSize(batchSize);
+
+            LocalDateTime now = LocalDateTime.now();
+            for (MetricData metric : metrics) {
+                // Lifecycle callbacks (@PrePersist) are not fired by stateless sessions
+                if (metric.getCreatedAt() == null) {
+                    metric.setCreatedAt(now);
+                }
+                session.insert(metric);
+            }
+
+            // Push out the last partial JDBC batch before the session is closed
+            ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        log.debug("Inserted {} metric data rows via stateless session (jdbc batch size {})",
+                metrics.size(), batchSize);
+        return metrics;
+    }
+}
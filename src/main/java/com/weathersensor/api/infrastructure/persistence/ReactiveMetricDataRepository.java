@@ -0,0 +1,259 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.domain.model.MetricData;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking access to {@code metric_data} over R2DBC, for the reactive profile.
+ *
+ * Writes bind a whole batch as four column arrays and expand them with
+ * {@code unnest(...)}, so any batch is a single statement with four bind parameters
+ * (no per-row placeholders, no 65535 parameter limit), atomic without a transaction.
+ *
+ * Reads mirror {@link com.weathersensor.api.domain.repository.MetricDataRepository}:
+ * aggregation runs in the database; raw rows are streamed with a bounded fetch size,
+ * so a long range is never materialized.
+ *
+ * Only the narrow storage layout is supported.
+ */
+@Repository
+@Profile("reactive")
+@Slf4j
+public class ReactiveMetricDataRepository {
+
+    private static final String UNNEST_READINGS =
+            "unnest(CAST(:sensorIds AS bigint[]), CAST(:metricTypes AS varchar[]), "
+                    + "CAST(:values AS numeric[]), CAST(:timestamps AS timestamp[]))";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO metric_data (sensor_id, metric_type, value, timestamp) SELECT * FROM " + UNNEST_READINGS;
+
+    /**
+     * Inserted rows joined back to their input position, so IDs line up with the batch.
+     */
+    private static final String INSERT_RETURNING_SQL = """
+            WITH input AS (
+                SELECT * FROM %s WITH ORDINALITY AS t(sensor_id, metric_type, value, timestamp, ord)
+            ), inserted AS (
+                INSERT INTO metric_data (sensor_id, metric_type, value, timestamp)
+                SELECT sensor_id, metric_type, value, timestamp FROM input
+                RETURNING id, sensor_id, metric_type, timestamp, created_at
+            )
+            SELECT input.ord, inserted.id, inserted.created_at
+            FROM input JOIN inserted USING (sensor_id, metric_type, timestamp)
+            ORDER BY input.ord
+            """.formatted(UNNEST_READINGS);
+
+    private static final String RAW_SQL = """
+            SELECT m.id, m.sensor_id, s.sensor_code, m.metric_type, m.value, m.timestamp, m.created_at
+            FROM metric_data m JOIN sensors s ON s.id = m.sensor_id
+            WHERE %s
+            ORDER BY m.timestamp, m.id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ConflictPolicy conflictPolicy;
+    private final int fetchSize;
+
+    public ReactiveMetricDataRepository(
+            DatabaseClient databaseClient,
+            @Value("${ingestion.dedup.on-conflict:IGNORE}") ConflictPolicy conflictPolicy,
+            @Value("${storage.layout:NARROW}") StorageLayout storageLayout,
+            @Value("${reactive.raw-fetch-size:1000}") int fetchSize) {
+        if (storageLayout != StorageLayout.NARROW) {
+            throw new IllegalStateException("The reactive profile only supports storage.layout=NARROW");
+        }
+        this.databaseClient = databaseClient;
+        this.conflictPolicy = conflictPolicy;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Insert readings, skipping or overwriting existing ones according to
+     * {@code ingestion.dedup.on-conflict}.
+     *
+     * @param readings validated readings (with {@link ConflictPolicy#UPDATE} the same key
+     *        must not appear twice)
+     * @return number of inserted (or updated) rows
+     */
+    public Mono<Long> insert(List<MetricReading> readings) {
+        if (readings.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return bindReadings(databaseClient.sql(INSERT_SQL + conflictPolicy.onConflictClause()), readings)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Insert readings and return them with their generated ID and creation timestamp,
+     * in batch order. Fails with a {@code DataIntegrityViolationException} (nothing
+     * inserted) if any reading is already stored.
+     *
+     * @return inserted rows without their sensor association
+     */
+    public Flux<MetricData> insertReturning(List<MetricReading> readings) {
+        if (readings.isEmpty()) {
+            return Flux.empty();
+        }
+        return bindReadings(databaseClient.sql(INSERT_RETURNING_SQL), readings)
+                .map(row -> {
+                    MetricReading reading = readings.get(row.get("ord", Long.class).intValue() - 1);
+                    return MetricData.builder()
+                            .id(row.get("id", Long.class))
+                            .metricType(reading.getMetricType())
+                            .value(reading.getDecimalValue())
+                            .timestamp(reading.getTimestamp())
+                            .createdAt(row.get("created_at", LocalDateTime.class))
+                            .build();
+                })
+                .all();
+    }
+
+    /**
+     * Aggregate values per metric type (same semantics as the JPA query).
+     *
+     * @param sensorIds sensor IDs (null or empty means all sensors)
+     * @return one [metric type, value] pair per metric type with data
+     */
+    public Flux<AggregatedValue> calculateAggregatedStatistics(
+            List<Long> sensorIds, List<MetricType> metricTypes, LocalDateTime startDate,
+            LocalDateTime endDate, MetricQueryRequest.StatisticType statistic) {
+
+        String sql = "SELECT metric_type, " + aggregateFunction(statistic) + "(value) AS result FROM metric_data m WHERE "
+                + filter(sensorIds) + " GROUP BY metric_type";
+
+        return bindFilter(databaseClient.sql(sql), sensorIds, metricTypes, startDate, endDate)
+                .map(row -> new AggregatedValue(
+                        MetricType.valueOf(row.get("metric_type", String.class)),
+                        row.get("result", BigDecimal.class)))
+                .all();
+    }
+
+    /**
+     * Count readings matching the filter.
+     */
+    public Mono<Long> count(List<Long> sensorIds, List<MetricType> metricTypes,
+                            LocalDateTime startDate, LocalDateTime endDate) {
+        return bindFilter(databaseClient.sql("SELECT COUNT(*) AS total FROM metric_data m WHERE " + filter(sensorIds)),
+                sensorIds, metricTypes, startDate, endDate)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Stream raw readings ordered by timestamp, as response projections.
+     *
+     * Rows are fetched {@code reactive.raw-fetch-size} at a time (server-side cursor) and
+     * only as fast as the subscriber requests them.
+     */
+    public Flux<MetricDataResponse> streamRaw(List<Long> sensorIds, List<MetricType> metricTypes,
+                                              LocalDateTime startDate, LocalDateTime endDate) {
+        return bindFilter(databaseClient.sql(RAW_SQL.formatted(filter(sensorIds))),
+                sensorIds, metricTypes, startDate, endDate)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveMetricDataRepository::toResponse)
+                .all();
+    }
+
+    private static MetricDataResponse toResponse(Readable row) {
+        MetricType metricType = MetricType.valueOf(row.get("metric_type", String.class));
+        return MetricDataResponse.builder()
+                .id(row.get("id", Long.class))
+                .sensorId(row.get("sensor_id", Long.class))
+                .sensorCode(row.get("sensor_code", String.class))
+                .metricType(metricType)
+                .value(row.get("value", BigDecimal.class))
+                .unit(metricType.getUnit())
+                .timestamp(row.get("timestamp", LocalDateTime.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindReadings(
+            DatabaseClient.GenericExecuteSpec spec, List<MetricReading> readings) {
+
+        int size = readings.size();
+        Long[] sensorIds = new Long[size];
+        String[] metricTypes = new String[size];
+        BigDecimal[] values = new BigDecimal[size];
+        LocalDateTime[] timestamps = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            MetricReading reading = readings.get(i);
+            sensorIds[i] = reading.getSensorId();
+            metricTypes[i] = reading.getMetricType().name();
+            values[i] = reading.getDecimalValue();
+            timestamps[i] = reading.getTimestamp();
+        }
+
+        return spec.bind("sensorIds", sensorIds)
+                .bind("metricTypes", metricTypes)
+                .bind("values", values)
+                .bind("timestamps", timestamps);
+    }
+
+    private static String filter(List<Long> sensorIds) {
+        String filter = "m.metric_type = ANY(CAST(:metricTypes AS varchar[])) AND m.timestamp BETWEEN :startDate AND :endDate";
+        return sensorIds == null || sensorIds.isEmpty()
+                ? filter
+                : filter + " AND m.sensor_id = ANY(CAST(:sensorIds AS bigint[]))";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFilter(
+            DatabaseClient.GenericExecuteSpec spec, List<Long> sensorIds, List<MetricType> metricTypes,
+            LocalDateTime startDate, LocalDateTime endDate) {
+
+        spec = spec.bind("metricTypes", metricTypes.stream().map(Enum::name).toArray(String[]::new))
+                .bind("startDate", startDate)
+                .bind("endDate", endDate);
+        return sensorIds == null || sensorIds.isEmpty()
+                ? spec
+                : spec.bind("sensorIds", sensorIds.toArray(Long[]::new));
+    }
+
+    private static String aggregateFunction(MetricQueryRequest.StatisticType statistic) {
+        return switch (statistic) {
+            case MIN -> "MIN";
+            case MAX -> "MAX";
+            case SUM -> "SUM";
+            case AVG -> "AVG";
+        };
+    }
+
+    /**
+     * One aggregated value per metric type.
+     */
+    public static final class AggregatedValue {
+
+        private final MetricType metricType;
+        private final BigDecimal value;
+
+        public AggregatedValue(MetricType metricType, BigDecimal value) {
+            this.metricType = metricType;
+            this.value = value;
+        }
+
+        public MetricType getMetricType() {
+            return metricType;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.domain.model.MetricType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregation queries over the wide {@code sensor_readings} layout.
+ *
+ * Mirrors {@link com.weathersensor.api.domain.repository.MetricDataRepository#calculateAggregatedStatistics}
+ * (same filter and result shape), with one difference: all requested metric types are
+ * aggregated in a single scan, one column each, and the data point count comes back with
+ * them instead of needing a second query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SensorReadingJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Calculate aggregated statistics for given sensors and metrics within a date range.
+     *
+     * @param sensorIds list of sensor IDs (null or empty means all sensors)
+     * @param metricTypes list of metric types to aggregate
+     * @return [MetricType, aggregated value, data point count] per metric type with data
+     */
+    public List<Object[]> calculateAggregatedStatistics(
+            List<Long> sensorIds,
+            List<MetricType> metricTypes,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            MetricQueryRequest.StatisticType statistic) {
+
+        List<MetricType> types = metricTypes.stream().distinct().toList();
+        boolean allSensors = sensorIds == null || sensorIds.isEmpty();
+        String function = aggregateFunction(statistic);
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < types.size(); i++) {
+            String column = StorageLayout.wideColumn(types.get(i));
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(function).append('(').append(column).append("), COUNT(").append(column).append(')');
+        }
+        sql.append(" FROM sensor_readings WHERE timestamp BETWEEN ? AND ?");
+        if (!allSensors) {
+            sql.append(" AND sensor_id = ANY(?)");
+        }
+
+        return jdbcTemplate.query(sql.toString(), ps -> {
+            ps.setTimestamp(1, Timestamp.valueOf(startDate));
+            ps.setTimestamp(2, Timestamp.valueOf(endDate));
+            if (!allSensors) {
+                ps.setArray(3, ps.getConnection().createArrayOf("bigint", sensorIds.toArray()));
+            }
+        }, rs -> {
+            List<Object[]> results = new ArrayList<>(types.size());
+            rs.next();  // aggregate without GROUP BY: always exactly one row
+            for (int i = 0; i < types.size(); i++) {
+                BigDecimal value = rs.getBigDecimal(2 * i + 1);
+                long count = rs.getLong(2 * i + 2);
+                if (count > 0) {
+                    results.add(new Object[]{types.get(i), value, count});
+                }
+            }
+            return results;
+        });
+    }
+
+    private static String aggregateFunction(MetricQueryRequest.StatisticType statistic) {
+        return switch (statistic) {
+            case MIN -> "MIN";
+            case MAX -> "MAX";
+            case SUM -> "SUM";
+            case AVG -> "AVG";
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Plain JDBC writer for the wide {@code sensor_readings} layout.
+ *
+ * Readings of the same sensor and timestamp are folded into one row, and rows are
+ * upserted with multi-row INSERT statements of up to {@link #MAX_ROWS_PER_STATEMENT}
+ * rows. A row that already exists is merged column by column, so metrics of the same
+ * instant may arrive in separate batches. For a metric that is already stored,
+ * {@code ingestion.dedup.on-conflict} decides which value is kept. Values are bound as
+ * hundredths ({@link MetricValues}) and scaled by the statement.
+ *
+ * Participates in the caller's Spring-managed transaction when one is active.
+ */
+@Repository
+@Slf4j
+public class SensorReadingWriter {
+
+    /**
+     * Rows per statement (6 bind parameters per row).
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final MetricType[] METRIC_TYPES = MetricType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertPrefix;
+    private final String rowPlaceholder;
+    private final String onConflict;
+    private final String fullChunkSql;
+
+    public SensorReadingWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${ingestion.dedup.on-conflict:IGNORE}") ConflictPolicy conflictPolicy) {
+
+        this.jdbcTemplate = jdbcTemplate;
+
+        StringBuilder columns = new StringBuilder("sensor_id, timestamp");
+        StringBuilder placeholder = new StringBuilder("(?, ?");
+        StringBuilder merge = new StringBuilder(" ON CONFLICT (sensor_id, timestamp) DO UPDATE SET ");
+        for (int i = 0; i < METRIC_TYPES.length; i++) {
+            String column = StorageLayout.wideColumn(METRIC_TYPES[i]);
+            columns.append(", ").append(column);
+            placeholder.append(", ? * 0.01");
+            if (i > 0) {
+                merge.append(", ");
+            }
+            // COALESCE(first, second): the first non-null value is kept
+            merge.append(column).append(" = ").append(conflictPolicy == ConflictPolicy.UPDATE
+                    ? "COALESCE(EXCLUDED." + column + ", sensor_readings." + column + ")"
+                    : "COALESCE(sensor_readings." + column + ", EXCLUDED." + column + ")");
+        }
+
+        this.insertPrefix = "INSERT INTO sensor_readings (" + columns + ") VALUES ";
+        this.rowPlaceholder = placeholder.append(')').toString();
+        this.onConflict = merge.toString();
+        this.fullChunkSql = buildInsertSql(MAX_ROWS_PER_STATEMENT);
+    }
+
+    /**
+     * Upsert all readings, one row per sensor and timestamp.
+     *
+     * @param readings readings to write (sensor existence must already be validated; the
+     *        same sensor, metric type and timestamp must not appear twice)
+     * @return number of readings written; stored duplicates are not detected and count as written
+     */
+    public int upsert(List<MetricReading> readings) {
+        List<Row> rows = fold(readings);
+
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Row> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+
+            String sql = chunk.size() == MAX_ROWS_PER_STATEMENT
+                    ? fullChunkSql
+                    : buildInsertSql(chunk.size());
+
+            jdbcTemplate.update(sql, ps -> bindChunk(ps, chunk));
+        }
+
+        log.debug("Upserted {} readings as {} sensor_readings rows", readings.size(), rows.size());
+        return readings.size();
+    }
+
+    /**
+     * Group readings by sensor and timestamp, keeping the order of first appearance.
+     */
+    static List<Row> fold(List<MetricReading> readings) {
+        Map<Row, Row> rows = new LinkedHashMap<>(readings.size() * 2);
+        for (MetricReading reading : readings) {
+            Row key = new Row(reading.getSensorId(), reading.getTimestamp());
+            rows.computeIfAbsent(key, k -> k).set(reading.getMetricType(), reading.getScaledValue());
+        }
+        return new ArrayList<>(rows.keySet());
+    }
+
+    private static void bindChunk(PreparedStatement ps, List<Row> chunk) throws SQLException {
+        int index = 1;
+        for (Row row : chunk) {
+            ps.setLong(index++, row.sensorId);
+            ps.setObject(index++, row.timestamp);
+            for (int i = 0; i < METRIC_TYPES.length; i++) {
+                if ((row.present & (1 << i)) != 0) {
+                    ps.setLong(index++, row.values[i]);
+                } else {
+                    ps.setNull(index++, Types.BIGINT);
+                }
+            }
+        }
+    }
+
+    private String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(
+                insertPrefix.length() + rows * (rowPlaceholder.length() + 2) + onConflict.length());
+        sql.append(insertPrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholder);
+        }
+        sql.append(onConflict);
+        return sql.toString();
+    }
+
+    /**
+     * One wide row: identity is (sensor, timestamp), values indexed by metric type ordinal.
+     */
+    static final class Row {
+
+        private final long sensorId;
+        private final LocalDateTime timestamp;
+        private final long[] values = new long[METRIC_TYPES.length];
+        private int present;
+
+        private Row(long sensorId, LocalDateTime timestamp) {
+            this.sensorId = sensorId;
+            this.timestamp = timestamp;
+        }
+
+        private void set(MetricType metricType, long scaledValue) {
+            values[metricType.ordinal()] = scaledValue;
+            present |= 1 << metricType.ordinal();
+        }
+
+        BigDecimal value(MetricType metricType) {
+            return (present & (1 << metricType.ordinal())) != 0
+                    ? MetricValues.toDecimal(values[metricType.ordinal()])
+                    : null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Row row && row.sensorId == sensorId && row.timestamp.equals(timestamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sensorId, timestamp);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricType;
+
+import java.util.Locale;
+
+/**
+ * Table layout that readings are written to and aggregated from.
+ * Configured with {@code storage.layout}; {@link StorageLayoutConverter} copies
+ * existing data from one layout to the other.
+ */
+public enum StorageLayout {
+
+    /**
+     * One {@code metric_data} row per metric (ID, metric type, creation timestamp).
+     */
+    NARROW,
+
+    /**
+     * One {@code sensor_readings} row per sensor and timestamp, one nullable column per
+     * metric type. About a quarter of the rows for sensors that sample all metrics together.
+     */
+    WIDE;
+
+    /**
+     * The {@code sensor_readings} column holding values of the given metric type.
+     */
+    public static String wideColumn(MetricType metricType) {
+        return metricType.name().toLowerCase(Locale.ROOT);
+    }
+}
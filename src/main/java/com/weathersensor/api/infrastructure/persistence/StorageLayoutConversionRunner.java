@@ -0,0 +1,66 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One-off storage layout conversion, run at startup when {@code storage.convert.to} is set.
+ * The application shuts down when the copy is complete.
+ *
+ * <pre>
+ * java -jar weather-sensor-api.jar --spring.main.web-application-type=none \
+ *     --storage.convert.to=WIDE [--storage.convert.from=2024-01-01T00:00:00] \
+ *     [--storage.convert.until=2024-02-01T00:00:00] [--storage.convert.window-hours=24]
+ * </pre>
+ *
+ * Switch {@code storage.layout} to the target once the copy has caught up; readings
+ * ingested in between can be copied by running the conversion again.
+ */
+@Component
+@ConditionalOnProperty("storage.convert.to")
+@Slf4j
+public class StorageLayoutConversionRunner implements ApplicationRunner {
+
+    private final StorageLayoutConverter converter;
+    private final ConfigurableApplicationContext context;
+    private final StorageLayout target;
+    private final LocalDateTime from;
+    private final LocalDateTime until;
+    private final Duration window;
+
+    public StorageLayoutConversionRunner(
+            StorageLayoutConverter converter,
+            ConfigurableApplicationContext context,
+            @Value("${storage.convert.to}") StorageLayout target,
+            @Value("${storage.convert.from:#{null}}") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Value("${storage.convert.until:#{null}}") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @Value("${storage.convert.window-hours:24}") long windowHours) {
+
+        this.converter = converter;
+        this.context = context;
+        this.target = target;
+        this.from = from;
+        this.until = until;
+        this.window = Duration.ofHours(windowHours);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Converting readings to the {} layout (from={}, until={}, window={})", target, from, until, window);
+
+        long rows = converter.convert(target, from, until, window);
+
+        log.info("Storage layout conversion to {} complete: {} rows written", target, rows);
+        SpringApplication.exit(context, () -> 0);
+    }
+}
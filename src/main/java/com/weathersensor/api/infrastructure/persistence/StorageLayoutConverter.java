@@ -0,0 +1,116 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+/**
+ * Copies stored readings from one {@link StorageLayout} to the other.
+ *
+ * The copy runs in time windows, each an {@code INSERT ... SELECT} in its own
+ * transaction, so a long history never holds one huge transaction and an interrupted
+ * run can simply be restarted: rows already present in the target are merged (wide)
+ * or skipped (narrow). The source table is left untouched.
+ *
+ * Run as a one-off command through {@link StorageLayoutConversionRunner}.
+ */
+@Component
+@Slf4j
+public class StorageLayoutConverter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String toWideSql;
+    private final String toNarrowSql;
+
+    public StorageLayoutConverter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.toWideSql = buildToWideSql();
+        this.toNarrowSql = buildToNarrowSql();
+    }
+
+    /**
+     * Copy readings with a timestamp in [from, to) into the target layout.
+     *
+     * @param target layout to copy into (the other one is the source)
+     * @param from first timestamp to copy, or null for the oldest stored reading
+     * @param to end of the range (exclusive), or null for just after the newest stored reading
+     * @param window time range copied per transaction
+     * @return number of rows inserted or merged into the target table
+     */
+    public long convert(StorageLayout target, LocalDateTime from, LocalDateTime to, Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Conversion window must be positive");
+        }
+
+        String source = target == StorageLayout.WIDE ? "metric_data" : "sensor_readings";
+        if (from == null) {
+            from = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM " + source, LocalDateTime.class);
+        }
+        if (to == null) {
+            LocalDateTime newest = jdbcTemplate.queryForObject("SELECT MAX(timestamp) FROM " + source, LocalDateTime.class);
+            to = newest != null ? newest.plusNanos(1000) : null;  // timestamps have microsecond precision
+        }
+        if (from == null || to == null) {
+            log.info("Nothing to convert: {} is empty", source);
+            return 0;
+        }
+
+        String sql = target == StorageLayout.WIDE ? toWideSql : toNarrowSql;
+        long total = 0;
+        for (LocalDateTime start = from; start.isBefore(to); start = start.plus(window)) {
+            LocalDateTime end = start.plus(window).isBefore(to) ? start.plus(window) : to;
+            Timestamp windowStart = Timestamp.valueOf(start);
+            Timestamp windowEnd = Timestamp.valueOf(end);
+
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, windowStart, windowEnd));
+            total += rows != null ? rows : 0;
+            log.info("Converted {} to {} layout: {} rows ({} total)", start, target, rows, total);
+        }
+        return total;
+    }
+
+    /**
+     * Pivot metric_data rows of a window into one row per sensor and timestamp.
+     */
+    private static String buildToWideSql() {
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner pivots = new StringJoiner(", ");
+        StringJoiner merges = new StringJoiner(", ");
+        for (MetricType metricType : MetricType.values()) {
+            String column = StorageLayout.wideColumn(metricType);
+            columns.add(column);
+            pivots.add("MAX(value) FILTER (WHERE metric_type = '" + metricType.name() + "')");
+            merges.add(column + " = COALESCE(sensor_readings." + column + ", EXCLUDED." + column + ")");
+        }
+
+        return "INSERT INTO sensor_readings (sensor_id, timestamp, " + columns + ") "
+                + "SELECT sensor_id, timestamp, " + pivots + " FROM metric_data "
+                + "WHERE timestamp >= ? AND timestamp < ? GROUP BY sensor_id, timestamp "
+                + "ON CONFLICT (sensor_id, timestamp) DO UPDATE SET " + merges;
+    }
+
+    /**
+     * Unpivot sensor_readings rows of a window into one metric_data row per non-null column.
+     */
+    private static String buildToNarrowSql() {
+        StringJoiner values = new StringJoiner(", ");
+        for (MetricType metricType : MetricType.values()) {
+            values.add("('" + metricType.name() + "', r." + StorageLayout.wideColumn(metricType) + ")");
+        }
+
+        return "INSERT INTO metric_data (sensor_id, metric_type, value, timestamp) "
+                + "SELECT r.sensor_id, v.metric_type, v.value, r.timestamp FROM sensor_readings r "
+                + "CROSS JOIN LATERAL (VALUES " + values + ") AS v(metric_type, value) "
+                + "WHERE v.value IS NOT NULL AND r.timestamp >= ? AND r.timestamp < ? "
+                + ConflictPolicy.IGNORE.onConflictClause().trim();
+    }
+}
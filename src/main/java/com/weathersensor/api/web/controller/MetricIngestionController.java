@@ -1,8 +1,13 @@
 package com.weathersensor.api.web.controller;
 
 import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.IngestionReceiptResponse;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
 import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.application.ingestion.MetricFrameFormat;
 import com.weathersensor.api.application.service.MetricIngestionService;
+import com.weathersensor.api.application.service.MetricStreamIngestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,21 +17,36 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 /**
  * REST Controller for ingesting metric data from sensors.
  *
- * Supports three ingestion modes:
+ * Supports four ingestion modes:
  * - POST /metrics: Synchronous ingestion (~500 req/s)
  * - POST /metrics/async: Asynchronous ingestion (~2000 req/s)
- * - POST /metrics/batch: Batch ingestion for bulk uploads
+ * - POST /metrics/batch: Batch ingestion for bulk uploads (all-or-nothing, or partial with ?mode=partial)
+ * - POST /metrics/stream: NDJSON or binary streaming ingestion for continuous gateway feeds
+ *
+ * POST /metrics/readings and /metrics/readings/batch take every metric a sensor sampled at
+ * the same instant in one object (synchronous, all-or-nothing).
+ *
+ * Async and stream submissions return a receipt ID; GET /metrics/ingestions/{id} reports
+ * its delivery status.
+ *
+ * Request bodies may be sent with Content-Encoding gzip or zstd (see RequestDecompressionFilter).
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/metrics")
 @RequiredArgsConstructor
 @Slf4j
@@ -34,6 +54,7 @@ import java.util.List;
 public class MetricIngestionController {
 
     private final MetricIngestionService metricIngestionService;
+    private final MetricStreamIngestionService metricStreamIngestionService;
 
     /**
      * Ingest a single metric data point (synchronous).
@@ -63,7 +84,8 @@ public class MetricIngestionController {
 ```
                     
                     **Validation Rules:**
-                    - Sensor ID must exist in the database
+                    - Sensor ID must exist in the database; gateways may give `sensorCode`
+                      (e.g. `"SENSOR-001"`) instead of `sensorId`, but not both
                     - Value must be between -100 and 1000
                     - Timestamp cannot be in the future
                     
@@ -80,6 +102,10 @@ public class MetricIngestionController {
                     responseCode = "400",
                     description = "Invalid input data or sensor not found"
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A reading for this sensor, metric type and timestamp already exists"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error"
@@ -88,8 +114,8 @@ public class MetricIngestionController {
     public ResponseEntity<MetricDataResponse> ingestMetric(
             @Valid @RequestBody MetricDataRequest request) {
 
-        log.info("Received metric ingestion request (sync): sensorId={}, type={}",
-                request.getSensorId(), request.getMetricType());
+        log.info("Received metric ingestion request (sync): sensorId={}, sensorCode={}, type={}",
+                request.getSensorId(), request.getSensorCode(), request.getMetricType());
 
         MetricDataResponse response = metricIngestionService.ingestMetricData(request);
 
@@ -100,7 +126,7 @@ public class MetricIngestionController {
      * Ingest a single metric data point asynchronously (non-blocking).
      *
      * @param request the metric data to ingest
-     * @return 202 Accepted (processing asynchronously)
+     * @return 202 Accepted (processing asynchronously) with the ingestion receipt
      */
     @PostMapping("/async")
     @Operation(
@@ -118,12 +144,17 @@ public class MetricIngestionController {
                     **Benefits:**
                     - 4x better throughput (~2000 req/s vs ~500 req/s)
                     - Non-blocking for the client
-                    - Better resource utilization under load
-                    - Automatic retry and backpressure handling
+                    - Readings are group-committed as multi-row INSERTs (write-behind buffer)
+                    - Backpressure: fast 503 with a Retry-After header (seconds, estimated from
+                      the current drain rate) when the ingestion buffer is full
+                    - Optional durability: with the ingestion journal enabled, the 202 is only
+                      returned once the reading is fsynced to the local write-ahead journal
                     
                     **Trade-offs:**
-                    - Response doesn't include the generated ID
-                    - Eventual consistency (processed within milliseconds)
+                    - Response doesn't include the generated ID, only a receipt: poll
+                      `GET /api/v1/metrics/ingestions/{id}` (also in the `Location` header)
+                      to confirm delivery
+                    - Eventual consistency (persisted within the buffer flush interval, 50 ms by default)
                     
                     **Example Request:**
 ```json
@@ -135,7 +166,7 @@ public class MetricIngestionController {
                     }
 ```
                     
-                    **Response:** 202 Accepted (empty body)
+                    **Response:** 202 Accepted with the receipt (status PENDING)
                     
                     **Performance:** ~2000 requests/second
                     """
@@ -143,34 +174,69 @@ public class MetricIngestionController {
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "202",
-                    description = "Metric accepted and will be processed asynchronously"
+                    description = "Metric accepted and will be processed asynchronously",
+                    content = @Content(schema = @Schema(implementation = IngestionReceiptResponse.class))
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid input data"
+                    description = "Invalid input data, or sensor not found or inactive"
             ),
             @ApiResponse(
                     responseCode = "503",
-                    description = "Service temporarily unavailable (too many requests)"
+                    description = "Ingestion buffer full (see Retry-After) or journal unavailable, retry later"
             )
     })
-    public ResponseEntity<Void> ingestMetricAsync(
+    public ResponseEntity<IngestionReceiptResponse> ingestMetricAsync(
             @Valid @RequestBody MetricDataRequest request) {
 
-        log.info("Received metric ingestion request (async): sensorId={}, type={}",
-                request.getSensorId(), request.getMetricType());
+        log.info("Received metric ingestion request (async): sensorId={}, sensorCode={}, type={}",
+                request.getSensorId(), request.getSensorCode(), request.getMetricType());
 
-        // Fire and forget - CompletableFuture handles async execution
-        metricIngestionService.ingestMetricAsync(request);
+        // Fire and forget - the write-behind buffer persists the reading in the next flush
+        IngestionReceiptResponse receipt = metricIngestionService.ingestMetricAsync(request);
 
         // Return 202 Accepted immediately (non-blocking)
-        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/metrics/ingestions/" + receipt.getId()))
+                .body(receipt);
+    }
+
+    /**
+     * Delivery status of an async or stream submission.
+     *
+     * @param id receipt ID returned at submission
+     * @return pending/committed/failed counts and the committed watermark
+     */
+    @GetMapping("/ingestions/{id}")
+    @Operation(
+            summary = "Get the delivery status of an async or stream ingestion",
+            description = """
+                    Reports how many readings of a submission are still pending, committed
+                    (in the database) or failed, and the newest committed reading timestamp.
+                    
+                    Receipts are held in memory on the instance that accepted the submission,
+                    for 10 minutes by default (`ingestion.receipts.ttl-ms`), and are lost on restart.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Receipt found",
+                    content = @Content(schema = @Schema(implementation = IngestionReceiptResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown, expired or evicted receipt"
+            )
+    })
+    public ResponseEntity<IngestionReceiptResponse> getIngestionReceipt(@PathVariable String id) {
+        return ResponseEntity.ok(metricIngestionService.getIngestionReceipt(id));
     }
 
     /**
      * Ingest multiple metric data points in a single request.
      *
-     * @param requests list of metric data to ingest
+     * @param requests list of metric data to ingest, validated by the service
      * @return list of persisted metrics
      */
     @PostMapping("/batch")
@@ -203,7 +269,12 @@ public class MetricIngestionController {
                     ]
 ```
                     
-                    **Performance:** Optimized with saveAll() (single transaction)
+                    **Performance:** Single transaction. Batches of 1000+ readings
+                    (`ingestion.copy.threshold`) are streamed with PostgreSQL COPY;
+                    their responses omit `id` and `createdAt`.
+                    
+                    One invalid item fails the whole batch; use `?mode=partial` to store
+                    the valid items and get a compact list of rejected ones instead.
                     """
     )
     @ApiResponses(value = {
@@ -214,10 +285,14 @@ public class MetricIngestionController {
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid input data in one or more requests"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A reading already exists or is repeated in the batch"
             )
     })
     public ResponseEntity<List<MetricDataResponse>> ingestMetricsBatch(
-            @Valid @RequestBody List<MetricDataRequest> requests) {
+            @RequestBody List<MetricDataRequest> requests) {
 
         log.info("Received batch metric ingestion request: {} data points", requests.size());
 
@@ -225,4 +300,251 @@ public class MetricIngestionController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responses);
     }
-}
\ No newline at end of file
+
+    /**
+     * Ingest all metrics a sensor sampled at the same instant.
+     *
+     * @param request sensor, timestamp and one value per metric type
+     * @return the persisted metrics, one per metric type
+     */
+    @PostMapping("/readings")
+    @Operation(
+            summary = "Ingest all metrics of a sensor reading (synchronous)",
+            description = """
+                    Stores several metric types sampled by one sensor at the same instant,
+                    without repeating the sensor ID and timestamp per metric.
+                    
+                    **Example Request:**
+```json
+                    {
+                      "sensorId": 1,
+                      "timestamp": "2024-01-15T10:30:00",
+                      "values": {
+                        "TEMPERATURE": 23.5,
+                        "HUMIDITY": 65.0,
+                        "WIND_SPEED": 12.3,
+                        "PRESSURE": 998.2
+                      }
+                    }
+```
+                    
+                    Same validation rules as a single metric, applied to every value; the
+                    sensor is looked up once. Responds with one stored metric per value.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All metrics of the reading successfully ingested"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or sensor not found"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A reading for this sensor, metric type and timestamp already exists"
+            )
+    })
+    public ResponseEntity<List<MetricDataResponse>> ingestSensorReading(
+            @Valid @RequestBody SensorReadingRequest request) {
+
+        log.info("Received sensor reading ingestion request: sensorId={}, sensorCode={}, metrics={}",
+                request.getSensorId(), request.getSensorCode(), request.getValues().keySet());
+
+        List<MetricDataResponse> responses = metricIngestionService.ingestSensorReading(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+    /**
+     * Ingest multiple multi-metric sensor readings in a single request.
+     *
+     * @param requests sensor readings to ingest
+     * @return the persisted metrics, in request order
+     */
+    @PostMapping("/readings/batch")
+    @Operation(
+            summary = "Batch ingest multi-metric sensor readings",
+            description = """
+                    Array of sensor readings (same format as `POST /readings`), stored in a
+                    single transaction like the batch endpoint: one invalid reading fails the
+                    whole batch. Batches expanding to 1000+ metrics
+                    (`ingestion.copy.threshold`) are loaded with PostgreSQL COPY; their
+                    responses omit `id` and `createdAt`.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All readings successfully ingested"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data in one or more readings"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A reading already exists or is repeated in the batch"
+            )
+    })
+    public ResponseEntity<List<MetricDataResponse>> ingestSensorReadingsBatch(
+            @Valid @RequestBody List<SensorReadingRequest> requests) {
+
+        log.info("Received batch sensor reading ingestion request: {} readings", requests.size());
+
+        List<MetricDataResponse> responses = metricIngestionService.ingestSensorReadings(requests);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+    /**
+     * Ingest multiple metric data points, storing the valid ones and reporting the rest.
+     *
+     * @param requests list of metric data to ingest, validated item by item
+     * @return accepted/rejected/duplicate counts and the rejected items
+     */
+    @PostMapping(value = "/batch", params = "mode=partial")
+    @Operation(
+            summary = "Batch ingest multiple metric data points, accepting the valid ones",
+            description = """
+                    Same request body as the batch endpoint, but invalid items (field rules,
+                    unknown or inactive sensor) are rejected individually instead of failing
+                    the whole batch. The valid items are stored in a single transaction.
+                    
+                    **Use this when:**
+                    - A gateway forwards large batches and should not resend everything
+                      because of one decommissioned sensor
+                    
+                    **Response:** counts and the rejected items by 1-based position; stored
+                    readings are not echoed back. Items already stored are counted as
+                    duplicates, so resending a batch is safe.
+```json
+                    {
+                      "accepted": 9998,
+                      "rejected": 2,
+                      "duplicates": 0,
+                      "errors": [
+                        {"record": 17, "message": "Sensor 42 is INACTIVE and does not accept readings"},
+                        {"record": 503, "message": "value: Value must be <= 1000"}
+                      ]
+                    }
+```
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed (check rejected count)",
+                    content = @Content(schema = @Schema(implementation = IngestionSummaryResponse.class))
+            )
+    })
+    public ResponseEntity<IngestionSummaryResponse> ingestMetricsBatchPartial(
+            @RequestBody List<MetricDataRequest> requests) {
+
+        log.info("Received partial batch metric ingestion request: {} data points", requests.size());
+
+        IngestionSummaryResponse summary = metricIngestionService.ingestMetricDataBatchPartial(requests);
+
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Ingest a newline-delimited JSON stream of metric data points.
+     *
+     * @param body NDJSON request body, read incrementally
+     * @return accepted/rejected counts and the first errors
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream metric data points as NDJSON",
+            description = """
+                    Ingests a newline-delimited JSON stream (one metric object per line).
+                    The body may be sent with chunked transfer encoding and is parsed
+                    incrementally, so memory use does not grow with stream length.
+                    
+                    **Use this when:**
+                    - A gateway forwards continuous readings from many sensors
+                    - Uploads are too large to hold as a single JSON array
+                    
+                    **Example Request** (`Content-Type: application/x-ndjson`):
+```
+                    {"sensorId":1,"metricType":"TEMPERATURE","value":23.5,"timestamp":"2024-01-15T10:30:00"}
+                    {"sensorId":2,"metricType":"HUMIDITY","value":65.0,"timestamp":"2024-01-15T10:30:00"}
+                    {"sensorCode":"SENSOR-003","metricType":"PRESSURE","value":998.2,"timestamp":"2024-01-15T10:30:00"}
+```
+                    
+                    **Semantics:**
+                    - Each record is validated individually; invalid records are rejected
+                      without failing the stream
+                    - Valid records are written in chunks (`ingestion.stream.chunk-size`),
+                      each chunk in its own transaction; sensor codes are resolved per chunk
+                    - Malformed JSON syntax truncates the stream at that record
+                    
+                    **Response:** receipt ID, accepted/rejected counts and the first rejected
+                    records (`ingestion.stream.max-reported-errors`)
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream processed (check rejected count)",
+                    content = @Content(schema = @Schema(implementation = IngestionSummaryResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "415",
+                    description = "Content type is not application/x-ndjson"
+            )
+    })
+    public ResponseEntity<IngestionSummaryResponse> ingestMetricStream(InputStream body) throws IOException {
+
+        log.info("Received NDJSON stream ingestion request");
+
+        IngestionSummaryResponse summary = metricStreamIngestionService.ingestStream(body);
+
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Ingest a stream of metric data points in the compact binary format.
+     *
+     * @param body binary request body, decoded incrementally
+     * @return accepted/rejected counts and the first errors
+     */
+    @PostMapping(value = "/stream", consumes = MetricFrameFormat.MEDIA_TYPE)
+    @Operation(
+            summary = "Stream metric data points in the compact binary format",
+            description = """
+                    Binary alternative to the NDJSON stream for constrained gateways.
+                    Skips JSON parsing entirely: records are decoded straight into the
+                    persistence pipeline.
+                    
+                    **Layout** (`Content-Type: application/vnd.weathersensor.metrics+binary`):
+                    - Header: `W` `S` `M` followed by version byte `1`
+                    - Then records back to back until end of stream:
+                      - sensorId: unsigned varint (LEB128)
+                      - metricType: 1 byte (1=TEMPERATURE, 2=HUMIDITY, 3=WIND_SPEED, 4=PRESSURE)
+                      - timestamp: 8 bytes big-endian, epoch milliseconds UTC (stored in the
+                        server's time zone, like JSON timestamps)
+                      - value: zigzag varint of hundredths (23.45 -> 2345)
+                    
+                    A typical record is 12-14 bytes. Validation rules and the response are
+                    the same as for the NDJSON stream; a truncated record truncates the stream.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream processed (check rejected count)",
+                    content = @Content(schema = @Schema(implementation = IngestionSummaryResponse.class))
+            )
+    })
+    public ResponseEntity<IngestionSummaryResponse> ingestMetricFrames(InputStream body) throws IOException {
+
+        log.info("Received binary stream ingestion request");
+
+        IngestionSummaryResponse summary = metricStreamIngestionService.ingestFrames(body);
+
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +22,7 @@ import java.util.List;
  * REST Controller for querying and aggregating metric data.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/metrics")
 @RequiredArgsConstructor
 @Slf4j
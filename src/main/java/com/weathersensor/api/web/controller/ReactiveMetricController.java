@@ -0,0 +1,102 @@
+package com.weathersensor.api.web.controller;
+
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.application.dto.response.AggregatedMetricResponse;
+import com.weathersensor.api.application.dto.response.IngestionReceiptResponse;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.application.service.ReactiveMetricIngestionService;
+import com.weathersensor.api.application.service.ReactiveMetricQueryService;
+import com.weathersensor.api.domain.model.MetricType;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * WebFlux controller for the reactive profile ({@code --spring.profiles.active=...,reactive}).
+ *
+ * Serves the same ingestion and query endpoints as {@link MetricIngestionController} and
+ * {@link MetricQueryController}, with the same DTOs and status codes, without holding a
+ * thread per in-flight request:
+ * - POST /metrics, /metrics/async, /metrics/batch
+ * - POST /metrics/stream (NDJSON, decoded and written while it arrives)
+ * - GET /metrics/ingestions/{id}
+ * - POST /metrics/query
+ * - GET /metrics/raw: raw readings streamed as NDJSON (reactive profile only)
+ *
+ * Not available in this mode: partial batches, binary frames, compressed request bodies.
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMetricController {
+
+    private final ReactiveMetricIngestionService ingestionService;
+    private final ReactiveMetricQueryService queryService;
+
+    @PostMapping
+    public Mono<ResponseEntity<MetricDataResponse>> ingestMetric(@Valid @RequestBody MetricDataRequest request) {
+        return ingestionService.ingestMetricData(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping("/async")
+    public Mono<ResponseEntity<IngestionReceiptResponse>> ingestMetricAsync(@Valid @RequestBody MetricDataRequest request) {
+        return ingestionService.ingestMetricAsync(request)
+                .map(receipt -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(URI.create("/api/v1/metrics/ingestions/" + receipt.getId()))
+                        .body(receipt));
+    }
+
+    @GetMapping("/ingestions/{id}")
+    public Mono<IngestionReceiptResponse> getIngestionReceipt(@PathVariable String id) {
+        return ingestionService.getIngestionReceipt(id);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<MetricDataResponse>>> ingestMetricsBatch(@RequestBody List<MetricDataRequest> requests) {
+        log.info("Received reactive batch metric ingestion request: {} data points", requests.size());
+
+        return ingestionService.ingestMetricDataBatch(requests)
+                .map(responses -> ResponseEntity.status(HttpStatus.CREATED).body(responses));
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<IngestionSummaryResponse> ingestMetricStream(@RequestBody Flux<MetricDataRequest> records) {
+        // WebFlux reports undecodable records as a bad request; the service truncates on them instead
+        return ingestionService.ingestStream(records.onErrorMap(
+                e -> e instanceof ServerWebInputException && e.getCause() instanceof DecodingException,
+                Throwable::getCause));
+    }
+
+    @PostMapping("/query")
+    public Mono<List<AggregatedMetricResponse>> queryMetrics(@Valid @RequestBody MetricQueryRequest request) {
+        return queryService.queryAggregatedMetrics(request);
+    }
+
+    @GetMapping(value = "/raw", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MetricDataResponse> streamRawMetrics(
+            @RequestParam(required = false) List<Long> sensorIds,
+            @RequestParam(required = false) List<MetricType> metricTypes,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return queryService.streamRawMetricData(sensorIds, metricTypes, startDate, endDate);
+    }
+}
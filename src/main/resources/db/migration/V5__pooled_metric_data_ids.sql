@@ -0,0 +1,9 @@
+-- Allocate metric_data IDs in blocks of 50 so Hibernate can use a pooled
+-- sequence optimizer (one nextval per 50 rows) and batch INSERT statements.
+-- IDENTITY generation forces Hibernate to insert row by row to read back each key.
+ALTER SEQUENCE metric_data_id_seq INCREMENT BY 50;
+
+-- Rows inserted through the column default (multi-row INSERT / COPY) still draw
+-- from the same sequence: each such row takes one block's upper bound, which the
+-- pooled optimizer never hands out, so the two paths cannot collide.
+COMMENT ON SEQUENCE metric_data_id_seq IS 'Pooled ID sequence for metric_data (increment must match @SequenceGenerator allocationSize)';
@@ -0,0 +1,19 @@
+-- A reading is identified by (sensor_id, metric_type, timestamp). Gateways retry on
+-- timeouts, and duplicate rows skew SUM/AVG and data point counts, so enforce it.
+
+-- Keep the first stored copy of every existing duplicate
+DELETE FROM metric_data d
+    USING metric_data keep
+WHERE d.sensor_id = keep.sensor_id
+  AND d.metric_type = keep.metric_type
+  AND d.timestamp = keep.timestamp
+  AND d.id > keep.id;
+
+-- Same columns and order as the composite query index, which it replaces
+-- (one index less to maintain on every insert)
+CREATE UNIQUE INDEX uq_metric_data_reading
+    ON metric_data(sensor_id, metric_type, timestamp DESC);
+
+DROP INDEX idx_metric_data_composite;
+
+COMMENT ON INDEX uq_metric_data_reading IS 'One reading per sensor, metric type and timestamp; arbiter for INSERT ... ON CONFLICT';
@@ -0,0 +1,35 @@
+-- Optional wide layout (storage.layout=WIDE): one row per sensor and timestamp with
+-- a nullable column per metric type, for sensors that sample all metrics together.
+-- Saves the per-metric ID, metric_type, created_at and tuple header of metric_data.
+CREATE TABLE sensor_readings (
+                                 sensor_id BIGINT NOT NULL,
+                                 timestamp TIMESTAMP NOT NULL,
+                                 temperature NUMERIC(10, 2),
+                                 humidity NUMERIC(10, 2),
+                                 wind_speed NUMERIC(10, 2),
+                                 pressure NUMERIC(10, 2),
+
+                                 CONSTRAINT pk_sensor_readings
+                                     PRIMARY KEY (sensor_id, timestamp),
+
+                                 CONSTRAINT fk_sensor_readings_sensor
+                                     FOREIGN KEY (sensor_id)
+                                         REFERENCES sensors(id)
+                                         ON DELETE CASCADE,
+
+                                 CONSTRAINT chk_sensor_readings_value_range
+                                     CHECK (temperature BETWEEN -100 AND 1000
+                                         AND humidity BETWEEN -100 AND 1000
+                                         AND wind_speed BETWEEN -100 AND 1000
+                                         AND pressure BETWEEN -100 AND 1000),
+
+                                 CONSTRAINT chk_sensor_readings_not_empty
+                                     CHECK (COALESCE(temperature, humidity, wind_speed, pressure) IS NOT NULL)
+);
+
+-- Same role as on metric_data: cheap scans of large temporal ranges
+CREATE INDEX idx_sensor_readings_timestamp_brin
+    ON sensor_readings USING BRIN (timestamp);
+
+COMMENT ON TABLE sensor_readings IS 'Wide layout of metric_data: one row per sensor and timestamp, NULL for metrics not sampled';
+COMMENT ON CONSTRAINT pk_sensor_readings ON sensor_readings IS 'One row per sensor and timestamp; arbiter for the column-merging upsert';
@@ -0,0 +1,220 @@
+package com.weathersensor.api.application.ingestion;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DisplayName("AdaptiveWriteLimiter Unit Tests")
+class AdaptiveWriteLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveWriteLimiter newLimiter(int maxLimit, long acquireTimeoutMs) {
+        return new AdaptiveWriteLimiter(meterRegistry, true, 10, maxLimit, acquireTimeoutMs, 2.0, 5, 250, 100, 5_000);
+    }
+
+    @Test
+    @DisplayName("Should start at half the connection pool size and export the limit")
+    void shouldStartAtHalfThePool() {
+        AdaptiveWriteLimiter limiter = newLimiter(0, 1_000);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getBatchSize()).isEqualTo(5_000);
+        assertThat(meterRegistry.get("metric.ingestion.limiter.limit").gauge().value()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("metric.ingestion.limiter.gradient").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should decrease the limit by the gradient when commit latency rises beyond the tolerance")
+    void shouldDecreaseLimitWhenLatencyRises() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+        limiter.sample(10 * MS, true, -1);
+        limiter.adjust();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        limiter.sample(50 * MS, true, -1);
+        limiter.adjust();
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(meterRegistry.get("metric.ingestion.limiter.gradient").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("metric.ingestion.limiter.latency").tag("window", "short").timeGauge()
+                .value(TimeUnit.MILLISECONDS)).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit while latency stays within the tolerance")
+    void shouldKeepLimitWithinTolerance() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+        limiter.sample(10 * MS, true, -1);
+        limiter.adjust();
+
+        limiter.sample(18 * MS, true, -1);
+        limiter.adjust();
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit by one after a window in which it was reached")
+    void shouldIncreaseLimitWhenSaturated() {
+        AdaptiveWriteLimiter limiter = newLimiter(0, 1_000);
+        List<AdaptiveWriteLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.acquire());
+        }
+
+        limiter.adjust();
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+        assertThat(limiter.getInFlight()).isEqualTo(5);
+        permits.forEach(permit -> permit.release(true));
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should back off after a failed write")
+    void shouldDecreaseLimitOnFailure() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+
+        limiter.acquire().release(false);
+        limiter.adjust();
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should back off for database-side failures only, not for rejected requests")
+    void shouldIgnoreClientErrors() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+
+        limiter.acquire().release(new DataIntegrityViolationException("duplicate key"));
+        limiter.acquire().release(new IllegalArgumentException("Sensor not found with ID: 7"));
+        limiter.adjust();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+
+        limiter.acquire().release(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("Connection is not available, request timed out")));
+        limiter.adjust();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should classify a rolled-back transaction by the failure recorded on its permit")
+    void shouldClassifyTransactionRollbacks() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            limiter.acquireForTransaction().failed(new DataIntegrityViolationException("duplicate key"));
+            limiter.acquireForTransaction();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            limiter.adjust();
+            assertThat(limiter.getLimit()).isEqualTo(10);
+
+            // No failure recorded: the commit itself failed
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            limiter.adjust();
+            assertThat(limiter.getLimit()).isEqualTo(9);
+            assertThat(limiter.getInFlight()).isZero();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should back off when connections wait in the Hikari pool")
+    void shouldDecreaseLimitOnPoolWait() {
+        AdaptiveWriteLimiter limiter = newLimiter(20, 1_000);
+        Timer poolAcquire = meterRegistry.timer(AdaptiveWriteLimiter.POOL_ACQUIRE_TIMER, "pool", "HikariPool-1");
+
+        poolAcquire.record(Duration.ofMillis(1));
+        limiter.adjust();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        poolAcquire.record(Duration.ofMillis(20));
+        limiter.adjust();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should shrink the batch size after slow flushes and grow it after fast full ones")
+    void shouldAdaptBatchSize() {
+        AdaptiveWriteLimiter limiter = newLimiter(0, 1_000);
+
+        limiter.sample(400 * MS, true, 5_000);
+        limiter.adjust();
+        assertThat(limiter.getBatchSize()).isEqualTo(3_750);
+
+        limiter.sample(50 * MS, true, 1_000);
+        limiter.adjust();
+        assertThat(limiter.getBatchSize()).isEqualTo(3_750);
+
+        limiter.sample(50 * MS, true, 3_750);
+        limiter.adjust();
+        assertThat(limiter.getBatchSize()).isEqualTo(4_000);
+    }
+
+    @Test
+    @DisplayName("Should never shrink the batch size below the minimum")
+    void shouldKeepMinimumBatchSize() {
+        AdaptiveWriteLimiter limiter = newLimiter(0, 1_000);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.sample(1_000 * MS, true, limiter.getBatchSize());
+            limiter.adjust();
+        }
+
+        assertThat(limiter.getBatchSize()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should reject with Retry-After when no permit is released in time")
+    void shouldRejectAfterTimeout() {
+        AdaptiveWriteLimiter limiter = newLimiter(1, 20);
+        AdaptiveWriteLimiter.Permit permit = limiter.acquire();
+
+        IngestionBufferFullException rejection = catchThrowableOfType(IngestionBufferFullException.class, limiter::acquire);
+
+        assertThat(rejection).isNotNull();
+        assertThat(rejection.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(meterRegistry.get("metric.ingestion.limiter.rejected").counter().count()).isEqualTo(1.0);
+
+        permit.release(true);
+        permit.release(true);
+        assertThat(limiter.getInFlight()).isZero();
+        limiter.acquire().release(true);
+    }
+
+    @Test
+    @DisplayName("Should pass writes through when disabled")
+    void shouldPassThroughWhenDisabled() throws InterruptedException {
+        AdaptiveWriteLimiter limiter = new AdaptiveWriteLimiter(
+                meterRegistry, false, 1, 0, 1, 2.0, 5, 250, 100, 5_000);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.acquireForFlush();
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.find("metric.ingestion.limiter.limit").gauge()).isNull();
+    }
+}
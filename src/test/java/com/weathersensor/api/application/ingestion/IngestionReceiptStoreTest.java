@@ -0,0 +1,124 @@
+package com.weathersensor.api.application.ingestion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IngestionReceiptStore Unit Tests")
+class IngestionReceiptStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-15T10:30:00Z");
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    private IngestionReceiptStore newStore(int maxEntries) {
+        return new IngestionReceiptStore(new SimpleMeterRegistry(), maxEntries, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    @DisplayName("Should track counts, status and committed watermark")
+    void shouldTrackStatus() {
+        IngestionReceipt receipt = newStore(10).create("async");
+        receipt.submitted(3);
+        assertThat(receipt.getStatus()).isEqualTo(IngestionReceipt.Status.PENDING);
+        assertThat(receipt.getPending()).isEqualTo(3);
+
+        receipt.committed(1, LocalDateTime.of(2024, 1, 15, 10, 31));
+        receipt.committed(1, LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(receipt.getStatus()).isEqualTo(IngestionReceipt.Status.PENDING);
+        assertThat(receipt.getCommittedWatermark()).isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 31));
+
+        receipt.committed(1, LocalDateTime.of(2024, 1, 15, 10, 32));
+        assertThat(receipt.getStatus()).isEqualTo(IngestionReceipt.Status.COMMITTED);
+        assertThat(receipt.getPending()).isZero();
+        assertThat(receipt.getCommittedWatermark()).isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 32));
+    }
+
+    @Test
+    @DisplayName("Should report failed and partially failed submissions")
+    void shouldReportFailures() {
+        IngestionReceiptStore store = newStore(10);
+
+        IngestionReceipt failed = store.create("async");
+        failed.submitted(1);
+        failed.failed(1);
+        assertThat(failed.getStatus()).isEqualTo(IngestionReceipt.Status.FAILED);
+
+        IngestionReceipt partial = store.create("stream");
+        partial.submitted(2);
+        partial.failed(1);
+        partial.committed(1, LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(partial.getStatus()).isEqualTo(IngestionReceipt.Status.PARTIAL);
+    }
+
+    @Test
+    @DisplayName("Should find receipts until they expire")
+    void shouldExpireReceipts() {
+        IngestionReceiptStore store = newStore(10);
+        IngestionReceipt receipt = store.create("async");
+
+        clock.now = START.plus(Duration.ofMinutes(9));
+        assertThat(store.find(receipt.getId())).isSameAs(receipt);
+
+        clock.now = START.plus(Duration.ofMinutes(10));
+        assertThat(store.find(receipt.getId())).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest receipts beyond the maximum")
+    void shouldEvictOldest() {
+        IngestionReceiptStore store = newStore(2);
+        IngestionReceipt first = store.create("async");
+        IngestionReceipt second = store.create("async");
+        IngestionReceipt third = store.create("async");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.find(first.getId())).isNull();
+        assertThat(store.find(second.getId())).isSameAs(second);
+        assertThat(store.find(third.getId())).isSameAs(third);
+    }
+
+    @Test
+    @DisplayName("Should purge expired receipts when creating new ones")
+    void shouldPurgeExpiredOnCreate() {
+        IngestionReceiptStore store = newStore(10);
+        store.create("async");
+        store.create("async");
+
+        clock.now = START.plus(Duration.ofMinutes(11));
+        IngestionReceipt fresh = store.create("async");
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.find(fresh.getId())).isSameAs(fresh);
+    }
+}
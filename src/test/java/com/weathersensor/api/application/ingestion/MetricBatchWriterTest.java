@@ -0,0 +1,211 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.domain.event.MetricBucketsInvalidatedEvent;
+import com.weathersensor.api.domain.model.MetricBucket;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import com.weathersensor.api.infrastructure.persistence.ConflictPolicy;
+import com.weathersensor.api.infrastructure.persistence.MetricDataCopyWriter;
+import com.weathersensor.api.infrastructure.persistence.MetricDataJdbcWriter;
+import com.weathersensor.api.infrastructure.persistence.SensorReadingWriter;
+import com.weathersensor.api.infrastructure.persistence.StorageLayout;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricBatchWriter Unit Tests")
+class MetricBatchWriterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Mock
+    private MetricDataJdbcWriter jdbcWriter;
+
+    @Mock
+    private MetricDataCopyWriter copyWriter;
+
+    @Mock
+    private SensorReadingWriter sensorReadingWriter;
+
+    @Mock
+    private SensorRegistry sensorRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MetricBatchWriter newWriter(ConflictPolicy conflictPolicy) {
+        return newWriter(conflictPolicy, StorageLayout.NARROW);
+    }
+
+    private MetricBatchWriter newWriter(ConflictPolicy conflictPolicy, StorageLayout storageLayout) {
+        return new MetricBatchWriter(jdbcWriter, copyWriter, sensorReadingWriter, sensorRegistry, eventPublisher,
+                meterRegistry, new RecentReadingFilter(1024),
+                new SensorWatermarkTracker(eventPublisher, meterRegistry, 300_000, 60),
+                conflictPolicy, storageLayout, 1000);
+    }
+
+    private static MetricReading reading(String value, int minute) {
+        return new MetricReading(1L, MetricType.TEMPERATURE, MetricValues.toScaled(new BigDecimal(value)), TIMESTAMP.plusMinutes(minute));
+    }
+
+    private double dedupCount(String result) {
+        return meterRegistry.get("metric.ingestion.dedup").tag("result", result).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MetricReading> insertedBatch() {
+        ArgumentCaptor<List<MetricReading>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcWriter).insert(captor.capture(), any());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should keep the first of repeated readings within a batch when ignoring conflicts")
+    void shouldDropRepeatedReadingsKeepingFirst() {
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.IGNORE))).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        int written = newWriter(ConflictPolicy.IGNORE).writeValidated(
+                List.of(reading("20.00", 0), reading("21.00", 1), reading("99.00", 0)), "batch");
+
+        assertThat(written).isEqualTo(2);
+        assertThat(insertedBatch()).containsExactly(reading("20.00", 0), reading("21.00", 1));
+        assertThat(dedupCount("filtered")).isEqualTo(1.0);
+        assertThat(dedupCount("unique")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the last of repeated readings within a batch when updating on conflict")
+    void shouldDropRepeatedReadingsKeepingLast() {
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.UPDATE))).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        newWriter(ConflictPolicy.UPDATE).writeValidated(
+                List.of(reading("20.00", 0), reading("21.00", 1), reading("99.00", 0)), "batch");
+
+        assertThat(insertedBatch()).containsExactly(reading("21.00", 1), reading("99.00", 0));
+    }
+
+    @Test
+    @DisplayName("Should drop recently written readings before reaching the database")
+    void shouldFilterRecentlyWrittenReadings() {
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.IGNORE))).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        MetricBatchWriter writer = newWriter(ConflictPolicy.IGNORE);
+
+        writer.writeValidated(List.of(reading("20.00", 0), reading("21.00", 1)), "async");
+        int retried = writer.writeValidated(List.of(reading("20.00", 0), reading("21.00", 1)), "async");
+
+        assertThat(retried).isZero();
+        verify(jdbcWriter, times(1)).insert(anyList(), any());
+        assertThat(dedupCount("filtered")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should count readings skipped by the unique index as conflicts")
+    void shouldCountDatabaseConflicts() {
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.IGNORE))).thenReturn(1);
+
+        int written = newWriter(ConflictPolicy.IGNORE).writeValidated(
+                List.of(reading("20.00", 0), reading("21.00", 1)), "stream");
+
+        assertThat(written).isEqualTo(1);
+        assertThat(dedupCount("conflict")).isEqualTo(1.0);
+        assertThat(dedupCount("unique")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fail all-or-nothing batches on a stored duplicate with INSERT and with COPY")
+    void shouldRejectStoredDuplicatesOfAllOrNothingBatches() {
+        // Detected with DO NOTHING even when conflicts are configured to update
+        MetricBatchWriter writer = newWriter(ConflictPolicy.UPDATE);
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.IGNORE)))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size() - 1);
+        when(copyWriter.copy(anyList(), eq(ConflictPolicy.IGNORE)))
+                .thenAnswer(invocation -> (long) invocation.<List<?>>getArgument(0).size() - 1);
+        List<MetricReading> large = new ArrayList<>();
+        for (int minute = 0; minute < 1000; minute++) {
+            large.add(reading("20.00", minute));
+        }
+
+        assertThatThrownBy(() -> writer.writeAll(List.of(reading("20.00", 0), reading("21.00", 1)), "batch"))
+                .isInstanceOf(DuplicateReadingException.class)
+                .hasMessageStartingWith("1 reading(s)");
+        assertThatThrownBy(() -> writer.writeAll(large, "batch"))
+                .isInstanceOf(DuplicateReadingException.class)
+                .hasMessageStartingWith("1 reading(s)");
+        assertThat(dedupCount("unique")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail all-or-nothing batches with repeated readings before writing")
+    void shouldRejectRepeatedReadingsOfAllOrNothingBatches() {
+        MetricBatchWriter writer = newWriter(ConflictPolicy.IGNORE);
+
+        assertThatThrownBy(() -> writer.writeAll(
+                List.of(reading("20.00", 0), reading("21.00", 1), reading("99.00", 0)), "batch"))
+                .isInstanceOf(DuplicateReadingException.class);
+        verifyNoInteractions(jdbcWriter, copyWriter);
+    }
+
+    @Test
+    @DisplayName("Should upsert every batch into the wide table with the wide layout")
+    void shouldWriteWideLayout() {
+        when(sensorReadingWriter.upsert(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        MetricBatchWriter writer = newWriter(ConflictPolicy.IGNORE, StorageLayout.WIDE);
+
+        int written = writer.writeValidated(List.of(reading("20.00", 0), reading("21.00", 1)), "batch");
+
+        assertThat(written).isEqualTo(2);
+        assertThat(writer.usesBulkPath(1)).isTrue();
+        verify(sensorReadingWriter).upsert(List.of(reading("20.00", 0), reading("21.00", 1)));
+        verifyNoInteractions(jdbcWriter, copyWriter);
+    }
+
+    @Test
+    @DisplayName("Should write late readings separately and invalidate their buckets")
+    void shouldRouteLateReadingsThroughSidePath() {
+        when(jdbcWriter.insert(anyList(), eq(ConflictPolicy.IGNORE))).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        MetricBatchWriter writer = newWriter(ConflictPolicy.IGNORE);
+        writer.writeValidated(List.of(reading("20.00", 120)), "async");
+
+        int written = writer.writeValidated(List.of(reading("21.00", 121), reading("15.00", 0)), "async");
+
+        assertThat(written).isEqualTo(2);
+        verify(jdbcWriter).insert(List.of(reading("21.00", 121)), ConflictPolicy.IGNORE);
+        verify(jdbcWriter).insert(List.of(reading("15.00", 0)), ConflictPolicy.IGNORE);
+
+        ArgumentCaptor<ApplicationEvent> captor = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(captor.capture());
+        List<MetricBucketsInvalidatedEvent> invalidations = captor.getAllValues().stream()
+                .filter(MetricBucketsInvalidatedEvent.class::isInstance)
+                .map(MetricBucketsInvalidatedEvent.class::cast)
+                .toList();
+        assertThat(invalidations).hasSize(1);
+        assertThat(invalidations.get(0).getLateReadings()).isEqualTo(1);
+        assertThat(invalidations.get(0).getBuckets()).containsExactly(new MetricBucket(
+                1L, MetricType.TEMPERATURE, LocalDateTime.of(2024, 1, 15, 10, 0), LocalDateTime.of(2024, 1, 15, 11, 0)));
+        assertThat(meterRegistry.get("metric.ingestion.arrival").tag("arrival", "late").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricFrameReader Unit Tests")
+class MetricFrameReaderTest {
+
+    private static List<MetricReading> readAll(byte[] frame, int bufferSize) throws IOException {
+        MetricFrameReader reader = new MetricFrameReader(new ByteArrayInputStream(frame), bufferSize);
+        List<MetricReading> readings = new ArrayList<>();
+        MetricReading reading;
+        while ((reading = reader.next()) != null) {
+            readings.add(reading);
+        }
+        return readings;
+    }
+
+    @Test
+    @DisplayName("Should round-trip readings through the binary format")
+    void shouldRoundTripReadings() throws IOException {
+        List<MetricReading> readings = List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2345L,
+                        LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000)),
+                new MetricReading(300L, MetricType.HUMIDITY, 6500L,
+                        LocalDateTime.of(2024, 1, 15, 10, 30)),
+                new MetricReading(Long.MAX_VALUE, MetricType.WIND_SPEED, -9999L,
+                        LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000)),
+                new MetricReading(70_000L, MetricType.PRESSURE, 100_000L,
+                        LocalDateTime.of(2030, 6, 1, 0, 0)));
+
+        byte[] frame = MetricFrameWriter.encode(readings);
+
+        // A tiny buffer exercises refills in the middle of fields
+        assertThat(readAll(frame, 3)).containsExactlyElementsOf(readings);
+        assertThat(readAll(frame, 8192)).containsExactlyElementsOf(readings);
+    }
+
+    @Test
+    @DisplayName("Should decode epoch timestamps to local time in the system zone, like JSON")
+    void shouldDecodeTimestampsInSystemZone() throws IOException {
+        long epochMillis = 1_700_000_000_000L;
+        byte[] frame = MetricFrameWriter.encode(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2345L, LocalDateTime.now())));
+        // Overwrite the timestamp after header (4), sensorId (1) and type (1)
+        ByteBuffer.wrap(frame, 6, 8).putLong(epochMillis);
+
+        assertThat(readAll(frame, 8192).get(0).getTimestamp())
+                .isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+    }
+
+    @Test
+    @DisplayName("Should encode a small reading compactly")
+    void shouldEncodeCompactly() {
+        byte[] frame = MetricFrameWriter.encode(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2345L, LocalDateTime.now())));
+
+        // header (4) + sensorId (1) + type (1) + timestamp (8) + value (2)
+        assertThat(frame).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("Should treat an empty body as an empty stream")
+    void shouldAcceptEmptyBody() throws IOException {
+        assertThat(readAll(new byte[0], 16)).isEmpty();
+        assertThat(readAll(MetricFrameWriter.encode(List.of()), 16)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a body without the frame header")
+    void shouldRejectBadMagic() {
+        byte[] body = "{\"sensorId\":1}".getBytes();
+
+        assertThatThrownBy(() -> readAll(body, 16))
+                .isInstanceOf(MetricFrameException.class)
+                .hasMessageContaining("bad magic")
+                .matches(e -> !((MetricFrameException) e).isRecoverable());
+    }
+
+    @Test
+    @DisplayName("Should report a truncated record as unrecoverable")
+    void shouldRejectTruncatedRecord() throws IOException {
+        byte[] frame = MetricFrameWriter.encode(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2000L, LocalDateTime.now())));
+        MetricFrameReader reader = new MetricFrameReader(
+                new ByteArrayInputStream(Arrays.copyOf(frame, frame.length - 3)));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(MetricFrameException.class)
+                .matches(e -> !((MetricFrameException) e).isRecoverable());
+    }
+
+    @Test
+    @DisplayName("Should skip a record with an unknown metric type and continue")
+    void shouldSkipUnknownMetricType() throws IOException {
+        MetricReading valid = new MetricReading(2L, MetricType.HUMIDITY, 5000L,
+                LocalDateTime.of(2024, 1, 15, 10, 30));
+        byte[] frame = MetricFrameWriter.encode(List.of(valid, valid));
+        // First record starts after the 4-byte header; its type byte follows the 1-byte sensorId
+        frame[5] = 99;
+
+        MetricFrameReader reader = new MetricFrameReader(new ByteArrayInputStream(frame));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(MetricFrameException.class)
+                .hasMessageContaining("Unknown metric type code: 99")
+                .matches(e -> ((MetricFrameException) e).isRecoverable());
+        assertThat(reader.next()).isEqualTo(valid);
+        assertThat(reader.next()).isNull();
+    }
+}
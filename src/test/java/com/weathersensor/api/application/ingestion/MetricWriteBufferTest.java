@@ -0,0 +1,482 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.infrastructure.journal.MetricJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricWriteBuffer Unit Tests")
+class MetricWriteBufferTest {
+
+    @Mock
+    private MetricBatchWriter batchWriter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path journalDirectory;
+
+    private MetricWriteBuffer buffer;
+    private MetricJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private MetricJournal openJournal() throws IOException {
+        MetricJournal metricJournal = new MetricJournal(meterRegistry, journalDirectory, 64 * 1024, 1_000);
+        metricJournal.open();
+        return metricJournal;
+    }
+
+    private MetricWriteBuffer newJournaledBuffer(int maxBatchSize) {
+        MetricWriteBuffer writeBuffer = new MetricWriteBuffer(
+                batchWriter, writeLimiter(maxBatchSize), meterRegistry, journal, 1, 100, maxBatchSize, 10, 1, 30, 5_000);
+        writeBuffer.start();
+        return writeBuffer;
+    }
+
+    private AdaptiveWriteLimiter writeLimiter(int maxBatchSize) {
+        return new AdaptiveWriteLimiter(meterRegistry, true, 10, 0, 1_000, 2.0, 5, 250, 1, maxBatchSize);
+    }
+
+    private MetricWriteBuffer newBuffer(int capacity, int maxBatchSize, long flushIntervalMs) {
+        MetricWriteBuffer writeBuffer = new MetricWriteBuffer(
+                batchWriter, writeLimiter(maxBatchSize), meterRegistry, null, 1, capacity, maxBatchSize, flushIntervalMs, 1, 30, 5_000);
+        writeBuffer.start();
+        return writeBuffer;
+    }
+
+    private static MetricReading reading(int i) {
+        return new MetricReading(1L, MetricType.TEMPERATURE,
+                2000 + i, LocalDateTime.now().minusSeconds(i));
+    }
+
+    @Test
+    @DisplayName("Should flush buffered readings in batches")
+    void shouldFlushBufferedReadingsInBatches() throws Exception {
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        buffer = newBuffer(100, 4, 20);
+        for (int i = 0; i < 10; i++) {
+            buffer.submit(reading(i));
+        }
+
+        verify(batchWriter, timeout(2_000).atLeast(3)).write(anyList(), eq("async"));
+        awaitSize(written, 10);
+
+        assertThat(written).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Should reject readings when buffer is full")
+    void shouldRejectWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        buffer = newBuffer(2, 1, 10);
+
+        int rejected = 0;
+        for (int i = 0; i < 5; i++) {
+            try {
+                buffer.submit(reading(i));
+            } catch (IngestionBufferFullException e) {
+                rejected++;
+            }
+        }
+        release.countDown();
+
+        assertThat(rejected).isPositive();
+        assertThat(meterRegistry.get("metric.ingestion.buffer.rejected").counter().count())
+                .isEqualTo(rejected);
+    }
+
+    @Test
+    @DisplayName("Should reject an offered reading at once when its lane is full")
+    void shouldOfferWithoutWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+
+        // submit() would wait up to 5 s for space
+        buffer = new MetricWriteBuffer(batchWriter, writeLimiter(1), meterRegistry, null, 1, 2, 1, 10, 5_000, 30, 5_000);
+        buffer.start();
+        assertThat(buffer.offer(reading(1))).isTrue();
+        assertThat(buffer.offer(reading(2))).isTrue();
+
+        long start = System.nanoTime();
+        boolean accepted = buffer.offer(reading(3));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(accepted).isFalse();
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(meterRegistry.get("metric.ingestion.buffer.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should estimate Retry-After from the lane drain rate")
+    void shouldEstimateRetryAfterFromDrainRate() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            if (writes.incrementAndGet() == 1) {
+                Thread.sleep(500);
+            } else {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return 1;
+        });
+
+        buffer = newBuffer(20, 1, 10);
+        assertThat(buffer.retryAfterSeconds(0)).isEqualTo(30);
+
+        // First flush: one reading in ~500 ms, so about 2 readings per second
+        buffer.submit(reading(0));
+        verify(batchWriter, timeout(2_000).times(1)).write(anyList(), eq("async"));
+        Thread.sleep(600);
+
+        IngestionBufferFullException rejection = null;
+        for (int i = 1; i <= 25 && rejection == null; i++) {
+            try {
+                buffer.submit(reading(i));
+            } catch (IngestionBufferFullException e) {
+                rejection = e;
+            }
+        }
+        release.countDown();
+
+        // 20 queued readings at ~2 per second
+        assertThat(rejection).isNotNull();
+        assertThat(rejection.getRetryAfterSeconds()).isBetween(10L, 15L);
+    }
+
+    @Test
+    @DisplayName("Should drain queued readings on shutdown and reject new ones")
+    void shouldDrainOnShutdown() {
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        buffer = newBuffer(100, 50, 1_000);
+        for (int i = 0; i < 3; i++) {
+            buffer.submit(reading(i));
+        }
+
+        buffer.stop();
+
+        assertThat(written).hasSize(3);
+        assertThatThrownBy(() -> buffer.submit(reading(4)))
+                .isInstanceOf(IngestionBufferFullException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep flushing after a failed batch")
+    void shouldContinueAfterFailedFlush() {
+        when(batchWriter.write(anyList(), eq("async")))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+
+        buffer = newBuffer(100, 1, 10);
+        buffer.submit(reading(1));
+        buffer.submit(reading(2));
+
+        verify(batchWriter, timeout(2_000).times(2)).write(anyList(), eq("async"));
+        assertThat(meterRegistry.get("metric.ingestion.errors").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should record written and dropped readings on their receipts")
+    void shouldUpdateReceipts() throws Exception {
+        when(batchWriter.write(anyList(), eq("async")))
+                .thenReturn(1)
+                .thenThrow(new IllegalStateException("database down"));
+
+        IngestionReceiptStore receiptStore = new IngestionReceiptStore(meterRegistry, 10, 60_000);
+        IngestionReceipt written = receiptStore.create("async");
+        IngestionReceipt dropped = receiptStore.create("async");
+        written.submitted(1);
+        dropped.submitted(1);
+
+        MetricReading metricReading = reading(1);
+        buffer = newBuffer(100, 1, 10);
+        buffer.submit(metricReading, written);
+        buffer.submit(reading(2), dropped);
+
+        verify(batchWriter, timeout(2_000).times(2)).write(anyList(), eq("async"));
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (dropped.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(written.getStatus()).isEqualTo(IngestionReceipt.Status.COMMITTED);
+        assertThat(written.getCommittedWatermark()).isEqualTo(metricReading.getTimestamp());
+        assertThat(dropped.getStatus()).isEqualTo(IngestionReceipt.Status.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint the journal after each flushed batch")
+    void shouldCheckpointJournalAfterFlush() throws Exception {
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        journal = openJournal();
+        buffer = newJournaledBuffer(10);
+        for (int i = 0; i < 3; i++) {
+            buffer.submit(reading(i));
+        }
+
+        verify(batchWriter, timeout(2_000).atLeastOnce()).write(anyList(), eq("async"));
+        awaitCheckpoint(3);
+
+        assertThat(journal.getCheckpoint()).isEqualTo(3);
+        assertThat(journal.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay journaled readings before flushing new ones")
+    void shouldReplayJournalOnStart() throws Exception {
+        MetricReading lost = reading(1);
+        journal = openJournal();
+        journal.append(lost);
+        journal.close();
+
+        List<String> modes = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), anyString())).thenAnswer(invocation -> {
+            modes.add(invocation.getArgument(1));
+            return invocation.<List<?>>getArgument(0).size();
+        });
+
+        MetricReading fresh = reading(2);
+        journal = openJournal();
+        buffer = newJournaledBuffer(10);
+        buffer.submit(fresh);
+
+        verify(batchWriter, timeout(2_000)).write(List.of(lost), "replay");
+        verify(batchWriter, timeout(2_000)).write(List.of(fresh), "async");
+        assertThat(modes).containsExactly("replay", "async");
+        awaitCheckpoint(2);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch instead of dropping it when journaled")
+    void shouldRetryFailedFlushWhenJournaled() throws Exception {
+        when(batchWriter.write(anyList(), eq("async")))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+
+        MetricReading metricReading = reading(1);
+        journal = openJournal();
+        buffer = newJournaledBuffer(1);
+        buffer.submit(metricReading);
+
+        verify(batchWriter, timeout(2_000).times(2)).write(List.of(metricReading), "async");
+        awaitCheckpoint(1);
+
+        assertThat(journal.getCheckpoint()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep each sensor's readings in submission order across lanes")
+    void shouldPreserveOrderPerSensor() throws Exception {
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        buffer = new MetricWriteBuffer(batchWriter, writeLimiter(7), meterRegistry, null, 4, 1_000, 7, 5, 1_000, 30, 5_000);
+        buffer.start();
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+        for (int i = 0; i < 100; i++) {
+            for (long sensorId = 1; sensorId <= 8; sensorId++) {
+                buffer.submit(new MetricReading(sensorId, MetricType.TEMPERATURE, 100L, start.plusSeconds(i)));
+            }
+        }
+        awaitSize(written, 800);
+
+        assertThat(written).hasSize(800);
+        for (long sensorId = 1; sensorId <= 8; sensorId++) {
+            long id = sensorId;
+            assertThat(written.stream().filter(reading -> reading.getSensorId() == id).map(MetricReading::getTimestamp))
+                    .hasSize(100)
+                    .isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep accepting other sensors while one lane is full")
+    void shouldIsolateFullLane() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            if (batch.get(0).getSensorId() == 1L) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        buffer = new MetricWriteBuffer(batchWriter, writeLimiter(1), meterRegistry, null, 2, 4, 1, 10, 1, 30, 5_000);
+        buffer.start();
+        long otherSensor = 2;
+        while (buffer.laneOf(otherSensor) == buffer.laneOf(1L)) {
+            otherSensor++;
+        }
+
+        // Lane of sensor 1 holds 2 readings and its writer is stuck
+        buffer.submit(reading(1));
+        buffer.submit(reading(2));
+        assertThatThrownBy(() -> buffer.submit(reading(3)))
+                .isInstanceOf(IngestionBufferFullException.class);
+
+        MetricReading other = new MetricReading(otherSensor, MetricType.HUMIDITY, 1000L, LocalDateTime.now());
+        buffer.submit(other);
+        verify(batchWriter, timeout(2_000)).write(List.of(other), "async");
+        release.countDown();
+
+        awaitSize(written, 3);
+        assertThat(meterRegistry.get("metric.ingestion.buffer.depth").tag("lane", "0").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should flush as soon as the capped batch size is queued")
+    void shouldFlushFullBatchAtMaxBatchSize() throws Exception {
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        // The limiter allows batches of 100, the buffer caps them at 4
+        buffer = new MetricWriteBuffer(batchWriter, writeLimiter(100), meterRegistry, null, 1, 100, 4, 5_000, 1, 30, 5_000);
+        buffer.start();
+        for (int i = 0; i < 4; i++) {
+            buffer.submit(reading(i));
+        }
+
+        // Well before the 5 s flush interval
+        awaitSize(written, 4);
+        assertThat(written).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should measure the flush interval from when the oldest reading was queued")
+    void shouldFlushQueuedReadingsOnceTheirIntervalHasPassed() throws Exception {
+        CountDownLatch firstFlushStarted = new CountDownLatch(1);
+        List<Long> flushStarts = new CopyOnWriteArrayList<>();
+        List<Long> flushEnds = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            flushStarts.add(System.nanoTime());
+            firstFlushStarted.countDown();
+            if (flushStarts.size() == 1) {
+                Thread.sleep(600);
+            }
+            flushEnds.add(System.nanoTime());
+            return invocation.<List<?>>getArgument(0).size();
+        });
+
+        buffer = newBuffer(100, 10, 500);
+        buffer.submit(reading(1));
+        assertThat(firstFlushStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        // Queued while the first batch is written, so its interval has passed when that ends
+        buffer.submit(reading(2));
+
+        awaitSize(flushStarts, 2);
+        assertThat(flushStarts).hasSize(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(flushStarts.get(1) - flushEnds.get(0))).isLessThan(250);
+    }
+
+    @Test
+    @DisplayName("Should keep every lane running when a lane thread is interrupted")
+    void shouldKeepRunningWhenLaneInterrupted() throws Exception {
+        List<MetricReading> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            List<MetricReading> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        buffer = new MetricWriteBuffer(batchWriter, writeLimiter(10), meterRegistry, null, 2, 100, 10, 10, 1, 30, 5_000);
+        buffer.start();
+        Thread lane = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("metric-buffer-lane-" + buffer.laneOf(1L)))
+                .filter(Thread::isAlive)
+                .findFirst()
+                .orElseThrow();
+
+        // Interrupt the writer while it waits for readings
+        while (lane.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        lane.interrupt();
+        Thread.sleep(50);
+        for (long sensorId = 1; sensorId <= 4; sensorId++) {
+            buffer.submit(new MetricReading(sensorId, MetricType.TEMPERATURE, 100L, LocalDateTime.now()));
+        }
+
+        awaitSize(written, 4);
+        assertThat(written).hasSize(4);
+        assertThat(lane.isAlive()).isTrue();
+    }
+
+    private void awaitCheckpoint(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (journal.getCheckpoint() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitSize(List<?> list, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (list.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
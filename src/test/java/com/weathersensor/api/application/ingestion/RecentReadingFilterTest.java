@@ -0,0 +1,91 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecentReadingFilter Unit Tests")
+class RecentReadingFilterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private static MetricReading reading(long sensorId, MetricType type, LocalDateTime timestamp) {
+        return new MetricReading(sensorId, type, 2000L, timestamp);
+    }
+
+    @Test
+    @DisplayName("Should report readings only after they are added")
+    void shouldContainAddedReadings() {
+        RecentReadingFilter filter = new RecentReadingFilter(1024);
+        MetricReading reading = reading(1L, MetricType.TEMPERATURE, TIMESTAMP);
+
+        assertThat(filter.contains(reading)).isFalse();
+
+        filter.addAll(List.of(reading));
+
+        assertThat(filter.contains(reading)).isTrue();
+        // The value is not part of the key
+        assertThat(filter.contains(new MetricReading(1L, MetricType.TEMPERATURE, 9900L, TIMESTAMP)))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should distinguish sensor, metric type and timestamp")
+    void shouldCompareFullKey() {
+        RecentReadingFilter filter = new RecentReadingFilter(1024);
+        filter.addAll(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP)));
+
+        assertThat(filter.contains(reading(2L, MetricType.TEMPERATURE, TIMESTAMP))).isFalse();
+        assertThat(filter.contains(reading(1L, MetricType.HUMIDITY, TIMESTAMP))).isFalse();
+        assertThat(filter.contains(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.plusNanos(1_000)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compare timestamps at microsecond precision like PostgreSQL")
+    void shouldRoundToMicroseconds() {
+        RecentReadingFilter filter = new RecentReadingFilter(1024);
+        filter.addAll(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.plusNanos(1_000))));
+
+        assertThat(filter.contains(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.plusNanos(1_400)))).isTrue();
+        assertThat(filter.contains(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.plusNanos(600)))).isTrue();
+        assertThat(filter.contains(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.plusNanos(1_600)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict old keys without false positives")
+    void shouldEvictWithoutFalsePositives() {
+        RecentReadingFilter filter = new RecentReadingFilter(16);
+        List<MetricReading> added = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            added.add(reading(i, MetricType.TEMPERATURE, TIMESTAMP.plusSeconds(i)));
+        }
+        filter.addAll(added);
+
+        long remembered = added.stream().filter(filter::contains).count();
+        assertThat(remembered).isPositive().isLessThanOrEqualTo(16);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.contains(reading(i, MetricType.HUMIDITY, TIMESTAMP.plusSeconds(i)))).isFalse();
+        }
+        // The most recent key always survives
+        assertThat(filter.contains(added.get(999))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never match when disabled")
+    void shouldBeDisabledWithSizeZero() {
+        RecentReadingFilter filter = new RecentReadingFilter(0);
+        MetricReading reading = reading(1L, MetricType.TEMPERATURE, TIMESTAMP);
+
+        filter.addAll(List.of(reading));
+
+        assertThat(filter.isEnabled()).isFalse();
+        assertThat(filter.contains(reading)).isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+package com.weathersensor.api.application.ingestion;
+
+import com.weathersensor.api.domain.event.MetricBucketsInvalidatedEvent;
+import com.weathersensor.api.domain.model.MetricBucket;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SensorWatermarkTracker Unit Tests")
+class SensorWatermarkTrackerTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private SensorWatermarkTracker newTracker(long allowedLatenessMs) {
+        return new SensorWatermarkTracker(eventPublisher, new SimpleMeterRegistry(), allowedLatenessMs, 60);
+    }
+
+    private static MetricReading reading(long sensorId, MetricType type, LocalDateTime timestamp) {
+        return new MetricReading(sensorId, type, 2000L, timestamp);
+    }
+
+    @Test
+    @DisplayName("Should treat readings of unseen sensors as on time")
+    void shouldAcceptFirstReadings() {
+        SensorWatermarkTracker tracker = newTracker(300_000);
+
+        SensorWatermarkTracker.Arrivals arrivals = tracker.classify(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP)));
+
+        assertThat(arrivals.getOnTime()).hasSize(1);
+        assertThat(arrivals.getLate()).isEmpty();
+        assertThat(tracker.watermark(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should classify readings older than the watermark minus the allowed lateness as late")
+    void shouldClassifyLateReadings() {
+        SensorWatermarkTracker tracker = newTracker(300_000);
+        tracker.track(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP)), "sync");
+
+        SensorWatermarkTracker.Arrivals arrivals = tracker.classify(List.of(
+                reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusMinutes(5)),
+                reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusMinutes(6)),
+                reading(2L, MetricType.TEMPERATURE, TIMESTAMP.minusHours(6))));
+
+        assertThat(tracker.watermark(1L)).isEqualTo(TIMESTAMP);
+        assertThat(arrivals.getOnTime()).extracting(MetricReading::getTimestamp)
+                .containsExactly(TIMESTAMP.minusMinutes(5), TIMESTAMP.minusHours(6));
+        assertThat(arrivals.getLate()).extracting(MetricReading::getTimestamp)
+                .containsExactly(TIMESTAMP.minusMinutes(6));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should publish each bucket touched by late readings once")
+    void shouldInvalidateDistinctBuckets() {
+        SensorWatermarkTracker tracker = newTracker(0);
+        tracker.track(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP)), "sync");
+
+        tracker.track(List.of(
+                reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusMinutes(10)),
+                reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusMinutes(20)),
+                reading(1L, MetricType.HUMIDITY, TIMESTAMP.minusMinutes(20)),
+                reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusMinutes(40))), "batch");
+
+        ArgumentCaptor<MetricBucketsInvalidatedEvent> captor = ArgumentCaptor.forClass(MetricBucketsInvalidatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        LocalDateTime tenOClock = LocalDateTime.of(2024, 1, 15, 10, 0);
+        assertThat(captor.getValue().getLateReadings()).isEqualTo(4);
+        assertThat(captor.getValue().getMode()).isEqualTo("batch");
+        assertThat(captor.getValue().getBuckets()).containsExactly(
+                new MetricBucket(1L, MetricType.TEMPERATURE, tenOClock, tenOClock.plusHours(1)),
+                new MetricBucket(1L, MetricType.HUMIDITY, tenOClock, tenOClock.plusHours(1)),
+                new MetricBucket(1L, MetricType.TEMPERATURE, tenOClock.minusHours(1), tenOClock));
+    }
+
+    @Test
+    @DisplayName("Should neither classify nor publish when disabled")
+    void shouldDoNothingWhenDisabled() {
+        SensorWatermarkTracker tracker = newTracker(-1);
+        tracker.track(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP)), "sync");
+
+        tracker.track(List.of(reading(1L, MetricType.TEMPERATURE, TIMESTAMP.minusDays(1))), "sync");
+
+        assertThat(tracker.isEnabled()).isFalse();
+        assertThat(tracker.watermark(1L)).isNull();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive bucket size")
+    void shouldRejectInvalidBucketSize() {
+        assertThatThrownBy(() -> new SensorWatermarkTracker(eventPublisher, new SimpleMeterRegistry(), 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,213 @@
+package com.weathersensor.api.application.registry;
+
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.model.SensorStatus;
+import com.weathersensor.api.domain.repository.SensorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SensorRegistry Unit Tests")
+class SensorRegistryTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SensorRegistry sensorRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sensorRegistry = new SensorRegistry(sensorRepository, meterRegistry);
+    }
+
+    private static Sensor sensor(long id) {
+        return Sensor.builder()
+                .id(id)
+                .sensorCode("SENSOR-" + id)
+                .status(SensorStatus.ACTIVE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load all sensors on warm-up")
+    void shouldWarmUpWithAllSensors() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1), sensor(2)));
+
+        sensorRegistry.warmUp();
+
+        assertThat(sensorRegistry.size()).isEqualTo(2);
+        assertThat(sensorRegistry.get(2L).getSensorCode()).isEqualTo("SENSOR-2");
+        assertThat(meterRegistry.get("sensor.registry.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should survive a failed warm-up and load sensors on demand")
+    void shouldSurviveFailedWarmUp() {
+        when(sensorRepository.findAll()).thenThrow(new DataAccessResourceFailureException("database down"));
+        when(sensorRepository.findById(1L)).thenReturn(Optional.of(sensor(1)));
+
+        sensorRegistry.warmUp();
+
+        assertThat(sensorRegistry.size()).isZero();
+        assertThat(sensorRegistry.find(1L)).isNotNull();
+        assertThat(sensorRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve cached sensors without querying the database")
+    void shouldServeCachedSensors() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1)));
+        sensorRegistry.refresh();
+
+        assertThat(sensorRegistry.find(1L)).isNotNull();
+        assertThat(sensorRegistry.find(1L)).isNotNull();
+
+        verify(sensorRepository, never()).findById(anyLong());
+        assertThat(meterRegistry.get("sensor.registry.lookups").tag("result", "hit").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should return null for unknown sensors")
+    void shouldReturnNullForUnknownSensor() {
+        when(sensorRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThat(sensorRegistry.find(42L)).isNull();
+        assertThat(sensorRegistry.get(42L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should load all misses of a batch with a single query")
+    void shouldPreloadMissesWithSingleQuery() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1)));
+        sensorRegistry.refresh();
+        when(sensorRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(sensor(2), sensor(3)));
+
+        sensorRegistry.preload(List.of(1L, 2L, 3L, 3L, 1L));
+
+        verify(sensorRepository, times(1)).findAllById(any());
+        assertThat(sensorRegistry.get(1L)).isNotNull();
+        assertThat(sensorRegistry.get(2L)).isNotNull();
+        assertThat(sensorRegistry.get(3L)).isNotNull();
+        assertThat(meterRegistry.get("sensor.registry.lookups").tag("result", "miss").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should not query the database when the whole batch is cached")
+    void shouldSkipQueryWhenBatchCached() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1), sensor(2)));
+        sensorRegistry.refresh();
+
+        sensorRegistry.preload(List.of(1L, 2L, 2L));
+
+        verify(sensorRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should reload an invalidated sensor on next lookup")
+    void shouldReloadInvalidatedSensor() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1)));
+        sensorRegistry.refresh();
+
+        Sensor updated = sensor(1);
+        updated.setStatus(SensorStatus.INACTIVE);
+        when(sensorRepository.findById(1L)).thenReturn(Optional.of(updated));
+
+        sensorRegistry.invalidate(1L);
+
+        assertThat(sensorRegistry.get(1L)).isNull();
+        assertThat(sensorRegistry.find(1L).getStatus()).isEqualTo(SensorStatus.INACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should replace the cache contents on refresh")
+    void shouldReplaceContentsOnRefresh() {
+        when(sensorRepository.findAll())
+                .thenReturn(List.of(sensor(1), sensor(2)))
+                .thenReturn(List.of(sensor(2)));
+
+        sensorRegistry.refresh();
+        sensorRegistry.refresh();
+
+        assertThat(sensorRegistry.get(1L)).isNull();
+        assertThat(sensorRegistry.get(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve sensors by code from the cache and on demand")
+    void shouldResolveSensorsByCode() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1)));
+        sensorRegistry.refresh();
+        when(sensorRepository.findBySensorCode("SENSOR-2")).thenReturn(Optional.of(sensor(2)));
+
+        assertThat(sensorRegistry.findByCode("SENSOR-1").getId()).isEqualTo(1L);
+        assertThat(sensorRegistry.findByCode("SENSOR-2").getId()).isEqualTo(2L);
+        assertThat(sensorRegistry.get(2L)).isNotNull();
+
+        sensorRegistry.invalidate(1L);
+        when(sensorRepository.findBySensorCode("SENSOR-1")).thenReturn(Optional.empty());
+
+        assertThat(sensorRegistry.findByCode("SENSOR-1")).isNull();
+        verify(sensorRepository, times(1)).findBySensorCode("SENSOR-2");
+    }
+
+    @Test
+    @DisplayName("Should load all unknown codes of a batch with a single query")
+    void shouldPreloadCodesWithSingleQuery() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1)));
+        sensorRegistry.refresh();
+        when(sensorRepository.findBySensorCodeIn(Set.of("SENSOR-2", "SENSOR-9"))).thenReturn(List.of(sensor(2)));
+
+        sensorRegistry.preloadCodes(Arrays.asList("SENSOR-1", "SENSOR-2", null, "SENSOR-9", "SENSOR-2"));
+
+        verify(sensorRepository, times(1)).findBySensorCodeIn(any());
+        assertThat(sensorRegistry.get(null, "SENSOR-1").getId()).isEqualTo(1L);
+        assertThat(sensorRegistry.get(null, "SENSOR-2").getId()).isEqualTo(2L);
+        assertThat(sensorRegistry.get(null, "SENSOR-9")).isNull();
+        assertThat(sensorRegistry.get(2L)).isNotNull();
+        assertThat(meterRegistry.get("sensor.registry.lookups").tag("result", "miss").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should pick up changed sensors incrementally, including changed codes")
+    void shouldRefreshChangedSensors() {
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor(1), sensor(2)));
+        // Never loaded: falls back to a full reload
+        sensorRegistry.refreshChanged();
+        verify(sensorRepository, never()).findByUpdatedAtGreaterThanEqual(any());
+
+        Sensor renamed = sensor(2);
+        renamed.setSensorCode("SENSOR-TWO");
+        renamed.setStatus(SensorStatus.INACTIVE);
+        when(sensorRepository.findByUpdatedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(List.of(renamed));
+
+        sensorRegistry.refreshChanged();
+
+        verify(sensorRepository, times(1)).findAll();
+        assertThat(sensorRegistry.get(2L).getStatus()).isEqualTo(SensorStatus.INACTIVE);
+        assertThat(sensorRegistry.get(null, "SENSOR-TWO")).isSameAs(renamed);
+        assertThat(sensorRegistry.get(null, "SENSOR-2")).isNull();
+        assertThat(sensorRegistry.get(null, "SENSOR-1")).isNotNull();
+    }
+}
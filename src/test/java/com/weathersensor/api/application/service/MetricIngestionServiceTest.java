@@ -1,14 +1,30 @@
 package com.weathersensor.api.application.service;
 
 import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
 import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.application.ingestion.AdaptiveWriteLimiter;
+import com.weathersensor.api.application.ingestion.IngestionBufferFullException;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import com.weathersensor.api.application.ingestion.IngestionReceiptNotFoundException;
+import com.weathersensor.api.application.ingestion.IngestionReceiptStore;
+import com.weathersensor.api.application.ingestion.MetricBatchWriter;
+import com.weathersensor.api.application.ingestion.MetricWriteBuffer;
+import com.weathersensor.api.application.ingestion.SensorWatermarkTracker;
 import com.weathersensor.api.application.mapper.MetricMapper;
+import com.weathersensor.api.application.registry.SensorRegistry;
 import com.weathersensor.api.domain.event.MetricIngestedEvent;
+import com.weathersensor.api.domain.event.MetricsBatchIngestedEvent;
 import com.weathersensor.api.domain.model.MetricData;
+import com.weathersensor.api.domain.model.MetricReading;
 import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
 import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.model.SensorStatus;
 import com.weathersensor.api.domain.repository.MetricDataRepository;
 import com.weathersensor.api.domain.repository.SensorRepository;
+import com.weathersensor.api.infrastructure.persistence.MetricDataStatelessWriter;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,14 +37,14 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +63,20 @@ class MetricIngestionServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private MetricWriteBuffer metricWriteBuffer;
+
+    @Mock
+    private MetricBatchWriter metricBatchWriter;
+
+    @Mock
+    private MetricDataStatelessWriter statelessWriter;
+
+    @Mock
+    private SensorRegistry sensorRegistry;
+
+    private IngestionReceiptStore receiptStore;
+
     private MetricIngestionService metricIngestionService;
 
     private Sensor testSensor;
@@ -57,12 +87,20 @@ class MetricIngestionServiceTest {
     @BeforeEach
     void setUp() {
         SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        receiptStore = new IngestionReceiptStore(meterRegistry, 100, 60_000);
         metricIngestionService = new MetricIngestionService(
                 metricDataRepository,
                 sensorRepository,
                 metricMapper,
                 eventPublisher,
-                meterRegistry
+                meterRegistry,
+                metricWriteBuffer,
+                metricBatchWriter,
+                statelessWriter,
+                sensorRegistry,
+                receiptStore,
+                new SensorWatermarkTracker(eventPublisher, meterRegistry, 300_000, 60),
+                new AdaptiveWriteLimiter(meterRegistry, true, 10, 0, 1_000, 2.0, 5, 250, 100, 5_000)
         );
 
         testSensor = Sensor.builder()
@@ -97,10 +135,11 @@ class MetricIngestionServiceTest {
     @Test
     @DisplayName("Should ingest metric data synchronously")
     void shouldIngestMetricDataSync() {
-        when(sensorRepository.findById(1L)).thenReturn(Optional.of(testSensor));
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
+        when(sensorRepository.getReferenceById(1L)).thenReturn(testSensor);
         when(metricMapper.toEntity(testRequest)).thenReturn(testMetricData);
         when(metricDataRepository.save(any(MetricData.class))).thenReturn(testMetricData);
-        when(metricMapper.toResponse(testMetricData)).thenReturn(testResponse);
+        when(metricMapper.toResponse(testMetricData, testSensor)).thenReturn(testResponse);
 
         MetricDataResponse result = metricIngestionService.ingestMetricData(testRequest);
 
@@ -109,7 +148,8 @@ class MetricIngestionServiceTest {
         assertThat(result.getSensorId()).isEqualTo(1L);
         assertThat(result.getMetricType()).isEqualTo(MetricType.TEMPERATURE);
 
-        verify(sensorRepository).findById(1L);
+        verify(sensorRegistry).find(1L);
+        verify(sensorRepository, never()).findById(anyLong());
         verify(metricDataRepository).save(any(MetricData.class));
         verify(eventPublisher).publishEvent(any(MetricIngestedEvent.class));
     }
@@ -117,7 +157,7 @@ class MetricIngestionServiceTest {
     @Test
     @DisplayName("Should throw exception when sensor not found (sync)")
     void shouldThrowExceptionWhenSensorNotFoundSync() {
-        when(sensorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(sensorRegistry.find(1L)).thenReturn(null);
 
         assertThatThrownBy(() -> metricIngestionService.ingestMetricData(testRequest))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -128,34 +168,58 @@ class MetricIngestionServiceTest {
     }
 
     @Test
-    @DisplayName("Should ingest metric data asynchronously")
-    void shouldIngestMetricDataAsync() throws Exception {
-        when(sensorRepository.findById(1L)).thenReturn(Optional.of(testSensor));
-        when(metricMapper.toEntity(testRequest)).thenReturn(testMetricData);
-        when(metricDataRepository.save(any(MetricData.class))).thenReturn(testMetricData);
+    @DisplayName("Should reject readings from an inactive sensor (sync)")
+    void shouldRejectInactiveSensorSync() {
+        testSensor.setStatus(SensorStatus.INACTIVE);
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
 
-        CompletableFuture<MetricData> future = metricIngestionService.ingestMetricAsync(testRequest);
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricData(testRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not accept readings");
 
-        MetricData result = future.get(2, TimeUnit.SECONDS);
+        verify(metricDataRepository, never()).save(any());
+    }
 
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(100L);
-        assertThat(result.getSensor()).isEqualTo(testSensor);
-        assertThat(result.getMetricType()).isEqualTo(MetricType.TEMPERATURE);
+    @Test
+    @DisplayName("Should hand async metric data to the write buffer")
+    void shouldIngestMetricDataAsync() {
+        MetricReading reading = new MetricReading(1L, MetricType.TEMPERATURE,
+                2350L, testRequest.getTimestamp());
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
+        when(metricMapper.toReading(testRequest, 1L)).thenReturn(reading);
+
+        metricIngestionService.ingestMetricAsync(testRequest);
+
+        ArgumentCaptor<IngestionReceipt> receipt = ArgumentCaptor.forClass(IngestionReceipt.class);
+        verify(metricWriteBuffer).submit(eq(reading), receipt.capture());
+        assertThat(receipt.getValue().getStatus()).isEqualTo(IngestionReceipt.Status.PENDING);
+        assertThat(receiptStore.find(receipt.getValue().getId())).isSameAs(receipt.getValue());
+        verifyNoInteractions(sensorRepository, metricDataRepository, eventPublisher);
+    }
 
-        verify(sensorRepository).findById(1L);
-        verify(metricDataRepository).save(any(MetricData.class));
-        verify(eventPublisher).publishEvent(any(MetricIngestedEvent.class));
+    @Test
+    @DisplayName("Should reject async metric data for unknown sensors up front")
+    void shouldRejectAsyncForUnknownSensor() {
+        when(sensorRegistry.find(1L)).thenReturn(null);
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricAsync(testRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sensor not found");
+
+        verifyNoInteractions(metricWriteBuffer);
+        assertThat(receiptStore.size()).isZero();
     }
 
     @Test
-    @DisplayName("Should handle multiple concurrent async ingestions")
-    void shouldHandleConcurrentAsyncIngestions() throws Exception {
-        when(sensorRepository.findById(anyLong())).thenReturn(Optional.of(testSensor));
-        when(metricMapper.toEntity(any())).thenReturn(testMetricData);
-        when(metricDataRepository.save(any(MetricData.class))).thenReturn(testMetricData);
+    @DisplayName("Should buffer multiple async ingestions without touching the database")
+    void shouldHandleConcurrentAsyncIngestions() {
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
+        when(metricMapper.toReading(any(), anyLong())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading(request.getSensorId(), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
 
-        CompletableFuture<?>[] futures = new CompletableFuture[10];
         for (int i = 0; i < 10; i++) {
             MetricDataRequest request = new MetricDataRequest(
                     1L,
@@ -163,27 +227,45 @@ class MetricIngestionServiceTest {
                     new BigDecimal("20." + i),
                     LocalDateTime.now()
             );
-            futures[i] = metricIngestionService.ingestMetricAsync(request);
+            metricIngestionService.ingestMetricAsync(request);
         }
 
-        CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+        verify(metricWriteBuffer, times(10)).submit(any(MetricReading.class), any(IngestionReceipt.class));
+        verify(metricDataRepository, never()).save(any(MetricData.class));
+        assertThat(receiptStore.size()).isEqualTo(10);
+    }
 
-        for (CompletableFuture<?> future : futures) {
-            assertThat(future.isDone()).isTrue();
-            assertThat(future.isCompletedExceptionally()).isFalse();
-        }
+    @Test
+    @DisplayName("Should propagate rejection when the write buffer is full")
+    void shouldPropagateRejectionWhenBufferFull() {
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
+        when(metricMapper.toReading(testRequest, 1L)).thenReturn(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2350L, testRequest.getTimestamp()));
+        doThrow(new IngestionBufferFullException("Ingestion buffer is full"))
+                .when(metricWriteBuffer).submit(any(MetricReading.class), any(IngestionReceipt.class));
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricAsync(testRequest))
+                .isInstanceOf(IngestionBufferFullException.class);
+
+        // The receipt of a rejected submission is never returned, so it is not kept
+        assertThat(receiptStore.size()).isZero();
+    }
 
-        verify(metricDataRepository, times(10)).save(any(MetricData.class));
-        verify(eventPublisher, times(10)).publishEvent(any(MetricIngestedEvent.class));
+    @Test
+    @DisplayName("Should report unknown ingestion receipts as not found")
+    void shouldRejectUnknownReceipt() {
+        assertThatThrownBy(() -> metricIngestionService.getIngestionReceipt("missing"))
+                .isInstanceOf(IngestionReceiptNotFoundException.class);
     }
 
     @Test
     @DisplayName("Should publish domain event when metric ingested (sync)")
     void shouldPublishDomainEventSync() {
-        when(sensorRepository.findById(1L)).thenReturn(Optional.of(testSensor));
+        when(sensorRegistry.find(1L)).thenReturn(testSensor);
+        when(sensorRepository.getReferenceById(1L)).thenReturn(testSensor);
         when(metricMapper.toEntity(testRequest)).thenReturn(testMetricData);
         when(metricDataRepository.save(any(MetricData.class))).thenReturn(testMetricData);
-        when(metricMapper.toResponse(testMetricData)).thenReturn(testResponse);
+        when(metricMapper.toResponse(testMetricData, testSensor)).thenReturn(testResponse);
 
         ArgumentCaptor<MetricIngestedEvent> eventCaptor = ArgumentCaptor.forClass(MetricIngestedEvent.class);
 
@@ -206,17 +288,20 @@ class MetricIngestionServiceTest {
                 new MetricDataRequest(1L, MetricType.WIND_SPEED, new BigDecimal("15"), LocalDateTime.now())
         );
 
-        when(sensorRepository.findById(1L)).thenReturn(Optional.of(testSensor));
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRepository.getReferenceById(1L)).thenReturn(testSensor);
         when(metricMapper.toEntity(any())).thenReturn(testMetricData);
-        when(metricDataRepository.saveAll(anyList())).thenReturn(List.of(testMetricData, testMetricData, testMetricData));
-        when(metricMapper.toResponseList(anyList())).thenReturn(List.of(testResponse, testResponse, testResponse));
+        when(statelessWriter.insert(anyList())).thenReturn(List.of(testMetricData, testMetricData, testMetricData));
+        when(metricMapper.toResponse(any(MetricData.class), eq(testSensor))).thenReturn(testResponse);
 
         List<MetricDataResponse> results = metricIngestionService.ingestMetricDataBatch(requests);
 
         assertThat(results).hasSize(3);
 
-        verify(sensorRepository, times(3)).findById(1L);
-        verify(metricDataRepository).saveAll(anyList());
+        verify(sensorRegistry).preload(List.of(1L, 1L, 1L));
+        verify(sensorRepository, never()).findById(anyLong());
+        verify(statelessWriter).insert(anyList());
+        verify(metricDataRepository, never()).saveAll(anyList());
         verify(eventPublisher, times(3)).publishEvent(any(MetricIngestedEvent.class));
     }
 
@@ -224,12 +309,286 @@ class MetricIngestionServiceTest {
     @DisplayName("Should throw exception in batch when sensor not found")
     void shouldThrowExceptionInBatchWhenSensorNotFound() {
         List<MetricDataRequest> requests = List.of(testRequest);
-        when(sensorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(sensorRegistry.get(1L, null)).thenReturn(null);
 
         assertThatThrownBy(() -> metricIngestionService.ingestMetricDataBatch(requests))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Sensor not found with ID: 1");
 
+        verify(statelessWriter, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when a sensor is inactive")
+    void shouldRejectBatchWhenSensorInactive() {
+        Sensor inactiveSensor = Sensor.builder()
+                .id(2L)
+                .sensorCode("TEST-002")
+                .status(SensorStatus.INACTIVE)
+                .build();
+        List<MetricDataRequest> requests = List.of(
+                testRequest,
+                new MetricDataRequest(2L, MetricType.TEMPERATURE, new BigDecimal("21"), LocalDateTime.now())
+        );
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRegistry.get(2L, null)).thenReturn(inactiveSensor);
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricDataBatch(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sensor 2 is INACTIVE");
+
+        verify(statelessWriter, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch with the position of an item that breaks the field rules")
+    void shouldRejectBatchWithInvalidItem() {
+        List<MetricDataRequest> requests = List.of(
+                testRequest,
+                new MetricDataRequest(1L, null, new BigDecimal("1500"), LocalDateTime.now())
+        );
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricDataBatch(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Item 2: metricType: Metric type is required; value: Value must be <= 1000");
+
+        verifyNoInteractions(sensorRegistry, statelessWriter, metricBatchWriter);
+    }
+
+    @Test
+    @DisplayName("Should bulk load large batches with COPY after one registry lookup")
+    void shouldBulkLoadLargeBatches() {
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20"), LocalDateTime.now()),
+                new MetricDataRequest(1L, MetricType.HUMIDITY, new BigDecimal("60"), LocalDateTime.now())
+        );
+
+        when(metricBatchWriter.usesBulkPath(2)).thenReturn(true);
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(metricMapper.toReading(any(), anyLong())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading(request.getSensorId(), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
+        when(metricMapper.toResponse(any(MetricReading.class), eq(testSensor))).thenReturn(testResponse);
+        when(metricBatchWriter.writeAll(anyList(), eq("batch"))).thenReturn(2);
+
+        List<MetricDataResponse> results = metricIngestionService.ingestMetricDataBatch(requests);
+
+        assertThat(results).hasSize(2);
+        verify(sensorRegistry).preload(List.of(1L, 1L));
+        verify(sensorRepository, never()).findById(anyLong());
         verify(metricDataRepository, never()).saveAll(anyList());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should reject the whole bulk batch when a sensor is missing")
+    void shouldRejectBulkBatchWhenSensorMissing() {
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20"), LocalDateTime.now()),
+                new MetricDataRequest(2L, MetricType.TEMPERATURE, new BigDecimal("21"), LocalDateTime.now())
+        );
+
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRegistry.get(2L, null)).thenReturn(null);
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricDataBatch(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sensor not found with ID: 2");
+
+        verify(metricBatchWriter, never()).writeAll(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should resolve sensor codes of a batch with one registry preload")
+    @SuppressWarnings("unchecked")
+    void shouldResolveSensorCodesOfBatch() {
+        MetricDataRequest byCode = MetricDataRequest.builder()
+                .sensorCode("TEST-001")
+                .metricType(MetricType.HUMIDITY)
+                .value(new BigDecimal("60"))
+                .timestamp(LocalDateTime.now())
+                .build();
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20"), LocalDateTime.now()),
+                byCode);
+
+        when(metricBatchWriter.usesBulkPath(2)).thenReturn(true);
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRegistry.get(null, "TEST-001")).thenReturn(testSensor);
+        when(metricMapper.toReading(any(), anyLong())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading((Long) invocation.getArgument(1), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
+        when(metricBatchWriter.writeAll(anyList(), eq("batch"))).thenReturn(2);
+
+        metricIngestionService.ingestMetricDataBatch(requests);
+
+        verify(sensorRegistry).preloadCodes(Arrays.asList(null, "TEST-001"));
+        verify(sensorRegistry, never()).findByCode(any());
+        ArgumentCaptor<List<MetricReading>> written = ArgumentCaptor.forClass(List.class);
+        verify(metricBatchWriter).writeAll(written.capture(), eq("batch"));
+        assertThat(written.getValue()).extracting(MetricReading::getSensorId).containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch naming an unknown sensor code")
+    void shouldRejectBatchWithUnknownSensorCode() {
+        List<MetricDataRequest> requests = List.of(MetricDataRequest.builder()
+                .sensorCode("NOPE")
+                .metricType(MetricType.TEMPERATURE)
+                .value(new BigDecimal("20"))
+                .timestamp(LocalDateTime.now())
+                .build());
+
+        assertThatThrownBy(() -> metricIngestionService.ingestMetricDataBatch(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Sensor not found with code: NOPE");
+
+        verify(metricBatchWriter, never()).writeAll(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should look up the sensor of a single reading by code")
+    void shouldIngestAsyncBySensorCode() {
+        MetricDataRequest request = MetricDataRequest.builder()
+                .sensorCode("TEST-001")
+                .metricType(MetricType.TEMPERATURE)
+                .value(new BigDecimal("23.5"))
+                .timestamp(LocalDateTime.now())
+                .build();
+        MetricReading reading = new MetricReading(1L, MetricType.TEMPERATURE, 2350L, request.getTimestamp());
+        when(sensorRegistry.findByCode("TEST-001")).thenReturn(testSensor);
+        when(metricMapper.toReading(request, 1L)).thenReturn(reading);
+
+        metricIngestionService.ingestMetricAsync(request);
+
+        verify(metricWriteBuffer).submit(eq(reading), any(IngestionReceipt.class));
+        verify(sensorRegistry, never()).find(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should store the valid items of a partial batch and report the others by position")
+    @SuppressWarnings("unchecked")
+    void shouldIngestPartialBatch() {
+        Sensor inactiveSensor = Sensor.builder().id(2L).status(SensorStatus.INACTIVE).build();
+        List<MetricDataRequest> requests = Arrays.asList(
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20"), LocalDateTime.now()),
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("1500"), LocalDateTime.now()),
+                new MetricDataRequest(2L, MetricType.TEMPERATURE, new BigDecimal("21"), LocalDateTime.now()),
+                new MetricDataRequest(3L, MetricType.TEMPERATURE, new BigDecimal("22"), LocalDateTime.now()),
+                null,
+                new MetricDataRequest(1L, MetricType.HUMIDITY, new BigDecimal("60"), LocalDateTime.now())
+        );
+
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRegistry.get(2L, null)).thenReturn(inactiveSensor);
+        when(sensorRegistry.get(3L, null)).thenReturn(null);
+        when(metricMapper.toReading(any(), anyLong())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading(request.getSensorId(), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
+        // One of the two valid items is already stored
+        when(metricBatchWriter.writeValidated(anyList(), eq("batch"))).thenReturn(1);
+
+        IngestionSummaryResponse summary = metricIngestionService.ingestMetricDataBatchPartial(requests);
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.getDuplicates()).isEqualTo(1);
+        assertThat(summary.getRejected()).isEqualTo(4);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getRecord)
+                .containsExactly(2L, 3L, 4L, 5L);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getMessage)
+                .containsExactly(
+                        "value: Value must be <= 1000",
+                        "Sensor 2 is INACTIVE and does not accept readings",
+                        "Sensor not found with ID: 3",
+                        "Empty record");
+
+        ArgumentCaptor<List<MetricReading>> written = ArgumentCaptor.forClass(List.class);
+        verify(metricBatchWriter).writeValidated(written.capture(), eq("batch"));
+        assertThat(written.getValue()).extracting(MetricReading::getMetricType)
+                .containsExactly(MetricType.TEMPERATURE, MetricType.HUMIDITY);
+        verify(sensorRegistry).preload(List.of(1L, 1L, 2L, 3L, 1L));
+        verifyNoInteractions(statelessWriter, metricDataRepository);
+    }
+
+    @Test
+    @DisplayName("Should expand a sensor reading into one row per metric after one sensor lookup")
+    @SuppressWarnings("unchecked")
+    void shouldIngestSensorReading() {
+        SensorReadingRequest request = SensorReadingRequest.builder()
+                .sensorId(1L)
+                .timestamp(LocalDateTime.now())
+                .values(Map.of(
+                        MetricType.PRESSURE, new BigDecimal("1013.2"),
+                        MetricType.TEMPERATURE, new BigDecimal("23.5")))
+                .build();
+
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(sensorRepository.getReferenceById(1L)).thenReturn(testSensor);
+        when(metricMapper.toReadings(request, 1L)).thenReturn(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2350L, request.getTimestamp()),
+                new MetricReading(1L, MetricType.PRESSURE, 101_320L, request.getTimestamp())));
+        when(metricMapper.toEntity(any(MetricReading.class))).thenAnswer(invocation -> MetricData.builder().build());
+        when(statelessWriter.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(metricMapper.toResponse(any(MetricData.class), eq(testSensor))).thenReturn(testResponse);
+
+        List<MetricDataResponse> results = metricIngestionService.ingestSensorReading(request);
+
+        assertThat(results).hasSize(2);
+        verify(sensorRegistry).preload(List.of(1L));
+
+        ArgumentCaptor<List<MetricData>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(statelessWriter).insert(inserted.capture());
+        assertThat(inserted.getValue()).hasSize(2).allMatch(metricData -> metricData.getSensor() == testSensor);
+
+        // One event for the whole reading instead of one per metric
+        verify(eventPublisher).publishEvent(any(MetricsBatchIngestedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(MetricIngestedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should bulk load sensor readings that expand past the COPY threshold")
+    void shouldBulkLoadSensorReadings() {
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<SensorReadingRequest> requests = List.of(
+                new SensorReadingRequest(1L, timestamp, Map.of(MetricType.TEMPERATURE, new BigDecimal("20"))),
+                new SensorReadingRequest(1L, timestamp.minusSeconds(1), Map.of(MetricType.TEMPERATURE, new BigDecimal("21"))));
+
+        when(metricBatchWriter.usesBulkPath(2)).thenReturn(true);
+        when(sensorRegistry.get(1L, null)).thenReturn(testSensor);
+        when(metricMapper.toReadings(any(), anyLong())).thenAnswer(invocation -> {
+            SensorReadingRequest request = invocation.getArgument(0);
+            return List.of(new MetricReading(request.getSensorId(), MetricType.TEMPERATURE,
+                    MetricValues.toScaled(request.getValues().get(MetricType.TEMPERATURE)), request.getTimestamp()));
+        });
+        when(metricMapper.toResponse(any(MetricReading.class), eq(testSensor))).thenReturn(testResponse);
+        when(metricBatchWriter.writeAll(anyList(), eq("reading"))).thenReturn(2);
+
+        List<MetricDataResponse> results = metricIngestionService.ingestSensorReadings(requests);
+
+        assertThat(results).hasSize(2);
+        verify(sensorRegistry).preload(List.of(1L, 1L));
+        verifyNoInteractions(statelessWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject a sensor reading for an inactive sensor")
+    void shouldRejectSensorReadingForInactiveSensor() {
+        Sensor inactiveSensor = Sensor.builder().id(2L).status(SensorStatus.INACTIVE).build();
+        SensorReadingRequest request = new SensorReadingRequest(
+                2L, LocalDateTime.now(), Map.of(MetricType.TEMPERATURE, new BigDecimal("20")));
+        when(sensorRegistry.get(2L, null)).thenReturn(inactiveSensor);
+
+        assertThatThrownBy(() -> metricIngestionService.ingestSensorReading(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Sensor 2 is INACTIVE");
+
+        verifyNoInteractions(statelessWriter, metricBatchWriter);
+    }
+}
@@ -5,6 +5,8 @@ import com.weathersensor.api.application.dto.response.AggregatedMetricResponse;
 import com.weathersensor.api.domain.model.MetricData;
 import com.weathersensor.api.domain.model.MetricType;
 import com.weathersensor.api.domain.repository.MetricDataRepository;
+import com.weathersensor.api.infrastructure.persistence.SensorReadingJdbcRepository;
+import com.weathersensor.api.infrastructure.persistence.StorageLayout;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +33,9 @@ class MetricQueryServiceTest {
     @Mock
     private MetricDataRepository metricDataRepository;
 
+    @Mock
+    private SensorReadingJdbcRepository sensorReadingRepository;
+
     private MetricQueryService metricQueryService;
 
     private LocalDateTime startDate;
@@ -43,9 +48,11 @@ class MetricQueryServiceTest {
 
         // Use SimpleMeterRegistry instead of mocking (simpler and more reliable)
         SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
-        metricQueryService = new MetricQueryService(metricDataRepository, meterRegistry);
+        metricQueryService = new MetricQueryService(
+                metricDataRepository, sensorReadingRepository, meterRegistry, StorageLayout.NARROW);
 
-        when(metricDataRepository.count(ArgumentMatchers.<Specification<MetricData>>any()))
+        // Lenient: the wide layout test counts from the aggregation result instead
+        lenient().when(metricDataRepository.count(ArgumentMatchers.<Specification<MetricData>>any()))
                 .thenReturn(0L);
     }
 
@@ -312,4 +319,35 @@ class MetricQueryServiceTest {
                 eq("MIN")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should aggregate from the wide table with the wide layout")
+    void shouldAggregateFromWideLayout() {
+        // Given
+        MetricQueryService wideQueryService = new MetricQueryService(
+                metricDataRepository, sensorReadingRepository, new SimpleMeterRegistry(), StorageLayout.WIDE);
+        MetricQueryRequest request = MetricQueryRequest.builder()
+                .metricTypes(List.of(MetricType.TEMPERATURE, MetricType.HUMIDITY))
+                .statistic(MetricQueryRequest.StatisticType.AVG)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+
+        List<Object[]> mockResults = new ArrayList<>();
+        mockResults.add(new Object[]{MetricType.TEMPERATURE, new BigDecimal("21.456"), 10L});
+        mockResults.add(new Object[]{MetricType.HUMIDITY, new BigDecimal("60.00"), 8L});
+
+        when(sensorReadingRepository.calculateAggregatedStatistics(
+                isNull(), anyList(), eq(startDate), eq(endDate), eq(MetricQueryRequest.StatisticType.AVG)))
+                .thenReturn(mockResults);
+
+        // When
+        List<AggregatedMetricResponse> results = wideQueryService.queryAggregatedMetrics(request);
+
+        // Then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getValue()).isEqualByComparingTo("21.46");
+        assertThat(results).allMatch(result -> result.getDataPointsCount() == 18L);
+        verify(metricDataRepository, never()).calculateAggregatedStatistics(any(), any(), any(), any(), any());
+    }
+}
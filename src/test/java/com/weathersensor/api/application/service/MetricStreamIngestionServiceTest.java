@@ -0,0 +1,296 @@
+package com.weathersensor.api.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
+import com.weathersensor.api.application.ingestion.AdaptiveWriteLimiter;
+import com.weathersensor.api.application.ingestion.IngestionReceipt;
+import com.weathersensor.api.application.ingestion.IngestionReceiptStore;
+import com.weathersensor.api.application.ingestion.MetricBatchWriter;
+import com.weathersensor.api.application.ingestion.MetricFrameWriter;
+import com.weathersensor.api.application.mapper.MetricMapper;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.model.SensorStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MetricStreamIngestionService Unit Tests")
+class MetricStreamIngestionServiceTest {
+
+    @Mock
+    private SensorRegistry sensorRegistry;
+
+    @Mock
+    private MetricBatchWriter metricBatchWriter;
+
+    @Mock
+    private MetricMapper metricMapper;
+
+    private final IngestionReceiptStore receiptStore = new IngestionReceiptStore(new SimpleMeterRegistry(), 100, 60_000);
+
+    private MetricStreamIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveWriteLimiter writeLimiter = new AdaptiveWriteLimiter(
+                meterRegistry, true, 10, 0, 1_000, 2.0, 5, 250, 100, 5_000);
+        service = new MetricStreamIngestionService(objectMapper, sensorRegistry,
+                metricBatchWriter, writeLimiter, metricMapper, receiptStore, meterRegistry, 2, 10);
+
+        when(sensorRegistry.get(1L, null)).thenReturn(Sensor.builder().id(1L).status(SensorStatus.ACTIVE).build());
+        when(metricMapper.toReading(any())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading(request.getSensorId(), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
+        when(metricBatchWriter.writeValidated(anyList(), eq("stream")))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    private static String record(long sensorId, String value) {
+        return "{\"sensorId\":" + sensorId + ",\"metricType\":\"TEMPERATURE\",\"value\":" + value
+                + ",\"timestamp\":\"2024-01-15T10:30:00\"}";
+    }
+
+    private IngestionSummaryResponse ingest(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return service.ingestStream(new ByteArrayInputStream(body));
+    }
+
+    @Test
+    @DisplayName("Should write valid records in fixed-size chunks")
+    void shouldWriteInChunks() throws IOException {
+        IngestionSummaryResponse summary = ingest(
+                record(1, "20.1"), record(1, "20.2"), record(1, "20.3"), record(1, "20.4"), record(1, "20.5"));
+
+        assertThat(summary.getAccepted()).isEqualTo(5);
+        assertThat(summary.getRejected()).isZero();
+        assertThat(summary.getErrors()).isEmpty();
+        verify(metricBatchWriter, times(3)).writeValidated(anyList(), eq("stream"));
+    }
+
+    @Test
+    @DisplayName("Should count records already stored as duplicates")
+    void shouldCountDuplicates() throws IOException {
+        // Only one row of each chunk is new
+        when(metricBatchWriter.writeValidated(anyList(), eq("stream"))).thenReturn(1);
+
+        IngestionSummaryResponse summary = ingest(record(1, "20.1"), record(1, "20.2"), record(1, "20.3"));
+
+        assertThat(summary.getAccepted()).isEqualTo(2);
+        assertThat(summary.getDuplicates()).isEqualTo(1);
+        assertThat(summary.getRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid records without failing the stream")
+    void shouldRejectInvalidRecords() throws IOException {
+        IngestionSummaryResponse summary = ingest(
+                record(1, "20.1"),
+                record(1, "1500"),
+                "{\"sensorId\":1,\"metricType\":\"RADIATION\",\"value\":1,\"timestamp\":\"2024-01-15T10:30:00\"}",
+                record(7, "20.2"),
+                record(1, "20.3"));
+
+        assertThat(summary.getAccepted()).isEqualTo(2);
+        assertThat(summary.getRejected()).isEqualTo(3);
+        assertThat(summary.isTruncated()).isFalse();
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getRecord)
+                .containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getMessage)
+                .anySatisfy(message -> assertThat(message).contains("Value must be <= 1000"))
+                .anySatisfy(message -> assertThat(message).contains("Sensor not found with ID: 7"));
+    }
+
+    @Test
+    @DisplayName("Should read the clock again before rejecting a live record newer than the chunk's clock read")
+    void shouldRereadClockBeforeRejectingFutureTimestamps() throws IOException {
+        InputStream body = new InputStream() {
+            private InputStream lines;
+
+            @Override
+            public int read() throws IOException {
+                if (lines == null) {
+                    // Sampled after the stream started, i.e. after its first clock read
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    LocalDateTime sampled = LocalDateTime.now();
+                    lines = new ByteArrayInputStream(String.join("\n",
+                            record(1, "20.1").replace("2024-01-15T10:30:00", sampled.toString()),
+                            record(1, "20.2").replace("2024-01-15T10:30:00", sampled.plusDays(1).toString()))
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                return lines.read();
+            }
+        };
+
+        IngestionSummaryResponse summary = service.ingestStream(body);
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getMessage)
+                .containsExactly("timestamp: Timestamp cannot be in the future");
+    }
+
+    @Test
+    @DisplayName("Should resolve sensor codes with one registry preload per chunk")
+    @SuppressWarnings("unchecked")
+    void shouldResolveSensorCodesPerChunk() throws IOException {
+        when(sensorRegistry.get(null, "SENSOR-001")).thenReturn(Sensor.builder().id(1L).status(SensorStatus.ACTIVE).build());
+        when(metricMapper.toReading(any(), anyLong())).thenAnswer(invocation -> {
+            MetricDataRequest request = invocation.getArgument(0);
+            return new MetricReading((Long) invocation.getArgument(1), request.getMetricType(),
+                    MetricValues.toScaled(request.getValue()), request.getTimestamp());
+        });
+        String byCode = "{\"sensorCode\":\"%s\",\"metricType\":\"TEMPERATURE\",\"value\":20.1,"
+                + "\"timestamp\":\"2024-01-15T10:30:00\"}";
+
+        IngestionSummaryResponse summary = ingest(
+                byCode.formatted("SENSOR-001"), byCode.formatted("NOPE"), record(1, "20.2"));
+
+        assertThat(summary.getAccepted()).isEqualTo(2);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getMessage)
+                .containsExactly("Sensor not found with code: NOPE");
+        verify(sensorRegistry).preloadCodes(List.of("SENSOR-001", "NOPE"));
+
+        ArgumentCaptor<List<MetricReading>> written = ArgumentCaptor.forClass(List.class);
+        verify(metricBatchWriter, times(2)).writeValidated(written.capture(), eq("stream"));
+        assertThat(written.getAllValues().stream().flatMap(List::stream).map(MetricReading::getSensorId))
+                .containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should record the stream outcome on its receipt")
+    void shouldRecordReceipt() throws IOException {
+        IngestionSummaryResponse summary = ingest(record(1, "20.1"), record(7, "20.2"), record(1, "20.3"));
+
+        IngestionReceipt receipt = receiptStore.find(summary.getReceiptId());
+        assertThat(receipt).isNotNull();
+        assertThat(receipt.getSubmitted()).isEqualTo(3);
+        assertThat(receipt.getCommitted()).isEqualTo(2);
+        assertThat(receipt.getFailed()).isEqualTo(1);
+        assertThat(receipt.getStatus()).isEqualTo(IngestionReceipt.Status.PARTIAL);
+        assertThat(receipt.getCommittedWatermark()).isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30));
+    }
+
+    @Test
+    @DisplayName("Should reject records of inactive sensors")
+    void shouldRejectInactiveSensor() throws IOException {
+        when(sensorRegistry.get(2L, null)).thenReturn(Sensor.builder().id(2L).status(SensorStatus.INACTIVE).build());
+
+        IngestionSummaryResponse summary = ingest(record(2, "20.1"));
+
+        assertThat(summary.getAccepted()).isZero();
+        assertThat(summary.getErrors().get(0).getMessage()).contains("does not accept readings");
+    }
+
+    @Test
+    @DisplayName("Should truncate the stream at malformed JSON and keep earlier records")
+    void shouldTruncateAtMalformedJson() throws IOException {
+        IngestionSummaryResponse summary = ingest(
+                record(1, "20.1"),
+                "{\"sensorId\":1,,}",
+                record(1, "20.2"));
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.isTruncated()).isTrue();
+        assertThat(summary.getErrors()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should cap the number of reported errors")
+    void shouldCapReportedErrors() throws IOException {
+        String[] lines = new String[25];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = record(1, "5000");
+        }
+
+        IngestionSummaryResponse summary = ingest(lines);
+
+        assertThat(summary.getRejected()).isEqualTo(25);
+        assertThat(summary.getErrors()).hasSize(10);
+        verify(metricBatchWriter, never()).writeValidated(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should accept an empty stream")
+    void shouldAcceptEmptyStream() throws IOException {
+        IngestionSummaryResponse summary = service.ingestStream(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(summary.getAccepted()).isZero();
+        assertThat(summary.getRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ingest binary frames through the same pipeline")
+    void shouldIngestBinaryFrames() throws IOException {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        byte[] frame = MetricFrameWriter.encode(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2010L, timestamp),
+                new MetricReading(1L, MetricType.HUMIDITY, 150_000L, timestamp),
+                new MetricReading(7L, MetricType.TEMPERATURE, 2020L, timestamp),
+                new MetricReading(1L, MetricType.PRESSURE, 99_050L, timestamp)));
+
+        IngestionSummaryResponse summary = service.ingestFrames(new ByteArrayInputStream(frame));
+
+        assertThat(summary.getAccepted()).isEqualTo(2);
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getErrors())
+                .extracting(IngestionSummaryResponse.RecordError::getMessage)
+                .containsExactlyInAnyOrder("value: Value must be <= 1000", "Sensor not found with ID: 7");
+        verify(metricMapper, never()).toReading(any());
+    }
+
+    @Test
+    @DisplayName("Should truncate a binary stream at an incomplete record")
+    void shouldTruncateIncompleteBinaryRecord() throws IOException {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        byte[] frame = MetricFrameWriter.encode(List.of(
+                new MetricReading(1L, MetricType.TEMPERATURE, 2010L, timestamp),
+                new MetricReading(1L, MetricType.TEMPERATURE, 2020L, timestamp)));
+
+        IngestionSummaryResponse summary = service.ingestFrames(
+                new ByteArrayInputStream(Arrays.copyOf(frame, frame.length - 2)));
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.isTruncated()).isTrue();
+        assertThat(summary.getErrors().get(0).getRecord()).isEqualTo(2L);
+    }
+}
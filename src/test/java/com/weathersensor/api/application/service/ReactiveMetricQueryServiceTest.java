@@ -0,0 +1,116 @@
+package com.weathersensor.api.application.service;
+
+import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.infrastructure.persistence.ReactiveMetricDataRepository;
+import com.weathersensor.api.infrastructure.persistence.ReactiveMetricDataRepository.AggregatedValue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveMetricQueryService Unit Tests")
+class ReactiveMetricQueryServiceTest {
+
+    @Mock
+    private ReactiveMetricDataRepository metricDataRepository;
+
+    private ReactiveMetricQueryService queryService;
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    @BeforeEach
+    void setUp() {
+        startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        endDate = LocalDateTime.of(2024, 1, 7, 23, 59);
+        queryService = new ReactiveMetricQueryService(metricDataRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should aggregate per metric type with data point count")
+    void shouldAggregatePerMetricType() {
+        // Given
+        MetricQueryRequest request = MetricQueryRequest.builder()
+                .sensorIds(List.of(1L))
+                .metricTypes(List.of(MetricType.TEMPERATURE))
+                .statistic(MetricQueryRequest.StatisticType.AVG)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+
+        when(metricDataRepository.calculateAggregatedStatistics(
+                anyList(), anyList(), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(MetricQueryRequest.StatisticType.AVG)))
+                .thenReturn(Flux.just(new AggregatedValue(MetricType.TEMPERATURE, new BigDecimal("23.456"))));
+        when(metricDataRepository.count(anyList(), anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(42L));
+
+        // When / Then
+        StepVerifier.create(queryService.queryAggregatedMetrics(request))
+                .assertNext(results -> {
+                    assertThat(results).hasSize(1);
+                    assertThat(results.get(0).getMetricType()).isEqualTo(MetricType.TEMPERATURE);
+                    assertThat(results.get(0).getValue()).isEqualByComparingTo("23.46");
+                    assertThat(results.get(0).getUnit()).isEqualTo("°C");
+                    assertThat(results.get(0).getDataPointsCount()).isEqualTo(42L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a date range over one month without querying")
+    void shouldRejectRangeOverOneMonth() {
+        // Given
+        MetricQueryRequest request = MetricQueryRequest.builder()
+                .metricTypes(List.of(MetricType.TEMPERATURE))
+                .statistic(MetricQueryRequest.StatisticType.MAX)
+                .startDate(startDate)
+                .endDate(startDate.plusMonths(2))
+                .build();
+
+        // When / Then
+        StepVerifier.create(queryService.queryAggregatedMetrics(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(metricDataRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream raw readings for all metric types when none requested")
+    void shouldStreamRawReadingsForAllTypes() {
+        // Given
+        when(metricDataRepository.streamRaw(isNull(), eq(List.of(MetricType.values())), eq(startDate), eq(endDate)))
+                .thenReturn(Flux.empty());
+
+        // When / Then
+        StepVerifier.create(queryService.streamRawMetricData(null, null, startDate, endDate))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a raw stream whose start is after its end")
+    void shouldRejectInvertedRawRange() {
+        StepVerifier.create(queryService.streamRawMetricData(null, null, endDate, startDate))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(metricDataRepository);
+    }
+}
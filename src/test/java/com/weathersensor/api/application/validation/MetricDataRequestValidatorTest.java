@@ -0,0 +1,91 @@
+package com.weathersensor.api.application.validation;
+
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.domain.model.MetricType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MetricDataRequestValidator Unit Tests")
+class MetricDataRequestValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    private static String beanValidation(MetricDataRequest request) {
+        String violations = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return violations.isEmpty() ? null : violations;
+    }
+
+    @Test
+    @DisplayName("Should report the same violations and messages as the DTO constraints")
+    void shouldMatchBeanValidation() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("23.5"), past),
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("-100.0"), past),
+                new MetricDataRequest(1L, MetricType.PRESSURE, new BigDecimal("1000.00"), past),
+                new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("-100.01"), past),
+                new MetricDataRequest(1L, MetricType.PRESSURE, new BigDecimal("1000.01"), past),
+                new MetricDataRequest(0L, MetricType.HUMIDITY, new BigDecimal("50"), past),
+                new MetricDataRequest(-5L, MetricType.HUMIDITY, new BigDecimal("50"), future),
+                new MetricDataRequest(1L, MetricType.WIND_SPEED, new BigDecimal("3"), future),
+                new MetricDataRequest(null, null, null, null),
+                new MetricDataRequest(null, MetricType.HUMIDITY, new BigDecimal("2000"), past),
+                new MetricDataRequest(null, "SENSOR-001", MetricType.TEMPERATURE, new BigDecimal("23.5"), past),
+                new MetricDataRequest(1L, "SENSOR-001", MetricType.TEMPERATURE, new BigDecimal("23.5"), past),
+                new MetricDataRequest(0L, "SENSOR-001", MetricType.TEMPERATURE, new BigDecimal("23.5"), future),
+                new MetricDataRequest(null, "", MetricType.TEMPERATURE, new BigDecimal("23.5"), past),
+                new MetricDataRequest(null, "S".repeat(51), null, new BigDecimal("23.5"), past));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (MetricDataRequest request : requests) {
+            assertThat(MetricDataRequestValidator.validate(request, now))
+                    .as(request.toString())
+                    .isEqualTo(beanValidation(request));
+        }
+    }
+
+    @Test
+    @DisplayName("Should compare timestamps against the clock read passed in")
+    void shouldUseGivenClockRead() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        MetricDataRequest request = new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20"), now);
+
+        assertThat(MetricDataRequestValidator.validate(request, now)).isNull();
+        assertThat(MetricDataRequestValidator.validate(request, now.minusNanos(1)))
+                .isEqualTo("timestamp: Timestamp cannot be in the future");
+    }
+
+    @Test
+    @DisplayName("Should describe a missing record")
+    void shouldRejectNull() {
+        assertThat(MetricDataRequestValidator.validate(null, LocalDateTime.now())).isEqualTo("Empty record");
+    }
+}
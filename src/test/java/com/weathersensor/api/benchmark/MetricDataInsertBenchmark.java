@@ -0,0 +1,130 @@
+package com.weathersensor.api.benchmark;
+
+import com.weathersensor.api.domain.model.MetricData;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.model.SensorStatus;
+import com.weathersensor.api.domain.repository.MetricDataRepository;
+import com.weathersensor.api.domain.repository.SensorRepository;
+import com.weathersensor.api.infrastructure.persistence.MetricDataStatelessWriter;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Insert throughput benchmark for MetricData against a real PostgreSQL.
+ *
+ * Compares rows/second for:
+ * - saveAll() with pooled sequence IDs and hibernate.jdbc.batch_size
+ * - StatelessSession inserts with JDBC batching
+ *
+ * Excluded from the default test task; run with {@code ./gradlew benchmarkTest}.
+ * The IDENTITY baseline can be reproduced by checking out the commit before V5.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("MetricData Insert Benchmark")
+class MetricDataInsertBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int WARMUP_ROWS = 5_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("weather_sensor_bench")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.com.weathersensor.api", () -> "INFO");
+    }
+
+    @Autowired
+    private MetricDataRepository metricDataRepository;
+
+    @Autowired
+    private SensorRepository sensorRepository;
+
+    @Autowired
+    private MetricDataStatelessWriter statelessWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Sensor sensor;
+
+    @BeforeEach
+    void setUp() {
+        metricDataRepository.deleteAllInBatch();
+        sensor = sensorRepository.save(Sensor.builder()
+                .sensorCode("BENCH-" + System.nanoTime())
+                .location("Benchmark")
+                .status(SensorStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("saveAll() with pooled sequence and JDBC batching")
+    void saveAllThroughput() {
+        report("saveAll (batched)", list -> metricDataRepository.saveAll(list));
+    }
+
+    @Test
+    @DisplayName("StatelessSession with JDBC batching")
+    void statelessSessionThroughput() {
+        report("StatelessSession (batched)", statelessWriter::insert);
+    }
+
+    private void report(String label, Consumer<List<MetricData>> writer) {
+        run(writer, WARMUP_ROWS);
+        double seconds = run(writer, ROWS);
+        double rowsPerSecond = ROWS / seconds;
+
+        System.out.printf("[benchmark] %-28s %,d rows in %.2f s -> %,.0f rows/s%n",
+                label, ROWS, seconds, rowsPerSecond);
+
+        Assertions.assertTrue(rowsPerSecond > 0);
+    }
+
+    private double run(Consumer<List<MetricData>> writer, int rows) {
+        List<MetricData> metrics = buildMetrics(rows);
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> writer.accept(metrics));
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    private List<MetricData> buildMetrics(int rows) {
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        MetricType[] types = MetricType.values();
+        List<MetricData> metrics = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            metrics.add(MetricData.builder()
+                    .sensor(sensor)
+                    .metricType(types[i % types.length])
+                    .value(BigDecimal.valueOf(i % 500, 1))
+                    .timestamp(base.plusNanos(i * 1_000L))
+                    .build());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,61 @@
+package com.weathersensor.api.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricValues Unit Tests")
+class MetricValuesTest {
+
+    private static long parse(String text) {
+        return MetricValues.parse(text, 0, text.length());
+    }
+
+    @Test
+    @DisplayName("Should parse decimals into hundredths, rounding half-up like BigDecimal")
+    void shouldParseLikeBigDecimal() {
+        for (String text : new String[]{"23.5", "-3.25", "61", "+7.", "0.005", "-0.005", "1.994", "12.3456", "1e3"}) {
+            assertThat(parse(text)).as(text).isEqualTo(MetricValues.toScaled(new BigDecimal(text)));
+        }
+        assertThat(parse("1013.25")).isEqualTo(101_325L);
+    }
+
+    @Test
+    @DisplayName("Should parse a number inside a larger text")
+    void shouldParseRange() {
+        assertThat(MetricValues.parse("temperature=-12.5,", 12, 17)).isEqualTo(-1250L);
+    }
+
+    @Test
+    @DisplayName("Should reject text that is not a number or does not fit")
+    void shouldRejectInvalidNumbers() {
+        for (String text : new String[]{"", ".", "-", "hot", "1.2.3", "99999999999999999999"}) {
+            assertThatThrownBy(() -> parse(text)).as(text).isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should format hundredths as plain decimals")
+    void shouldAppendPlainDecimals() {
+        assertThat(MetricValues.append(new StringBuilder(), 2345L)).hasToString("23.45");
+        assertThat(MetricValues.append(new StringBuilder(), 700L)).hasToString("7.00");
+        assertThat(MetricValues.append(new StringBuilder(), -5L)).hasToString("-0.05");
+        assertThat(MetricValues.append(new StringBuilder(), -9999L)).hasToString("-99.99");
+        assertThat(MetricValues.append(new StringBuilder(), Long.MIN_VALUE))
+                .hasToString(BigDecimal.valueOf(Long.MIN_VALUE, 2).toPlainString());
+    }
+
+    @Test
+    @DisplayName("Should convert between hundredths, decimals and doubles")
+    void shouldConvert() {
+        assertThat(MetricValues.toDecimal(2345L)).isEqualTo(new BigDecimal("23.45"));
+        assertThat(MetricValues.toScaled(new BigDecimal("21.455"))).isEqualTo(2146L);
+        assertThat(MetricValues.toScaled(21.456)).isEqualTo(2146L);
+        assertThat(MetricValues.toScaled(-21.456)).isEqualTo(-2146L);
+        assertThat(MetricValues.toDouble(-325L)).isEqualTo(-3.25);
+    }
+}
@@ -0,0 +1,72 @@
+package com.weathersensor.api.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConcurrencyLimitFilter Unit Tests")
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 5 connections - 4 buffer lanes = 1 permit
+        filter = new ConcurrencyLimitFilter(meterRegistry, 0, 5, 4, 10);
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when no permit is free")
+    void shouldRejectWhenNoPermitIsFree() throws Exception {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/v1/metrics"), new MockHttpServletResponse(), (req, res) ->
+                // The outer request holds the only permit
+                filter.doFilter(request("/api/v1/metrics/batch"), inner, (r, s) -> { }));
+
+        assertThat(inner.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(inner.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("request.concurrency.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("request.concurrency.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not limit async ingestion and non-API requests")
+    void shouldNotLimitAsyncIngestion() throws Exception {
+        AtomicInteger passed = new AtomicInteger();
+
+        filter.doFilter(request("/api/v1/metrics"), new MockHttpServletResponse(), (req, res) -> {
+            filter.doFilter(request("/api/v1/metrics/async"), new MockHttpServletResponse(), (r, s) -> passed.incrementAndGet());
+            filter.doFilter(request("/actuator/health"), new MockHttpServletResponse(), (r, s) -> passed.incrementAndGet());
+        });
+
+        assertThat(passed.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("request.concurrency.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should use the configured limit instead of the connection pool size")
+    void shouldUseConfiguredLimit() throws Exception {
+        filter = new ConcurrencyLimitFilter(new SimpleMeterRegistry(), 2, 5, 4, 10);
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/v1/metrics"), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(request("/api/v1/metrics/batch"), inner, (r, s) -> { }));
+
+        assertThat(inner.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+}
@@ -0,0 +1,188 @@
+package com.weathersensor.api.infrastructure;
+
+import com.github.luben.zstd.Zstd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RequestDecompressionFilter Unit Tests")
+class RequestDecompressionFilterTest {
+
+    private static final String BODY =
+            "{\"sensorId\":1,\"metricType\":\"TEMPERATURE\",\"value\":23.5,\"timestamp\":\"2026-01-01T00:00:00\"}\n";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestDecompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestDecompressionFilter(meterRegistry, 1024 * 1024, 100);
+    }
+
+    @Test
+    @DisplayName("Should inflate gzip bodies and hide the Content-Encoding")
+    void shouldInflateGzip() throws Exception {
+        byte[] compressed = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = request("gzip", compressed);
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen.set((HttpServletRequest) req);
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        });
+
+        assertThat(body.get()).isEqualTo(BODY);
+        assertThat(seen.get().getHeader("Content-Encoding")).isNull();
+        assertThat(seen.get().getContentLengthLong()).isEqualTo(-1);
+        assertThat(meterRegistry.get("metric.ingestion.request.bytes")
+                .tag("encoding", "gzip").tag("stage", "compressed").counter().count())
+                .isEqualTo(compressed.length);
+        assertThat(meterRegistry.get("metric.ingestion.request.bytes")
+                .tag("encoding", "gzip").tag("stage", "inflated").counter().count())
+                .isEqualTo(BODY.length());
+    }
+
+    @Test
+    @DisplayName("Should inflate zstd bodies through the reader")
+    void shouldInflateZstd() throws Exception {
+        MockHttpServletRequest request = request("zstd", Zstd.compress(BODY.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> line = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> line.set(req.getReader().readLine()));
+
+        assertThat(line.get()).isEqualTo(BODY.trim());
+    }
+
+    @Test
+    @DisplayName("Should pass uncompressed and non-ingestion requests through untouched")
+    void shouldPassThroughUncompressedRequests() throws Exception {
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/v1/metrics/stream");
+        MockHttpServletRequest other = request("gzip", new byte[0]);
+        other.setRequestURI("/api/v1/sensors");
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set((HttpServletRequest) req);
+
+        filter.doFilter(plain, new MockHttpServletResponse(), chain);
+        assertThat(seen.get()).isSameAs(plain);
+
+        filter.doFilter(other, new MockHttpServletResponse(), chain);
+        assertThat(seen.get()).isSameAs(other);
+    }
+
+    @Test
+    @DisplayName("Should inflate bodies of the synchronous endpoint, also below a context path")
+    void shouldInflateSyncEndpoint() throws Exception {
+        byte[] compressed = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest sync = request("gzip", compressed);
+        sync.setRequestURI("/api/v1/metrics");
+        MockHttpServletRequest underContext = request("gzip", compressed);
+        underContext.setContextPath("/weather");
+        underContext.setRequestURI("/weather/api/v1/metrics");
+        MockHttpServletRequest lookalike = request("gzip", compressed);
+        lookalike.setRequestURI("/api/v1/metricsx");
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        AtomicReference<String> body = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            seen.set((HttpServletRequest) req);
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+
+        filter.doFilter(sync, new MockHttpServletResponse(), chain);
+        assertThat(body.get()).isEqualTo(BODY);
+
+        filter.doFilter(underContext, new MockHttpServletResponse(), chain);
+        assertThat(body.get()).isEqualTo(BODY);
+
+        filter.doFilter(lookalike, new MockHttpServletResponse(), chain);
+        assertThat(seen.get()).isSameAs(lookalike);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported encodings with 415")
+    void shouldRejectUnsupportedEncoding() throws Exception {
+        MockHttpServletRequest request = request("br", new byte[]{1, 2, 3});
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> called = new AtomicReference<>(false);
+
+        filter.doFilter(request, response, (req, res) -> called.set(true));
+
+        assertThat(called.get()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+        assertThat(response.getHeader("Accept-Encoding")).isEqualTo("gzip, zstd");
+    }
+
+    @Test
+    @DisplayName("Should stop reading once the inflated size limit is exceeded")
+    void shouldEnforceInflatedSizeLimit() {
+        filter = new RequestDecompressionFilter(meterRegistry, 1000, 0);
+        MockHttpServletRequest request = request("gzip", gzip(new byte[5000]));
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes()))
+                .isInstanceOf(RequestBodyTooLargeException.class)
+                .hasMessageContaining("1000 bytes");
+    }
+
+    @Test
+    @DisplayName("Should stop reading bodies with an excessive compression ratio")
+    void shouldEnforceCompressionRatio() {
+        // 8 MiB of zeros compress to a few KiB, far beyond 100x
+        MockHttpServletRequest request = request("gzip", gzip(new byte[8 * 1024 * 1024]));
+        filter = new RequestDecompressionFilter(meterRegistry, Long.MAX_VALUE, 100);
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes()))
+                .isInstanceOf(RequestBodyTooLargeException.class)
+                .hasMessageContaining("100x");
+    }
+
+    @Test
+    @DisplayName("Should report corrupt compressed data")
+    void shouldReportCorruptData() {
+        MockHttpServletRequest notGzip = request("gzip", BODY.getBytes(StandardCharsets.UTF_8));
+        byte[] compressed = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        MockHttpServletRequest cutOff = request("gzip", truncated);
+        FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+        assertThatThrownBy(() -> filter.doFilter(notGzip, new MockHttpServletResponse(), chain))
+                .isInstanceOf(CorruptRequestBodyException.class);
+        assertThatThrownBy(() -> filter.doFilter(cutOff, new MockHttpServletResponse(), chain))
+                .isInstanceOf(CorruptRequestBodyException.class);
+    }
+
+    private static MockHttpServletRequest request(String encoding, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/metrics/stream");
+        request.addHeader("Content-Encoding", encoding);
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.weathersensor.api.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedVirtualThreadExecutor Unit Tests")
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    @DisplayName("Should run tasks on virtual threads, never more than the concurrency limit at once")
+    void shouldCapConcurrency() throws Exception {
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vt-", 2, 100, rejected::add, 5000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger virtual = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (Thread.currentThread().isVirtual()) {
+                    virtual.incrementAndGet();
+                }
+                sleep(5);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(virtual.get()).isEqualTo(20);
+        assertThat(rejected).isEmpty();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should reject tasks beyond concurrency plus queue capacity")
+    void shouldRejectWhenFull() throws Exception {
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vt-", 1, 1, rejected::add, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> await(release);
+
+        executor.execute(blocked);
+        executor.execute(blocked);
+        Runnable third = () -> { };
+        executor.execute(third);
+
+        assertThat(rejected).containsExactly(third);
+
+        release.countDown();
+        executor.close();
+        assertThat(executor.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wait for admitted tasks on close and reject new ones")
+    void shouldDrainOnClose() throws Exception {
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vt-", 1, 10, rejected::add, 5000);
+        AtomicInteger completed = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                sleep(10);
+                completed.incrementAndGet();
+            });
+        }
+        executor.close();
+
+        assertThat(completed.get()).isEqualTo(5);
+
+        Runnable late = () -> { };
+        executor.execute(late);
+        assertThat(rejected).containsExactly(late);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> new BoundedVirtualThreadExecutor("test-vt-", 0, 10, task -> { }, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
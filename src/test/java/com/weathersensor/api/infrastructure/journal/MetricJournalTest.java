@@ -0,0 +1,200 @@
+package com.weathersensor.api.infrastructure.journal;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricJournal Unit Tests")
+class MetricJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private MetricJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private MetricJournal open() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        journal = new MetricJournal(new SimpleMeterRegistry(), directory, MetricJournal.MIN_SEGMENT_SIZE, 1_000);
+        journal.open();
+        return journal;
+    }
+
+    private static MetricReading reading(int i) {
+        return new MetricReading(i, MetricType.TEMPERATURE, 2000 + i,
+                LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_789).plusSeconds(i));
+    }
+
+    private List<MetricReading> replayAll(MetricJournal journal) throws IOException {
+        List<MetricReading> replayed = new ArrayList<>();
+        journal.replay(100, replayed::addAll);
+        return replayed;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay durable readings after a restart")
+    void shouldReplayAfterRestart() throws IOException {
+        List<MetricReading> readings = List.of(
+                reading(1),
+                reading(2),
+                new MetricReading(3L, MetricType.PRESSURE, 101_325L, LocalDateTime.of(1969, 12, 31, 23, 59)),
+                new MetricReading(4L, MetricType.WIND_SPEED, -9950L, LocalDateTime.of(2024, 1, 1, 0, 0)));
+
+        open();
+        long last = 0;
+        for (MetricReading reading : readings) {
+            last = journal.append(reading);
+        }
+        journal.awaitDurable(last);
+
+        // Nothing was checkpointed: everything comes back, with scale and nanos intact
+        assertThat(replayAll(open())).containsExactlyElementsOf(readings);
+        assertThat(journal.getCheckpoint()).isEqualTo(4);
+
+        // Replayed readings are checkpointed and not replayed again
+        assertThat(replayAll(open())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only replay readings above the checkpoint")
+    void shouldReplayAfterCheckpoint() throws IOException {
+        open();
+        for (int i = 1; i <= 5; i++) {
+            journal.append(reading(i));
+        }
+        journal.checkpoint(3);
+
+        assertThat(replayAll(open())).containsExactly(reading(4), reading(5));
+    }
+
+    @Test
+    @DisplayName("Should continue sequences across restarts")
+    void shouldContinueSequencesAcrossRestarts() throws IOException {
+        open();
+        assertThat(journal.append(reading(1))).isEqualTo(1);
+        assertThat(journal.append(reading(2))).isEqualTo(2);
+
+        open();
+        assertThat(journal.nextSequence()).isEqualTo(3);
+        assertThat(journal.append(reading(3))).isEqualTo(3);
+        assertThat(journal.getPendingCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should rotate segments and delete them once checkpointed")
+    void shouldRotateAndDeleteSegments() throws IOException {
+        open();
+        long last = 0;
+        for (int i = 0; i < 5_000; i++) {
+            last = journal.append(reading(i));
+        }
+        journal.awaitDurable(last);
+        assertThat(segmentCount()).isGreaterThan(2);
+
+        journal.checkpoint(last);
+
+        // Only the segment currently written to is kept
+        assertThat(segmentCount()).isEqualTo(1);
+        assertThat(journal.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay across segments in order")
+    void shouldReplayAcrossSegments() throws IOException {
+        open();
+        List<MetricReading> readings = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            readings.add(reading(i));
+            journal.append(reading(i));
+        }
+
+        assertThat(replayAll(open())).containsExactlyElementsOf(readings);
+    }
+
+    @Test
+    @DisplayName("Should stop replaying at a torn record")
+    void shouldStopAtTornRecord() throws IOException {
+        open();
+        journal.append(reading(1));
+        journal.append(reading(2));
+        journal.close();
+        journal = null;
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip a byte in the payload of the second record
+            int firstLength = 8 + file.readInt();
+            file.seek(firstLength + 20);
+            int b = file.read();
+            file.seek(firstLength + 20);
+            file.write(b ^ 0xFF);
+        }
+
+        assertThat(replayAll(open())).containsExactly(reading(1));
+    }
+
+    @Test
+    @DisplayName("Should keep replay progress when the writer fails")
+    void shouldResumeReplayAfterFailure() throws IOException {
+        open();
+        for (int i = 1; i <= 5; i++) {
+            journal.append(reading(i));
+        }
+        open();
+
+        List<MetricReading> written = new ArrayList<>();
+        assertThatThrownBy(() -> journal.replay(2, batch -> {
+            if (!written.isEmpty()) {
+                throw new IllegalStateException("database down");
+            }
+            written.addAll(batch);
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(journal.getCheckpoint()).isEqualTo(2);
+
+        journal.replay(2, written::addAll);
+
+        assertThat(written).containsExactly(reading(1), reading(2), reading(3), reading(4), reading(5));
+    }
+
+    @Test
+    @DisplayName("Should reject appends after close")
+    void shouldRejectAppendsAfterClose() throws IOException {
+        open().close();
+
+        assertThatThrownBy(() -> journal.append(reading(1)))
+                .isInstanceOf(JournalException.class);
+    }
+}
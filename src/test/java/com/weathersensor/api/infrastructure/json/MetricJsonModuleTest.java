@@ -0,0 +1,129 @@
+package com.weathersensor.api.infrastructure.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.MetricDataResponse;
+import com.weathersensor.api.domain.model.MetricType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricJsonModule Unit Tests")
+class MetricJsonModuleTest {
+
+    private static ObjectMapper objectMapper(boolean codec, boolean nonNull) {
+        // Configured like Spring Boot's ObjectMapper
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (nonNull) {
+            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        }
+        return codec ? objectMapper.registerModule(new MetricJsonModule()) : objectMapper;
+    }
+
+    private final ObjectMapper databind = objectMapper(false, false);
+    private final ObjectMapper codec = objectMapper(true, false);
+
+    @Test
+    @DisplayName("Should read metric requests like default databind")
+    void shouldReadRequestsLikeDatabind() throws Exception {
+        List<String> documents = List.of(
+                "{\"sensorId\":1,\"metricType\":\"TEMPERATURE\",\"value\":23.50,\"timestamp\":\"2024-01-15T10:30:00\"}",
+                "{\"sensorId\":\"7\",\"metricType\":\"HUMIDITY\",\"value\":\"61\",\"timestamp\":\"2024-01-15T10:30\"}",
+                "{\"value\":-0.005,\"timestamp\":\"2024-01-15T10:30:00.123456789\",\"extra\":{\"a\":[1]},\"sensorId\":null}",
+                "{\"value\":1e3,\"timestamp\":\"2024-01-15T10:30:00Z\",\"metricType\":null}",
+                "{\"value\":12345678901234567890.5,\"timestamp\":[2024,1,15,10,30]}",
+                "{\"sensorCode\":\"SENSOR-001\",\"metricType\":\"WIND_SPEED\",\"value\":3}",
+                "{\"sensorCode\":42,\"sensorId\":null}",
+                "{}");
+
+        for (String document : documents) {
+            assertThat(codec.readValue(document, MetricDataRequest.class))
+                    .as(document)
+                    .isEqualTo(databind.readValue(document, MetricDataRequest.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read batches with null items and sensor readings in document order")
+    void shouldReadBatchesAndSensorReadings() throws Exception {
+        String batch = "[{\"sensorId\":1,\"metricType\":\"PRESSURE\",\"value\":998.2,\"timestamp\":\"2024-01-15T10:30:00\"},null]";
+        TypeReference<List<MetricDataRequest>> requests = new TypeReference<>() {
+        };
+        assertThat(codec.readValue(batch, requests)).isEqualTo(databind.readValue(batch, requests));
+
+        String reading = "{\"sensorId\":1,\"timestamp\":\"2024-01-15T10:30:00\",\"values\":{\"PRESSURE\":998.2,\"TEMPERATURE\":23}}";
+        SensorReadingRequest request = codec.readValue(reading, SensorReadingRequest.class);
+        assertThat(request).isEqualTo(databind.readValue(reading, SensorReadingRequest.class));
+        assertThat(request.getValues()).containsExactly(
+                Map.entry(MetricType.PRESSURE, new BigDecimal("998.2")),
+                Map.entry(MetricType.TEMPERATURE, new BigDecimal("23")));
+
+        String byCode = "{\"sensorCode\":\"SENSOR-001\",\"values\":{\"HUMIDITY\":61}}";
+        assertThat(codec.readValue(byCode, SensorReadingRequest.class))
+                .isEqualTo(databind.readValue(byCode, SensorReadingRequest.class))
+                .extracting(SensorReadingRequest::getSensorCode)
+                .isEqualTo("SENSOR-001");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed fields with a mapping error, like default databind")
+    void shouldRejectMalformedFields() {
+        for (String document : List.of(
+                "{\"metricType\":\"COLD\"}",
+                "{\"timestamp\":\"2024-02-30T10:30:00\"}",
+                "{\"sensorId\":99999999999999999999}",
+                "{\"value\":true}",
+                "{\"sensorCode\":{\"id\":1}}")) {
+            assertThatThrownBy(() -> codec.readValue(document, MetricDataRequest.class))
+                    .as(document)
+                    .isInstanceOf(JsonMappingException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write responses like default databind, with and without null fields")
+    void shouldWriteResponsesLikeDatabind() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<MetricDataResponse> responses = List.of(
+                new MetricDataResponse(5L, 1L, "SENSOR-\"1\"", MetricType.WIND_SPEED, new BigDecimal("12.30"),
+                        "km/h", timestamp, timestamp.plusNanos(120_000_000)),
+                new MetricDataResponse(null, 1L, "SENSOR-001", MetricType.TEMPERATURE, new BigDecimal("-0.05"),
+                        "°C", LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999), null),
+                new MetricDataResponse(null, null, null, null, null, null, LocalDateTime.of(12024, 1, 1, 0, 0), null));
+
+        assertThat(codec.writeValueAsString(responses)).isEqualTo(databind.writeValueAsString(responses));
+        assertThat(objectMapper(true, true).writeValueAsString(responses))
+                .isEqualTo(objectMapper(false, true).writeValueAsString(responses));
+    }
+
+    @Test
+    @DisplayName("Should parse and format ISO local date-times on the fast path")
+    void shouldParseAndFormatTimestamps() {
+        char[] text = "x2024-01-15T10:30:05.120x".toCharArray();
+        assertThat(IsoLocalDateTime.parse(text, 1, 23))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30, 5, 120_000_000));
+        assertThat(IsoLocalDateTime.parse("2024-01-15T10:30:00Z".toCharArray(), 0, 20)).isNull();
+        assertThat(IsoLocalDateTime.parse("2024-13-15T10:30".toCharArray(), 0, 16)).isNull();
+
+        char[] out = new char[IsoLocalDateTime.MAX_LENGTH];
+        int length = IsoLocalDateTime.format(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 1_000), out);
+        assertThat(new String(out, 0, length)).isEqualTo("2024-01-15T10:30:00.000001");
+    }
+}
@@ -0,0 +1,78 @@
+package com.weathersensor.api.infrastructure.lineprotocol;
+
+import com.weathersensor.api.domain.model.MetricType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LineProtocolParser Unit Tests")
+class LineProtocolParserTest {
+
+    private final LineProtocolParser parser = new LineProtocolParser(TimeUnit.MILLISECONDS);
+
+    @Test
+    @DisplayName("Should parse a single-field line")
+    void shouldParseSingleField() {
+        LineProtocolParser.Point point = parser.parse("weather,sensor=SENSOR-001 temperature=23.5 1700000000000");
+
+        assertThat(point.getSensorCode()).isEqualTo("SENSOR-001");
+        assertThat(point.getValues()).containsExactlyEntriesOf(
+                Map.of(MetricType.TEMPERATURE, 2350L));
+        assertThat(point.getTimestampMillis()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should parse multiple fields, escapes, integer suffixes and ignore unknown fields")
+    void shouldParseMultipleFields() {
+        LineProtocolParser.Point point = parser.parse(
+                "weather,site=north,sensor=ROOF\\ 2 temperature=-3.25,Humidity=61i,note=\"a b, c\",pressure=1013 1700000000000\r");
+
+        assertThat(point.getSensorCode()).isEqualTo("ROOF 2");
+        assertThat(point.getValues())
+                .containsEntry(MetricType.TEMPERATURE, -325L)
+                .containsEntry(MetricType.HUMIDITY, 6100L)
+                .containsEntry(MetricType.PRESSURE, 101_300L)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should convert timestamps from the configured precision")
+    void shouldConvertPrecision() {
+        LineProtocolParser nanos = new LineProtocolParser(TimeUnit.NANOSECONDS);
+
+        assertThat(nanos.parse("weather,sensor=S1 humidity=40 1700000000000000000").getTimestampMillis())
+                .isEqualTo(1_700_000_000_000L);
+        assertThat(parser.parse("weather,sensor=S1 humidity=40").getTimestampMillis()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines and comments")
+    void shouldSkipBlankLinesAndComments() {
+        assertThat(parser.parse("")).isNull();
+        assertThat(parser.parse("   ")).isNull();
+        assertThat(parser.parse("# gateway 7")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed lines")
+    void shouldRejectMalformedLines() {
+        assertThatThrownBy(() -> parser.parse("weather temperature=1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sensor");
+        assertThatThrownBy(() -> parser.parse("weather,sensor=S1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse("weather,sensor=S1 wind=3"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No known metric field");
+        assertThatThrownBy(() -> parser.parse("weather,sensor=S1 temperature=hot"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse("weather,sensor=S1 temperature=1 yesterday"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("timestamp");
+    }
+}
@@ -0,0 +1,254 @@
+package com.weathersensor.api.infrastructure.lineprotocol;
+
+import com.weathersensor.api.application.ingestion.AdaptiveWriteLimiter;
+import com.weathersensor.api.application.ingestion.MetricBatchWriter;
+import com.weathersensor.api.application.ingestion.MetricWriteBuffer;
+import com.weathersensor.api.application.registry.SensorRegistry;
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.Sensor;
+import com.weathersensor.api.domain.model.SensorStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LineProtocolServer Unit Tests")
+class LineProtocolServerTest {
+
+    @Mock
+    private MetricWriteBuffer metricWriteBuffer;
+
+    @Mock
+    private SensorRegistry sensorRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LineProtocolServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        when(metricWriteBuffer.offer(any())).thenReturn(true);
+        when(sensorRegistry.get(null, "SENSOR-001"))
+                .thenReturn(Sensor.builder().id(1L).sensorCode("SENSOR-001").status(SensorStatus.ACTIVE).build());
+        when(sensorRegistry.get(null, "SENSOR-OFF"))
+                .thenReturn(Sensor.builder().id(2L).sensorCode("SENSOR-OFF").status(SensorStatus.INACTIVE).build());
+
+        // Ephemeral ports on loopback
+        server = new LineProtocolServer(metricWriteBuffer, sensorRegistry, meterRegistry,
+                "127.0.0.1", 0, 0, TimeUnit.MILLISECONDS, 1024, 60_000);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Should ingest lines received over TCP, including lines split across packets")
+    void shouldIngestTcpLines() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getTcpPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("weather,sensor=SENSOR-001 temperature=23.5 1700000000000\nweather,sensor=SEN"
+                    .getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(50);
+            out.write("SOR-001 humidity=61,pressure=1013 1700000000000\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        ArgumentCaptor<MetricReading> readings = ArgumentCaptor.forClass(MetricReading.class);
+        verify(metricWriteBuffer, timeout(2_000).times(3)).offer(readings.capture());
+
+        assertThat(readings.getAllValues())
+                .extracting(MetricReading::getMetricType)
+                .containsExactlyInAnyOrder(MetricType.TEMPERATURE, MetricType.HUMIDITY, MetricType.PRESSURE);
+        assertThat(readings.getAllValues().get(0).getTimestamp())
+                .isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(1_700_000_000_000L), ZoneId.systemDefault()));
+        assertThat(readings.getAllValues().get(0).getDecimalValue()).isEqualByComparingTo(new BigDecimal("23.5"));
+    }
+
+    @Test
+    @DisplayName("Should ingest a trailing line without newline when the connection closes")
+    void shouldIngestTrailingLineOnClose() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getTcpPort())) {
+            socket.getOutputStream().write("weather,sensor=SENSOR-001 temperature=20".getBytes(StandardCharsets.UTF_8));
+        }
+
+        verify(metricWriteBuffer, timeout(2_000)).offer(any(MetricReading.class));
+    }
+
+    @Test
+    @DisplayName("Should ingest lines received over UDP")
+    void shouldIngestUdpDatagrams() throws Exception {
+        byte[] payload = ("weather,sensor=SENSOR-001 temperature=21 1700000000000\n"
+                + "weather,sensor=SENSOR-001 wind_speed=12.5 1700000000000").getBytes(StandardCharsets.UTF_8);
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.send(new DatagramPacket(payload, payload.length,
+                    InetAddress.getByName("127.0.0.1"), server.getUdpPort()));
+        }
+
+        verify(metricWriteBuffer, timeout(2_000).times(2)).offer(any(MetricReading.class));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lines, inactive sensors and out-of-range values")
+    void shouldRejectInvalidReadings() {
+        server.handleLine("garbage");
+        server.handleLine("weather,sensor=SENSOR-OFF temperature=20");
+        server.handleLine("weather,sensor=SENSOR-001 temperature=2000");
+
+        verify(metricWriteBuffer, never()).offer(any());
+        assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "malformed").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "inactive_sensor").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "invalid").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should look up an unknown sensor code only once while it is remembered")
+    void shouldRememberUnknownSensorCodes() throws Exception {
+        server.handleLine("weather,sensor=NOPE temperature=20");
+        server.handleLine("weather,sensor=NOPE temperature=21");
+
+        awaitRejected("unknown_sensor", 2.0);
+        verify(sensorRegistry, times(1)).findByCode("NOPE");
+        assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "unknown_sensor").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should load sensors missing from the cache off the listener thread")
+    void shouldResolveUncachedSensorsOffListenerThread() throws Exception {
+        List<String> lookupThreads = new CopyOnWriteArrayList<>();
+        when(sensorRegistry.findByCode("SENSOR-NEW")).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return Sensor.builder().id(3L).sensorCode("SENSOR-NEW").status(SensorStatus.ACTIVE).build();
+        });
+
+        try (Socket socket = new Socket("127.0.0.1", server.getTcpPort())) {
+            socket.getOutputStream().write("weather,sensor=SENSOR-NEW temperature=19 1700000000000\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        ArgumentCaptor<MetricReading> reading = ArgumentCaptor.forClass(MetricReading.class);
+        verify(metricWriteBuffer, timeout(2_000)).offer(reading.capture());
+        assertThat(reading.getValue().getSensorId()).isEqualTo(3L);
+        assertThat(lookupThreads).containsExactly("line-protocol-resolver");
+    }
+
+    @Test
+    @DisplayName("Should keep serving other connections while the write buffer is full")
+    void shouldNotBlockOnFullBuffer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        MetricBatchWriter batchWriter = mock(MetricBatchWriter.class);
+        when(batchWriter.write(anyList(), eq("async"))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.<List<?>>getArgument(0).size();
+        });
+        // One lane of 2 readings whose writer is stuck; submit() would wait 5 s per reading
+        MetricWriteBuffer fullBuffer = new MetricWriteBuffer(batchWriter,
+                new AdaptiveWriteLimiter(meterRegistry, true, 10, 0, 1_000, 2.0, 5, 250, 1, 1),
+                meterRegistry, null, 1, 2, 1, 10, 5_000, 30, 1_000);
+        fullBuffer.start();
+        server.stop();
+        server = new LineProtocolServer(fullBuffer, sensorRegistry, meterRegistry,
+                "127.0.0.1", 0, -1, TimeUnit.MILLISECONDS, 1024, 60_000);
+        server.start();
+
+        try (Socket flooding = new Socket("127.0.0.1", server.getTcpPort());
+             Socket other = new Socket("127.0.0.1", server.getTcpPort())) {
+            StringBuilder lines = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                lines.append("weather,sensor=SENSOR-001 temperature=20,humidity=50 ").append(1_700_000_000_000L + i).append('\n');
+            }
+            flooding.getOutputStream().write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(100);
+            other.getOutputStream().write("weather,sensor=SENSOR-OFF temperature=20\n".getBytes(StandardCharsets.UTF_8));
+
+            awaitRejected("inactive_sensor", 1.0);
+            assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "inactive_sensor").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("lineprotocol.rejected").tag("reason", "buffer_full").counter().count())
+                    .isPositive();
+        } finally {
+            release.countDown();
+            server.stop();
+            fullBuffer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a sensor's lines in order while its first line waits for the resolver")
+    void shouldKeepLinesInOrderBehindSensorLookup() throws Exception {
+        Sensor newSensor = Sensor.builder().id(3L).sensorCode("SENSOR-NEW").status(SensorStatus.ACTIVE).build();
+        AtomicBoolean cached = new AtomicBoolean();
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        when(sensorRegistry.get(null, "SENSOR-NEW")).thenAnswer(invocation -> cached.get() ? newSensor : null);
+        when(sensorRegistry.findByCode("SENSOR-NEW")).thenAnswer(invocation -> {
+            // The registry caches the sensor before the slow lookup returns
+            cached.set(true);
+            lookupStarted.countDown();
+            Thread.sleep(200);
+            return newSensor;
+        });
+
+        server.handleLine("weather,sensor=SENSOR-NEW temperature=20 1700000000000");
+        assertThat(lookupStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 3; i++) {
+            server.handleLine("weather,sensor=SENSOR-NEW temperature=20 " + (1_700_000_000_000L + i * 1_000));
+        }
+
+        ArgumentCaptor<MetricReading> readings = ArgumentCaptor.forClass(MetricReading.class);
+        verify(metricWriteBuffer, timeout(2_000).times(4)).offer(readings.capture());
+        assertThat(readings.getAllValues())
+                .extracting(MetricReading::getTimestamp)
+                .isSorted()
+                .doesNotHaveDuplicates();
+    }
+
+    private void awaitRejected(String reason, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (System.currentTimeMillis() < deadline) {
+            var counter = meterRegistry.find("lineprotocol.rejected").tag("reason", reason).counter();
+            if (counter != null && counter.count() >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.weathersensor.api.infrastructure.persistence;
+
+import com.weathersensor.api.domain.model.MetricReading;
+import com.weathersensor.api.domain.model.MetricType;
+import com.weathersensor.api.domain.model.MetricValues;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SensorReadingWriter Unit Tests")
+class SensorReadingWriterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private static MetricReading reading(long sensorId, MetricType metricType, String value, int minute) {
+        return new MetricReading(sensorId, metricType, MetricValues.toScaled(new BigDecimal(value)),
+                TIMESTAMP.plusMinutes(minute));
+    }
+
+    @Test
+    @DisplayName("Should fold readings of the same sensor and timestamp into one row")
+    void shouldFoldReadingsIntoRows() {
+        List<SensorReadingWriter.Row> rows = SensorReadingWriter.fold(List.of(
+                reading(1L, MetricType.TEMPERATURE, "20.00", 0),
+                reading(2L, MetricType.TEMPERATURE, "18.00", 0),
+                reading(1L, MetricType.PRESSURE, "990.00", 0),
+                reading(1L, MetricType.TEMPERATURE, "21.00", 1)));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).value(MetricType.TEMPERATURE)).isEqualByComparingTo("20.00");
+        assertThat(rows.get(0).value(MetricType.PRESSURE)).isEqualByComparingTo("990.00");
+        assertThat(rows.get(0).value(MetricType.HUMIDITY)).isNull();
+        assertThat(rows.get(1).value(MetricType.TEMPERATURE)).isEqualByComparingTo("18.00");
+        assertThat(rows.get(2).value(MetricType.TEMPERATURE)).isEqualByComparingTo("21.00");
+    }
+
+    @Test
+    @DisplayName("Should merge existing rows column by column, keeping stored values when ignoring conflicts")
+    void shouldUpsertKeepingStoredValues() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        SensorReadingWriter writer = new SensorReadingWriter(jdbcTemplate, ConflictPolicy.IGNORE);
+
+        int written = writer.upsert(List.of(
+                reading(1L, MetricType.TEMPERATURE, "20.00", 0),
+                reading(1L, MetricType.HUMIDITY, "60.00", 0)));
+
+        assertThat(written).isEqualTo(2);
+        verify(jdbcTemplate).update(argThat((String sql) -> sql.startsWith(
+                        "INSERT INTO sensor_readings (sensor_id, timestamp, temperature, humidity, wind_speed, pressure)"
+                                + " VALUES (?, ?, ? * 0.01, ? * 0.01, ? * 0.01, ? * 0.01)"
+                                + " ON CONFLICT (sensor_id, timestamp) DO UPDATE SET")
+                        && sql.contains("temperature = COALESCE(sensor_readings.temperature, EXCLUDED.temperature)")),
+                any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should let new values win when updating on conflict")
+    void shouldUpsertOverwritingStoredValues() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        SensorReadingWriter writer = new SensorReadingWriter(jdbcTemplate, ConflictPolicy.UPDATE);
+
+        writer.upsert(List.of(reading(1L, MetricType.PRESSURE, "990.00", 0)));
+
+        verify(jdbcTemplate).update(
+                argThat((String sql) -> sql.contains("pressure = COALESCE(EXCLUDED.pressure, sensor_readings.pressure)")),
+                any(PreparedStatementSetter.class));
+    }
+}
@@ -3,16 +3,20 @@ package com.weathersensor.api.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weathersensor.api.application.dto.request.MetricDataRequest;
 import com.weathersensor.api.application.dto.request.MetricQueryRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
 import com.weathersensor.api.domain.model.MetricType;
 import com.weathersensor.api.domain.model.Sensor;
 import com.weathersensor.api.domain.model.SensorStatus;
 import com.weathersensor.api.domain.repository.MetricDataRepository;
 import com.weathersensor.api.domain.repository.SensorRepository;
+import com.weathersensor.api.infrastructure.persistence.StorageLayout;
+import com.weathersensor.api.infrastructure.persistence.StorageLayoutConverter;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -22,11 +26,18 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -66,6 +77,12 @@ class MetricApiIntegrationTest {
     @Autowired
     private MetricDataRepository metricDataRepository;
 
+    @Autowired
+    private StorageLayoutConverter storageLayoutConverter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Long testSensorId;
 
     @BeforeEach
@@ -339,4 +356,317 @@ class MetricApiIntegrationTest {
                 .andExpect(jsonPath("$[0].metricType").value("TEMPERATURE"))
                 .andExpect(jsonPath("$[0].statistic").value("AVG"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should ingest NDJSON stream and report rejected records")
+    void shouldIngestNdjsonStream() throws Exception {
+        // Given - two valid records, one out of range, one for an unknown sensor
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        String body = String.join("\n",
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), now)),
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        testSensorId, MetricType.HUMIDITY, new BigDecimal("55.0"), now)),
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        testSensorId, MetricType.TEMPERATURE, new BigDecimal("1500.0"), now)),
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        999_999L, MetricType.TEMPERATURE, new BigDecimal("20.0"), now)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/metrics/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.truncated").value(false))
+                .andExpect(jsonPath("$.errors[*].record", containsInAnyOrder(3, 4)));
+
+        Assertions.assertEquals(2, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should not store a retried NDJSON stream twice")
+    void shouldDeduplicateRetriedStream() throws Exception {
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        String body = String.join("\n",
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), now)),
+                objectMapper.writeValueAsString(new MetricDataRequest(
+                        testSensorId, MetricType.HUMIDITY, new BigDecimal("55.0"), now)));
+
+        mockMvc.perform(post("/api/v1/metrics/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.duplicates").value(0));
+
+        // The gateway retries the same payload
+        mockMvc.perform(post("/api/v1/metrics/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(0))
+                .andExpect(jsonPath("$.duplicates").value(2));
+
+        Assertions.assertEquals(2, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate synchronous reading with 409")
+    void shouldRejectDuplicateReading() throws Exception {
+        String request = objectMapper.writeValueAsString(new MetricDataRequest(
+                testSensorId, MetricType.TEMPERATURE, new BigDecimal("23.5"), LocalDateTime.now().minusMinutes(1)));
+
+        mockMvc.perform(post("/api/v1/metrics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/metrics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isConflict());
+
+        Assertions.assertEquals(1, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate batch with 409 below and at the COPY threshold")
+    void shouldRejectDuplicateBatchOfAnySize() throws Exception {
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        for (int size : new int[] {2, 1000}) {
+            metricDataRepository.deleteAll();
+            List<MetricDataRequest> requests = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                requests.add(new MetricDataRequest(
+                        testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), now.minusSeconds(i)));
+            }
+            String batch = objectMapper.writeValueAsString(requests);
+
+            mockMvc.perform(post("/api/v1/metrics/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(batch))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/api/v1/metrics/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(batch))
+                    .andExpect(status().isConflict());
+
+            Assertions.assertEquals(size, metricDataRepository.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return an ingestion receipt for async readings and report it committed")
+    void shouldTrackAsyncIngestionReceipt() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String request = objectMapper.writeValueAsString(new MetricDataRequest(
+                testSensorId, MetricType.TEMPERATURE, new BigDecimal("23.5"), timestamp));
+
+        String response = mockMvc.perform(post("/api/v1/metrics/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.submitted").value(1))
+                .andReturn().getResponse().getContentAsString();
+        String receiptId = objectMapper.readTree(response).get("id").asText();
+
+        // Committed within the buffer flush interval
+        String status = "PENDING";
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (status.equals("PENDING") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            String receipt = mockMvc.perform(get("/api/v1/metrics/ingestions/" + receiptId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(receipt).get("status").asText();
+        }
+
+        Assertions.assertEquals("COMMITTED", status);
+        mockMvc.perform(get("/api/v1/metrics/ingestions/" + receiptId))
+                .andExpect(jsonPath("$.committed").value(1))
+                .andExpect(jsonPath("$.pending").value(0))
+                .andExpect(jsonPath("$.committedWatermark").value("2024-01-15T10:30:00"));
+        Assertions.assertEquals(1, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown ingestion receipt")
+    void shouldRejectUnknownIngestionReceipt() throws Exception {
+        mockMvc.perform(get("/api/v1/metrics/ingestions/does-not-exist"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should store the valid items of a partial batch")
+    void shouldIngestPartialBatch() throws Exception {
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), now),
+                new MetricDataRequest(999_999L, MetricType.TEMPERATURE, new BigDecimal("20.0"), now),
+                new MetricDataRequest(testSensorId, MetricType.HUMIDITY, new BigDecimal("1500.0"), now),
+                new MetricDataRequest(testSensorId, MetricType.HUMIDITY, new BigDecimal("55.0"), now));
+
+        mockMvc.perform(post("/api/v1/metrics/batch")
+                        .param("mode", "partial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[*].record", contains(2, 3)));
+
+        Assertions.assertEquals(2, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should accept sensor codes instead of IDs, but not both")
+    void shouldIngestBySensorCode() throws Exception {
+        String sensorCode = sensorRepository.findById(testSensorId).orElseThrow().getSensorCode();
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(null, sensorCode, MetricType.TEMPERATURE, new BigDecimal("21.0"), now),
+                new MetricDataRequest(null, "UNKNOWN-SENSOR", MetricType.TEMPERATURE, new BigDecimal("20.0"), now));
+
+        mockMvc.perform(post("/api/v1/metrics/batch")
+                        .param("mode", "partial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Sensor not found with code: UNKNOWN-SENSOR"));
+
+        MetricDataRequest both = new MetricDataRequest(testSensorId, sensorCode, MetricType.HUMIDITY,
+                new BigDecimal("55.0"), now);
+        mockMvc.perform(post("/api/v1/metrics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(both)))
+                .andExpect(status().isBadRequest());
+
+        Assertions.assertEquals(1, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should ingest all metrics of a sensor reading in one request")
+    void shouldIngestSensorReading() throws Exception {
+        SensorReadingRequest request = new SensorReadingRequest(testSensorId, LocalDateTime.now().minusMinutes(1), Map.of(
+                MetricType.TEMPERATURE, new BigDecimal("23.5"),
+                MetricType.HUMIDITY, new BigDecimal("65.0"),
+                MetricType.WIND_SPEED, new BigDecimal("12.3"),
+                MetricType.PRESSURE, new BigDecimal("998.2")));
+
+        mockMvc.perform(post("/api/v1/metrics/readings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[*].metricType", contains("TEMPERATURE", "HUMIDITY", "WIND_SPEED", "PRESSURE")))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[3].unit").value("hPa"));
+
+        Assertions.assertEquals(4, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a sensor reading with an out-of-range value")
+    void shouldRejectSensorReadingWithInvalidValue() throws Exception {
+        SensorReadingRequest request = new SensorReadingRequest(testSensorId, LocalDateTime.now().minusMinutes(1), Map.of(
+                MetricType.TEMPERATURE, new BigDecimal("23.5"),
+                MetricType.PRESSURE, new BigDecimal("1500.0")));
+
+        mockMvc.perform(post("/api/v1/metrics/readings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        Assertions.assertEquals(0, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should ingest a gzip-compressed batch")
+    void shouldIngestGzipBatch() throws Exception {
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), now),
+                new MetricDataRequest(testSensorId, MetricType.HUMIDITY, new BigDecimal("55.0"), now));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(objectMapper.writeValueAsString(requests).getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post("/api/v1/metrics/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Content-Encoding", "gzip")
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        Assertions.assertEquals(2, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should ingest a gzip-compressed reading on the synchronous endpoint")
+    void shouldIngestGzipReading() throws Exception {
+        MetricDataRequest request = new MetricDataRequest(testSensorId, MetricType.TEMPERATURE,
+                new BigDecimal("21.0"), LocalDateTime.now().minusMinutes(1));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post("/api/v1/metrics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Content-Encoding", "gzip")
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.metricType").value("TEMPERATURE"));
+
+        Assertions.assertEquals(1, metricDataRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not valid for its Content-Encoding")
+    void shouldRejectCorruptCompressedBody() throws Exception {
+        mockMvc.perform(post("/api/v1/metrics/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Content-Encoding", "gzip")
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should convert narrow readings to wide rows and back")
+    void shouldConvertBetweenStorageLayouts() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<MetricDataRequest> requests = List.of(
+                new MetricDataRequest(testSensorId, MetricType.TEMPERATURE, new BigDecimal("21.0"), timestamp),
+                new MetricDataRequest(testSensorId, MetricType.HUMIDITY, new BigDecimal("55.0"), timestamp),
+                new MetricDataRequest(testSensorId, MetricType.TEMPERATURE, new BigDecimal("22.0"), timestamp.plusHours(30)));
+
+        mockMvc.perform(post("/api/v1/metrics/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated());
+
+        long wideRows = storageLayoutConverter.convert(StorageLayout.WIDE, null, null, Duration.ofHours(24));
+
+        Assertions.assertEquals(2, wideRows);
+        Assertions.assertEquals(new BigDecimal("55.00"), jdbcTemplate.queryForObject(
+                "SELECT humidity FROM sensor_readings WHERE sensor_id = ? AND timestamp = ?",
+                BigDecimal.class, testSensorId, timestamp));
+
+        // Back to the narrow layout, rebuilt from the wide rows alone
+        metricDataRepository.deleteAll();
+        long narrowRows = storageLayoutConverter.convert(StorageLayout.NARROW, null, null, Duration.ofHours(24));
+
+        Assertions.assertEquals(3, narrowRows);
+        Assertions.assertEquals(3, metricDataRepository.count());
+    }
+}
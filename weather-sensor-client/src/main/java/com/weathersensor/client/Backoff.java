@@ -0,0 +1,94 @@
+package com.weathersensor.client;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry delays: exponential backoff with full jitter, overridden by the server's own
+ * estimate when it sends one.
+ *
+ * Full jitter (a uniform wait between zero and the exponential bound) spreads the retries
+ * of many gateways that failed at the same moment, e.g. during a server restart.
+ */
+final class Backoff {
+
+    static final String RETRY_AFTER = "Retry-After";
+    static final String RATE_LIMIT_RETRY_AFTER = "X-RateLimit-Retry-After-Seconds";
+    static final String RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+
+    private final long initialNanos;
+    private final long maxNanos;
+
+    Backoff(Duration initial, Duration max) {
+        if (initial.isNegative() || max.compareTo(initial) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initialBackoff <= maxBackoff");
+        }
+        this.initialNanos = initial.toNanos();
+        this.maxNanos = max.toNanos();
+    }
+
+    /**
+     * Upper bound of the wait before the given retry: initial * 2^(retry - 1), capped.
+     *
+     * @param retry 1 for the first retry
+     */
+    Duration bound(int retry) {
+        int shift = Math.min(retry - 1, 62);
+        long bound = initialNanos > (maxNanos >> shift) ? maxNanos : initialNanos << shift;
+        return Duration.ofNanos(Math.min(bound, maxNanos));
+    }
+
+    /**
+     * Jittered wait before the given retry, at least the server's hint if there is one.
+     *
+     * @param retry 1 for the first retry
+     * @param response last response, or null if the request failed without one
+     */
+    Duration delay(int retry, HttpResponse<?> response) {
+        long bound = bound(retry).toNanos();
+        Duration delay = Duration.ofNanos(bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1));
+
+        Duration hint = response != null ? serverHint(response) : null;
+        return hint != null && hint.compareTo(delay) > 0 ? hint : delay;
+    }
+
+    /**
+     * When the server asked to retry: {@code Retry-After} (503 from a full buffer or
+     * connection limit) or {@code X-RateLimit-Retry-After-Seconds} (429), in seconds.
+     * HTTP-date values are not used by the server and are ignored.
+     */
+    static Duration serverHint(HttpResponse<?> response) {
+        Long seconds = longHeader(response, RETRY_AFTER);
+        if (seconds == null) {
+            seconds = longHeader(response, RATE_LIMIT_RETRY_AFTER);
+        }
+        return seconds != null && seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    /**
+     * Pause before the next request after a successful one that used up the rate limit
+     * (limits are per minute): one refill interval. Zero when tokens remain.
+     */
+    static Duration pacing(HttpResponse<?> response) {
+        Long remaining = longHeader(response, RATE_LIMIT_REMAINING);
+        Long limit = longHeader(response, RATE_LIMIT_LIMIT);
+        if (remaining == null || remaining > 0 || limit == null || limit <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMinutes(1).dividedBy(limit);
+    }
+
+    private static Long longHeader(HttpResponse<?> response, String name) {
+        String value = response.headers().firstValue(name).orElse(null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
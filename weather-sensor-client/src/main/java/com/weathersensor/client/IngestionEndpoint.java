@@ -0,0 +1,39 @@
+package com.weathersensor.client;
+
+/**
+ * Server endpoint a {@link WeatherSensorClient} delivers its batches to.
+ *
+ * Both are idempotent: readings already stored are counted as duplicates instead of
+ * failing the request, so a batch can be resent after a timeout without knowing whether
+ * the first attempt was committed.
+ */
+public enum IngestionEndpoint {
+
+    /**
+     * JSON array in partial mode: invalid readings are rejected individually and the
+     * valid ones committed in one transaction.
+     */
+    BATCH("/api/v1/metrics/batch?mode=partial", "application/json"),
+
+    /**
+     * Newline-delimited JSON, committed in chunks of {@code ingestion.stream.chunk-size}.
+     * Cheaper on the server for very large batches.
+     */
+    STREAM("/api/v1/metrics/stream", "application/x-ndjson");
+
+    private final String path;
+    private final String contentType;
+
+    IngestionEndpoint(String path, String contentType) {
+        this.path = path;
+        this.contentType = contentType;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
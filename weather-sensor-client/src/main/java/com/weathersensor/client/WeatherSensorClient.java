@@ -0,0 +1,394 @@
+package com.weathersensor.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.application.dto.response.IngestionSummaryResponse;
+import com.weathersensor.api.domain.model.MetricType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Batching ingestion client for sensor gateways.
+ *
+ * Readings passed to {@link #send} are buffered in memory and delivered by one background
+ * thread, in batches of up to {@code maxBatchSize} readings or {@code flushInterval} after
+ * the first reading of a batch, whichever comes first. Delivery:
+ * - Bodies are gzip-compressed (unless {@code compress} is off)
+ * - Connection failures, 408, 429 and 5xx are retried with jittered exponential backoff,
+ *   never sooner than the server's {@code Retry-After} / {@code X-RateLimit-Retry-After-Seconds}.
+ *   Both endpoints count stored readings as duplicates, so a resent batch is never
+ *   stored twice
+ * - When {@code X-RateLimit-Remaining} reaches 0, the next request waits one refill interval
+ * - Other responses (e.g. 400 for an unparseable body) drop the batch without retrying
+ *
+ * Readings rejected by the server (validation, unknown or inactive sensor) are logged and
+ * counted, not retried. Buffered readings are lost if the process dies.
+ *
+ * Metrics:
+ * - weather.client.send.readings{result=accepted|duplicate|rejected|failed|buffer_full}
+ * - weather.client.send.requests{outcome=success|retry|failure}: HTTP attempts
+ * - weather.client.send.duration{status}: time per HTTP attempt
+ * - weather.client.send.bytes{stage=raw|compressed}: request body size
+ * - weather.client.buffer.size: readings waiting to be sent
+ *
+ * Thread-safe. Close the client to send what is still buffered.
+ */
+@Slf4j
+public class WeatherSensorClient implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final WeatherSensorClientConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<MetricDataRequest> buffer;
+    private final Backoff backoff;
+    private final URI endpointUri;
+    private final MeterRegistry meterRegistry;
+    private final Thread sender;
+    private volatile boolean running = true;
+    private long pausedUntilNanos;
+
+    public WeatherSensorClient(WeatherSensorClientConfig config) {
+        this(config, HttpClient.newBuilder()
+                .connectTimeout(config.getConnectTimeout())
+                .build());
+    }
+
+    WeatherSensorClient(WeatherSensorClientConfig config, HttpClient httpClient) {
+        if (config.getMaxBatchSize() <= 0 || config.getBufferCapacity() < config.getMaxBatchSize()) {
+            throw new IllegalArgumentException("Client config must satisfy 0 < maxBatchSize <= bufferCapacity");
+        }
+        if (config.getMaxAttempts() <= 0) {
+            throw new IllegalArgumentException("Client config maxAttempts must be positive");
+        }
+
+        this.config = config;
+        this.httpClient = httpClient;
+        this.objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                // Readings carry either sensorId or sensorCode; don't send the other as null
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferCapacity());
+        this.backoff = new Backoff(config.getInitialBackoff(), config.getMaxBackoff());
+        this.endpointUri = config.getBaseUri().resolve(config.getEndpoint().getPath());
+        this.meterRegistry = config.getMeterRegistry();
+
+        Gauge.builder("weather.client.buffer.size", buffer, BlockingQueue::size)
+                .description("Readings waiting to be sent")
+                .register(meterRegistry);
+
+        this.sender = new Thread(this::runSender, "weather-sensor-client-sender");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Buffer a reading for delivery (non-blocking).
+     *
+     * @return false if the buffer is full and the reading was dropped
+     * @throws IllegalStateException if the client is closed
+     */
+    public boolean send(MetricDataRequest reading) {
+        if (!running) {
+            throw new IllegalStateException("Client is closed");
+        }
+        if (buffer.offer(reading)) {
+            return true;
+        }
+        countReadings("buffer_full", 1);
+        return false;
+    }
+
+    /**
+     * Buffer all metrics of a multi-metric sensor reading, one reading per metric type.
+     *
+     * @return false if the buffer filled up and some of the readings were dropped
+     * @throws IllegalStateException if the client is closed
+     */
+    public boolean send(SensorReadingRequest reading) {
+        boolean buffered = true;
+        for (MetricType metricType : MetricType.values()) {
+            BigDecimal value = reading.getValues().get(metricType);
+            if (value != null) {
+                buffered &= send(new MetricDataRequest(reading.getSensorId(), reading.getSensorCode(),
+                        metricType, value, reading.getTimestamp()));
+            }
+        }
+        return buffered;
+    }
+
+    /**
+     * @return readings buffered and not yet handed to the server
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Stop accepting readings and send the buffered ones, waiting up to
+     * {@code shutdownTimeout}. Readings still buffered after that are dropped.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        try {
+            sender.join(config.getShutdownTimeout().toMillis());
+            if (sender.isAlive()) {
+                sender.interrupt();
+                sender.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int dropped = buffer.size();
+        if (dropped > 0) {
+            buffer.clear();
+            countReadings("failed", dropped);
+            log.warn("Dropped {} buffered readings on close", dropped);
+        }
+    }
+
+    /**
+     * Sender loop: collect a batch (size/time trigger), deliver it, repeat until closed
+     * and drained.
+     */
+    private void runSender() {
+        List<MetricDataRequest> batch = new ArrayList<>(config.getMaxBatchSize());
+        long flushIntervalNanos = config.getFlushInterval().toNanos();
+
+        try {
+            while (running || !buffer.isEmpty()) {
+                MetricDataRequest first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < config.getMaxBatchSize()) {
+                    buffer.drainTo(batch, config.getMaxBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= config.getMaxBatchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    // Short polls, so close() does not wait for the flush interval
+                    MetricDataRequest next = buffer.poll(
+                            Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            if (!batch.isEmpty()) {
+                countReadings("failed", batch.size());
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Send one batch, retrying until it is acknowledged, permanently refused or out of attempts.
+     */
+    void deliver(List<MetricDataRequest> batch) throws InterruptedException {
+        byte[] body;
+        try {
+            body = encode(batch);
+        } catch (IOException e) {
+            log.error("Failed to encode a batch of {} readings, dropping it", batch.size(), e);
+            countReadings("failed", batch.size());
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            awaitPacing();
+
+            HttpResponse<byte[]> response = null;
+            long start = System.nanoTime();
+            try {
+                response = httpClient.send(request(body), HttpResponse.BodyHandlers.ofByteArray());
+                recordDuration(String.valueOf(response.statusCode()), start);
+
+                int status = response.statusCode();
+                if (status / 100 == 2) {
+                    countRequest("success");
+                    pacedBy(response);
+                    acknowledged(batch.size(), response.body());
+                    return;
+                }
+                if (!isRetryable(status)) {
+                    countRequest("failure");
+                    countReadings("failed", batch.size());
+                    log.error("Server refused a batch of {} readings with status {}, dropping it: {}",
+                            batch.size(), status, new String(response.body()));
+                    return;
+                }
+                log.warn("Batch of {} readings got status {} (attempt {}/{})",
+                        batch.size(), status, attempt, config.getMaxAttempts());
+            } catch (IOException e) {
+                recordDuration("IO_ERROR", start);
+                log.warn("Failed to send a batch of {} readings (attempt {}/{}): {}",
+                        batch.size(), attempt, config.getMaxAttempts(), e.toString());
+            }
+
+            if (attempt >= config.getMaxAttempts()) {
+                countRequest("failure");
+                countReadings("failed", batch.size());
+                log.error("Giving up on a batch of {} readings after {} attempts", batch.size(), attempt);
+                return;
+            }
+
+            countRequest("retry");
+            Duration delay = backoff.delay(attempt, response);
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        }
+    }
+
+    static boolean isRetryable(int status) {
+        return status == 408 || status == 429 || status >= 500;
+    }
+
+    private HttpRequest request(byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpointUri)
+                .timeout(config.getRequestTimeout())
+                .header("Content-Type", config.getEndpoint().getContentType())
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (config.isCompress()) {
+            request.header("Content-Encoding", "gzip");
+        }
+        return request.build();
+    }
+
+    /**
+     * Serialize the batch for the configured endpoint, gzipped if enabled.
+     */
+    byte[] encode(List<MetricDataRequest> batch) throws IOException {
+        byte[] raw;
+        if (config.getEndpoint() == IngestionEndpoint.STREAM) {
+            ByteArrayOutputStream ndjson = new ByteArrayOutputStream(batch.size() * 96);
+            for (MetricDataRequest reading : batch) {
+                objectMapper.writeValue(ndjson, reading);
+                ndjson.write('\n');
+            }
+            raw = ndjson.toByteArray();
+        } else {
+            raw = objectMapper.writeValueAsBytes(batch);
+        }
+        recordBytes("raw", raw.length);
+
+        if (!config.isCompress()) {
+            return raw;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(raw);
+        }
+        recordBytes("compressed", compressed.size());
+        return compressed.toByteArray();
+    }
+
+    private void acknowledged(int sent, byte[] responseBody) {
+        IngestionSummaryResponse summary;
+        try {
+            summary = objectMapper.readValue(responseBody, IngestionSummaryResponse.class);
+        } catch (IOException e) {
+            log.warn("Unreadable ingestion summary, counting {} readings as accepted", sent);
+            countReadings("accepted", sent);
+            return;
+        }
+
+        countReadings("accepted", summary.getAccepted());
+        countReadings("duplicate", summary.getDuplicates());
+        countReadings("rejected", summary.getRejected());
+        if (summary.getRejected() > 0 && summary.getErrors() != null) {
+            for (IngestionSummaryResponse.RecordError error : summary.getErrors()) {
+                log.warn("Server rejected reading {} of batch: {}", error.getRecord(), error.getMessage());
+            }
+        }
+    }
+
+    private void pacedBy(HttpResponse<?> response) {
+        Duration pause = Backoff.pacing(response);
+        if (!pause.isZero()) {
+            pausedUntilNanos = System.nanoTime() + pause.toNanos();
+        }
+    }
+
+    private void awaitPacing() throws InterruptedException {
+        long wait = pausedUntilNanos - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private void countReadings(String result, long count) {
+        Counter.builder("weather.client.send.readings")
+                .tag("result", result)
+                .description("Readings by delivery result")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private void countRequest(String outcome) {
+        Counter.builder("weather.client.send.requests")
+                .tag("outcome", outcome)
+                .description("Ingestion HTTP attempts by outcome")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordDuration(String status, long start) {
+        Timer.builder("weather.client.send.duration")
+                .tag("status", status)
+                .description("Time per ingestion HTTP attempt")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordBytes(String stage, long bytes) {
+        DistributionSummary.builder("weather.client.send.bytes")
+                .tag("stage", stage)
+                .baseUnit("bytes")
+                .description("Ingestion request body size")
+                .register(meterRegistry)
+                .record(bytes);
+    }
+}
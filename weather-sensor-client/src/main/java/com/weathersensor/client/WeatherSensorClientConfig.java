@@ -0,0 +1,92 @@
+package com.weathersensor.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Settings of a {@link WeatherSensorClient}. Only {@code baseUri} is required.
+ *
+ * <pre>
+ * WeatherSensorClientConfig config = WeatherSensorClientConfig.builder()
+ *         .baseUri(URI.create("https://weather.example.com"))
+ *         .maxBatchSize(5000)
+ *         .build();
+ * </pre>
+ */
+@Value
+@Builder
+public class WeatherSensorClientConfig {
+
+    /**
+     * Server root, e.g. {@code https://weather.example.com}.
+     */
+    @NonNull
+    URI baseUri;
+
+    @Builder.Default
+    IngestionEndpoint endpoint = IngestionEndpoint.BATCH;
+
+    /**
+     * Readings waiting to be sent; {@link WeatherSensorClient#send} returns false when full.
+     */
+    @Builder.Default
+    int bufferCapacity = 100_000;
+
+    /**
+     * Send when this many readings are collected...
+     */
+    @Builder.Default
+    int maxBatchSize = 1000;
+
+    /**
+     * ...or this long after the first reading of the batch, whichever comes first.
+     */
+    @Builder.Default
+    Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Gzip request bodies (the server inflates {@code Content-Encoding: gzip}).
+     */
+    @Builder.Default
+    boolean compress = true;
+
+    /**
+     * Attempts per batch, including the first; the batch is dropped after the last one.
+     */
+    @Builder.Default
+    int maxAttempts = 8;
+
+    /**
+     * Backoff before the first retry, doubled per attempt up to {@code maxBackoff};
+     * each wait is drawn uniformly between zero and that bound.
+     */
+    @Builder.Default
+    Duration initialBackoff = Duration.ofMillis(200);
+
+    @Builder.Default
+    Duration maxBackoff = Duration.ofSeconds(30);
+
+    @Builder.Default
+    Duration connectTimeout = Duration.ofSeconds(5);
+
+    @Builder.Default
+    Duration requestTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long {@link WeatherSensorClient#close} waits for buffered readings to be sent.
+     */
+    @Builder.Default
+    Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Registry for the client's send metrics.
+     */
+    @Builder.Default
+    MeterRegistry meterRegistry = Metrics.globalRegistry;
+}
@@ -0,0 +1,42 @@
+package com.weathersensor.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Backoff Unit Tests")
+class BackoffTest {
+
+    @Test
+    @DisplayName("Should double the backoff bound per retry up to the maximum")
+    void shouldGrowBoundExponentially() {
+        Backoff backoff = new Backoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        assertThat(backoff.bound(1)).isEqualTo(Duration.ofMillis(100));
+        assertThat(backoff.bound(2)).isEqualTo(Duration.ofMillis(200));
+        assertThat(backoff.bound(4)).isEqualTo(Duration.ofMillis(800));
+        assertThat(backoff.bound(5)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(backoff.bound(500)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should draw jittered delays within the bound")
+    void shouldJitterWithinBound() {
+        Backoff backoff = new Backoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(backoff.delay(3, null)).isBetween(Duration.ZERO, Duration.ofMillis(400));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a maximum below the initial backoff")
+    void shouldRejectInvalidBounds() {
+        assertThatThrownBy(() -> new Backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
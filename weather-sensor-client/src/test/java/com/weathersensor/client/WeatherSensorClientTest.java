@@ -0,0 +1,198 @@
+package com.weathersensor.client;
+
+import com.sun.net.httpserver.HttpServer;
+import com.weathersensor.api.application.dto.request.MetricDataRequest;
+import com.weathersensor.api.application.dto.request.SensorReadingRequest;
+import com.weathersensor.api.domain.model.MetricType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WeatherSensorClient Unit Tests")
+class WeatherSensorClientTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final String SUMMARY = "{\"accepted\":%d,\"rejected\":0,\"duplicates\":0,\"errors\":[]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Status codes the stub server answers with, in order (then 200).
+     */
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final Queue<ReceivedRequest> received = new ConcurrentLinkedQueue<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/metrics/", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            if ("gzip".equals(encoding)) {
+                try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    body = gzip.readAllBytes();
+                }
+            }
+            String json = new String(body, StandardCharsets.UTF_8);
+            received.add(new ReceivedRequest(exchange.getRequestURI().toString(),
+                    exchange.getRequestHeaders().getFirst("Content-Type"), encoding, json));
+
+            Integer status = statuses.poll();
+            byte[] response = status == null
+                    ? String.format(SUMMARY, json.split("\"sensorId\"").length - 1).getBytes(StandardCharsets.UTF_8)
+                    : "{}".getBytes(StandardCharsets.UTF_8);
+            if (status != null) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+            }
+            exchange.sendResponseHeaders(status == null ? 200 : status, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private WeatherSensorClient newClient(IngestionEndpoint endpoint, int maxBatchSize) {
+        return new WeatherSensorClient(WeatherSensorClientConfig.builder()
+                .baseUri(URI.create("http://127.0.0.1:" + server.getAddress().getPort()))
+                .endpoint(endpoint)
+                .maxBatchSize(maxBatchSize)
+                .flushInterval(Duration.ofSeconds(10))
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(1))
+                .maxBackoff(Duration.ofMillis(5))
+                .meterRegistry(meterRegistry)
+                .build());
+    }
+
+    private static MetricDataRequest reading(int minute) {
+        return new MetricDataRequest(1L, MetricType.TEMPERATURE, new BigDecimal("20.5"), TIMESTAMP.plusMinutes(minute));
+    }
+
+    private double readings(String result) {
+        return meterRegistry.get("weather.client.send.readings").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should send buffered readings as one gzipped partial batch on close")
+    void shouldSendGzippedBatchOnClose() {
+        try (WeatherSensorClient client = newClient(IngestionEndpoint.BATCH, 100)) {
+            client.send(reading(0));
+            client.send(reading(1));
+            client.send(reading(2));
+        }
+
+        assertThat(received).hasSize(1);
+        ReceivedRequest request = received.peek();
+        assertThat(request.uri).isEqualTo("/api/v1/metrics/batch?mode=partial");
+        assertThat(request.contentType).isEqualTo("application/json");
+        assertThat(request.encoding).isEqualTo("gzip");
+        assertThat(request.body).startsWith("[{").contains("\"timestamp\":\"2024-01-15T10:32:00\"");
+        assertThat(readings("accepted")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should split batches at the maximum batch size and stream NDJSON")
+    void shouldSplitBatchesBySize() {
+        try (WeatherSensorClient client = newClient(IngestionEndpoint.STREAM, 2)) {
+            client.send(new SensorReadingRequest(1L, TIMESTAMP, Map.of(
+                    MetricType.TEMPERATURE, new BigDecimal("20.5"),
+                    MetricType.HUMIDITY, new BigDecimal("60.0"),
+                    MetricType.PRESSURE, new BigDecimal("998.2"))));
+        }
+
+        List<ReceivedRequest> requests = List.copyOf(received);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).uri).isEqualTo("/api/v1/metrics/stream");
+        assertThat(requests.get(0).contentType).isEqualTo("application/x-ndjson");
+        assertThat(requests.get(0).body.split("\n")).hasSize(2);
+        assertThat(requests.get(0).body).contains("TEMPERATURE").contains("HUMIDITY");
+        assertThat(requests.get(1).body).contains("PRESSURE");
+        assertThat(readings("accepted")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should retry throttled and unavailable responses until accepted")
+    void shouldRetryRetryableStatuses() {
+        statuses.add(429);
+        statuses.add(503);
+
+        try (WeatherSensorClient client = newClient(IngestionEndpoint.BATCH, 100)) {
+            client.send(reading(0));
+        }
+
+        assertThat(received).hasSize(3);
+        assertThat(received).extracting(request -> request.body).containsOnly(received.peek().body);
+        assertThat(meterRegistry.get("weather.client.send.requests").tag("outcome", "retry").counter().count())
+                .isEqualTo(2.0);
+        assertThat(readings("accepted")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop a batch the server refuses without retrying")
+    void shouldNotRetryClientErrors() {
+        statuses.add(400);
+
+        try (WeatherSensorClient client = newClient(IngestionEndpoint.BATCH, 100)) {
+            client.send(reading(0));
+        }
+
+        assertThat(received).hasSize(1);
+        assertThat(readings("failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void shouldGiveUpAfterMaxAttempts() {
+        statuses.addAll(List.of(503, 503, 503));
+
+        try (WeatherSensorClient client = newClient(IngestionEndpoint.BATCH, 100)) {
+            client.send(reading(0));
+        }
+
+        assertThat(received).hasSize(3);
+        assertThat(readings("failed")).isEqualTo(1.0);
+    }
+
+    private static final class ReceivedRequest {
+
+        private final String uri;
+        private final String contentType;
+        private final String encoding;
+        private final String body;
+
+        private ReceivedRequest(String uri, String contentType, String encoding, String body) {
+            this.uri = uri;
+            this.contentType = contentType;
+            this.encoding = encoding;
+            this.body = body;
+        }
+    }
+}